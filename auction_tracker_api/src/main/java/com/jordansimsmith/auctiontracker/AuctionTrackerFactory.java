@@ -36,6 +36,8 @@ public interface AuctionTrackerFactory {
 
   TradeMeClient tradeMeClient();
 
+  CrawlScheduler.Config crawlSchedulerConfig();
+
   ListingFingerprinter listingFingerprinter();
 
   ListingJudge listingJudge();
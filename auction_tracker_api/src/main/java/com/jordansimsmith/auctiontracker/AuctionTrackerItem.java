@@ -6,6 +6,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.Locale;
 import java.util.Objects;
 import javax.annotation.Nullable;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
 import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
 import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
@@ -47,6 +48,10 @@ public class AuctionTrackerItem {
   public static final String TIMESTAMP_PREFIX = "TIMESTAMP" + DELIMITER;
   public static final String ITEM_PREFIX = "ITEM" + DELIMITER;
   public static final String FINGERPRINT_PREFIX = "FINGERPRINT" + DELIMITER;
+  public static final String FINGERPRINT_INDEX = "FINGERPRINT_INDEX";
+  public static final String VERDICT_PREFIX = "VERDICT" + DELIMITER;
+  public static final String CONTENT_PREFIX = "CONTENT" + DELIMITER;
+  public static final String SEEN_PREFIX = "SEEN" + DELIMITER;
 
   public static final String PK = "pk";
   public static final String SK = "sk";
@@ -61,6 +66,8 @@ public class AuctionTrackerItem {
   public static final String GSI1SK = "gsi1sk";
   public static final String GSI2PK = "gsi2pk";
   public static final String GSI2SK = "gsi2sk";
+  public static final String FINGERPRINT_FILTER = "fingerprint_filter";
+  public static final String PREVIOUS_FINGERPRINT_FILTER = "previous_fingerprint_filter";
 
   private String pk;
   private String sk;
@@ -75,6 +82,8 @@ public class AuctionTrackerItem {
   private String gsi1sk;
   private String gsi2pk;
   private String gsi2sk;
+  private SdkBytes fingerprintFilter;
+  private SdkBytes previousFingerprintFilter;
 
   @DynamoDbPartitionKey
   @DynamoDbAttribute(PK)
@@ -206,6 +215,26 @@ public class AuctionTrackerItem {
     this.gsi2sk = gsi2sk;
   }
 
+  @Nullable
+  @DynamoDbAttribute(FINGERPRINT_FILTER)
+  public SdkBytes getFingerprintFilter() {
+    return fingerprintFilter;
+  }
+
+  public void setFingerprintFilter(@Nullable SdkBytes fingerprintFilter) {
+    this.fingerprintFilter = fingerprintFilter;
+  }
+
+  @Nullable
+  @DynamoDbAttribute(PREVIOUS_FINGERPRINT_FILTER)
+  public SdkBytes getPreviousFingerprintFilter() {
+    return previousFingerprintFilter;
+  }
+
+  public void setPreviousFingerprintFilter(@Nullable SdkBytes previousFingerprintFilter) {
+    this.previousFingerprintFilter = previousFingerprintFilter;
+  }
+
   @Override
   public String toString() {
     return "AuctionTrackerItem{"
@@ -248,6 +277,12 @@ public class AuctionTrackerItem {
         + ", gsi2sk='"
         + gsi2sk
         + '\''
+        + ", fingerprintFilter='"
+        + fingerprintFilter
+        + '\''
+        + ", previousFingerprintFilter='"
+        + previousFingerprintFilter
+        + '\''
         + '}';
   }
 
@@ -267,7 +302,9 @@ public class AuctionTrackerItem {
         && Objects.equals(gsi1pk, auctionTrackerItem.gsi1pk)
         && Objects.equals(gsi1sk, auctionTrackerItem.gsi1sk)
         && Objects.equals(gsi2pk, auctionTrackerItem.gsi2pk)
-        && Objects.equals(gsi2sk, auctionTrackerItem.gsi2sk);
+        && Objects.equals(gsi2sk, auctionTrackerItem.gsi2sk)
+        && Objects.equals(fingerprintFilter, auctionTrackerItem.fingerprintFilter)
+        && Objects.equals(previousFingerprintFilter, auctionTrackerItem.previousFingerprintFilter);
   }
 
   @Override
@@ -285,7 +322,9 @@ public class AuctionTrackerItem {
         gsi1pk,
         gsi1sk,
         gsi2pk,
-        gsi2sk);
+        gsi2sk,
+        fingerprintFilter,
+        previousFingerprintFilter);
   }
 
   public static String formatPk(String searchUrl) {
@@ -316,6 +355,18 @@ public class AuctionTrackerItem {
     return ITEM_PREFIX + itemUrl;
   }
 
+  public static String formatVerdictPk(String promptHash, String model) {
+    return VERDICT_PREFIX + promptHash + DELIMITER + model;
+  }
+
+  public static String formatVerdictSk(String contentHash) {
+    return CONTENT_PREFIX + contentHash;
+  }
+
+  public static String formatSeenPk(String searchUrl) {
+    return SEEN_PREFIX + searchUrl;
+  }
+
   public static AuctionTrackerItem create(
       String searchUrl,
       String itemUrl,
@@ -338,4 +389,40 @@ public class AuctionTrackerItem {
     auctionTrackerItem.setGsi2sk(formatGsi2sk(itemUrl));
     return auctionTrackerItem;
   }
+
+  public static AuctionTrackerItem createFingerprintIndex(
+      SdkBytes fingerprintFilter, @Nullable SdkBytes previousFingerprintFilter, Instant timestamp) {
+    var auctionTrackerItem = new AuctionTrackerItem();
+    auctionTrackerItem.setPk(FINGERPRINT_INDEX);
+    auctionTrackerItem.setSk(FINGERPRINT_INDEX);
+    auctionTrackerItem.setTimestamp(timestamp);
+    auctionTrackerItem.setFingerprintFilter(fingerprintFilter);
+    auctionTrackerItem.setPreviousFingerprintFilter(previousFingerprintFilter);
+    return auctionTrackerItem;
+  }
+
+  public static AuctionTrackerItem createVerdict(
+      String promptHash, String model, String contentHash, Judgment judgment, Instant timestamp) {
+    var auctionTrackerItem = new AuctionTrackerItem();
+    auctionTrackerItem.setPk(formatVerdictPk(promptHash, model));
+    auctionTrackerItem.setSk(formatVerdictSk(contentHash));
+    auctionTrackerItem.setTimestamp(timestamp);
+    auctionTrackerItem.setJudgment(judgment);
+    auctionTrackerItem.setTtl(timestamp.plus(90, ChronoUnit.DAYS).getEpochSecond());
+    return auctionTrackerItem;
+  }
+
+  // a listing the search skipped without storing, indexed in gsi1 beside the stored listings so
+  // the next runs treat it as known until it expires
+  public static AuctionTrackerItem createSeen(String searchUrl, String itemUrl, Instant timestamp) {
+    var auctionTrackerItem = new AuctionTrackerItem();
+    auctionTrackerItem.setPk(formatSeenPk(searchUrl));
+    auctionTrackerItem.setSk(formatGsi1sk(itemUrl));
+    auctionTrackerItem.setTimestamp(timestamp);
+    auctionTrackerItem.setUrl(itemUrl);
+    auctionTrackerItem.setTtl(timestamp.plus(1, ChronoUnit.DAYS).getEpochSecond());
+    auctionTrackerItem.setGsi1pk(formatGsi1pk(searchUrl));
+    auctionTrackerItem.setGsi1sk(formatGsi1sk(itemUrl));
+    return auctionTrackerItem;
+  }
 }
@@ -1,14 +1,17 @@
 package com.jordansimsmith.auctiontracker;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jordansimsmith.dynamodb.DynamoDbBatchReader;
 import com.jordansimsmith.llm.LlmClient;
 import com.jordansimsmith.llm.OpenAiLlmClient;
 import com.jordansimsmith.prompts.PromptRegistry;
 import com.jordansimsmith.secrets.Secrets;
+import com.jordansimsmith.time.Clock;
 import dagger.Module;
 import dagger.Provides;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.time.Duration;
 import javax.inject.Singleton;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
@@ -46,6 +49,12 @@ public class AuctionTrackerModule {
     return new JsoupTradeMeClient(objectMapper);
   }
 
+  @Provides
+  @Singleton
+  CrawlScheduler.Config crawlSchedulerConfig() {
+    return new CrawlScheduler.Config(4, Duration.ofMillis(250));
+  }
+
   @Provides
   @Singleton
   ListingFingerprinter listingFingerprinter() {
@@ -67,7 +76,17 @@ public class AuctionTrackerModule {
   @Provides
   @Singleton
   ListingJudge listingJudge(
-      PromptRegistry promptRegistry, LlmClient llmClient, ObjectMapper objectMapper) {
-    return new LlmListingJudge(promptRegistry, llmClient, objectMapper);
+      PromptRegistry promptRegistry,
+      LlmClient llmClient,
+      ObjectMapper objectMapper,
+      DynamoDbTable<AuctionTrackerItem> auctionTrackerTable,
+      DynamoDbBatchReader dynamoDbBatchReader,
+      Clock clock) {
+    return new CachingListingJudge(
+        new LlmListingJudge(promptRegistry, llmClient, objectMapper),
+        auctionTrackerTable,
+        dynamoDbBatchReader,
+        promptRegistry,
+        clock);
   }
 }
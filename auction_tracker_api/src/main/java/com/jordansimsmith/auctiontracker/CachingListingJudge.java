@@ -0,0 +1,166 @@
+package com.jordansimsmith.auctiontracker;
+
+import static com.google.common.hash.Hashing.sha256;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.base.Verify;
+import com.jordansimsmith.dynamodb.DynamoDbBatchReader;
+import com.jordansimsmith.prompts.PromptRegistry;
+import com.jordansimsmith.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+// keeps verdicts in the auction tracker table, keyed by everything the judge sees: the prompt and
+// its settings, the model, and the listing's title and description. a relisted or cross-posted
+// listing is judged again only once its verdict expires or the prompt changes.
+public class CachingListingJudge implements ListingJudge {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CachingListingJudge.class);
+
+  private final ListingJudge delegate;
+  private final DynamoDbTable<AuctionTrackerItem> auctionTrackerTable;
+  private final DynamoDbBatchReader dynamoDbBatchReader;
+  private final PromptRegistry promptRegistry;
+  private final Clock clock;
+
+  public CachingListingJudge(
+      ListingJudge delegate,
+      DynamoDbTable<AuctionTrackerItem> auctionTrackerTable,
+      DynamoDbBatchReader dynamoDbBatchReader,
+      PromptRegistry promptRegistry,
+      Clock clock) {
+    this.delegate = delegate;
+    this.auctionTrackerTable = auctionTrackerTable;
+    this.dynamoDbBatchReader = dynamoDbBatchReader;
+    this.promptRegistry = promptRegistry;
+    this.clock = clock;
+  }
+
+  @Override
+  public boolean judge(SearchFactory.Judge judge, String title, String description) {
+    var verdict = judgeAll(judge, List.of(new Listing(title, description))).get(0);
+    Verify.verifyNotNull(verdict, "failed to judge listing '%s'", title);
+    return verdict;
+  }
+
+  @Override
+  public List<Boolean> judgeAll(
+      SearchFactory.Judge judge, List<Listing> listings, VerdictListener listener) {
+    var now = clock.now();
+    var promptHash = hashPrompt(judge);
+    var pk = AuctionTrackerItem.formatVerdictPk(promptHash, judge.model());
+
+    var indexesByContentHash = new LinkedHashMap<String, List<Integer>>();
+    var keys = new ArrayList<Key>(listings.size());
+    for (int i = 0; i < listings.size(); i++) {
+      var contentHash = hashContent(listings.get(i));
+      var indexes = indexesByContentHash.get(contentHash);
+      // listings with the same content are judged once
+      if (indexes == null) {
+        indexes = new ArrayList<>();
+        indexesByContentHash.put(contentHash, indexes);
+        keys.add(
+            Key.builder()
+                .partitionValue(pk)
+                .sortValue(AuctionTrackerItem.formatVerdictSk(contentHash))
+                .build());
+      }
+      indexes.add(i);
+    }
+
+    // expired verdicts can outlive their ttl until dynamodb deletes them, so their version is kept
+    // for the conditional put that replaces them
+    var verdicts = new Boolean[listings.size()];
+    var cached = new HashSet<String>();
+    var expiredVersions = new HashMap<String, Long>();
+    for (var item : dynamoDbBatchReader.getItems(auctionTrackerTable, keys)) {
+      var contentHash = item.getSk().substring(AuctionTrackerItem.CONTENT_PREFIX.length());
+      if (item.getTtl() <= now.getEpochSecond()) {
+        expiredVersions.put(contentHash, item.getVersion());
+      } else {
+        cached.add(contentHash);
+        for (var index : indexesByContentHash.get(contentHash)) {
+          verdicts[index] = item.getJudgment() == AuctionTrackerItem.Judgment.PASS;
+          listener.onVerdict(index, verdicts[index]);
+        }
+      }
+    }
+
+    var missing = new ArrayList<Listing>();
+    var missingContentHashes = new ArrayList<String>();
+    for (var entry : indexesByContentHash.entrySet()) {
+      if (!cached.contains(entry.getKey())) {
+        missingContentHashes.add(entry.getKey());
+        missing.add(listings.get(entry.getValue().get(0)));
+      }
+    }
+
+    // each verdict is cached as soon as it arrives, so a run that fails or times out partway
+    // keeps what it already paid for
+    var judged = new AtomicInteger();
+    var raced = new AtomicInteger();
+    if (!missing.isEmpty()) {
+      delegate.judgeAll(
+          judge,
+          missing,
+          (missingIndex, pass) -> {
+            var contentHash = missingContentHashes.get(missingIndex);
+            var verdict =
+                AuctionTrackerItem.createVerdict(
+                    promptHash,
+                    judge.model(),
+                    contentHash,
+                    pass ? AuctionTrackerItem.Judgment.PASS : AuctionTrackerItem.Judgment.FAIL,
+                    now);
+            verdict.setVersion(expiredVersions.get(contentHash));
+            // a concurrent run cached this content first; its verdict stands as a cache hit
+            try {
+              auctionTrackerTable.putItem(verdict);
+              judged.incrementAndGet();
+            } catch (ConditionalCheckFailedException e) {
+              LOGGER.info("Verdict for {} was cached by another run", contentHash);
+              raced.incrementAndGet();
+            }
+            for (var index : indexesByContentHash.get(contentHash)) {
+              verdicts[index] = pass;
+              listener.onVerdict(index, pass);
+            }
+          });
+    }
+
+    LOGGER.info(
+        "Judged {} listings with {} ({} cached verdicts, {} judged, {} failed)",
+        listings.size(),
+        judge.prompt(),
+        cached.size() + raced.get(),
+        judged.get(),
+        missing.size() - judged.get() - raced.get());
+
+    return Arrays.asList(verdicts);
+  }
+
+  private String hashPrompt(SearchFactory.Judge judge) {
+    return sha256()
+        .hashString(
+            promptRegistry.get(judge.prompt())
+                + "\0"
+                + judge.reasoningEffort()
+                + "\0"
+                + String.join(",", judge.criteria()),
+            UTF_8)
+        .toString();
+  }
+
+  private static String hashContent(Listing listing) {
+    return sha256().hashString(listing.title() + "\0" + listing.description(), UTF_8).toString();
+  }
+}
@@ -0,0 +1,177 @@
+package com.jordansimsmith.auctiontracker;
+
+import com.google.common.base.Preconditions;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// runs page fetches for one crawl on virtual threads while keeping each host within its
+// concurrency and request-rate budget. fetches for the same key share one request.
+public class CrawlScheduler implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CrawlScheduler.class);
+
+  public record Config(int maxConcurrentRequestsPerHost, Duration minRequestIntervalPerHost) {
+    public Config {
+      Preconditions.checkArgument(
+          maxConcurrentRequestsPerHost > 0, "maxConcurrentRequestsPerHost must be positive");
+      Preconditions.checkArgument(
+          !minRequestIntervalPerHost.isNegative(),
+          "minRequestIntervalPerHost must not be negative");
+    }
+  }
+
+  public record Stats(
+      int requests, int coalesced, int maxQueueDepth, Duration meanLatency, Duration maxLatency) {}
+
+  private final Config config;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final ConcurrentHashMap<String, CompletableFuture<?>> fetches =
+      new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Host> hosts = new ConcurrentHashMap<>();
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger coalesced = new AtomicInteger();
+  private final AtomicInteger queueDepth = new AtomicInteger();
+  private final AtomicInteger maxQueueDepth = new AtomicInteger();
+  private final AtomicLong totalLatencyNanos = new AtomicLong();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+  public CrawlScheduler(Config config) {
+    this.config = config;
+  }
+
+  // schedules the fetch unless one is already scheduled under the same key, in which case the
+  // caller shares its result
+  @SuppressWarnings("unchecked")
+  public <T> CompletableFuture<T> fetch(String key, URI uri, Callable<T> fetcher) {
+    var existing = fetches.get(key);
+    if (existing != null) {
+      coalesced.incrementAndGet();
+      return (CompletableFuture<T>) existing;
+    }
+
+    var future = new CompletableFuture<T>();
+    existing = fetches.putIfAbsent(key, future);
+    if (existing != null) {
+      coalesced.incrementAndGet();
+      return (CompletableFuture<T>) existing;
+    }
+
+    var host = hosts.computeIfAbsent(uri.getHost(), h -> new Host(config));
+    var depth = queueDepth.incrementAndGet();
+    maxQueueDepth.accumulateAndGet(depth, Math::max);
+    executor.execute(() -> run(host, fetcher, future));
+    return future;
+  }
+
+  // waits for a fetch, rethrowing its failure unwrapped where possible
+  public static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  public Stats stats() {
+    var count = requests.get();
+    return new Stats(
+        count,
+        coalesced.get(),
+        maxQueueDepth.get(),
+        Duration.ofNanos(count == 0 ? 0 : totalLatencyNanos.get() / count),
+        Duration.ofNanos(maxLatencyNanos.get()));
+  }
+
+  @Override
+  public void close() {
+    // fetches still running belong to a failed crawl, so there is nothing to wait for
+    executor.shutdownNow();
+    var stats = stats();
+    LOGGER.info(
+        "Crawled {} pages across {} hosts ({} coalesced), max queue depth {}, mean fetch latency {}"
+            + " ms, max fetch latency {} ms",
+        stats.requests(),
+        hosts.size(),
+        stats.coalesced(),
+        stats.maxQueueDepth(),
+        stats.meanLatency().toMillis(),
+        stats.maxLatency().toMillis());
+  }
+
+  private <T> void run(Host host, Callable<T> fetcher, CompletableFuture<T> future) {
+    T result;
+    var queued = true;
+    try {
+      host.permits.acquire();
+      try {
+        host.awaitTurn();
+        queueDepth.decrementAndGet();
+        queued = false;
+
+        var start = System.nanoTime();
+        try {
+          result = fetcher.call();
+        } finally {
+          var latency = System.nanoTime() - start;
+          requests.incrementAndGet();
+          totalLatencyNanos.addAndGet(latency);
+          maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+      } finally {
+        host.permits.release();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.completeExceptionally(e);
+      return;
+    } catch (Exception e) {
+      future.completeExceptionally(e);
+      return;
+    } finally {
+      if (queued) {
+        queueDepth.decrementAndGet();
+      }
+    }
+
+    // complete after releasing the permit, since dependent stages run on this thread and may
+    // schedule further fetches to the same host
+    future.complete(result);
+  }
+
+  private static final class Host {
+    private final Semaphore permits;
+    private final long intervalNanos;
+    private long nextStartNanos;
+
+    private Host(Config config) {
+      this.permits = new Semaphore(config.maxConcurrentRequestsPerHost(), true);
+      this.intervalNanos = config.minRequestIntervalPerHost().toNanos();
+      this.nextStartNanos = System.nanoTime();
+    }
+
+    // reserves the host's next start slot and sleeps until it arrives
+    private void awaitTurn() throws InterruptedException {
+      long start;
+      synchronized (this) {
+        var now = System.nanoTime();
+        start = Math.max(now, nextStartNanos);
+        nextStartNanos = start + intervalNanos;
+      }
+      TimeUnit.NANOSECONDS.sleep(start - System.nanoTime());
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package com.jordansimsmith.auctiontracker;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Funnels;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+/**
+ * A Bloom filter over the content fingerprints of stored listings, kept in the single {@code
+ * FINGERPRINT_INDEX} item and read at most once per run, when the first fingerprint is checked. A
+ * fingerprint the filter has never seen is definitely not in {@code gsi2}, so only possible matches
+ * need the index query to confirm them.
+ *
+ * <p>Listings expire 30 days after they are stored, so the filter is kept in two generations:
+ * fingerprints are added to the current one, and once it is 30 days old it replaces the previous
+ * one. Every live fingerprint is therefore in one of the two, and expired ones stop costing false
+ * positives within 60 days.
+ */
+public class FingerprintIndex {
+  private static final Logger LOGGER = LoggerFactory.getLogger(FingerprintIndex.class);
+
+  // roughly 12 KB per generation; a busier month only raises the false positive rate
+  @VisibleForTesting static final int EXPECTED_FINGERPRINTS = 10_000;
+  @VisibleForTesting static final Duration GENERATION = Duration.ofDays(30);
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+  private static final int MAX_SAVE_ATTEMPTS = 5;
+  private static final Funnel<CharSequence> FUNNEL = Funnels.stringFunnel(StandardCharsets.UTF_8);
+  private static final Key KEY =
+      Key.builder()
+          .partitionValue(AuctionTrackerItem.FINGERPRINT_INDEX)
+          .sortValue(AuctionTrackerItem.FINGERPRINT_INDEX)
+          .build();
+
+  private final DynamoDbTable<AuctionTrackerItem> auctionTrackerTable;
+  private final Instant now;
+  private final List<String> addedFingerprints = new ArrayList<>();
+  private boolean loaded;
+  private BloomFilter<CharSequence> filter;
+  @Nullable private BloomFilter<CharSequence> previousFilter;
+  private Instant generationStart;
+  @Nullable private Long version;
+  private boolean dirty;
+
+  public FingerprintIndex(DynamoDbTable<AuctionTrackerItem> auctionTrackerTable, Instant now) {
+    this.auctionTrackerTable = auctionTrackerTable;
+    this.now = now;
+  }
+
+  public boolean mightContain(String fingerprint) {
+    load();
+    return filter.mightContain(fingerprint)
+        || (previousFilter != null && previousFilter.mightContain(fingerprint));
+  }
+
+  public void put(String fingerprint) {
+    load();
+    addedFingerprints.add(fingerprint);
+    filter.put(fingerprint);
+    dirty = true;
+  }
+
+  // writes the index back if it changed. if another run saved first, its copy is reloaded and this
+  // run's fingerprints are added to it, since filters only ever gain entries
+  public void save() {
+    for (int attempt = 1; dirty; attempt++) {
+      var item =
+          AuctionTrackerItem.createFingerprintIndex(
+              serialize(filter),
+              previousFilter != null ? serialize(previousFilter) : null,
+              generationStart);
+      item.setVersion(version);
+      try {
+        auctionTrackerTable.putItem(item);
+        dirty = false;
+      } catch (ConditionalCheckFailedException e) {
+        if (attempt >= MAX_SAVE_ATTEMPTS) {
+          throw new RuntimeException(
+              "Failed to save fingerprint index after " + attempt + " attempt(s)", e);
+        }
+        reload();
+        for (var fingerprint : addedFingerprints) {
+          filter.put(fingerprint);
+        }
+        dirty = true;
+      }
+    }
+  }
+
+  private void load() {
+    if (!loaded) {
+      reload();
+      loaded = true;
+    }
+  }
+
+  private void reload() {
+    var item =
+        auctionTrackerTable.getItem(
+            GetItemEnhancedRequest.builder().key(KEY).consistentRead(true).build());
+    if (item == null) {
+      // first run with the index: seed it from every fingerprint already in gsi2
+      filter = rebuild();
+      previousFilter = null;
+      generationStart = now;
+      version = null;
+      dirty = true;
+      return;
+    }
+
+    filter = deserialize(item.getFingerprintFilter());
+    previousFilter =
+        item.getPreviousFingerprintFilter() != null
+            ? deserialize(item.getPreviousFingerprintFilter())
+            : null;
+    generationStart = item.getTimestamp();
+    version = item.getVersion();
+    dirty = false;
+
+    if (!generationStart.plus(GENERATION).isAfter(now)) {
+      previousFilter = filter;
+      filter = BloomFilter.create(FUNNEL, EXPECTED_FINGERPRINTS, FALSE_POSITIVE_PROBABILITY);
+      generationStart = now;
+      dirty = true;
+    }
+  }
+
+  private BloomFilter<CharSequence> rebuild() {
+    var rebuilt = BloomFilter.create(FUNNEL, EXPECTED_FINGERPRINTS, FALSE_POSITIVE_PROBABILITY);
+    var count = 0;
+    for (var page : auctionTrackerTable.index("gsi2").scan()) {
+      for (var item : page.items()) {
+        rebuilt.put(item.getGsi2pk().substring(AuctionTrackerItem.FINGERPRINT_PREFIX.length()));
+        count++;
+      }
+    }
+    LOGGER.info("Built fingerprint index from {} stored listings", count);
+    return rebuilt;
+  }
+
+  private static SdkBytes serialize(BloomFilter<CharSequence> filter) {
+    var output = new ByteArrayOutputStream();
+    try {
+      filter.writeTo(output);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return SdkBytes.fromByteArray(output.toByteArray());
+  }
+
+  private static BloomFilter<CharSequence> deserialize(SdkBytes bytes) {
+    try {
+      return BloomFilter.readFrom(bytes.asInputStream(), FUNNEL);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
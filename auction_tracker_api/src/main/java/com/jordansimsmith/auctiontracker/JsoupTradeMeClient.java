@@ -8,7 +8,7 @@ import java.net.URISyntaxException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -28,72 +28,70 @@ public class JsoupTradeMeClient implements TradeMeClient {
   }
 
   @Override
-  public List<TradeMeItem> searchItems(
+  public TradeMeSearchPage searchListings(
       URI baseUrl,
       String searchTerm,
       @Nullable Double minPrice,
       @Nullable Double maxPrice,
       SearchFactory.Condition condition) {
+    return getSearchPage(buildSearchUrl(baseUrl, searchTerm, minPrice, maxPrice, condition));
+  }
+
+  @Override
+  public TradeMeSearchPage getSearchPage(String pageUrl) {
     try {
-      return doSearchItems(baseUrl, searchTerm, minPrice, maxPrice, condition);
+      return doGetSearchPage(pageUrl);
     } catch (Exception e) {
       throw new RuntimeException("Failed to search items", e);
     }
   }
 
-  private List<TradeMeItem> doSearchItems(
-      URI baseUrl,
-      String searchTerm,
-      @Nullable Double minPrice,
-      @Nullable Double maxPrice,
-      SearchFactory.Condition condition)
-      throws Exception {
-    var searchUrl = buildSearchUrl(baseUrl, searchTerm, minPrice, maxPrice, condition);
-    LOGGER.info("Searching {}", searchUrl);
-
-    var searchPage = fetchDocument(searchUrl);
-    var itemUrls = extractItemUrls(searchPage);
-
-    // check for pagination and warn if more results exist
-    var nextPageLinks = searchPage.select(".tm-search-results__pagination a:contains(Next)");
-    if (!nextPageLinks.isEmpty()) {
-      LOGGER.warn(
-          "Pagination detected on search results page - only processing first page of results."
-              + " Consider narrowing search criteria to fit results on one page.");
+  private TradeMeSearchPage doGetSearchPage(String pageUrl) throws Exception {
+    LOGGER.info("Searching {}", pageUrl);
+
+    var searchPage = fetchDocument(pageUrl);
+    var listings = extractListings(searchPage);
+
+    String nextPageUrl = null;
+    var nextPageLink = searchPage.selectFirst(".tm-search-results__pagination a:contains(Next)");
+    if (nextPageLink != null && !nextPageLink.attr("abs:href").isEmpty()) {
+      nextPageUrl = nextPageLink.attr("abs:href");
     }
 
-    // fetch details for each item
-    var items = new ArrayList<TradeMeItem>();
-    for (var itemUrl : itemUrls) {
-      Document itemPage;
-      try {
-        itemPage = fetchDocument(itemUrl);
-      } catch (Exception e) {
-        LOGGER.warn("Failed to fetch item details for {}: {}", itemUrl, e.getMessage());
+    return new TradeMeSearchPage(listings, nextPageUrl);
+  }
+
+  private List<TradeMeListing> extractListings(Document searchPage) throws URISyntaxException {
+    var listings = new LinkedHashMap<String, TradeMeListing>();
+    for (Element link : searchPage.select("a[href*='/listing/']")) {
+      var detailUrl = link.attr("abs:href");
+      if (detailUrl.isEmpty()) {
         continue;
       }
 
-      var item = parseItemPage(itemPage, itemUrl);
-      if (item != null) {
-        items.add(item);
-      }
+      var url = stripQueryParams(detailUrl);
+      listings.putIfAbsent(url, new TradeMeListing(url, detailUrl));
     }
 
-    return items;
+    return new ArrayList<>(listings.values());
   }
 
-  private HashSet<String> extractItemUrls(Document searchPage) {
-    var itemUrls = new HashSet<String>();
-    var listings = searchPage.select("a[href*='/listing/']");
-
-    for (Element listing : listings) {
-      var itemUrl = listing.attr("abs:href");
-      if (!itemUrl.isEmpty()) {
-        itemUrls.add(itemUrl);
-      }
+  @Override
+  @Nullable
+  public TradeMeItem getItem(TradeMeListing listing) {
+    Document itemPage;
+    try {
+      itemPage = fetchDocument(listing.detailUrl());
+    } catch (Exception e) {
+      LOGGER.warn("Failed to fetch item details for {}: {}", listing.detailUrl(), e.getMessage());
+      return null;
     }
 
-    return itemUrls;
+    try {
+      return parseItemPage(itemPage, listing.detailUrl());
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to get item", e);
+    }
   }
 
   private String stripQueryParams(String url) throws URISyntaxException {
@@ -1,5 +1,23 @@
 package com.jordansimsmith.auctiontracker;
 
+import java.util.List;
+
 public interface ListingJudge {
+  record Listing(String title, String description) {}
+
+  // hears each verdict as soon as it is known, possibly from several threads at once
+  interface VerdictListener {
+    void onVerdict(int index, boolean pass);
+  }
+
   boolean judge(SearchFactory.Judge judge, String title, String description);
+
+  default List<Boolean> judgeAll(SearchFactory.Judge judge, List<Listing> listings) {
+    return judgeAll(judge, listings, (index, pass) -> {});
+  }
+
+  // judges every listing with the same judge, returning the verdicts in listing order. a listing
+  // whose judgment failed has a null verdict, so one bad response does not cost the others
+  List<Boolean> judgeAll(
+      SearchFactory.Judge judge, List<Listing> listings, VerdictListener listener);
 }
@@ -1,27 +1,46 @@
 package com.jordansimsmith.auctiontracker;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Verify;
+import com.google.common.collect.Lists;
+import com.jordansimsmith.concurrent.BoundedExecutor;
 import com.jordansimsmith.llm.LlmClient;
 import com.jordansimsmith.llm.LlmMessage;
 import com.jordansimsmith.llm.LlmRequest;
 import com.jordansimsmith.prompts.PromptRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class LlmListingJudge implements ListingJudge {
   private static final Logger LOGGER = LoggerFactory.getLogger(LlmListingJudge.class);
 
+  @VisibleForTesting static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+
   private final PromptRegistry promptRegistry;
   private final LlmClient llmClient;
   private final ObjectMapper objectMapper;
+  private final int maxConcurrentRequests;
 
   public LlmListingJudge(
       PromptRegistry promptRegistry, LlmClient llmClient, ObjectMapper objectMapper) {
+    this(promptRegistry, llmClient, objectMapper, DEFAULT_MAX_CONCURRENT_REQUESTS);
+  }
+
+  public LlmListingJudge(
+      PromptRegistry promptRegistry,
+      LlmClient llmClient,
+      ObjectMapper objectMapper,
+      int maxConcurrentRequests) {
     this.promptRegistry = promptRegistry;
     this.llmClient = llmClient;
     this.objectMapper = objectMapper;
+    this.maxConcurrentRequests = maxConcurrentRequests;
   }
 
   @Override
@@ -33,9 +52,44 @@ public class LlmListingJudge implements ListingJudge {
     }
   }
 
+  @Override
+  public List<Boolean> judgeAll(
+      SearchFactory.Judge judge, List<Listing> listings, VerdictListener listener) {
+    var batches = Lists.partition(listings, judge.batchSize());
+    var verdicts = new Boolean[listings.size()];
+    BoundedExecutor.forEach(
+        IntStream.range(0, batches.size()).boxed().toList(),
+        maxConcurrentRequests,
+        index ->
+            judgeBatch(judge, batches.get(index), index * judge.batchSize(), verdicts, listener));
+    return Arrays.asList(verdicts);
+  }
+
+  private void judgeBatch(
+      SearchFactory.Judge judge,
+      List<Listing> batch,
+      int offset,
+      Boolean[] verdicts,
+      VerdictListener listener) {
+    // a failed request or malformed response only leaves its own listings unjudged
+    List<Boolean> batchVerdicts;
+    try {
+      batchVerdicts =
+          batch.size() == 1
+              ? List.of(doJudge(judge, batch.get(0).title(), batch.get(0).description()))
+              : doJudgeBatch(judge, batch);
+    } catch (Exception e) {
+      LOGGER.warn("Failed to judge {} listing(s) with {}", batch.size(), judge.prompt(), e);
+      return;
+    }
+    for (int i = 0; i < batchVerdicts.size(); i++) {
+      verdicts[offset + i] = batchVerdicts.get(i);
+      listener.onVerdict(offset + i, batchVerdicts.get(i));
+    }
+  }
+
   private boolean doJudge(SearchFactory.Judge judge, String title, String description)
       throws Exception {
-    var systemPrompt = promptRegistry.get(judge.prompt());
     var userMessage =
         "Judge this listing. Respond with the JSON object described in your instructions.\n\n"
             + "Title: "
@@ -44,6 +98,43 @@ public class LlmListingJudge implements ListingJudge {
             + "Description: "
             + description;
 
+    var judgment = objectMapper.readTree(complete(judge, userMessage));
+    return evaluate(judge, title, judgment);
+  }
+
+  private List<Boolean> doJudgeBatch(SearchFactory.Judge judge, List<Listing> batch)
+      throws Exception {
+    var userMessage =
+        new StringBuilder(
+            "Judge each of these "
+                + batch.size()
+                + " listings on its own. Respond with a JSON object whose \"listings\" array"
+                + " holds, in the same order, one JSON object per listing as described in your"
+                + " instructions.");
+    for (int i = 0; i < batch.size(); i++) {
+      userMessage
+          .append("\n\nListing ")
+          .append(i + 1)
+          .append("\nTitle: ")
+          .append(batch.get(i).title())
+          .append("\nDescription: ")
+          .append(batch.get(i).description());
+    }
+
+    var judgments = objectMapper.readTree(complete(judge, userMessage.toString())).get("listings");
+    Verify.verify(
+        judgments != null && judgments.isArray() && judgments.size() == batch.size(),
+        "expected %s listing judgments",
+        batch.size());
+    var verdicts = new ArrayList<Boolean>(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      verdicts.add(evaluate(judge, batch.get(i).title(), judgments.get(i)));
+    }
+    return verdicts;
+  }
+
+  private String complete(SearchFactory.Judge judge, String userMessage) {
+    var systemPrompt = promptRegistry.get(judge.prompt());
     var response =
         llmClient.complete(
             new LlmRequest(
@@ -51,8 +142,10 @@ public class LlmListingJudge implements ListingJudge {
                 judge.reasoningEffort(),
                 true,
                 List.of(LlmMessage.system(systemPrompt), LlmMessage.user(userMessage))));
+    return response.content();
+  }
 
-    var judgment = objectMapper.readTree(response.content());
+  private boolean evaluate(SearchFactory.Judge judge, String title, JsonNode judgment) {
     var pass = true;
     for (var criterion : judge.criteria()) {
       var value = judgment.get(criterion);
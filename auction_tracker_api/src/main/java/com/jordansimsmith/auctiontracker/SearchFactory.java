@@ -1,5 +1,6 @@
 package com.jordansimsmith.auctiontracker;
 
+import com.google.common.base.Preconditions;
 import java.net.URI;
 import java.util.List;
 import javax.annotation.Nullable;
@@ -11,7 +12,18 @@ public interface SearchFactory {
     USED
   }
 
-  record Judge(String prompt, String model, String reasoningEffort, List<String> criteria) {}
+  // batchSize listings are judged per request; prompts are evaluated one listing at a time, so a
+  // larger batch needs its own eval run before it is configured
+  record Judge(
+      String prompt, String model, String reasoningEffort, List<String> criteria, int batchSize) {
+    public Judge {
+      Preconditions.checkArgument(batchSize > 0, "batchSize must be positive");
+    }
+
+    public Judge(String prompt, String model, String reasoningEffort, List<String> criteria) {
+      this(prompt, model, reasoningEffort, criteria, 1);
+    }
+  }
 
   record Search(
       URI baseUrl,
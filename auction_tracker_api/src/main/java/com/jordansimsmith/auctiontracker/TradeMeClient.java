@@ -6,6 +6,10 @@ import java.util.List;
 import javax.annotation.Nullable;
 
 public interface TradeMeClient {
+  record TradeMeListing(String url, String detailUrl) {}
+
+  record TradeMeSearchPage(List<TradeMeListing> listings, @Nullable String nextPageUrl) {}
+
   record TradeMeItem(
       String url,
       String title,
@@ -14,12 +18,20 @@ public interface TradeMeClient {
       BigDecimal startPrice,
       @Nullable BigDecimal buyNowPrice) {}
 
-  List<TradeMeItem> searchItems(
+  // returns the first page of search results without fetching their detail pages
+  TradeMeSearchPage searchListings(
       URI baseUrl,
       String searchTerm,
       @Nullable Double minPrice,
       @Nullable Double maxPrice,
       SearchFactory.Condition condition);
 
+  // returns the search results page at a previous page's next page url
+  TradeMeSearchPage getSearchPage(String pageUrl);
+
+  // returns null when the detail page cannot be fetched or the listing's reserve is not met
+  @Nullable
+  TradeMeItem getItem(TradeMeListing listing);
+
   URI getSearchUrl(SearchFactory.Search search);
 }
@@ -4,12 +4,17 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.jordansimsmith.time.Clock;
-import java.util.HashMap;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Locale;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
@@ -20,6 +25,10 @@ import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 
 public class UpdateItemsHandler implements RequestHandler<ScheduledEvent, Void> {
   private static final Logger LOGGER = LoggerFactory.getLogger(UpdateItemsHandler.class);
+  @VisibleForTesting static final int MAX_SEARCH_PAGES = 20;
+  // enough listings to keep the judge's requests in flight, while a failed run loses at most one
+  // chunk's worth of stored listings
+  @VisibleForTesting static final int JUDGE_CHUNK_SIZE = 16;
 
   private final Clock clock;
   private final ExcludedSellerUsernameFactory excludedSellerUsernameFactory;
@@ -27,6 +36,7 @@ public class UpdateItemsHandler implements RequestHandler<ScheduledEvent, Void>
   private final TradeMeClient tradeMeClient;
   private final ListingFingerprinter listingFingerprinter;
   private final ListingJudge listingJudge;
+  private final CrawlScheduler.Config crawlSchedulerConfig;
   private final DynamoDbTable<AuctionTrackerItem> auctionTrackerTable;
   private final DynamoDbIndex<AuctionTrackerItem> gsi1;
   private final DynamoDbIndex<AuctionTrackerItem> gsi2;
@@ -43,6 +53,7 @@ public class UpdateItemsHandler implements RequestHandler<ScheduledEvent, Void>
     this.tradeMeClient = factory.tradeMeClient();
     this.listingFingerprinter = factory.listingFingerprinter();
     this.listingJudge = factory.listingJudge();
+    this.crawlSchedulerConfig = factory.crawlSchedulerConfig();
     this.auctionTrackerTable = factory.auctionTrackerTable();
     this.gsi1 = auctionTrackerTable.index("gsi1");
     this.gsi2 = auctionTrackerTable.index("gsi2");
@@ -62,91 +73,236 @@ public class UpdateItemsHandler implements RequestHandler<ScheduledEvent, Void>
     var searches = searchFactory.findSearches();
     var excludedSellerUsernames = excludedSellerUsernameFactory.findExcludedSellerUsernames();
 
-    // memoize judgments so a listing found by multiple judged searches is judged once per run
-    var judgments = new HashMap<String, Boolean>();
-    var contentFingerprints = new HashSet<String>();
-    for (var search : searches) {
-      processSearch(search, excludedSellerUsernames, judgments, contentFingerprints);
+    try (var crawlScheduler = new CrawlScheduler(crawlSchedulerConfig)) {
+      // fetch every first results page up front so searches against the same host share its
+      // budget
+      var firstPageFetches = new ArrayList<CompletableFuture<TradeMeClient.TradeMeSearchPage>>();
+      for (var search : searches) {
+        firstPageFetches.add(
+            crawlScheduler.fetch(
+                tradeMeClient.getSearchUrl(search).toString(),
+                search.baseUrl(),
+                () ->
+                    tradeMeClient.searchListings(
+                        search.baseUrl(),
+                        search.searchTerm(),
+                        search.minPrice(),
+                        search.maxPrice(),
+                        search.condition())));
+      }
+
+      // walk each search's results pages as they arrive, queueing detail pages for listings not
+      // already stored for that search. a listing found by several searches is fetched once.
+      var searchCrawls = new ArrayList<SearchCrawl>();
+      var traversals = new ArrayList<CompletableFuture<Void>>();
+      for (int i = 0; i < searches.size(); i++) {
+        var search = searches.get(i);
+        var searchUrl = tradeMeClient.getSearchUrl(search).toString();
+        var searchCrawl = new SearchCrawl(search, searchUrl, new ArrayList<>());
+        searchCrawls.add(searchCrawl);
+        traversals.add(
+            crawlPages(
+                crawlScheduler, searchCrawl, findItemUrls(searchUrl), firstPageFetches.get(i), 1));
+      }
+      for (var traversal : traversals) {
+        CrawlScheduler.join(traversal);
+      }
+
+      // pick out new listings in search order so duplicate detection matches a sequential crawl
+      var contentFingerprints = new HashSet<String>();
+      var fingerprintIndex = new FingerprintIndex(auctionTrackerTable, clock.now());
+      try {
+        var candidates = new ArrayList<Candidate>();
+        for (var searchCrawl : searchCrawls) {
+          findCandidates(
+              searchCrawl,
+              excludedSellerUsernames,
+              contentFingerprints,
+              fingerprintIndex,
+              candidates);
+        }
+
+        var unjudged = judgeAndStoreCandidates(candidates, fingerprintIndex);
+        if (unjudged > 0) {
+          throw new RuntimeException(
+              "failed to judge " + unjudged + " listing(s), they will be retried on the next run");
+        }
+      } finally {
+        // save even if a later listing fails, so every stored fingerprint reaches the index
+        fingerprintIndex.save();
+      }
     }
 
     return null;
   }
 
-  private void processSearch(
-      SearchFactory.Search search,
+  // queues detail pages for the page's unseen listings and follows its next page link. results
+  // are sorted newest first, so once a page holds nothing unseen the later pages will not either.
+  private CompletableFuture<Void> crawlPages(
+      CrawlScheduler crawlScheduler,
+      SearchCrawl searchCrawl,
+      Set<String> seenItemUrls,
+      CompletableFuture<TradeMeClient.TradeMeSearchPage> pageFetch,
+      int pageNumber) {
+    return pageFetch.thenCompose(
+        page -> {
+          var unseenListings = 0;
+          for (var listing : page.listings()) {
+            if (!seenItemUrls.add(listing.url())) {
+              continue;
+            }
+            unseenListings++;
+            var itemFetch =
+                crawlScheduler.fetch(
+                    listing.url(),
+                    URI.create(listing.detailUrl()),
+                    () -> tradeMeClient.getItem(listing));
+            searchCrawl.itemFetches().add(new ItemFetch(listing.url(), itemFetch));
+          }
+
+          var nextPageUrl = page.nextPageUrl();
+          if (unseenListings == 0 || nextPageUrl == null) {
+            return CompletableFuture.completedFuture(null);
+          }
+          if (pageNumber >= MAX_SEARCH_PAGES) {
+            LOGGER.warn(
+                "Stopping search {} after {} results pages", searchCrawl.searchUrl(), pageNumber);
+            return CompletableFuture.completedFuture(null);
+          }
+
+          var nextPageFetch =
+              crawlScheduler.fetch(
+                  nextPageUrl,
+                  URI.create(nextPageUrl),
+                  () -> tradeMeClient.getSearchPage(nextPageUrl));
+          return crawlPages(
+              crawlScheduler, searchCrawl, seenItemUrls, nextPageFetch, pageNumber + 1);
+        });
+  }
+
+  // a listing skipped here is never stored, so it is recorded as seen for the search; otherwise it
+  // would keep the search paginating and be fetched again on every run
+  private void findCandidates(
+      SearchCrawl searchCrawl,
       Set<String> excludedSellerUsernames,
-      Map<String, Boolean> judgments,
-      Set<String> contentFingerprints) {
-    var tradeMeItems =
-        tradeMeClient.searchItems(
-            search.baseUrl(),
-            search.searchTerm(),
-            search.minPrice(),
-            search.maxPrice(),
-            search.condition());
-
-    var searchUrl = tradeMeClient.getSearchUrl(search).toString();
-    var currentTime = clock.now();
-
-    for (var tradeMeItem : tradeMeItems) {
+      Set<String> contentFingerprints,
+      FingerprintIndex fingerprintIndex,
+      List<Candidate> candidates) {
+    for (var itemFetch : searchCrawl.itemFetches()) {
+      var tradeMeItem = CrawlScheduler.join(itemFetch.fetch());
+      if (tradeMeItem == null) {
+        markSeen(searchCrawl, itemFetch.url());
+        continue;
+      }
+
       if (excludedSellerUsernames.contains(
           tradeMeItem.sellerUsername().trim().toLowerCase(Locale.ROOT))) {
         LOGGER.info(
             "Skipping listing from excluded seller {}: {}",
             tradeMeItem.sellerUsername(),
             tradeMeItem.url());
+        markSeen(searchCrawl, itemFetch.url());
         continue;
       }
 
-      if (itemExists(searchUrl, tradeMeItem.url())) {
-        continue;
-      }
-
+      // gsi2 is only queried to confirm fingerprints the index might contain
       var contentFingerprint = listingFingerprinter.create(tradeMeItem);
       if (contentFingerprints.contains(contentFingerprint)
-          || contentFingerprintExists(contentFingerprint)) {
+          || (fingerprintIndex.mightContain(contentFingerprint)
+              && contentFingerprintExists(contentFingerprint))) {
+        markSeen(searchCrawl, itemFetch.url());
         continue;
       }
 
-      AuctionTrackerItem.Judgment judgment = null;
-      if (search.judge() != null) {
-        var pass =
-            judgments.computeIfAbsent(
-                search.judge().prompt() + AuctionTrackerItem.DELIMITER + tradeMeItem.url(),
-                key ->
-                    listingJudge.judge(
-                        search.judge(), tradeMeItem.title(), tradeMeItem.description()));
-        judgment = pass ? AuctionTrackerItem.Judgment.PASS : AuctionTrackerItem.Judgment.FAIL;
+      contentFingerprints.add(contentFingerprint);
+      candidates.add(new Candidate(searchCrawl, tradeMeItem, contentFingerprint));
+    }
+  }
+
+  // stores listings without a judge as they are, then judges each judge's listings in chunks and
+  // stores every chunk before judging the next, so requests within a chunk run concurrently and a
+  // failure later in the run keeps what was already judged. a listing whose judgment failed is not
+  // stored and is found again by the next run. returns the number of unjudged listings.
+  private int judgeAndStoreCandidates(
+      List<Candidate> candidates, FingerprintIndex fingerprintIndex) {
+    var candidatesByJudge = new LinkedHashMap<SearchFactory.Judge, List<Candidate>>();
+    for (var candidate : candidates) {
+      var judge = candidate.searchCrawl().search().judge();
+      if (judge == null) {
+        store(candidate, null, fingerprintIndex);
+      } else {
+        candidatesByJudge.computeIfAbsent(judge, j -> new ArrayList<>()).add(candidate);
       }
+    }
 
-      var auctionTrackerItem =
-          AuctionTrackerItem.create(
-              searchUrl,
-              tradeMeItem.url(),
-              tradeMeItem.title(),
-              contentFingerprint,
-              currentTime,
-              judgment);
-      auctionTrackerTable.putItem(auctionTrackerItem);
-      contentFingerprints.add(contentFingerprint);
+    var unjudged = 0;
+    for (var entry : candidatesByJudge.entrySet()) {
+      for (var chunk : Lists.partition(entry.getValue(), JUDGE_CHUNK_SIZE)) {
+        var listings = new ArrayList<ListingJudge.Listing>(chunk.size());
+        for (var candidate : chunk) {
+          var tradeMeItem = candidate.tradeMeItem();
+          listings.add(new ListingJudge.Listing(tradeMeItem.title(), tradeMeItem.description()));
+        }
+
+        var verdicts = listingJudge.judgeAll(entry.getKey(), listings);
+        for (int i = 0; i < chunk.size(); i++) {
+          var candidate = chunk.get(i);
+          var verdict = verdicts.get(i);
+          if (verdict == null) {
+            LOGGER.warn(
+                "Skipping listing that could not be judged: {}", candidate.tradeMeItem().url());
+            unjudged++;
+            continue;
+          }
+          store(
+              candidate,
+              verdict ? AuctionTrackerItem.Judgment.PASS : AuctionTrackerItem.Judgment.FAIL,
+              fingerprintIndex);
+        }
+      }
     }
+    return unjudged;
   }
 
-  private boolean itemExists(String searchUrl, String itemUrl) {
-    return gsi1
-        .query(
+  private void store(
+      Candidate candidate,
+      @Nullable AuctionTrackerItem.Judgment judgment,
+      FingerprintIndex fingerprintIndex) {
+    var auctionTrackerItem =
+        AuctionTrackerItem.create(
+            candidate.searchCrawl().searchUrl(),
+            candidate.tradeMeItem().url(),
+            candidate.tradeMeItem().title(),
+            candidate.contentFingerprint(),
+            clock.now(),
+            judgment);
+    auctionTrackerTable.putItem(auctionTrackerItem);
+    fingerprintIndex.put(candidate.contentFingerprint());
+  }
+
+  private void markSeen(SearchCrawl searchCrawl, String itemUrl) {
+    auctionTrackerTable.putItem(
+        AuctionTrackerItem.createSeen(searchCrawl.searchUrl(), itemUrl, clock.now()));
+  }
+
+  // seen records expire after a day, so dynamodb may not have deleted them yet
+  private Set<String> findItemUrls(String searchUrl) {
+    var now = clock.now().getEpochSecond();
+    var itemUrls = new HashSet<String>();
+    gsi1.query(
             QueryEnhancedRequest.builder()
                 .queryConditional(
                     QueryConditional.keyEqualTo(
                         Key.builder()
                             .partitionValue(AuctionTrackerItem.formatGsi1pk(searchUrl))
-                            .sortValue(AuctionTrackerItem.formatGsi1sk(itemUrl))
                             .build()))
+                .attributesToProject(AuctionTrackerItem.URL, AuctionTrackerItem.TTL)
                 .build())
         .stream()
         .flatMap(page -> page.items().stream())
-        .findFirst()
-        .isPresent();
+        .filter(item -> item.getTtl() == null || item.getTtl() > now)
+        .forEach(item -> itemUrls.add(item.getUrl()));
+    return itemUrls;
   }
 
   private boolean contentFingerprintExists(String contentFingerprint) {
@@ -164,4 +320,12 @@ public class UpdateItemsHandler implements RequestHandler<ScheduledEvent, Void>
         .findFirst()
         .isPresent();
   }
+
+  private record SearchCrawl(
+      SearchFactory.Search search, String searchUrl, List<ItemFetch> itemFetches) {}
+
+  private record ItemFetch(String url, CompletableFuture<TradeMeClient.TradeMeItem> fetch) {}
+
+  private record Candidate(
+      SearchCrawl searchCrawl, TradeMeClient.TradeMeItem tradeMeItem, String contentFingerprint) {}
 }
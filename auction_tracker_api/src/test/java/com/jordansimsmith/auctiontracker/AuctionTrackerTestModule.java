@@ -1,11 +1,14 @@
 package com.jordansimsmith.auctiontracker;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jordansimsmith.dynamodb.DynamoDbBatchReader;
 import com.jordansimsmith.llm.FakeLlmClient;
 import com.jordansimsmith.llm.LlmClient;
 import com.jordansimsmith.prompts.ClasspathPromptRegistry;
+import com.jordansimsmith.time.Clock;
 import dagger.Module;
 import dagger.Provides;
+import java.time.Duration;
 import javax.inject.Singleton;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
@@ -58,6 +61,12 @@ public class AuctionTrackerTestModule {
     return fakeTradeMeClient;
   }
 
+  @Provides
+  @Singleton
+  CrawlScheduler.Config crawlSchedulerConfig() {
+    return new CrawlScheduler.Config(4, Duration.ZERO);
+  }
+
   @Provides
   @Singleton
   ListingFingerprinter listingFingerprinter() {
@@ -78,7 +87,18 @@ public class AuctionTrackerTestModule {
 
   @Provides
   @Singleton
-  ListingJudge listingJudge(LlmClient llmClient) {
-    return new LlmListingJudge(new ClasspathPromptRegistry(), llmClient, new ObjectMapper());
+  ListingJudge listingJudge(
+      LlmClient llmClient,
+      DynamoDbTable<AuctionTrackerItem> auctionTrackerTable,
+      DynamoDbBatchReader dynamoDbBatchReader,
+      Clock clock) {
+    var promptRegistry = new ClasspathPromptRegistry();
+    // one request at a time, so queued fake responses are consumed in listing order
+    return new CachingListingJudge(
+        new LlmListingJudge(promptRegistry, llmClient, new ObjectMapper(), 1),
+        auctionTrackerTable,
+        dynamoDbBatchReader,
+        promptRegistry,
+        clock);
   }
 }
@@ -0,0 +1,175 @@
+package com.jordansimsmith.auctiontracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jordansimsmith.dynamodb.DynamoDbContainer;
+import com.jordansimsmith.dynamodb.DynamoDbUtils;
+import com.jordansimsmith.llm.FakeLlmClient;
+import com.jordansimsmith.time.FakeClock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+public class CachingListingJudgeIntegrationTest {
+  private static final SearchFactory.Judge JUDGE =
+      new SearchFactory.Judge(
+          "prompts/mtg-bulk-judge.md", "gpt-5.4-mini", "none", List.of("mtg_cards"));
+  private static final ListingJudge.Listing BULK_LOT =
+      new ListingJudge.Listing("MTG bulk lot", "500 assorted cards");
+  private static final ListingJudge.Listing POKEMON_LOT =
+      new ListingJudge.Listing("Pokemon bulk", "500 pokemon cards");
+
+  private FakeClock fakeClock;
+  private FakeLlmClient fakeLlmClient;
+  private ListingJudge listingJudge;
+
+  @Container private static final DynamoDbContainer dynamoDbContainer = new DynamoDbContainer();
+
+  @BeforeAll
+  static void setUpBeforeClass() {
+    var factory = AuctionTrackerTestFactory.create(dynamoDbContainer.getEndpoint());
+    var table = factory.auctionTrackerTable();
+    DynamoDbUtils.createTable(factory.dynamoDbClient(), table);
+  }
+
+  @BeforeEach
+  void setUp() {
+    var factory = AuctionTrackerTestFactory.create(dynamoDbContainer.getEndpoint());
+    fakeClock = factory.fakeClock();
+    fakeLlmClient = factory.fakeLlmClient();
+    listingJudge = factory.listingJudge();
+    DynamoDbUtils.reset(factory.dynamoDbClient());
+    fakeClock.setTime(Instant.ofEpochSecond(1_700_000_000));
+  }
+
+  @Test
+  void judgeAllShouldJudgeEachDistinctListingOnceAndReuseCachedVerdicts() {
+    // arrange
+    fakeLlmClient.addResponse(judgmentJson(true));
+    fakeLlmClient.addResponse(judgmentJson(false));
+
+    // act
+    var first = listingJudge.judgeAll(JUDGE, List.of(BULK_LOT, POKEMON_LOT, BULK_LOT));
+    var second = listingJudge.judgeAll(JUDGE, List.of(POKEMON_LOT, BULK_LOT));
+
+    // assert
+    assertThat(first).containsExactly(true, false, true);
+    assertThat(second).containsExactly(false, true);
+    assertThat(fakeLlmClient.findRequests()).hasSize(2);
+  }
+
+  @Test
+  void judgeAllShouldJudgeAgainOnceVerdictExpires() {
+    // arrange
+    fakeLlmClient.addResponse(judgmentJson(true));
+    fakeLlmClient.addResponse(judgmentJson(false));
+    listingJudge.judgeAll(JUDGE, List.of(BULK_LOT));
+    fakeClock.setTime(fakeClock.now().plus(Duration.ofDays(90)));
+
+    // act
+    var verdicts = listingJudge.judgeAll(JUDGE, List.of(BULK_LOT));
+    var reread = listingJudge.judgeAll(JUDGE, List.of(BULK_LOT));
+
+    // assert
+    assertThat(verdicts).containsExactly(false);
+    assertThat(reread).containsExactly(false);
+    assertThat(fakeLlmClient.findRequests()).hasSize(2);
+  }
+
+  @Test
+  void judgeAllShouldKeepVerdictCachedByAConcurrentRun() {
+    // arrange
+    var batchJudge =
+        new SearchFactory.Judge(JUDGE.prompt(), JUDGE.model(), "none", JUDGE.criteria(), 2);
+    fakeLlmClient.addResponse(judgmentJson(true));
+    fakeLlmClient.addResponse(judgmentJson(true));
+    listingJudge.judgeAll(JUDGE, List.of(BULK_LOT, POKEMON_LOT));
+    fakeClock.setTime(fakeClock.now().plus(Duration.ofDays(90)));
+    fakeLlmClient.addResponse(
+        "{\"listings\": [" + judgmentJson(false) + "," + judgmentJson(false) + "]}");
+    fakeLlmClient.addResponse(judgmentJson(true));
+
+    // act
+    var verdicts =
+        listingJudge.judgeAll(
+            batchJudge,
+            List.of(BULK_LOT, POKEMON_LOT),
+            (index, pass) -> {
+              // another run replaces the expired pokemon verdict before this run caches its own
+              if (index == 0) {
+                listingJudge.judgeAll(JUDGE, List.of(POKEMON_LOT));
+              }
+            });
+    var reread = listingJudge.judgeAll(JUDGE, List.of(BULK_LOT, POKEMON_LOT));
+
+    // assert
+    assertThat(verdicts).containsExactly(false, false);
+    assertThat(reread).containsExactly(false, true);
+    assertThat(fakeLlmClient.findRequests()).hasSize(4);
+  }
+
+  @Test
+  void judgeAllShouldNotShareVerdictsBetweenModels() {
+    // arrange
+    var otherModel =
+        new SearchFactory.Judge(JUDGE.prompt(), "gpt-5.4-nano", "none", JUDGE.criteria());
+    fakeLlmClient.addResponse(judgmentJson(true));
+    fakeLlmClient.addResponse(judgmentJson(false));
+    listingJudge.judgeAll(JUDGE, List.of(BULK_LOT));
+
+    // act
+    var verdicts = listingJudge.judgeAll(otherModel, List.of(BULK_LOT));
+
+    // assert
+    assertThat(verdicts).containsExactly(false);
+    assertThat(fakeLlmClient.findRequests())
+        .extracting(request -> request.model())
+        .containsExactly("gpt-5.4-mini", "gpt-5.4-nano");
+  }
+
+  @Test
+  void judgeAllShouldCacheVerdictsJudgedBeforeAFailure() {
+    // arrange
+    fakeLlmClient.addResponse(judgmentJson(true));
+    fakeLlmClient.addResponse("{}");
+    var first = listingJudge.judgeAll(JUDGE, List.of(BULK_LOT, POKEMON_LOT));
+    fakeLlmClient.addResponse(judgmentJson(false));
+
+    // act
+    var second = listingJudge.judgeAll(JUDGE, List.of(BULK_LOT, POKEMON_LOT));
+
+    // assert
+    assertThat(first).containsExactly(true, null);
+    assertThat(second).containsExactly(true, false);
+    assertThat(fakeLlmClient.findRequests()).hasSize(3);
+  }
+
+  @Test
+  void judgeAllShouldCacheEachVerdictBeforeReportingIt() {
+    // arrange
+    fakeLlmClient.addResponse(judgmentJson(true));
+    var reread = new ArrayList<List<Boolean>>();
+
+    // act
+    listingJudge.judgeAll(
+        JUDGE,
+        List.of(BULK_LOT, BULK_LOT),
+        (index, pass) -> reread.add(listingJudge.judgeAll(JUDGE, List.of(BULK_LOT))));
+
+    // assert
+    assertThat(reread).containsExactly(List.of(true), List.of(true));
+    assertThat(fakeLlmClient.findRequests()).hasSize(1);
+  }
+
+  private static String judgmentJson(boolean pass) {
+    return "{\"mtg_cards\": {\"reasoning\": \"because\", \"result\": \"%s\"}}"
+        .formatted(pass ? "pass" : "fail");
+  }
+}
@@ -0,0 +1,153 @@
+package com.jordansimsmith.auctiontracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class CrawlSchedulerTest {
+  private static final URI TRADEME = URI.create("https://www.trademe.co.nz/a/marketplace");
+  private static final URI OTHER = URI.create("https://www.example.com/search");
+
+  @Test
+  void fetchShouldCoalesceRequestsForTheSameKey() throws Exception {
+    // arrange
+    var calls = new AtomicInteger();
+    var release = new CountDownLatch(1);
+
+    // act
+    String first;
+    String second;
+    CrawlScheduler.Stats stats;
+    try (var crawlScheduler = new CrawlScheduler(new CrawlScheduler.Config(4, Duration.ZERO))) {
+      var firstFetch =
+          crawlScheduler.fetch(
+              "listing/123",
+              TRADEME,
+              () -> {
+                calls.incrementAndGet();
+                release.await();
+                return "listing";
+              });
+      var secondFetch =
+          crawlScheduler.fetch(
+              "listing/123",
+              TRADEME,
+              () -> {
+                calls.incrementAndGet();
+                return "other";
+              });
+      release.countDown();
+      first = CrawlScheduler.join(firstFetch);
+      second = CrawlScheduler.join(secondFetch);
+      stats = crawlScheduler.stats();
+    }
+
+    // assert
+    assertThat(calls.get()).isEqualTo(1);
+    assertThat(first).isEqualTo("listing");
+    assertThat(second).isEqualTo("listing");
+    assertThat(stats.requests()).isEqualTo(1);
+    assertThat(stats.coalesced()).isEqualTo(1);
+  }
+
+  @Test
+  void fetchShouldLimitConcurrentRequestsPerHost() throws Exception {
+    // arrange
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    var otherHostStarted = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var fetches = new ArrayList<CompletableFuture<Integer>>();
+
+    // act
+    boolean otherHostRan;
+    CrawlScheduler.Stats stats;
+    try (var crawlScheduler = new CrawlScheduler(new CrawlScheduler.Config(2, Duration.ZERO))) {
+      for (int i = 0; i < 6; i++) {
+        var page = i;
+        fetches.add(
+            crawlScheduler.fetch(
+                "page/" + i,
+                TRADEME,
+                () -> {
+                  maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                  release.await();
+                  inFlight.decrementAndGet();
+                  return page;
+                }));
+      }
+      crawlScheduler.fetch(
+          "other",
+          OTHER,
+          () -> {
+            otherHostStarted.countDown();
+            return 0;
+          });
+      // the other host has its own budget, so it runs while every trademe slot is held
+      otherHostRan = otherHostStarted.await(5, TimeUnit.SECONDS);
+      release.countDown();
+      for (var fetch : fetches) {
+        CrawlScheduler.join(fetch);
+      }
+      stats = crawlScheduler.stats();
+    }
+
+    // assert
+    assertThat(otherHostRan).isTrue();
+    assertThat(maxInFlight.get()).isEqualTo(2);
+    assertThat(stats.requests()).isEqualTo(7);
+    assertThat(stats.maxQueueDepth()).isGreaterThanOrEqualTo(4);
+  }
+
+  @Test
+  void fetchShouldSpaceRequestsToTheSameHost() {
+    // arrange
+    var interval = Duration.ofMillis(50);
+    var fetches = new ArrayList<CompletableFuture<Long>>();
+    var start = System.nanoTime();
+
+    // act
+    try (var crawlScheduler = new CrawlScheduler(new CrawlScheduler.Config(4, interval))) {
+      for (int i = 0; i < 4; i++) {
+        fetches.add(crawlScheduler.fetch("page/" + i, TRADEME, System::nanoTime));
+      }
+      for (var fetch : fetches) {
+        CrawlScheduler.join(fetch);
+      }
+    }
+
+    // assert
+    var lastStart = start;
+    for (var fetch : fetches) {
+      lastStart = Math.max(lastStart, fetch.join());
+    }
+    assertThat(lastStart - start).isGreaterThanOrEqualTo(interval.multipliedBy(3).toNanos());
+  }
+
+  @Test
+  void joinShouldRethrowFetchFailure() {
+    // arrange
+    try (var crawlScheduler = new CrawlScheduler(new CrawlScheduler.Config(1, Duration.ZERO))) {
+      CompletableFuture<String> fetch =
+          crawlScheduler.fetch(
+              "page",
+              TRADEME,
+              () -> {
+                throw new IllegalStateException("Failed to search items");
+              });
+
+      // act & assert
+      assertThatThrownBy(() -> CrawlScheduler.join(fetch))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("Failed to search items");
+    }
+  }
+}
@@ -4,23 +4,45 @@ import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 
 public class FakeTradeMeClient implements TradeMeClient {
-  private final Map<String, List<TradeMeItem>> searchResponses = new HashMap<>();
+  private final Map<String, List<TradeMeItem>> searchResponses = new ConcurrentHashMap<>();
+  private final Map<String, String> nextPageUrls = new ConcurrentHashMap<>();
+  private final Map<String, TradeMeItem> items = new ConcurrentHashMap<>();
+  private final List<String> searchPageRequests = Collections.synchronizedList(new ArrayList<>());
+  private final List<String> itemRequests = Collections.synchronizedList(new ArrayList<>());
 
   @Override
-  public List<TradeMeItem> searchItems(
+  public TradeMeSearchPage searchListings(
       URI baseUrl,
       String searchTerm,
       @Nullable Double minPrice,
       @Nullable Double maxPrice,
       SearchFactory.Condition condition) {
-    var fullSearchUrl = buildSearchUrl(baseUrl, searchTerm, minPrice, maxPrice, condition);
-    return searchResponses.getOrDefault(fullSearchUrl, List.of());
+    return getSearchPage(buildSearchUrl(baseUrl, searchTerm, minPrice, maxPrice, condition));
+  }
+
+  @Override
+  public TradeMeSearchPage getSearchPage(String pageUrl) {
+    searchPageRequests.add(pageUrl);
+    var listings = new ArrayList<TradeMeListing>();
+    for (var item : searchResponses.getOrDefault(pageUrl, List.of())) {
+      items.put(item.url(), item);
+      listings.add(new TradeMeListing(item.url(), item.url()));
+    }
+    return new TradeMeSearchPage(listings, nextPageUrls.get(pageUrl));
+  }
+
+  @Override
+  @Nullable
+  public TradeMeItem getItem(TradeMeListing listing) {
+    itemRequests.add(listing.url());
+    return items.get(listing.url());
   }
 
   @Override
@@ -42,12 +64,41 @@ public class FakeTradeMeClient implements TradeMeClient {
       @Nullable Double maxPrice,
       SearchFactory.Condition condition,
       List<TradeMeItem> items) {
-    var key = buildSearchUrl(baseUrl, searchTerm, minPrice, maxPrice, condition);
-    searchResponses.put(key, new ArrayList<>(items));
+    addSearchPages(baseUrl, searchTerm, minPrice, maxPrice, condition, List.of(items));
+  }
+
+  // serves each list of items as one results page, linked to the next through a page parameter
+  public void addSearchPages(
+      URI baseUrl,
+      String searchTerm,
+      @Nullable Double minPrice,
+      @Nullable Double maxPrice,
+      SearchFactory.Condition condition,
+      List<List<TradeMeItem>> pages) {
+    var firstPageUrl = buildSearchUrl(baseUrl, searchTerm, minPrice, maxPrice, condition);
+    for (int i = 0; i < pages.size(); i++) {
+      var pageUrl = i == 0 ? firstPageUrl : firstPageUrl + "&page=" + (i + 1);
+      searchResponses.put(pageUrl, new ArrayList<>(pages.get(i)));
+      if (i + 1 < pages.size()) {
+        nextPageUrls.put(pageUrl, firstPageUrl + "&page=" + (i + 2));
+      }
+    }
+  }
+
+  public List<String> findSearchPageRequests() {
+    return searchPageRequests;
+  }
+
+  public List<String> findItemRequests() {
+    return itemRequests;
   }
 
   public void reset() {
     searchResponses.clear();
+    nextPageUrls.clear();
+    items.clear();
+    searchPageRequests.clear();
+    itemRequests.clear();
   }
 
   private String buildSearchUrl(
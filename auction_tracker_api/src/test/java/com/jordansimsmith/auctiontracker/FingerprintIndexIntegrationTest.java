@@ -0,0 +1,98 @@
+package com.jordansimsmith.auctiontracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jordansimsmith.dynamodb.DynamoDbContainer;
+import com.jordansimsmith.dynamodb.DynamoDbUtils;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+
+@Testcontainers
+public class FingerprintIndexIntegrationTest {
+  private static final Instant NOW = Instant.ofEpochSecond(1_700_000_000);
+
+  private DynamoDbTable<AuctionTrackerItem> auctionTrackerTable;
+
+  @Container private static final DynamoDbContainer dynamoDbContainer = new DynamoDbContainer();
+
+  @BeforeAll
+  static void setUpBeforeClass() {
+    var factory = AuctionTrackerTestFactory.create(dynamoDbContainer.getEndpoint());
+    var table = factory.auctionTrackerTable();
+    DynamoDbUtils.createTable(factory.dynamoDbClient(), table);
+  }
+
+  @BeforeEach
+  void setUp() {
+    var factory = AuctionTrackerTestFactory.create(dynamoDbContainer.getEndpoint());
+    auctionTrackerTable = factory.auctionTrackerTable();
+    DynamoDbUtils.reset(factory.dynamoDbClient());
+  }
+
+  @Test
+  void loadShouldSeedIndexFromStoredListings() {
+    // arrange
+    auctionTrackerTable.putItem(
+        AuctionTrackerItem.create("search", "url1", "title", "fingerprint1", NOW, null));
+
+    // act
+    var fingerprintIndex = new FingerprintIndex(auctionTrackerTable, NOW);
+    var containsStored = fingerprintIndex.mightContain("fingerprint1");
+    var containsUnknown = fingerprintIndex.mightContain("fingerprint2");
+    fingerprintIndex.save();
+
+    // assert
+    assertThat(containsStored).isTrue();
+    assertThat(containsUnknown).isFalse();
+    var reloaded = new FingerprintIndex(auctionTrackerTable, NOW);
+    assertThat(reloaded.mightContain("fingerprint1")).isTrue();
+  }
+
+  @Test
+  void saveShouldMergeFingerprintsWhenAnotherRunSavedFirst() {
+    // arrange
+    var existing = new FingerprintIndex(auctionTrackerTable, NOW);
+    existing.put("fingerprint0");
+    existing.save();
+    var first = new FingerprintIndex(auctionTrackerTable, NOW);
+    var second = new FingerprintIndex(auctionTrackerTable, NOW);
+    first.put("fingerprint1");
+    second.put("fingerprint2");
+
+    // act
+    first.save();
+    second.save();
+
+    // assert
+    var reloaded = new FingerprintIndex(auctionTrackerTable, NOW);
+    assertThat(reloaded.mightContain("fingerprint0")).isTrue();
+    assertThat(reloaded.mightContain("fingerprint1")).isTrue();
+    assertThat(reloaded.mightContain("fingerprint2")).isTrue();
+  }
+
+  @Test
+  void loadShouldDropFingerprintsAfterTwoGenerations() {
+    // arrange
+    var fingerprintIndex = new FingerprintIndex(auctionTrackerTable, NOW);
+    fingerprintIndex.put("fingerprint1");
+    fingerprintIndex.save();
+
+    // act
+    var nextGeneration = NOW.plus(FingerprintIndex.GENERATION);
+    var rotated = new FingerprintIndex(auctionTrackerTable, nextGeneration);
+    rotated.put("fingerprint2");
+    rotated.save();
+    var expired =
+        new FingerprintIndex(auctionTrackerTable, nextGeneration.plus(FingerprintIndex.GENERATION));
+
+    // assert
+    assertThat(rotated.mightContain("fingerprint1")).isTrue();
+    assertThat(expired.mightContain("fingerprint1")).isFalse();
+    assertThat(expired.mightContain("fingerprint2")).isTrue();
+  }
+}
@@ -4,8 +4,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +42,32 @@ public class JsoupTradeMeClientTest {
       </html>
       """;
 
+  private static final String SEARCH_HTML_WITH_DUPLICATE_LINKS =
+      """
+      <html>
+        <body>
+          <div class="tm-search-results">
+            <a href="/a/marketplace/sports/golf/wedges-chippers/listing/5337003621">Titleist Vokey SM6 Wedge 60*</a>
+            <a href="/a/marketplace/sports/golf/wedges-chippers/listing/5337003621?rsqid=abc123">Titleist Vokey SM6 Wedge 60*</a>
+          </div>
+        </body>
+      </html>
+      """;
+
+  private static final String SEARCH_HTML_WITH_NEXT_PAGE =
+      """
+      <html>
+        <body>
+          <div class="tm-search-results">
+            <a href="/a/marketplace/sports/golf/wedges-chippers/listing/5337003621">Titleist Vokey SM6 Wedge 60*</a>
+          </div>
+          <div class="tm-search-results__pagination">
+            <a href="/a/marketplace/sports/golf/wedges-chippers/search?search_string=paginated&sort_order=expirydesc&page=2">Next</a>
+          </div>
+        </body>
+      </html>
+      """;
+
   private static final String ITEM1_HTML =
       """
       <html>
@@ -232,16 +262,25 @@ public class JsoupTradeMeClientTest {
       """;
 
   private JsoupTradeMeClient client;
+  private List<String> fetchedUrls;
 
   @BeforeEach
   void setUp() {
+    fetchedUrls = new ArrayList<>();
     client =
         new JsoupTradeMeClient(new ObjectMapper()) {
           @Override
-          protected Document fetchDocument(String url) {
+          protected Document fetchDocument(String url) throws IOException {
+            fetchedUrls.add(url);
             return switch (url) {
               case BASE_URL + "?search_string=titleist+wedge&price_max=70&sort_order=expirydesc" ->
                   Jsoup.parse(SEARCH_HTML, BASE_URL);
+              case BASE_URL + "?search_string=duplicate+links&sort_order=expirydesc" ->
+                  Jsoup.parse(SEARCH_HTML_WITH_DUPLICATE_LINKS, BASE_URL);
+              case BASE_URL + "?search_string=paginated&sort_order=expirydesc" ->
+                  Jsoup.parse(SEARCH_HTML_WITH_NEXT_PAGE, BASE_URL);
+              case BASE_URL + "?search_string=paginated&sort_order=expirydesc&page=2" ->
+                  Jsoup.parse(SEARCH_HTML, BASE_URL);
               case BASE_URL + "?search_string=query+param+test&sort_order=expirydesc" ->
                   Jsoup.parse(SEARCH_HTML_WITH_QUERY_PARAMS, BASE_URL);
               case BASE_URL + "?search_string=reserve+test&sort_order=expirydesc" ->
@@ -270,12 +309,106 @@ public class JsoupTradeMeClientTest {
                   Jsoup.parse(ITEM_WITH_MALFORMED_PRICE_HTML);
               case "https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/5337003629" ->
                   Jsoup.parse(ITEM_WITH_MISSING_SELLER_USERNAME_HTML);
+              case "https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/1" ->
+                  throw new IOException("HTTP error fetching URL");
               default -> throw new AssertionError("Unexpected URL in test: " + url);
             };
           }
         };
   }
 
+  @Test
+  void searchListingsShouldNotFetchDetailPages() {
+    // arrange
+    var baseUrl = URI.create(BASE_URL);
+
+    // act
+    var listings =
+        client
+            .searchListings(baseUrl, "query param test", null, null, SearchFactory.Condition.ALL)
+            .listings();
+
+    // assert
+    assertThat(listings)
+        .containsExactlyInAnyOrder(
+            new TradeMeClient.TradeMeListing(
+                "https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/5337003623",
+                "https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/5337003623?rsqid=abc123-def456"),
+            new TradeMeClient.TradeMeListing(
+                "https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/5337003624",
+                "https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/5337003624?rsqid=xyz789-uvw012&ref=search"));
+    assertThat(fetchedUrls)
+        .containsExactly(BASE_URL + "?search_string=query+param+test&sort_order=expirydesc");
+  }
+
+  @Test
+  void searchListingsShouldDeduplicateLinksToTheSameListing() {
+    // arrange
+    var baseUrl = URI.create(BASE_URL);
+
+    // act
+    var listings =
+        client
+            .searchListings(baseUrl, "duplicate links", null, null, SearchFactory.Condition.ALL)
+            .listings();
+
+    // assert
+    assertThat(listings)
+        .extracting(TradeMeClient.TradeMeListing::url)
+        .containsExactly(
+            "https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/5337003621");
+  }
+
+  @Test
+  void searchListingsShouldReturnNextPageUrl() {
+    // arrange
+    var baseUrl = URI.create(BASE_URL);
+
+    // act
+    var page = client.searchListings(baseUrl, "paginated", null, null, SearchFactory.Condition.ALL);
+
+    // assert
+    assertThat(page.listings())
+        .extracting(TradeMeClient.TradeMeListing::url)
+        .containsExactly(
+            "https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/5337003621");
+    assertThat(page.nextPageUrl())
+        .isEqualTo(BASE_URL + "?search_string=paginated&sort_order=expirydesc&page=2");
+  }
+
+  @Test
+  void getSearchPageShouldReturnListingsOnTheLastPage() {
+    // arrange
+    var pageUrl = BASE_URL + "?search_string=paginated&sort_order=expirydesc&page=2";
+
+    // act
+    var page = client.getSearchPage(pageUrl);
+
+    // assert
+    assertThat(page.listings())
+        .extracting(TradeMeClient.TradeMeListing::url)
+        .containsExactly(
+            "https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/5337003621",
+            "https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/5337003622");
+    assertThat(page.nextPageUrl()).isNull();
+    assertThat(fetchedUrls).containsExactly(pageUrl);
+  }
+
+  @Test
+  void getItemShouldReturnNullWhenDetailPageCannotBeFetched() {
+    // arrange
+    var listing =
+        new TradeMeClient.TradeMeListing(
+            "https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/1",
+            "https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/1");
+
+    // act
+    var item = client.getItem(listing);
+
+    // assert
+    assertThat(item).isNull();
+  }
+
   @Test
   void searchItemsShouldExtractItemsFromSearchResults() {
     // arrange
@@ -285,8 +418,7 @@ public class JsoupTradeMeClientTest {
     Double maxPrice = 70.0;
 
     // act
-    var items =
-        client.searchItems(baseUrl, searchTerm, minPrice, maxPrice, SearchFactory.Condition.ALL);
+    var items = searchItems(baseUrl, searchTerm, minPrice, maxPrice, SearchFactory.Condition.ALL);
 
     // assert
     assertThat(items).hasSize(2);
@@ -360,8 +492,7 @@ public class JsoupTradeMeClientTest {
     Double maxPrice = null;
 
     // act
-    var items =
-        client.searchItems(baseUrl, searchTerm, minPrice, maxPrice, SearchFactory.Condition.ALL);
+    var items = searchItems(baseUrl, searchTerm, minPrice, maxPrice, SearchFactory.Condition.ALL);
 
     // assert
     assertThat(items).hasSize(2);
@@ -397,8 +528,7 @@ public class JsoupTradeMeClientTest {
     Double maxPrice = null;
 
     // act
-    var items =
-        client.searchItems(baseUrl, searchTerm, minPrice, maxPrice, SearchFactory.Condition.ALL);
+    var items = searchItems(baseUrl, searchTerm, minPrice, maxPrice, SearchFactory.Condition.ALL);
 
     // assert
     assertThat(items).hasSize(1);
@@ -424,11 +554,9 @@ public class JsoupTradeMeClientTest {
 
     // act & assert
     assertThatThrownBy(
-            () ->
-                client.searchItems(
-                    baseUrl, "missing price", null, null, SearchFactory.Condition.ALL))
+            () -> searchItems(baseUrl, "missing price", null, null, SearchFactory.Condition.ALL))
         .isInstanceOf(RuntimeException.class)
-        .hasMessage("Failed to search items")
+        .hasMessage("Failed to get item")
         .hasRootCauseMessage(
             "Could not find valid seller price data on page:"
                 + " https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/5337003627");
@@ -441,11 +569,9 @@ public class JsoupTradeMeClientTest {
 
     // act & assert
     assertThatThrownBy(
-            () ->
-                client.searchItems(
-                    baseUrl, "malformed price", null, null, SearchFactory.Condition.ALL))
+            () -> searchItems(baseUrl, "malformed price", null, null, SearchFactory.Condition.ALL))
         .isInstanceOf(RuntimeException.class)
-        .hasMessage("Failed to search items")
+        .hasMessage("Failed to get item")
         .hasRootCauseMessage(
             "Could not find valid seller price data on page:"
                 + " https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/5337003628");
@@ -458,13 +584,28 @@ public class JsoupTradeMeClientTest {
 
     // act & assert
     assertThatThrownBy(
-            () ->
-                client.searchItems(
-                    baseUrl, "missing seller", null, null, SearchFactory.Condition.ALL))
+            () -> searchItems(baseUrl, "missing seller", null, null, SearchFactory.Condition.ALL))
         .isInstanceOf(RuntimeException.class)
-        .hasMessage("Failed to search items")
+        .hasMessage("Failed to get item")
         .hasRootCauseMessage(
             "Could not find valid seller username on page:"
                 + " https://www.trademe.co.nz/a/marketplace/sports/golf/wedges-chippers/listing/5337003629");
   }
+
+  private List<TradeMeClient.TradeMeItem> searchItems(
+      URI baseUrl,
+      String searchTerm,
+      @Nullable Double minPrice,
+      @Nullable Double maxPrice,
+      SearchFactory.Condition condition) {
+    var items = new ArrayList<TradeMeClient.TradeMeItem>();
+    var page = client.searchListings(baseUrl, searchTerm, minPrice, maxPrice, condition);
+    for (var listing : page.listings()) {
+      var item = client.getItem(listing);
+      if (item != null) {
+        items.add(item);
+      }
+    }
+    return items;
+  }
 }
@@ -5,9 +5,16 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jordansimsmith.llm.FakeLlmClient;
+import com.jordansimsmith.llm.LlmClient;
 import com.jordansimsmith.llm.LlmMessage;
+import com.jordansimsmith.llm.LlmResponse;
 import com.jordansimsmith.prompts.ClasspathPromptRegistry;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -33,14 +40,19 @@ public class LlmListingJudgeTest {
               "timings_cl16",
               "desktop_udimm"));
 
+  private static final SearchFactory.Judge BATCH_JUDGE =
+      new SearchFactory.Judge(
+          JUDGE.prompt(), JUDGE.model(), JUDGE.reasoningEffort(), JUDGE.criteria(), 2);
+
   private FakeLlmClient fakeLlmClient;
   private LlmListingJudge listingJudge;
 
   @BeforeEach
   void setUp() {
     fakeLlmClient = new FakeLlmClient();
+    // one request at a time, so queued responses are consumed in listing order
     listingJudge =
-        new LlmListingJudge(new ClasspathPromptRegistry(), fakeLlmClient, new ObjectMapper());
+        new LlmListingJudge(new ClasspathPromptRegistry(), fakeLlmClient, new ObjectMapper(), 1);
   }
 
   @Test
@@ -154,6 +166,139 @@ public class LlmListingJudgeTest {
         .hasMessageContaining("trident_z_family");
   }
 
+  @Test
+  void judgeAllShouldJudgeEachListingInItsOwnRequestByDefault() {
+    // arrange
+    fakeLlmClient.addResponse(judgmentJson());
+    fakeLlmClient.addResponse(judgmentJson("bulk_scale"));
+
+    // act
+    var verdicts =
+        listingJudge.judgeAll(
+            JUDGE,
+            List.of(
+                new ListingJudge.Listing("MTG bulk lot", "500 assorted cards"),
+                new ListingJudge.Listing("MTG single", "one rare card")));
+
+    // assert
+    assertThat(verdicts).containsExactly(true, false);
+    assertThat(fakeLlmClient.findRequests()).hasSize(2);
+  }
+
+  @Test
+  void judgeAllShouldJudgeBatchInOneRequest() {
+    // arrange
+    fakeLlmClient.addResponse(
+        "{\"listings\": [" + judgmentJson() + "," + judgmentJson("bulk_scale") + "]}");
+    fakeLlmClient.addResponse(judgmentJson());
+
+    // act
+    var verdicts =
+        listingJudge.judgeAll(
+            BATCH_JUDGE,
+            List.of(
+                new ListingJudge.Listing("MTG bulk lot", "500 assorted cards"),
+                new ListingJudge.Listing("MTG single", "one rare card"),
+                new ListingJudge.Listing("MTG commons", "1000 commons")));
+
+    // assert
+    assertThat(verdicts).containsExactly(true, false, true);
+    var requests = fakeLlmClient.findRequests();
+    assertThat(requests).hasSize(2);
+    assertThat(requests.get(0).messages().get(1).content())
+        .contains("Judge each of these 2 listings")
+        .contains("Listing 1\nTitle: MTG bulk lot\nDescription: 500 assorted cards")
+        .contains("Listing 2\nTitle: MTG single\nDescription: one rare card")
+        .doesNotContain("MTG commons");
+    assertThat(requests.get(1).messages().get(1).content())
+        .startsWith("Judge this listing.")
+        .contains("Title: MTG commons");
+  }
+
+  @Test
+  void judgeAllShouldLeaveBatchUnjudgedWhenItIsMissingJudgments() {
+    // arrange
+    fakeLlmClient.addResponse("{\"listings\": [" + judgmentJson() + "]}");
+    fakeLlmClient.addResponse(judgmentJson());
+
+    // act
+    var verdicts =
+        listingJudge.judgeAll(
+            BATCH_JUDGE,
+            List.of(
+                new ListingJudge.Listing("MTG bulk lot", "500 assorted cards"),
+                new ListingJudge.Listing("MTG single", "one rare card"),
+                new ListingJudge.Listing("MTG commons", "1000 commons")));
+
+    // assert
+    assertThat(verdicts).containsExactly(null, null, true);
+  }
+
+  @Test
+  void judgeAllShouldReportEachVerdictAndIsolateFailedRequests() {
+    // arrange
+    fakeLlmClient.addResponse(judgmentJson());
+    fakeLlmClient.addResponse("{}");
+    fakeLlmClient.addResponse(judgmentJson("bulk_scale"));
+    var heard = new ArrayList<String>();
+
+    // act
+    var verdicts =
+        listingJudge.judgeAll(
+            JUDGE,
+            List.of(
+                new ListingJudge.Listing("MTG bulk lot", "500 assorted cards"),
+                new ListingJudge.Listing("MTG lot", "malformed verdict"),
+                new ListingJudge.Listing("MTG single", "one rare card")),
+            (index, pass) -> heard.add(index + "=" + pass));
+
+    // assert
+    assertThat(verdicts).containsExactly(true, null, false);
+    assertThat(heard).containsExactly("0=true", "2=false");
+    assertThat(fakeLlmClient.findRequests()).hasSize(3);
+  }
+
+  @Test
+  void judgeAllShouldLimitConcurrentRequests() throws Exception {
+    // arrange
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    var started = new CountDownLatch(2);
+    var release = new CountDownLatch(1);
+    LlmClient llmClient =
+        request -> {
+          maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+          }
+          inFlight.decrementAndGet();
+          return new LlmResponse(judgmentJson(), 0, 0);
+        };
+    var concurrentJudge =
+        new LlmListingJudge(new ClasspathPromptRegistry(), llmClient, new ObjectMapper(), 2);
+    var listings = new ArrayList<ListingJudge.Listing>();
+    for (int i = 0; i < 6; i++) {
+      listings.add(new ListingJudge.Listing("MTG bulk lot " + i, "500 assorted cards"));
+    }
+
+    // act
+    var verdicts = new AtomicReference<List<Boolean>>();
+    var thread =
+        Thread.ofVirtual().start(() -> verdicts.set(concurrentJudge.judgeAll(JUDGE, listings)));
+    var bothStarted = started.await(5, TimeUnit.SECONDS);
+    release.countDown();
+    thread.join();
+
+    // assert
+    assertThat(bothStarted).isTrue();
+    assertThat(maxInFlight.get()).isEqualTo(2);
+    assertThat(verdicts.get()).hasSize(6).containsOnly(true);
+  }
+
   private static String ramJudgmentJson(String... failingCriteria) {
     return judgmentJson(RAM_JUDGE.criteria(), List.of(failingCriteria));
   }
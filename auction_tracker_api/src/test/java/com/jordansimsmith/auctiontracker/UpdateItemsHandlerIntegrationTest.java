@@ -100,7 +100,7 @@ public class UpdateItemsHandlerIntegrationTest {
     updateItemsHandler.handleRequest(new ScheduledEvent(), null);
 
     // assert
-    var items = auctionTrackerTable.scan().items().stream().toList();
+    var items = scanListings();
     assertThat(items).hasSize(2);
     assertThat(items).allSatisfy(item -> assertThat(item.getJudgment()).isNull());
     assertThat(fakeLlmClient.findRequests()).isEmpty();
@@ -187,7 +187,7 @@ public class UpdateItemsHandlerIntegrationTest {
     updateItemsHandler.handleRequest(new ScheduledEvent(), null);
 
     // assert
-    var items = auctionTrackerTable.scan().items().stream().toList();
+    var items = scanListings();
     assertThat(items)
         .singleElement()
         .extracting(AuctionTrackerItem::getUrl)
@@ -243,11 +243,304 @@ public class UpdateItemsHandlerIntegrationTest {
     updateItemsHandler.handleRequest(new ScheduledEvent(), null);
 
     // assert
-    var items = auctionTrackerTable.scan().items().stream().toList();
+    var items = scanListings();
     assertThat(items).hasSize(1);
     assertThat(items.get(0).getTimestamp().getEpochSecond()).isEqualTo(2000);
   }
 
+  @Test
+  void handleRequestShouldNotFetchDetailsForKnownListings() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochMilli(3_000_000));
+    var baseUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/search";
+    var expectedSearchUrl =
+        "https://www.trademe.co.nz/a/marketplace/sports/golf/search?search_string=wedge&condition=used&sort_order=expirydesc";
+    var search =
+        new SearchFactory.Search(
+            URI.create(baseUrl), "wedge", null, null, SearchFactory.Condition.USED, null);
+    fakeSearchFactory.addSearches(List.of(search));
+
+    var knownUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/123";
+    var newUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/456";
+    fakeTradeMeClient.addSearchResponse(
+        URI.create(baseUrl),
+        "wedge",
+        null,
+        null,
+        SearchFactory.Condition.USED,
+        List.of(
+            new TradeMeClient.TradeMeItem(
+                knownUrl, "Titleist Wedge", "Great condition wedge", "seller", START_PRICE, null),
+            new TradeMeClient.TradeMeItem(
+                newUrl, "Ping Wedge", "Like new", "seller", START_PRICE, null)));
+
+    var existingItem =
+        AuctionTrackerItem.create(
+            expectedSearchUrl,
+            knownUrl,
+            "Titleist Wedge",
+            fingerprint(knownUrl, "Titleist Wedge", "Great condition wedge", START_PRICE, null),
+            Instant.ofEpochSecond(2000),
+            null);
+    auctionTrackerTable.putItem(existingItem);
+
+    // act
+    updateItemsHandler.handleRequest(new ScheduledEvent(), null);
+
+    // assert
+    assertThat(fakeTradeMeClient.findItemRequests()).containsExactly(newUrl);
+    var items = scanListings();
+    assertThat(items)
+        .extracting(AuctionTrackerItem::getUrl)
+        .containsExactlyInAnyOrder(knownUrl, newUrl);
+  }
+
+  @Test
+  void handleRequestShouldStoreListingsFromEveryResultsPage() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochMilli(3_000_000));
+    var baseUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/search";
+    var expectedSearchUrl =
+        "https://www.trademe.co.nz/a/marketplace/sports/golf/search?search_string=wedge&condition=used&sort_order=expirydesc";
+    var search =
+        new SearchFactory.Search(
+            URI.create(baseUrl), "wedge", null, null, SearchFactory.Condition.USED, null);
+    fakeSearchFactory.addSearches(List.of(search));
+
+    var firstUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/1";
+    var secondUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/2";
+    var thirdUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/3";
+    fakeTradeMeClient.addSearchPages(
+        URI.create(baseUrl),
+        "wedge",
+        null,
+        null,
+        SearchFactory.Condition.USED,
+        List.of(
+            List.of(
+                new TradeMeClient.TradeMeItem(
+                    firstUrl, "Titleist Wedge", "Great condition", "seller", START_PRICE, null)),
+            List.of(
+                new TradeMeClient.TradeMeItem(
+                    secondUrl, "Ping Wedge", "Like new", "seller", START_PRICE, null)),
+            List.of(
+                new TradeMeClient.TradeMeItem(
+                    thirdUrl, "Callaway Wedge", "Some wear", "seller", START_PRICE, null))));
+
+    // act
+    updateItemsHandler.handleRequest(new ScheduledEvent(), null);
+
+    // assert
+    assertThat(fakeTradeMeClient.findSearchPageRequests())
+        .containsExactly(
+            expectedSearchUrl, expectedSearchUrl + "&page=2", expectedSearchUrl + "&page=3");
+    var items = scanListings();
+    assertThat(items)
+        .extracting(AuctionTrackerItem::getUrl)
+        .containsExactlyInAnyOrder(firstUrl, secondUrl, thirdUrl);
+  }
+
+  @Test
+  void handleRequestShouldStopPagingOncePageHasOnlyKnownListings() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochMilli(3_000_000));
+    var baseUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/search";
+    var expectedSearchUrl =
+        "https://www.trademe.co.nz/a/marketplace/sports/golf/search?search_string=wedge&condition=used&sort_order=expirydesc";
+    var search =
+        new SearchFactory.Search(
+            URI.create(baseUrl), "wedge", null, null, SearchFactory.Condition.USED, null);
+    fakeSearchFactory.addSearches(List.of(search));
+
+    var newUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/1";
+    var knownUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/2";
+    var olderUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/3";
+    fakeTradeMeClient.addSearchPages(
+        URI.create(baseUrl),
+        "wedge",
+        null,
+        null,
+        SearchFactory.Condition.USED,
+        List.of(
+            List.of(
+                new TradeMeClient.TradeMeItem(
+                    newUrl, "Titleist Wedge", "Great condition", "seller", START_PRICE, null)),
+            List.of(
+                new TradeMeClient.TradeMeItem(
+                    knownUrl, "Ping Wedge", "Like new", "seller", START_PRICE, null)),
+            List.of(
+                new TradeMeClient.TradeMeItem(
+                    olderUrl, "Callaway Wedge", "Some wear", "seller", START_PRICE, null))));
+
+    auctionTrackerTable.putItem(
+        AuctionTrackerItem.create(
+            expectedSearchUrl,
+            knownUrl,
+            "Ping Wedge",
+            fingerprint(knownUrl, "Ping Wedge", "Like new", START_PRICE, null),
+            Instant.ofEpochSecond(2000),
+            null));
+
+    // act
+    updateItemsHandler.handleRequest(new ScheduledEvent(), null);
+
+    // assert
+    assertThat(fakeTradeMeClient.findSearchPageRequests())
+        .containsExactly(expectedSearchUrl, expectedSearchUrl + "&page=2");
+    assertThat(fakeTradeMeClient.findItemRequests()).containsExactly(newUrl);
+    var items = scanListings();
+    assertThat(items)
+        .extracting(AuctionTrackerItem::getUrl)
+        .containsExactlyInAnyOrder(newUrl, knownUrl);
+  }
+
+  @Test
+  void handleRequestShouldTreatSkippedListingsAsKnownOnTheNextRun() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochMilli(3_000_000));
+    var baseUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/search";
+    var expectedSearchUrl =
+        "https://www.trademe.co.nz/a/marketplace/sports/golf/search?search_string=wedge&condition=used&sort_order=expirydesc";
+    var search =
+        new SearchFactory.Search(
+            URI.create(baseUrl), "wedge", null, null, SearchFactory.Condition.USED, null);
+    fakeSearchFactory.addSearches(List.of(search));
+    fakeExcludedSellerUsernameFactory.addExcludedSellerUsernames(Set.of("roseshade"));
+
+    var excludedUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/1";
+    var knownUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/2";
+    fakeTradeMeClient.addSearchPages(
+        URI.create(baseUrl),
+        "wedge",
+        null,
+        null,
+        SearchFactory.Condition.USED,
+        List.of(
+            List.of(
+                new TradeMeClient.TradeMeItem(
+                    excludedUrl,
+                    "Titleist Wedge",
+                    "Great condition",
+                    "roseshade",
+                    START_PRICE,
+                    null)),
+            List.of(
+                new TradeMeClient.TradeMeItem(
+                    knownUrl, "Ping Wedge", "Like new", "seller", START_PRICE, null))));
+
+    auctionTrackerTable.putItem(
+        AuctionTrackerItem.create(
+            expectedSearchUrl,
+            knownUrl,
+            "Ping Wedge",
+            fingerprint(knownUrl, "Ping Wedge", "Like new", START_PRICE, null),
+            Instant.ofEpochSecond(2000),
+            null));
+
+    // act
+    updateItemsHandler.handleRequest(new ScheduledEvent(), null);
+    updateItemsHandler.handleRequest(new ScheduledEvent(), null);
+
+    // assert
+    assertThat(fakeTradeMeClient.findSearchPageRequests())
+        .containsExactly(expectedSearchUrl, expectedSearchUrl + "&page=2", expectedSearchUrl);
+    assertThat(fakeTradeMeClient.findItemRequests()).containsExactly(excludedUrl);
+    var items = scanListings();
+    assertThat(items).extracting(AuctionTrackerItem::getUrl).containsExactly(knownUrl);
+  }
+
+  @Test
+  void handleRequestShouldSuppressRelistStoredByPreviousRunThroughFingerprintIndex() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochMilli(3_000_000));
+    var baseUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/search";
+    var search =
+        new SearchFactory.Search(
+            URI.create(baseUrl), "wedge", null, null, SearchFactory.Condition.USED, null);
+    fakeSearchFactory.addSearches(List.of(search));
+
+    var originalUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/123";
+    var relistUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/456";
+    fakeTradeMeClient.addSearchResponse(
+        URI.create(baseUrl),
+        "wedge",
+        null,
+        null,
+        SearchFactory.Condition.USED,
+        List.of(
+            new TradeMeClient.TradeMeItem(
+                originalUrl, "Titleist Wedge", "Great condition", "seller", START_PRICE, null)));
+    updateItemsHandler.handleRequest(new ScheduledEvent(), null);
+
+    fakeClock.setTime(Instant.ofEpochMilli(4_000_000));
+    fakeTradeMeClient.addSearchResponse(
+        URI.create(baseUrl),
+        "wedge",
+        null,
+        null,
+        SearchFactory.Condition.USED,
+        List.of(
+            new TradeMeClient.TradeMeItem(
+                relistUrl, "Titleist Wedge", "Great condition", "seller", START_PRICE, null)));
+
+    // act
+    updateItemsHandler.handleRequest(new ScheduledEvent(), null);
+
+    // assert
+    var items = scanListings();
+    assertThat(items).extracting(AuctionTrackerItem::getUrl).containsExactly(originalUrl);
+    var fingerprintIndex = new FingerprintIndex(auctionTrackerTable, fakeClock.now());
+    assertThat(
+            fingerprintIndex.mightContain(
+                fingerprint(originalUrl, "Titleist Wedge", "Great condition", START_PRICE, null)))
+        .isTrue();
+  }
+
+  @Test
+  void handleRequestShouldFetchListingFoundByMultipleSearchesOnce() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochMilli(3_000_000));
+    var baseUrl = "https://www.trademe.co.nz/a/marketplace/sports/golf/search";
+    var expectedSearchUrl =
+        "https://www.trademe.co.nz/a/marketplace/sports/golf/search?search_string=wedge&condition=used&sort_order=expirydesc";
+    var wedgeSearch =
+        new SearchFactory.Search(
+            URI.create(baseUrl), "wedge", null, null, SearchFactory.Condition.USED, null);
+    var titleistSearch =
+        new SearchFactory.Search(
+            URI.create(baseUrl), "titleist", null, null, SearchFactory.Condition.USED, null);
+    fakeSearchFactory.addSearches(List.of(wedgeSearch, titleistSearch));
+
+    var url = "https://www.trademe.co.nz/a/marketplace/sports/golf/listing/123";
+    var tradeMeItem =
+        new TradeMeClient.TradeMeItem(
+            url, "Titleist Wedge", "Great condition wedge", "seller", START_PRICE, null);
+    fakeTradeMeClient.addSearchResponse(
+        URI.create(baseUrl),
+        "wedge",
+        null,
+        null,
+        SearchFactory.Condition.USED,
+        List.of(tradeMeItem));
+    fakeTradeMeClient.addSearchResponse(
+        URI.create(baseUrl),
+        "titleist",
+        null,
+        null,
+        SearchFactory.Condition.USED,
+        List.of(tradeMeItem));
+
+    // act
+    updateItemsHandler.handleRequest(new ScheduledEvent(), null);
+
+    // assert
+    assertThat(fakeTradeMeClient.findItemRequests()).containsExactly(url);
+    var items = scanListings();
+    assertThat(items).hasSize(1);
+    assertThat(items.get(0).getUrl()).isEqualTo(url);
+    assertThat(items.get(0).getPk()).isEqualTo(AuctionTrackerItem.formatPk(expectedSearchUrl));
+  }
+
   @Test
   void handleRequestShouldNotStoreOrJudgeRelistedItemWithMatchingContent() {
     // arrange
@@ -297,7 +590,7 @@ public class UpdateItemsHandlerIntegrationTest {
     updateItemsHandler.handleRequest(new ScheduledEvent(), null);
 
     // assert
-    var items = auctionTrackerTable.scan().items().stream().toList();
+    var items = scanListings();
     assertThat(items).hasSize(1);
     assertThat(items.get(0).getUrl()).isEqualTo("https://www.trademe.co.nz/listing/111");
     assertThat(items.get(0).getTimestamp()).isEqualTo(Instant.ofEpochSecond(2000));
@@ -342,7 +635,7 @@ public class UpdateItemsHandlerIntegrationTest {
     updateItemsHandler.handleRequest(new ScheduledEvent(), null);
 
     // assert
-    assertThat(auctionTrackerTable.scan().items().stream().toList()).hasSize(2);
+    assertThat(scanListings()).hasSize(2);
   }
 
   @Test
@@ -384,7 +677,7 @@ public class UpdateItemsHandlerIntegrationTest {
     updateItemsHandler.handleRequest(new ScheduledEvent(), null);
 
     // assert
-    var items = auctionTrackerTable.scan().items().stream().toList();
+    var items = scanListings();
     assertThat(items).hasSize(2);
     var relistedItem =
         items.stream().filter(item -> item.getUrl().equals("url2")).findFirst().orElseThrow();
@@ -437,7 +730,7 @@ public class UpdateItemsHandlerIntegrationTest {
     updateItemsHandler.handleRequest(new ScheduledEvent(), null);
 
     // assert
-    var items = auctionTrackerTable.scan().items().stream().toList();
+    var items = scanListings();
     assertThat(items).hasSize(2);
     assertThat(items.stream().map(AuctionTrackerItem::getUrl))
         .containsExactlyInAnyOrder("url1", "url2");
@@ -468,7 +761,7 @@ public class UpdateItemsHandlerIntegrationTest {
     updateItemsHandler.handleRequest(new ScheduledEvent(), null);
 
     // assert
-    var items = auctionTrackerTable.scan().items().stream().toList();
+    var items = scanListings();
     assertThat(items).isEmpty();
   }
 
@@ -505,7 +798,7 @@ public class UpdateItemsHandlerIntegrationTest {
     updateItemsHandler.handleRequest(new ScheduledEvent(), null);
 
     // assert
-    var items = auctionTrackerTable.scan().items().stream().toList();
+    var items = scanListings();
     assertThat(items).hasSize(2);
     var item1 = items.stream().filter(i -> i.getUrl().equals("url1")).findFirst().orElseThrow();
     assertThat(item1.getJudgment()).isEqualTo(AuctionTrackerItem.Judgment.PASS);
@@ -555,7 +848,7 @@ public class UpdateItemsHandlerIntegrationTest {
     updateItemsHandler.handleRequest(new ScheduledEvent(), null);
 
     // assert
-    var items = auctionTrackerTable.scan().items().stream().toList();
+    var items = scanListings();
     assertThat(items).hasSize(1);
     assertThat(items.get(0).getJudgment()).isEqualTo(AuctionTrackerItem.Judgment.FAIL);
     assertThat(fakeLlmClient.findRequests()).isEmpty();
@@ -613,7 +906,7 @@ public class UpdateItemsHandlerIntegrationTest {
     updateItemsHandler.handleRequest(new ScheduledEvent(), null);
 
     // assert
-    var items = auctionTrackerTable.scan().items().stream().toList();
+    var items = scanListings();
     assertThat(items).hasSize(1);
     assertThat(items)
         .allSatisfy(
@@ -679,7 +972,7 @@ public class UpdateItemsHandlerIntegrationTest {
     assertThat(requests.get(1).model()).isEqualTo("gpt-5.4-nano");
     assertThat(requests.get(1).reasoningEffort()).isEqualTo("low");
 
-    var items = auctionTrackerTable.scan().items().stream().toList();
+    var items = scanListings();
     assertThat(items).hasSize(2);
     assertThat(items)
         .allSatisfy(
@@ -687,7 +980,7 @@ public class UpdateItemsHandlerIntegrationTest {
   }
 
   @Test
-  void handleRequestShouldThrowWhenJudgeFails() {
+  void handleRequestShouldStoreOtherListingsAndThrowWhenJudgeFails() {
     // arrange
     fakeClock.setTime(Instant.ofEpochMilli(3_000_000));
     var baseUrl = "https://www.trademe.co.nz/a/marketplace/gaming/trading-cards/magic/search";
@@ -704,18 +997,92 @@ public class UpdateItemsHandlerIntegrationTest {
         SearchFactory.Condition.USED,
         List.of(
             new TradeMeClient.TradeMeItem(
-                "url1",
-                "MTG bulk lot",
-                "500 assorted cards",
+                "url1", "MTG bulk lot", "500 assorted cards", "seller", START_PRICE, BUY_NOW_PRICE),
+            new TradeMeClient.TradeMeItem(
+                "url2",
+                "Pokemon bulk",
+                "500 pokemon cards",
                 "seller",
                 START_PRICE,
                 BUY_NOW_PRICE)));
-    // no llm response queued, so the judge call fails
+    fakeLlmClient.addResponse(judgmentJson(true));
+    // no second llm response queued, so judging url2 fails
 
     // act & assert
     assertThatThrownBy(() -> updateItemsHandler.handleRequest(new ScheduledEvent(), null))
-        .isInstanceOf(RuntimeException.class);
-    assertThat(auctionTrackerTable.scan().items().stream().toList()).isEmpty();
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("failed to judge 1 listing(s)");
+    assertThat(scanListings()).extracting(AuctionTrackerItem::getUrl).containsExactly("url1");
+
+    // the next run judges only the listing that was not stored
+    fakeLlmClient.addResponse(judgmentJson(false));
+    updateItemsHandler.handleRequest(new ScheduledEvent(), null);
+    var items = scanListings();
+    assertThat(items).hasSize(2);
+    var item2 = items.stream().filter(i -> i.getUrl().equals("url2")).findFirst().orElseThrow();
+    assertThat(item2.getJudgment()).isEqualTo(AuctionTrackerItem.Judgment.FAIL);
+    assertThat(fakeLlmClient.findRequests()).hasSize(3);
+  }
+
+  @Test
+  void handleRequestShouldReuseCachedVerdictForListingWithSameTitleAndDescription() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochMilli(3_000_000));
+    var baseUrl = "https://www.trademe.co.nz/a/marketplace/gaming/trading-cards/magic/search";
+    var search =
+        new SearchFactory.Search(
+            URI.create(baseUrl), "bulk", null, 100.0, SearchFactory.Condition.USED, MTG_JUDGE);
+    fakeSearchFactory.addSearches(List.of(search));
+
+    fakeTradeMeClient.addSearchResponse(
+        URI.create(baseUrl),
+        "bulk",
+        null,
+        100.0,
+        SearchFactory.Condition.USED,
+        List.of(
+            new TradeMeClient.TradeMeItem(
+                "url1", "MTG bulk lot", "500 assorted cards", "seller", START_PRICE, null)));
+    fakeLlmClient.addResponse(judgmentJson(false));
+    updateItemsHandler.handleRequest(new ScheduledEvent(), null);
+
+    // relisted at a lower price, so it is stored again but the judge sees the same listing
+    fakeClock.setTime(Instant.ofEpochMilli(4_000_000));
+    fakeTradeMeClient.addSearchResponse(
+        URI.create(baseUrl),
+        "bulk",
+        null,
+        100.0,
+        SearchFactory.Condition.USED,
+        List.of(
+            new TradeMeClient.TradeMeItem(
+                "url2",
+                "MTG bulk lot",
+                "500 assorted cards",
+                "seller",
+                new BigDecimal("80"),
+                null)));
+
+    // act
+    updateItemsHandler.handleRequest(new ScheduledEvent(), null);
+
+    // assert
+    var items = scanListings();
+    assertThat(items).hasSize(2);
+    assertThat(items)
+        .allSatisfy(
+            item -> assertThat(item.getJudgment()).isEqualTo(AuctionTrackerItem.Judgment.FAIL));
+    assertThat(fakeLlmClient.findRequests()).hasSize(1);
+  }
+
+  // the fingerprint index and cached verdicts live in the same table but are not listings
+  private List<AuctionTrackerItem> scanListings() {
+    return auctionTrackerTable
+        .scan()
+        .items()
+        .stream()
+        .filter(item -> item.getPk().startsWith(AuctionTrackerItem.SEARCH_PREFIX))
+        .toList();
   }
 
   private static String judgmentJson(boolean pass) {
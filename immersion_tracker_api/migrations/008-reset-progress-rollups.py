@@ -0,0 +1,56 @@
+#!/usr/bin/env python3
+
+import os
+import sys
+
+import boto3
+
+DYNAMODB_TABLE_NAME = "immersion_tracker"
+LIFETIME_ROLLUP_SK = "ROLLUP#LIFETIME"
+
+
+def main():
+    dry_run = "--execute" not in sys.argv
+    if dry_run:
+        print("DRY RUN mode - use --execute to write to DynamoDB\n")
+
+    aws_access_key_id = os.environ["AWS_ACCESS_KEY_ID"]
+    aws_secret_access_key = os.environ["AWS_SECRET_ACCESS_KEY"]
+
+    dynamodb = boto3.resource(
+        "dynamodb",
+        region_name="ap-southeast-2",
+        aws_access_key_id=aws_access_key_id,
+        aws_secret_access_key=aws_secret_access_key,
+    )
+    table = dynamodb.Table(DYNAMODB_TABLE_NAME)
+
+    print(f"Scanning {DYNAMODB_TABLE_NAME} for lifetime progress rollups...")
+    scan_kwargs = {
+        "FilterExpression": "sk = :sk",
+        "ExpressionAttributeValues": {":sk": LIFETIME_ROLLUP_SK},
+        "ProjectionExpression": "pk, sk, #user",
+        "ExpressionAttributeNames": {"#user": "user"},
+    }
+    response = table.scan(**scan_kwargs)
+    items = response["Items"]
+    while "LastEvaluatedKey" in response:
+        response = table.scan(ExclusiveStartKey=response["LastEvaluatedKey"], **scan_kwargs)
+        items.extend(response["Items"])
+    print(f"Found {len(items)} lifetime progress rollups\n")
+
+    # rollups built before movies were added by 006 miss those movies. deleting the lifetime
+    # rollup makes the next progress read rebuild every rollup from the stored items
+    for item in items:
+        if dry_run:
+            print(f"[DRY RUN] Would reset progress rollups for {item.get('user')}")
+        else:
+            table.delete_item(Key={"pk": item["pk"], "sk": item["sk"]})
+            print(f"[RESET] Reset progress rollups for {item.get('user')}")
+
+    action = "Would reset" if dry_run else "Reset"
+    print(f"\n{action} progress rollups for {len(items)} users")
+
+
+if __name__ == "__main__":
+    main()
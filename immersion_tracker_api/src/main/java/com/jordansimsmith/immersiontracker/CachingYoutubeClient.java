@@ -0,0 +1,58 @@
+package com.jordansimsmith.immersiontracker;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+// keeps channel metadata in process so warm invocations skip lookups for channels seen recently
+public class CachingYoutubeClient implements YoutubeClient {
+  @VisibleForTesting static final int MAX_CACHED_CHANNELS = 10_000;
+  @VisibleForTesting static final Duration CHANNEL_TTL = Duration.ofHours(24);
+
+  private final YoutubeClient delegate;
+  private final Cache<String, Channel> channels;
+
+  public CachingYoutubeClient(YoutubeClient delegate) {
+    this.delegate = delegate;
+    this.channels =
+        CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_CHANNELS)
+            .expireAfterWrite(CHANNEL_TTL)
+            .build();
+  }
+
+  @Override
+  public List<Video> getVideos(List<String> videoIds) {
+    return delegate.getVideos(videoIds);
+  }
+
+  @Override
+  public List<Channel> getChannels(List<String> channelIds) {
+    var ids = List.copyOf(new LinkedHashSet<>(channelIds));
+    var found = new HashMap<>(channels.getAllPresent(ids));
+
+    var missing = new ArrayList<String>();
+    for (var id : ids) {
+      if (!found.containsKey(id)) {
+        missing.add(id);
+      }
+    }
+    if (!missing.isEmpty()) {
+      for (var channel : delegate.getChannels(missing)) {
+        channels.put(channel.id(), channel);
+        found.put(channel.id(), channel);
+      }
+    }
+
+    var result = new ArrayList<Channel>(ids.size());
+    for (var id : ids) {
+      result.add(found.get(id));
+    }
+    return result;
+  }
+}
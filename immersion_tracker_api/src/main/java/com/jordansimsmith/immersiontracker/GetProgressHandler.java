@@ -17,11 +17,11 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -29,6 +29,7 @@ import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 
@@ -36,12 +37,12 @@ public class GetProgressHandler
     implements RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
   private static final Logger LOGGER = LoggerFactory.getLogger(GetProgressHandler.class);
   @VisibleForTesting static final ZoneId ZONE_ID = ZoneId.of("Pacific/Auckland");
-  private static final Duration DEFAULT_EPISODE_DURATION = Duration.ofMinutes(20);
 
   private final Clock clock;
   private final RequestContextFactory requestContextFactory;
   private final HttpResponseFactory httpResponseFactory;
   private final DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable;
+  private final ProgressRollups progressRollups;
 
   @VisibleForTesting
   record GetProgressResponse(
@@ -98,8 +99,6 @@ public class GetProgressHandler
   record CumulativeProgress(
       @JsonProperty("label") String label, @JsonProperty("cumulative_hours") int cumulativeHours) {}
 
-  private record EpisodeShow(ImmersionTrackerItem episode, @Nullable ImmersionTrackerItem show) {}
-
   public GetProgressHandler() {
     this(ImmersionTrackerFactory.create());
   }
@@ -110,6 +109,7 @@ public class GetProgressHandler
     this.requestContextFactory = factory.requestContextFactory();
     this.httpResponseFactory = factory.httpResponseFactory();
     this.immersionTrackerTable = factory.immersionTrackerTable();
+    this.progressRollups = factory.progressRollups();
   }
 
   @Override
@@ -125,93 +125,66 @@ public class GetProgressHandler
   private APIGatewayV2HTTPResponse doHandleRequest(APIGatewayV2HTTPEvent event) {
     var user = requestContextFactory.createCtx(event).user();
 
-    var query =
-        immersionTrackerTable.query(
-            QueryEnhancedRequest.builder()
-                .queryConditional(
-                    QueryConditional.keyEqualTo(
-                        b -> b.partitionValue(ImmersionTrackerItem.formatPk(user))))
-                .build());
-    var items = query.items().stream().toList();
-
-    var episodes =
-        items.stream()
-            .filter(i -> i.getSk().startsWith(ImmersionTrackerItem.EPISODE_PREFIX))
-            .toList();
-    var shows =
-        items.stream().filter(i -> i.getSk().startsWith(ImmersionTrackerItem.SHOW_PREFIX)).toList();
-    var showsByFolderName =
-        shows.stream()
-            .collect(
-                Collectors.toMap(
-                    ImmersionTrackerItem::getFolderName,
-                    v -> v,
-                    (existing, replacement) -> existing));
-    var youtubeVideos =
-        items.stream()
-            .filter(i -> i.getSk().startsWith(ImmersionTrackerItem.YOUTUBEVIDEO_PREFIX))
-            .toList();
-    var youtubeChannels =
-        items.stream()
-            .filter(i -> i.getSk().startsWith(ImmersionTrackerItem.YOUTUBECHANNEL_PREFIX))
-            .toList();
-    var spotifyEpisodes =
-        items.stream()
-            .filter(i -> i.getSk().startsWith(ImmersionTrackerItem.SPOTIFYEPISODE_PREFIX))
-            .toList();
-    var spotifyShows =
-        items.stream()
-            .filter(i -> i.getSk().startsWith(ImmersionTrackerItem.SPOTIFYSHOW_PREFIX))
-            .toList();
-    var movies =
-        items.stream()
-            .filter(i -> i.getSk().startsWith(ImmersionTrackerItem.MOVIE_PREFIX))
-            .toList();
+    var rollups = query(user, ImmersionTrackerItem.ROLLUP_PREFIX);
+    // a user without rollups has them built from the stored items on first read
+    if (rollups.stream().noneMatch(GetProgressHandler::isLifetimeRollup)) {
+      progressRollups.rebuild(user);
+      rollups = query(user, ImmersionTrackerItem.ROLLUP_PREFIX);
+    }
+
+    ImmersionTrackerItem lifetime = null;
+    var quarterRollups = new ArrayList<ImmersionTrackerItem>();
+    var showRollups = new ArrayList<ImmersionTrackerItem>();
+    var youtubeChannelRollups = new ArrayList<ImmersionTrackerItem>();
+    var spotifyShowRollups = new ArrayList<ImmersionTrackerItem>();
+    for (var rollup : rollups) {
+      var sk = rollup.getSk();
+      if (isLifetimeRollup(rollup)) {
+        lifetime = rollup;
+      } else if (sk.startsWith(ImmersionTrackerItem.QUARTERROLLUP_PREFIX)) {
+        quarterRollups.add(rollup);
+      } else if (sk.startsWith(ImmersionTrackerItem.SHOWROLLUP_PREFIX)) {
+        showRollups.add(rollup);
+      } else if (sk.startsWith(ImmersionTrackerItem.YOUTUBECHANNELROLLUP_PREFIX)) {
+        youtubeChannelRollups.add(rollup);
+      } else if (sk.startsWith(ImmersionTrackerItem.SPOTIFYSHOWROLLUP_PREFIX)) {
+        spotifyShowRollups.add(rollup);
+      }
+    }
+    Objects.requireNonNull(lifetime);
 
     var now = clock.now();
-    var today = now.atZone(ZONE_ID).truncatedTo(ChronoUnit.DAYS).toInstant();
-
-    var totalEpisodesWatched = totalEpisodesWatched(episodes);
-    var totalMoviesWatched = totalMoviesWatched(movies);
-    var totalHoursWatched =
-        totalHoursWatched(episodes, showsByFolderName, youtubeVideos, spotifyEpisodes, movies);
-    var episodesWatchedToday = episodesWatchedToday(episodes, today);
-    var moviesWatchedToday = moviesWatchedToday(movies, today);
-    var youtubeVideosWatched = youtubeVideosWatched(youtubeVideos);
-    var youtubeVideosWatchedToday = youtubeVideosWatchedToday(youtubeVideos, today);
-    var spotifyEpisodesWatched = spotifyEpisodesWatched(spotifyEpisodes);
-    var spotifyEpisodesWatchedToday = spotifyEpisodesWatchedToday(spotifyEpisodes, today);
-    var daysSinceFirstEpisode =
-        daysSinceFirstEpisode(episodes, youtubeVideos, spotifyEpisodes, movies, now);
+    var today = now.atZone(ZONE_ID).toLocalDate();
+    var dayRollups = queryDayRollups(user, today.minusDays(6), today);
+    var todayRollup = dayRollups.get(today);
+
+    var shows = query(user, ImmersionTrackerItem.SHOW_PREFIX);
+    var youtubeChannels = query(user, ImmersionTrackerItem.YOUTUBECHANNEL_PREFIX);
+    var spotifyShows = query(user, ImmersionTrackerItem.SPOTIFYSHOW_PREFIX);
+    var movies = query(user, ImmersionTrackerItem.MOVIE_PREFIX);
+
+    var totalSeconds = seconds(lifetime);
+    var daysSinceFirstEpisode = daysSinceFirstEpisode(lifetime, now);
     var weeklyTrendPercentage =
-        weeklyTrendPercentage(
-            episodes,
-            showsByFolderName,
-            youtubeVideos,
-            spotifyEpisodes,
-            movies,
-            now,
-            daysSinceFirstEpisode);
-    var activity =
-        dailyActivity(episodes, showsByFolderName, youtubeVideos, spotifyEpisodes, movies, now);
-    var allTimeProgress =
-        allTimeProgress(episodes, showsByFolderName, youtubeVideos, spotifyEpisodes, movies);
-    var progresses = shows(episodes, shows);
-    var channelProgresses = youtubeChannels(youtubeVideos, youtubeChannels);
-    var spotifyShowProgresses = spotifyShows(spotifyEpisodes, spotifyShows);
+        weeklyTrendPercentage(dayRollups, totalSeconds, daysSinceFirstEpisode);
+    var activity = dailyActivity(dayRollups, today);
+    var allTimeProgress = allTimeProgress(quarterRollups);
+    var progresses = shows(showRollups, shows);
+    var channelProgresses = youtubeChannels(youtubeChannelRollups, youtubeChannels);
+    var spotifyShowProgresses = spotifyShows(spotifyShowRollups, spotifyShows);
     var movieProgresses = movies(movies);
 
     var res =
         new GetProgressResponse(
-            totalEpisodesWatched,
-            totalMoviesWatched,
-            totalHoursWatched,
-            episodesWatchedToday,
-            moviesWatchedToday,
-            youtubeVideosWatched,
-            youtubeVideosWatchedToday,
-            spotifyEpisodesWatched,
-            spotifyEpisodesWatchedToday,
+            count(lifetime.getEpisodesWatched()),
+            count(lifetime.getMoviesWatched()),
+            (int) Duration.ofSeconds(totalSeconds).toHours(),
+            todayRollup != null ? count(todayRollup.getEpisodesWatched()) : 0,
+            todayRollup != null ? count(todayRollup.getMoviesWatched()) : 0,
+            count(lifetime.getYoutubeVideosWatched()),
+            todayRollup != null ? count(todayRollup.getYoutubeVideosWatched()) : 0,
+            count(lifetime.getSpotifyEpisodesWatched()),
+            todayRollup != null ? count(todayRollup.getSpotifyEpisodesWatched()) : 0,
             daysSinceFirstEpisode,
             weeklyTrendPercentage,
             activity,
@@ -224,178 +197,117 @@ public class GetProgressHandler
     return httpResponseFactory.ok(res);
   }
 
-  private int totalEpisodesWatched(List<ImmersionTrackerItem> episodes) {
-    return episodes.size();
-  }
-
-  private int totalMoviesWatched(List<ImmersionTrackerItem> movies) {
-    return movies.size();
-  }
-
-  private int totalHoursWatched(
-      List<ImmersionTrackerItem> episodes,
-      Map<String, ImmersionTrackerItem> showsByFolderName,
-      List<ImmersionTrackerItem> youtubeVideos,
-      List<ImmersionTrackerItem> spotifyEpisodes,
-      List<ImmersionTrackerItem> movies) {
-    var episodeDuration =
-        episodes.stream()
-            .map(e -> getEpisodeDuration(e, showsByFolderName))
-            .reduce(Duration.ZERO, Duration::plus);
-    var youtubeDuration =
-        youtubeVideos.stream()
-            .map(ImmersionTrackerItem::getYoutubeVideoDuration)
-            .reduce(Duration.ZERO, Duration::plus);
-    var spotifyDuration =
-        spotifyEpisodes.stream()
-            .map(ImmersionTrackerItem::getSpotifyEpisodeDuration)
-            .reduce(Duration.ZERO, Duration::plus);
-    var movieDuration =
-        movies.stream()
-            .map(ImmersionTrackerItem::getMovieDuration)
-            .reduce(Duration.ZERO, Duration::plus);
-    return (int)
-        episodeDuration.plus(youtubeDuration).plus(spotifyDuration).plus(movieDuration).toHours();
-  }
-
-  private int episodesWatchedToday(List<ImmersionTrackerItem> episodes, Instant today) {
-    return episodes.stream().filter(e -> e.getTimestamp().isAfter(today)).toList().size();
-  }
-
-  private int moviesWatchedToday(List<ImmersionTrackerItem> movies, Instant today) {
-    return movies.stream().filter(m -> m.getTimestamp().isAfter(today)).toList().size();
-  }
-
-  private int youtubeVideosWatched(List<ImmersionTrackerItem> youtubeVideos) {
-    return youtubeVideos.size();
-  }
-
-  private int youtubeVideosWatchedToday(List<ImmersionTrackerItem> youtubeVideos, Instant today) {
-    return youtubeVideos.stream().filter(v -> v.getTimestamp().isAfter(today)).toList().size();
+  private List<ImmersionTrackerItem> query(String user, String prefix) {
+    return immersionTrackerTable
+        .query(
+            QueryEnhancedRequest.builder()
+                .queryConditional(
+                    QueryConditional.sortBeginsWith(
+                        Key.builder()
+                            .partitionValue(ImmersionTrackerItem.formatPk(user))
+                            .sortValue(prefix)
+                            .build()))
+                .build())
+        .items()
+        .stream()
+        .toList();
   }
 
-  private int spotifyEpisodesWatched(List<ImmersionTrackerItem> spotifyEpisodes) {
-    return spotifyEpisodes.size();
+  private Map<LocalDate, ImmersionTrackerItem> queryDayRollups(
+      String user, LocalDate from, LocalDate to) {
+    var pk = ImmersionTrackerItem.formatPk(user);
+    var rollups =
+        immersionTrackerTable
+            .query(
+                QueryEnhancedRequest.builder()
+                    .queryConditional(
+                        QueryConditional.sortBetween(
+                            Key.builder()
+                                .partitionValue(pk)
+                                .sortValue(ImmersionTrackerItem.formatDayRollupSk(from))
+                                .build(),
+                            Key.builder()
+                                .partitionValue(pk)
+                                .sortValue(ImmersionTrackerItem.formatDayRollupSk(to))
+                                .build()))
+                    .build())
+            .items();
+    var rollupsByDay = new HashMap<LocalDate, ImmersionTrackerItem>();
+    for (var rollup : rollups) {
+      rollupsByDay.put(rollup.getRollupDate(), rollup);
+    }
+    return rollupsByDay;
   }
 
-  private int spotifyEpisodesWatchedToday(
-      List<ImmersionTrackerItem> spotifyEpisodes, Instant today) {
-    return spotifyEpisodes.stream().filter(e -> e.getTimestamp().isAfter(today)).toList().size();
+  private static boolean isLifetimeRollup(ImmersionTrackerItem rollup) {
+    return rollup.getSk().equals(ImmersionTrackerItem.LIFETIMEROLLUP_SK);
   }
 
-  private long daysSinceFirstEpisode(
-      List<ImmersionTrackerItem> episodes,
-      List<ImmersionTrackerItem> youtubeVideos,
-      List<ImmersionTrackerItem> spotifyEpisodes,
-      List<ImmersionTrackerItem> movies,
-      Instant now) {
-    var firstEpisodeWatched =
-        episodes.stream().map(ImmersionTrackerItem::getTimestamp).min(Instant::compareTo);
-    var firstYoutubeWatched =
-        youtubeVideos.stream().map(ImmersionTrackerItem::getTimestamp).min(Instant::compareTo);
-    var firstSpotifyWatched =
-        spotifyEpisodes.stream().map(ImmersionTrackerItem::getTimestamp).min(Instant::compareTo);
-    var firstMovieWatched =
-        movies.stream().map(ImmersionTrackerItem::getTimestamp).min(Instant::compareTo);
-    var firstContentWatched =
-        Stream.of(firstEpisodeWatched, firstYoutubeWatched, firstSpotifyWatched, firstMovieWatched)
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .min(Instant::compareTo)
-            .orElse(now);
+  private long daysSinceFirstEpisode(ImmersionTrackerItem lifetime, Instant now) {
+    var firstContentWatched = lifetime.getTimestamp() != null ? lifetime.getTimestamp() : now;
     return ChronoUnit.DAYS.between(firstContentWatched, now);
   }
 
+  // the last week is the seven calendar days shown in daily activity, so it can be summed from the
+  // day rollups
   private Double weeklyTrendPercentage(
-      List<ImmersionTrackerItem> episodes,
-      Map<String, ImmersionTrackerItem> showsByFolderName,
-      List<ImmersionTrackerItem> youtubeVideos,
-      List<ImmersionTrackerItem> spotifyEpisodes,
-      List<ImmersionTrackerItem> movies,
-      Instant now,
+      Map<LocalDate, ImmersionTrackerItem> dayRollups,
+      long totalSeconds,
       long daysSinceFirstEpisode) {
     if (daysSinceFirstEpisode < 14) {
       return null;
     }
-    var sevenDaysAgo = now.minus(7, ChronoUnit.DAYS);
-
-    var lastWeekEpisodeDuration =
-        episodes.stream()
-            .filter(e -> e.getTimestamp().isAfter(sevenDaysAgo))
-            .map(e -> getEpisodeDuration(e, showsByFolderName))
-            .reduce(Duration.ZERO, Duration::plus);
-    var lastWeekYoutubeDuration =
-        youtubeVideos.stream()
-            .filter(v -> v.getTimestamp().isAfter(sevenDaysAgo))
-            .map(ImmersionTrackerItem::getYoutubeVideoDuration)
-            .reduce(Duration.ZERO, Duration::plus);
-    var lastWeekSpotifyDuration =
-        spotifyEpisodes.stream()
-            .filter(e -> e.getTimestamp().isAfter(sevenDaysAgo))
-            .map(ImmersionTrackerItem::getSpotifyEpisodeDuration)
-            .reduce(Duration.ZERO, Duration::plus);
-    var lastWeekMovieDuration =
-        movies.stream()
-            .filter(m -> m.getTimestamp().isAfter(sevenDaysAgo))
-            .map(ImmersionTrackerItem::getMovieDuration)
-            .reduce(Duration.ZERO, Duration::plus);
-    var lastWeekDuration =
-        lastWeekEpisodeDuration
-            .plus(lastWeekYoutubeDuration)
-            .plus(lastWeekSpotifyDuration)
-            .plus(lastWeekMovieDuration);
-
-    var totalEpisodeDuration =
-        episodes.stream()
-            .map(e -> getEpisodeDuration(e, showsByFolderName))
-            .reduce(Duration.ZERO, Duration::plus);
-    var totalYoutubeDuration =
-        youtubeVideos.stream()
-            .map(ImmersionTrackerItem::getYoutubeVideoDuration)
-            .reduce(Duration.ZERO, Duration::plus);
-    var totalSpotifyDuration =
-        spotifyEpisodes.stream()
-            .map(ImmersionTrackerItem::getSpotifyEpisodeDuration)
-            .reduce(Duration.ZERO, Duration::plus);
-    var totalMovieDuration =
-        movies.stream()
-            .map(ImmersionTrackerItem::getMovieDuration)
-            .reduce(Duration.ZERO, Duration::plus);
-    var totalDuration =
-        totalEpisodeDuration
-            .plus(totalYoutubeDuration)
-            .plus(totalSpotifyDuration)
-            .plus(totalMovieDuration);
-
-    var totalMinutesWatchedLastWeek = lastWeekDuration.toMinutes();
-    var totalMinutesWatched = totalDuration.toMinutes();
+
+    var lastWeekSeconds = 0L;
+    for (var rollup : dayRollups.values()) {
+      lastWeekSeconds += seconds(rollup);
+    }
+
+    var totalMinutesWatchedLastWeek = Duration.ofSeconds(lastWeekSeconds).toMinutes();
+    var totalMinutesWatched = Duration.ofSeconds(totalSeconds).toMinutes();
     var averageMinutesPerWeek = (double) totalMinutesWatched / daysSinceFirstEpisode * 7;
     return ((totalMinutesWatchedLastWeek - averageMinutesPerWeek) / averageMinutesPerWeek) * 100;
   }
 
-  private List<Show> shows(List<ImmersionTrackerItem> episodes, List<ImmersionTrackerItem> shows) {
+  private List<Show> shows(
+      List<ImmersionTrackerItem> showRollups, List<ImmersionTrackerItem> shows) {
     var showsByFolderName =
-        shows.stream().collect(Collectors.toMap(ImmersionTrackerItem::getFolderName, v -> v));
-    var showEpisodes =
-        episodes.stream()
-            .map(e -> new EpisodeShow(e, showsByFolderName.get(e.getFolderName())))
-            .toList();
-    var unknownShows = showEpisodes.stream().filter(e -> e.show() == null).toList();
+        shows.stream()
+            .collect(
+                Collectors.toMap(
+                    ImmersionTrackerItem::getFolderName,
+                    v -> v,
+                    (existing, replacement) -> existing));
+    var unknownShowEpisodes = 0;
+    var knownShows = new HashMap<Integer, ImmersionTrackerItem>();
+    var knownShowEpisodes = new HashMap<Integer, Integer>();
+    for (var rollup : showRollups) {
+      var episodesWatched = count(rollup.getEpisodesWatched());
+      var show = showsByFolderName.get(rollup.getFolderName());
+      if (show == null) {
+        unknownShowEpisodes += episodesWatched;
+        continue;
+      }
+      var tvdbId = Objects.requireNonNull(show.getTvdbId());
+      knownShows.putIfAbsent(tvdbId, show);
+      knownShowEpisodes.merge(tvdbId, episodesWatched, Integer::sum);
+    }
+
     var unknownShowsProgress =
-        !unknownShows.isEmpty()
-            ? Stream.of(new Show(null, null, null, unknownShows.size()))
+        unknownShowEpisodes > 0
+            ? Stream.of(new Show(null, null, null, unknownShowEpisodes))
             : Stream.<Show>empty();
-    var knownShows =
-        showEpisodes.stream()
-            .filter(e -> e.show() != null)
-            .collect(Collectors.groupingBy(e -> Objects.requireNonNull(e.show().getTvdbId())));
     var knownShowsProgress =
-        knownShows.values().stream()
+        knownShows.entrySet().stream()
             .map(
                 e -> {
-                  var show = Objects.requireNonNull(e.get(0).show());
-                  var showId = show.getTvdbId() != null ? String.valueOf(show.getTvdbId()) : null;
-                  return new Show(showId, show.getTvdbName(), show.getTvdbImage(), e.size());
+                  var show = e.getValue();
+                  var showId = String.valueOf(e.getKey());
+                  return new Show(
+                      showId,
+                      show.getTvdbName(),
+                      show.getTvdbImage(),
+                      knownShowEpisodes.get(e.getKey()));
                 });
     return Stream.concat(unknownShowsProgress, knownShowsProgress)
         .sorted(Comparator.comparing(s -> s.episodesWatched, Comparator.reverseOrder()))
@@ -403,22 +315,20 @@ public class GetProgressHandler
   }
 
   private List<YoutubeChannel> youtubeChannels(
-      List<ImmersionTrackerItem> youtubeVideos, List<ImmersionTrackerItem> youtubeChannels) {
+      List<ImmersionTrackerItem> youtubeChannelRollups,
+      List<ImmersionTrackerItem> youtubeChannels) {
     var channelsByChannelId =
         youtubeChannels.stream()
             .collect(Collectors.toMap(ImmersionTrackerItem::getYoutubeChannelId, v -> v));
-    var videosByChannelId =
-        youtubeVideos.stream()
-            .collect(Collectors.groupingBy(ImmersionTrackerItem::getYoutubeChannelId));
-    return videosByChannelId.entrySet().stream()
+    return youtubeChannelRollups.stream()
         .map(
-            entry -> {
-              var channelId = entry.getKey();
-              var videos = entry.getValue();
+            rollup -> {
+              var channelId = rollup.getYoutubeChannelId();
               var channel = channelsByChannelId.get(channelId);
               var channelName = channel != null ? channel.getYoutubeChannelTitle() : null;
               var artworkUrl = channel != null ? channel.getYoutubeChannelArtworkUrl() : null;
-              return new YoutubeChannel(channelId, channelName, artworkUrl, videos.size());
+              return new YoutubeChannel(
+                  channelId, channelName, artworkUrl, count(rollup.getYoutubeVideosWatched()));
             })
         .sorted(
             Comparator.comparing((YoutubeChannel c) -> c.videosWatched, Comparator.reverseOrder())
@@ -427,22 +337,19 @@ public class GetProgressHandler
   }
 
   private List<SpotifyShow> spotifyShows(
-      List<ImmersionTrackerItem> spotifyEpisodes, List<ImmersionTrackerItem> spotifyShows) {
+      List<ImmersionTrackerItem> spotifyShowRollups, List<ImmersionTrackerItem> spotifyShows) {
     var showsByShowId =
         spotifyShows.stream()
             .collect(Collectors.toMap(ImmersionTrackerItem::getSpotifyShowId, v -> v));
-    var episodesByShowId =
-        spotifyEpisodes.stream()
-            .collect(Collectors.groupingBy(ImmersionTrackerItem::getSpotifyShowId));
-    return episodesByShowId.entrySet().stream()
+    return spotifyShowRollups.stream()
         .map(
-            entry -> {
-              var showId = entry.getKey();
-              var episodes = entry.getValue();
+            rollup -> {
+              var showId = rollup.getSpotifyShowId();
               var show = showsByShowId.get(showId);
               var showName = show != null ? show.getSpotifyShowName() : null;
               var artworkUrl = show != null ? show.getSpotifyShowArtworkUrl() : null;
-              return new SpotifyShow(showId, showName, artworkUrl, episodes.size());
+              return new SpotifyShow(
+                  showId, showName, artworkUrl, count(rollup.getSpotifyEpisodesWatched()));
             })
         .sorted(
             Comparator.comparing((SpotifyShow s) -> s.episodesWatched, Comparator.reverseOrder())
@@ -451,91 +358,35 @@ public class GetProgressHandler
   }
 
   private List<DailyActivity> dailyActivity(
-      List<ImmersionTrackerItem> episodes,
-      Map<String, ImmersionTrackerItem> showsByFolderName,
-      List<ImmersionTrackerItem> youtubeVideos,
-      List<ImmersionTrackerItem> spotifyEpisodes,
-      List<ImmersionTrackerItem> movies,
-      Instant now) {
+      Map<LocalDate, ImmersionTrackerItem> dayRollups, LocalDate today) {
     var result = new ArrayList<DailyActivity>();
     for (int daysAgo = 6; daysAgo >= 0; daysAgo--) {
-      var dayStart =
-          now.atZone(ZONE_ID).truncatedTo(ChronoUnit.DAYS).minusDays(daysAgo).toInstant();
-      var dayEnd = dayStart.plus(1, ChronoUnit.DAYS);
-
-      var episodeDuration =
-          episodes.stream()
-              .filter(
-                  e -> !e.getTimestamp().isBefore(dayStart) && e.getTimestamp().isBefore(dayEnd))
-              .map(e -> getEpisodeDuration(e, showsByFolderName))
-              .reduce(Duration.ZERO, Duration::plus);
-      var youtubeDuration =
-          youtubeVideos.stream()
-              .filter(
-                  v -> !v.getTimestamp().isBefore(dayStart) && v.getTimestamp().isBefore(dayEnd))
-              .map(ImmersionTrackerItem::getYoutubeVideoDuration)
-              .reduce(Duration.ZERO, Duration::plus);
-      var spotifyDuration =
-          spotifyEpisodes.stream()
-              .filter(
-                  e -> !e.getTimestamp().isBefore(dayStart) && e.getTimestamp().isBefore(dayEnd))
-              .map(ImmersionTrackerItem::getSpotifyEpisodeDuration)
-              .reduce(Duration.ZERO, Duration::plus);
-      var movieDuration =
-          movies.stream()
-              .filter(
-                  m -> !m.getTimestamp().isBefore(dayStart) && m.getTimestamp().isBefore(dayEnd))
-              .map(ImmersionTrackerItem::getMovieDuration)
-              .reduce(Duration.ZERO, Duration::plus);
-
-      var dayDuration =
-          episodeDuration.plus(youtubeDuration).plus(spotifyDuration).plus(movieDuration);
-      result.add(new DailyActivity(daysAgo, (int) dayDuration.toMinutes()));
+      var rollup = dayRollups.get(today.minusDays(daysAgo));
+      var seconds = rollup != null ? seconds(rollup) : 0;
+      result.add(new DailyActivity(daysAgo, (int) Duration.ofSeconds(seconds).toMinutes()));
     }
     return result;
   }
 
   @VisibleForTesting
-  List<CumulativeProgress> allTimeProgress(
-      List<ImmersionTrackerItem> episodes,
-      Map<String, ImmersionTrackerItem> showsByFolderName,
-      List<ImmersionTrackerItem> youtubeVideos,
-      List<ImmersionTrackerItem> spotifyEpisodes,
-      List<ImmersionTrackerItem> movies) {
-    var durationsByQuarter = new TreeMap<LocalDate, Duration>();
-
-    for (var episode : episodes) {
-      addProgress(
-          durationsByQuarter,
-          episode.getTimestamp(),
-          getEpisodeDuration(episode, showsByFolderName));
-    }
-
-    for (var video : youtubeVideos) {
-      addProgress(durationsByQuarter, video.getTimestamp(), video.getYoutubeVideoDuration());
-    }
-
-    for (var episode : spotifyEpisodes) {
-      addProgress(durationsByQuarter, episode.getTimestamp(), episode.getSpotifyEpisodeDuration());
+  List<CumulativeProgress> allTimeProgress(List<ImmersionTrackerItem> quarterRollups) {
+    var secondsByQuarter = new TreeMap<LocalDate, Long>();
+    for (var rollup : quarterRollups) {
+      secondsByQuarter.merge(rollup.getRollupDate(), seconds(rollup), Long::sum);
     }
 
-    for (var movie : movies) {
-      addProgress(durationsByQuarter, movie.getTimestamp(), movie.getMovieDuration());
-    }
-
-    if (durationsByQuarter.isEmpty()) {
+    if (secondsByQuarter.isEmpty()) {
       return List.of();
     }
 
     var labelFormatter = DateTimeFormatter.ofPattern("MMM uuuu", Locale.ENGLISH);
     var result = new ArrayList<CumulativeProgress>();
-    var cumulativeDuration = Duration.ZERO;
-    var cursor = durationsByQuarter.firstKey();
-    var lastQuarter = durationsByQuarter.lastKey();
+    var cumulativeSeconds = 0L;
+    var cursor = secondsByQuarter.firstKey();
+    var lastQuarter = secondsByQuarter.lastKey();
     while (!cursor.isAfter(lastQuarter)) {
-      var duration = durationsByQuarter.getOrDefault(cursor, Duration.ZERO);
-      cumulativeDuration = cumulativeDuration.plus(duration);
-      var cumulativeHours = (int) cumulativeDuration.toHours();
+      cumulativeSeconds += secondsByQuarter.getOrDefault(cursor, 0L);
+      var cumulativeHours = (int) Duration.ofSeconds(cumulativeSeconds).toHours();
       var label = cursor.format(labelFormatter);
       result.add(new CumulativeProgress(label, cumulativeHours));
       cursor = cursor.plusMonths(3);
@@ -543,15 +394,6 @@ public class GetProgressHandler
     return result;
   }
 
-  private static void addProgress(
-      Map<LocalDate, Duration> durationsByQuarter, Instant timestamp, Duration duration) {
-    var zoned = timestamp.atZone(ZONE_ID);
-    var zeroBasedMonth = zoned.getMonthValue() - 1;
-    var quarterMonth = zeroBasedMonth - zeroBasedMonth % 3 + 1;
-    var quarterStart = LocalDate.of(zoned.getYear(), quarterMonth, 1);
-    durationsByQuarter.merge(quarterStart, duration, Duration::plus);
-  }
-
   private List<Movie> movies(List<ImmersionTrackerItem> movies) {
     return movies.stream()
         .map(m -> new Movie(m.getFileName(), m.getTmdbName(), m.getTmdbImage()))
@@ -559,10 +401,11 @@ public class GetProgressHandler
         .toList();
   }
 
-  private Duration getEpisodeDuration(
-      ImmersionTrackerItem episode, Map<String, ImmersionTrackerItem> showsByFolderName) {
-    var show = showsByFolderName.get(episode.getFolderName());
-    var showDuration = show != null ? show.getTvdbAverageRuntime() : null;
-    return showDuration != null ? showDuration : DEFAULT_EPISODE_DURATION;
+  private static int count(@Nullable Integer count) {
+    return count != null ? count : 0;
+  }
+
+  private static long seconds(ImmersionTrackerItem rollup) {
+    return rollup.getSecondsWatched() != null ? rollup.getSecondsWatched() : 0;
   }
 }
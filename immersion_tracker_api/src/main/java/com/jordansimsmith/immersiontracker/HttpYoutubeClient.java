@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import com.jordansimsmith.secrets.Secrets;
 import java.io.IOException;
 import java.net.URI;
@@ -12,11 +13,18 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 public class HttpYoutubeClient implements YoutubeClient {
   @VisibleForTesting static final String SECRET = "immersion_tracker_api";
+  @VisibleForTesting static final int MAX_IDS_PER_REQUEST = 50;
   private static final Pattern ISO_8601_DURATION_PATTERN =
       Pattern.compile("PT(?:(\\d+)H)?(?:(\\d+)M)?(?:(\\d+)S)?");
 
@@ -73,9 +81,9 @@ public class HttpYoutubeClient implements YoutubeClient {
   private record Thumbnail(@JsonProperty("url") String url) {}
 
   @Override
-  public Video getVideo(String videoId) {
+  public List<Video> getVideos(List<String> videoIds) {
     try {
-      return doGetVideo(videoId);
+      return doGetVideos(videoIds);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new RuntimeException(e);
@@ -84,65 +92,65 @@ public class HttpYoutubeClient implements YoutubeClient {
     }
   }
 
-  private Video doGetVideo(String videoId) throws IOException, InterruptedException {
-    var secret = secrets.get(SECRET);
-    var apiKey = objectMapper.readTree(secret).get("youtube_api_key").asText(null);
-    Preconditions.checkNotNull(apiKey, "youtube_api_key not found in secret");
-
-    var request =
-        HttpRequest.newBuilder()
-            .uri(
-                baseUri.resolve(
-                    "/youtube/v3/videos"
-                        + "?part=id,snippet,contentDetails"
-                        + "&id="
-                        + videoId
-                        + "&key="
-                        + apiKey))
-            .header("Accept", "application/json")
-            .GET()
-            .build();
-
-    var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-    if (response.statusCode() != 200) {
-      throw new IOException(
-          "YouTube API request failed with status code "
-              + response.statusCode()
-              + " and body: "
-              + response.body());
+  private List<Video> doGetVideos(List<String> videoIds) throws Exception {
+    var ids = List.copyOf(new LinkedHashSet<>(videoIds));
+    if (ids.isEmpty()) {
+      return List.of();
     }
 
-    var responseBody = objectMapper.readValue(response.body(), VideoListResponse.class);
-
-    Preconditions.checkState(
-        responseBody.items().size() == 1,
-        "Expected exactly 1 video, got %s",
-        responseBody.items().size());
-
-    var item = responseBody.items().get(0);
-    Preconditions.checkState(
-        videoId.equals(item.id()), "Expected video ID %s, got %s", videoId, item.id());
-
-    Preconditions.checkNotNull(item.snippet().title(), "Video title is null");
-    Preconditions.checkNotNull(item.snippet().channelId(), "Channel ID is null");
-    Preconditions.checkNotNull(item.snippet().channelTitle(), "Channel title is null");
-    Preconditions.checkNotNull(item.contentDetails().duration(), "Video duration is null");
+    var apiKey = getApiKey();
+    var videosById = new HashMap<String, Video>();
+    for (var video : fetchChunks(ids, chunk -> fetchVideos(apiKey, chunk))) {
+      videosById.put(video.id(), video);
+    }
 
-    var duration = parseIso8601Duration(item.contentDetails().duration());
+    var videos = new ArrayList<Video>(ids.size());
+    for (var id : ids) {
+      var video = videosById.get(id);
+      Preconditions.checkState(video != null, "Video not found: %s", id);
+      videos.add(video);
+    }
+    return videos;
+  }
 
-    return new Video(
-        item.id(),
-        item.snippet().title(),
-        item.snippet().channelId(),
-        item.snippet().channelTitle(),
-        duration);
+  private List<Video> fetchVideos(String apiKey, List<String> videoIds)
+      throws IOException, InterruptedException {
+    var response =
+        send(
+            "/youtube/v3/videos"
+                + "?part=id,snippet,contentDetails"
+                + "&id="
+                + String.join(",", videoIds)
+                + "&key="
+                + apiKey);
+    var responseBody = objectMapper.readValue(response, VideoListResponse.class);
+    Preconditions.checkNotNull(responseBody.items(), "Video items are null");
+
+    var videos = new ArrayList<Video>(responseBody.items().size());
+    for (var item : responseBody.items()) {
+      Preconditions.checkState(videoIds.contains(item.id()), "Unexpected video ID %s", item.id());
+      Preconditions.checkNotNull(item.snippet().title(), "Video title is null");
+      Preconditions.checkNotNull(item.snippet().channelId(), "Channel ID is null");
+      Preconditions.checkNotNull(item.snippet().channelTitle(), "Channel title is null");
+      Preconditions.checkNotNull(item.contentDetails().duration(), "Video duration is null");
+
+      var duration = parseIso8601Duration(item.contentDetails().duration());
+
+      videos.add(
+          new Video(
+              item.id(),
+              item.snippet().title(),
+              item.snippet().channelId(),
+              item.snippet().channelTitle(),
+              duration));
+    }
+    return videos;
   }
 
   @Override
-  public Channel getChannel(String channelId) {
+  public List<Channel> getChannels(List<String> channelIds) {
     try {
-      return doGetChannel(channelId);
+      return doGetChannels(channelIds);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new RuntimeException(e);
@@ -151,21 +159,64 @@ public class HttpYoutubeClient implements YoutubeClient {
     }
   }
 
-  private Channel doGetChannel(String channelId) throws IOException, InterruptedException {
+  private List<Channel> doGetChannels(List<String> channelIds) throws Exception {
+    var ids = List.copyOf(new LinkedHashSet<>(channelIds));
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+
+    var apiKey = getApiKey();
+    var channelsById = new HashMap<String, Channel>();
+    for (var channel : fetchChunks(ids, chunk -> fetchChannels(apiKey, chunk))) {
+      channelsById.put(channel.id(), channel);
+    }
+
+    var channels = new ArrayList<Channel>(ids.size());
+    for (var id : ids) {
+      var channel = channelsById.get(id);
+      Preconditions.checkState(channel != null, "Channel not found: %s", id);
+      channels.add(channel);
+    }
+    return channels;
+  }
+
+  private List<Channel> fetchChannels(String apiKey, List<String> channelIds)
+      throws IOException, InterruptedException {
+    var response =
+        send(
+            "/youtube/v3/channels"
+                + "?part=snippet"
+                + "&id="
+                + String.join(",", channelIds)
+                + "&key="
+                + apiKey);
+    var responseBody = objectMapper.readValue(response, ChannelListResponse.class);
+    Preconditions.checkNotNull(responseBody.items(), "Channel items are null");
+
+    var channels = new ArrayList<Channel>(responseBody.items().size());
+    for (var item : responseBody.items()) {
+      Preconditions.checkState(
+          channelIds.contains(item.id()), "Unexpected channel ID %s", item.id());
+      Preconditions.checkNotNull(item.snippet().title(), "Channel title is null");
+
+      var artworkUrl = selectBestThumbnail(item.snippet().thumbnails());
+
+      channels.add(new Channel(item.id(), item.snippet().title(), artworkUrl));
+    }
+    return channels;
+  }
+
+  private String getApiKey() throws IOException {
     var secret = secrets.get(SECRET);
     var apiKey = objectMapper.readTree(secret).get("youtube_api_key").asText(null);
     Preconditions.checkNotNull(apiKey, "youtube_api_key not found in secret");
+    return apiKey;
+  }
 
+  private String send(String pathAndQuery) throws IOException, InterruptedException {
     var request =
         HttpRequest.newBuilder()
-            .uri(
-                baseUri.resolve(
-                    "/youtube/v3/channels"
-                        + "?part=snippet"
-                        + "&id="
-                        + channelId
-                        + "&key="
-                        + apiKey))
+            .uri(baseUri.resolve(pathAndQuery))
             .header("Accept", "application/json")
             .GET()
             .build();
@@ -180,22 +231,41 @@ public class HttpYoutubeClient implements YoutubeClient {
               + response.body());
     }
 
-    var responseBody = objectMapper.readValue(response.body(), ChannelListResponse.class);
-
-    Preconditions.checkState(
-        responseBody.items().size() == 1,
-        "Expected exactly 1 channel, got %s",
-        responseBody.items().size());
-
-    var item = responseBody.items().get(0);
-    Preconditions.checkState(
-        channelId.equals(item.id()), "Expected channel ID %s, got %s", channelId, item.id());
+    return response.body();
+  }
 
-    Preconditions.checkNotNull(item.snippet().title(), "Channel title is null");
+  // the list endpoints accept up to 50 comma-separated IDs, so split larger lookups into chunks
+  // and fetch them concurrently
+  private <T> List<T> fetchChunks(List<String> ids, ChunkFetcher<T> fetcher) throws Exception {
+    var chunks = Lists.partition(ids, MAX_IDS_PER_REQUEST);
+    if (chunks.size() == 1) {
+      return fetcher.fetch(chunks.get(0));
+    }
 
-    var artworkUrl = selectBestThumbnail(item.snippet().thumbnails());
+    var futures = new ArrayList<Future<List<T>>>(chunks.size());
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var chunk : chunks) {
+        futures.add(executor.submit(() -> fetcher.fetch(chunk)));
+      }
+
+      var results = new ArrayList<T>();
+      for (var future : futures) {
+        try {
+          results.addAll(future.get());
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof Exception cause) {
+            throw cause;
+          }
+          throw e;
+        }
+      }
+      return results;
+    }
+  }
 
-    return new Channel(item.id(), item.snippet().title(), artworkUrl);
+  @FunctionalInterface
+  private interface ChunkFetcher<T> {
+    List<T> fetch(List<String> ids) throws IOException, InterruptedException;
   }
 
   private String selectBestThumbnail(ChannelThumbnails thumbnails) {
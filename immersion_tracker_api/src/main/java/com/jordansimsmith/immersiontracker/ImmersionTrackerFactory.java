@@ -1,6 +1,7 @@
 package com.jordansimsmith.immersiontracker;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jordansimsmith.dynamodb.DynamoDbBatchReader;
 import com.jordansimsmith.dynamodb.DynamoDbModule;
 import com.jordansimsmith.http.HttpResponseFactory;
 import com.jordansimsmith.http.RequestContextFactory;
@@ -37,6 +38,10 @@ public interface ImmersionTrackerFactory {
 
   DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable();
 
+  DynamoDbBatchReader dynamoDbBatchReader();
+
+  ProgressRollups progressRollups();
+
   TvdbClient tvdbClient();
 
   TmdbClient tmdbClient();
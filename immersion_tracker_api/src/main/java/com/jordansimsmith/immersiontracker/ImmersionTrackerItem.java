@@ -2,8 +2,10 @@ package com.jordansimsmith.immersiontracker;
 
 import com.jordansimsmith.dynamodb.DurationSecondsConverter;
 import com.jordansimsmith.dynamodb.EpochSecondConverter;
+import com.jordansimsmith.dynamodb.LocalDateConverter;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Objects;
 import software.amazon.awssdk.enhanced.dynamodb.extensions.annotations.DynamoDbVersionAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;
@@ -19,6 +21,13 @@ public class ImmersionTrackerItem {
   public static final String YOUTUBECHANNEL_PREFIX = "YOUTUBECHANNEL" + DELIMITER;
   public static final String SPOTIFYEPISODE_PREFIX = "SPOTIFYEPISODE" + DELIMITER;
   public static final String SPOTIFYSHOW_PREFIX = "SPOTIFYSHOW" + DELIMITER;
+  public static final String ROLLUP_PREFIX = "ROLLUP" + DELIMITER;
+  public static final String QUARTERROLLUP_PREFIX = ROLLUP_PREFIX + "QUARTER" + DELIMITER;
+  public static final String SHOWROLLUP_PREFIX = ROLLUP_PREFIX + SHOW_PREFIX;
+  public static final String YOUTUBECHANNELROLLUP_PREFIX = ROLLUP_PREFIX + YOUTUBECHANNEL_PREFIX;
+  public static final String SPOTIFYSHOWROLLUP_PREFIX = ROLLUP_PREFIX + SPOTIFYSHOW_PREFIX;
+  public static final String DAYROLLUP_PREFIX = "DAYROLLUP" + DELIMITER;
+  public static final String LIFETIMEROLLUP_SK = ROLLUP_PREFIX + "LIFETIME";
 
   public static final String PK = "pk";
   public static final String SK = "sk";
@@ -46,6 +55,12 @@ public class ImmersionTrackerItem {
   public static final String SPOTIFY_SHOW_ARTWORK_URL = "spotify_show_artwork_url";
   public static final String SPOTIFY_EPISODE_DURATION = "spotify_episode_duration";
   public static final String MOVIE_DURATION = "movie_duration";
+  public static final String ROLLUP_DATE = "rollup_date";
+  public static final String EPISODES_WATCHED = "episodes_watched";
+  public static final String MOVIES_WATCHED = "movies_watched";
+  public static final String YOUTUBE_VIDEOS_WATCHED = "youtube_videos_watched";
+  public static final String SPOTIFY_EPISODES_WATCHED = "spotify_episodes_watched";
+  public static final String SECONDS_WATCHED = "seconds_watched";
   public static final String VERSION = "version";
 
   private String pk;
@@ -74,6 +89,12 @@ public class ImmersionTrackerItem {
   private String spotifyShowArtworkUrl;
   private Duration spotifyEpisodeDuration;
   private Duration movieDuration;
+  private LocalDate rollupDate;
+  private Integer episodesWatched;
+  private Integer moviesWatched;
+  private Integer youtubeVideosWatched;
+  private Integer spotifyEpisodesWatched;
+  private Long secondsWatched;
   private Long version;
 
   @DynamoDbPartitionKey
@@ -317,6 +338,61 @@ public class ImmersionTrackerItem {
     this.movieDuration = movieDuration;
   }
 
+  @DynamoDbAttribute(ROLLUP_DATE)
+  @DynamoDbConvertedBy(LocalDateConverter.class)
+  public LocalDate getRollupDate() {
+    return rollupDate;
+  }
+
+  public void setRollupDate(LocalDate rollupDate) {
+    this.rollupDate = rollupDate;
+  }
+
+  @DynamoDbAttribute(EPISODES_WATCHED)
+  public Integer getEpisodesWatched() {
+    return episodesWatched;
+  }
+
+  public void setEpisodesWatched(Integer episodesWatched) {
+    this.episodesWatched = episodesWatched;
+  }
+
+  @DynamoDbAttribute(MOVIES_WATCHED)
+  public Integer getMoviesWatched() {
+    return moviesWatched;
+  }
+
+  public void setMoviesWatched(Integer moviesWatched) {
+    this.moviesWatched = moviesWatched;
+  }
+
+  @DynamoDbAttribute(YOUTUBE_VIDEOS_WATCHED)
+  public Integer getYoutubeVideosWatched() {
+    return youtubeVideosWatched;
+  }
+
+  public void setYoutubeVideosWatched(Integer youtubeVideosWatched) {
+    this.youtubeVideosWatched = youtubeVideosWatched;
+  }
+
+  @DynamoDbAttribute(SPOTIFY_EPISODES_WATCHED)
+  public Integer getSpotifyEpisodesWatched() {
+    return spotifyEpisodesWatched;
+  }
+
+  public void setSpotifyEpisodesWatched(Integer spotifyEpisodesWatched) {
+    this.spotifyEpisodesWatched = spotifyEpisodesWatched;
+  }
+
+  @DynamoDbAttribute(SECONDS_WATCHED)
+  public Long getSecondsWatched() {
+    return secondsWatched;
+  }
+
+  public void setSecondsWatched(Long secondsWatched) {
+    this.secondsWatched = secondsWatched;
+  }
+
   @DynamoDbVersionAttribute()
   @DynamoDbAttribute(VERSION)
   public Long getVersion() {
@@ -398,6 +474,18 @@ public class ImmersionTrackerItem {
         + spotifyEpisodeDuration
         + ", movieDuration="
         + movieDuration
+        + ", rollupDate="
+        + rollupDate
+        + ", episodesWatched="
+        + episodesWatched
+        + ", moviesWatched="
+        + moviesWatched
+        + ", youtubeVideosWatched="
+        + youtubeVideosWatched
+        + ", spotifyEpisodesWatched="
+        + spotifyEpisodesWatched
+        + ", secondsWatched="
+        + secondsWatched
         + '}';
   }
 
@@ -430,7 +518,13 @@ public class ImmersionTrackerItem {
         && Objects.equals(spotifyShowName, that.spotifyShowName)
         && Objects.equals(spotifyShowArtworkUrl, that.spotifyShowArtworkUrl)
         && Objects.equals(spotifyEpisodeDuration, that.spotifyEpisodeDuration)
-        && Objects.equals(movieDuration, that.movieDuration);
+        && Objects.equals(movieDuration, that.movieDuration)
+        && Objects.equals(rollupDate, that.rollupDate)
+        && Objects.equals(episodesWatched, that.episodesWatched)
+        && Objects.equals(moviesWatched, that.moviesWatched)
+        && Objects.equals(youtubeVideosWatched, that.youtubeVideosWatched)
+        && Objects.equals(spotifyEpisodesWatched, that.spotifyEpisodesWatched)
+        && Objects.equals(secondsWatched, that.secondsWatched);
   }
 
   @Override
@@ -460,7 +554,13 @@ public class ImmersionTrackerItem {
         spotifyShowName,
         spotifyShowArtworkUrl,
         spotifyEpisodeDuration,
-        movieDuration);
+        movieDuration,
+        rollupDate,
+        episodesWatched,
+        moviesWatched,
+        youtubeVideosWatched,
+        spotifyEpisodesWatched,
+        secondsWatched);
   }
 
   public static String formatPk(String user) {
@@ -495,6 +595,26 @@ public class ImmersionTrackerItem {
     return SPOTIFYSHOW_PREFIX + showId;
   }
 
+  public static String formatQuarterRollupSk(LocalDate quarterStart) {
+    return QUARTERROLLUP_PREFIX + quarterStart;
+  }
+
+  public static String formatShowRollupSk(String folderName) {
+    return SHOWROLLUP_PREFIX + folderName;
+  }
+
+  public static String formatYoutubeChannelRollupSk(String channelId) {
+    return YOUTUBECHANNELROLLUP_PREFIX + channelId;
+  }
+
+  public static String formatSpotifyShowRollupSk(String showId) {
+    return SPOTIFYSHOWROLLUP_PREFIX + showId;
+  }
+
+  public static String formatDayRollupSk(LocalDate day) {
+    return DAYROLLUP_PREFIX + day;
+  }
+
   public static ImmersionTrackerItem createEpisode(
       String user, String folderName, String fileName, Instant timestamp) {
     var episode = new ImmersionTrackerItem();
@@ -598,4 +718,57 @@ public class ImmersionTrackerItem {
     movie.setTimestamp(timestamp);
     return movie;
   }
+
+  public static ImmersionTrackerItem createLifetimeRollup(String user) {
+    var rollup = new ImmersionTrackerItem();
+    rollup.setPk(formatPk(user));
+    rollup.setSk(LIFETIMEROLLUP_SK);
+    rollup.setUser(user);
+    return rollup;
+  }
+
+  public static ImmersionTrackerItem createQuarterRollup(String user, LocalDate quarterStart) {
+    var rollup = new ImmersionTrackerItem();
+    rollup.setPk(formatPk(user));
+    rollup.setSk(formatQuarterRollupSk(quarterStart));
+    rollup.setUser(user);
+    rollup.setRollupDate(quarterStart);
+    return rollup;
+  }
+
+  public static ImmersionTrackerItem createDayRollup(String user, LocalDate day) {
+    var rollup = new ImmersionTrackerItem();
+    rollup.setPk(formatPk(user));
+    rollup.setSk(formatDayRollupSk(day));
+    rollup.setUser(user);
+    rollup.setRollupDate(day);
+    return rollup;
+  }
+
+  public static ImmersionTrackerItem createShowRollup(String user, String folderName) {
+    var rollup = new ImmersionTrackerItem();
+    rollup.setPk(formatPk(user));
+    rollup.setSk(formatShowRollupSk(folderName));
+    rollup.setUser(user);
+    rollup.setFolderName(folderName);
+    return rollup;
+  }
+
+  public static ImmersionTrackerItem createYoutubeChannelRollup(String user, String channelId) {
+    var rollup = new ImmersionTrackerItem();
+    rollup.setPk(formatPk(user));
+    rollup.setSk(formatYoutubeChannelRollupSk(channelId));
+    rollup.setUser(user);
+    rollup.setYoutubeChannelId(channelId);
+    return rollup;
+  }
+
+  public static ImmersionTrackerItem createSpotifyShowRollup(String user, String showId) {
+    var rollup = new ImmersionTrackerItem();
+    rollup.setPk(formatPk(user));
+    rollup.setSk(formatSpotifyShowRollupSk(showId));
+    rollup.setUser(user);
+    rollup.setSpotifyShowId(showId);
+    return rollup;
+  }
 }
@@ -1,6 +1,7 @@
 package com.jordansimsmith.immersiontracker;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jordansimsmith.dynamodb.DynamoDbBatchWriter;
 import com.jordansimsmith.http.HttpResponseFactory;
 import com.jordansimsmith.secrets.Secrets;
 import dagger.Module;
@@ -11,6 +12,7 @@ import javax.inject.Singleton;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @Module
 public class ImmersionTrackerModule {
@@ -30,6 +32,17 @@ public class ImmersionTrackerModule {
     return dynamoDbEnhancedClient.table("immersion_tracker", schema);
   }
 
+  @Provides
+  @Singleton
+  ProgressRollups progressRollups(
+      DynamoDbClient dynamoDbClient,
+      DynamoDbEnhancedClient dynamoDbEnhancedClient,
+      DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable,
+      DynamoDbBatchWriter dynamoDbBatchWriter) {
+    return new ProgressRollups(
+        dynamoDbClient, dynamoDbEnhancedClient, immersionTrackerTable, dynamoDbBatchWriter);
+  }
+
   @Provides
   @Singleton
   TvdbClient tvdbClient(ObjectMapper objectMapper, Secrets secrets) {
@@ -60,7 +73,8 @@ public class ImmersionTrackerModule {
       youtubeBaseUrl = "https://www.googleapis.com";
     }
     var httpClient = HttpClient.newBuilder().build();
-    return new HttpYoutubeClient(URI.create(youtubeBaseUrl), objectMapper, secrets, httpClient);
+    return new CachingYoutubeClient(
+        new HttpYoutubeClient(URI.create(youtubeBaseUrl), objectMapper, secrets, httpClient));
   }
 
   @Provides
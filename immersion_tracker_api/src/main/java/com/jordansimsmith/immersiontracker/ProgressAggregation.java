@@ -0,0 +1,272 @@
+package com.jordansimsmith.immersiontracker;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Folds content items into rollup items in a single pass. Each item is dispatched once on its sort
+ * key prefix and credited to primitive counters indexed by day and by show, channel or Spotify
+ * show; quarter and lifetime totals are summed from the day buckets when the rollups are built.
+ */
+final class ProgressAggregation {
+  private static final int EPISODE = 0;
+  private static final int MOVIE = 1;
+  private static final int YOUTUBE_VIDEO = 2;
+  private static final int SPOTIFY_EPISODE = 3;
+  private static final int KINDS = 4;
+
+  private static final int SECONDS_PER_DAY = 86_400;
+  private static final int INITIAL_CAPACITY = 64;
+
+  record Rollups(
+      ImmersionTrackerItem lifetime,
+      List<ImmersionTrackerItem> days,
+      List<ImmersionTrackerItem> quarters,
+      List<ImmersionTrackerItem> shows,
+      List<ImmersionTrackerItem> youtubeChannels,
+      List<ImmersionTrackerItem> spotifyShows) {}
+
+  private final ZoneRules zoneRules = ProgressRollups.ZONE_ID.getRules();
+
+  // day buckets cover epoch days [firstDay, firstDay + daySeconds.length), with KINDS counts each
+  private long firstDay;
+  private int[] dayCounts = new int[0];
+  private long[] daySeconds = new long[0];
+  @Nullable private Instant firstWatched;
+
+  // episode seconds depend on the show runtime, and show items sort after their episodes, so
+  // episodes are credited to their day once every show has been seen
+  private final Counters shows = new Counters();
+  private final Map<String, Duration> runtimesByFolderName = new HashMap<>();
+  private int[] episodeShows = new int[INITIAL_CAPACITY];
+  private long[] episodeDays = new long[INITIAL_CAPACITY];
+  private int episodeCount;
+  @Nullable private String lastFolderName;
+  private int lastShow;
+
+  private final Counters youtubeChannels = new Counters();
+  private final Counters spotifyShows = new Counters();
+
+  void add(ImmersionTrackerItem item) {
+    var sk = item.getSk();
+    if (sk.startsWith(ImmersionTrackerItem.EPISODE_PREFIX)) {
+      var day = addContent(item.getTimestamp(), EPISODE, 0);
+      if (!item.getFolderName().equals(lastFolderName)) {
+        lastFolderName = item.getFolderName();
+        lastShow = shows.index(lastFolderName);
+      }
+      shows.increment(lastShow);
+      if (episodeCount == episodeShows.length) {
+        episodeShows = Arrays.copyOf(episodeShows, episodeCount * 2);
+        episodeDays = Arrays.copyOf(episodeDays, episodeCount * 2);
+      }
+      episodeShows[episodeCount] = lastShow;
+      episodeDays[episodeCount] = day;
+      episodeCount++;
+    } else if (sk.startsWith(ImmersionTrackerItem.MOVIE_PREFIX)) {
+      addContent(item.getTimestamp(), MOVIE, item.getMovieDuration().toSeconds());
+    } else if (sk.startsWith(ImmersionTrackerItem.YOUTUBEVIDEO_PREFIX)) {
+      addContent(item.getTimestamp(), YOUTUBE_VIDEO, item.getYoutubeVideoDuration().toSeconds());
+      if (item.getYoutubeChannelId() != null) {
+        youtubeChannels.increment(youtubeChannels.index(item.getYoutubeChannelId()));
+      }
+    } else if (sk.startsWith(ImmersionTrackerItem.SPOTIFYEPISODE_PREFIX)) {
+      addContent(
+          item.getTimestamp(), SPOTIFY_EPISODE, item.getSpotifyEpisodeDuration().toSeconds());
+      if (item.getSpotifyShowId() != null) {
+        spotifyShows.increment(spotifyShows.index(item.getSpotifyShowId()));
+      }
+    } else if (sk.startsWith(ImmersionTrackerItem.SHOW_PREFIX)) {
+      if (item.getTvdbAverageRuntime() != null) {
+        runtimesByFolderName.put(item.getFolderName(), item.getTvdbAverageRuntime());
+      }
+    }
+  }
+
+  Rollups toRollups(String user) {
+    var episodeSeconds = new long[shows.size()];
+    for (int show = 0; show < episodeSeconds.length; show++) {
+      var runtime = runtimesByFolderName.get(shows.key(show));
+      episodeSeconds[show] =
+          (runtime != null ? runtime : ProgressRollups.DEFAULT_EPISODE_DURATION).toSeconds();
+    }
+    for (int i = 0; i < episodeCount; i++) {
+      daySeconds[(int) (episodeDays[i] - firstDay)] += episodeSeconds[episodeShows[i]];
+    }
+
+    var lifetimeCounts = new int[KINDS];
+    var lifetimeSeconds = 0L;
+    var quarterCounts = new int[KINDS];
+    var quarterSeconds = 0L;
+    LocalDate quarter = null;
+    var days = new ArrayList<ImmersionTrackerItem>();
+    var quarters = new ArrayList<ImmersionTrackerItem>();
+    for (int index = 0; index < daySeconds.length; index++) {
+      if (daySeconds[index] == 0 && isEmpty(dayCounts, index * KINDS)) {
+        continue;
+      }
+
+      var day = LocalDate.ofEpochDay(firstDay + index);
+      var dayRollup = ImmersionTrackerItem.createDayRollup(user, day);
+      setTotals(dayRollup, dayCounts, index * KINDS, daySeconds[index]);
+      days.add(dayRollup);
+
+      var quarterStart = getQuarterStart(day);
+      if (!quarterStart.equals(quarter)) {
+        if (quarter != null) {
+          quarters.add(createQuarterRollup(user, quarter, quarterCounts, quarterSeconds));
+        }
+        quarter = quarterStart;
+        Arrays.fill(quarterCounts, 0);
+        quarterSeconds = 0;
+      }
+      for (int kind = 0; kind < KINDS; kind++) {
+        quarterCounts[kind] += dayCounts[index * KINDS + kind];
+        lifetimeCounts[kind] += dayCounts[index * KINDS + kind];
+      }
+      quarterSeconds += daySeconds[index];
+      lifetimeSeconds += daySeconds[index];
+    }
+    if (quarter != null) {
+      quarters.add(createQuarterRollup(user, quarter, quarterCounts, quarterSeconds));
+    }
+
+    var lifetime = ImmersionTrackerItem.createLifetimeRollup(user);
+    setTotals(lifetime, lifetimeCounts, 0, lifetimeSeconds);
+    lifetime.setTimestamp(firstWatched);
+
+    var showRollups = new ArrayList<ImmersionTrackerItem>(shows.size());
+    for (int show = 0; show < shows.size(); show++) {
+      var rollup = ImmersionTrackerItem.createShowRollup(user, shows.key(show));
+      rollup.setEpisodesWatched(shows.count(show));
+      showRollups.add(rollup);
+    }
+    var channelRollups = new ArrayList<ImmersionTrackerItem>(youtubeChannels.size());
+    for (int channel = 0; channel < youtubeChannels.size(); channel++) {
+      var rollup =
+          ImmersionTrackerItem.createYoutubeChannelRollup(user, youtubeChannels.key(channel));
+      rollup.setYoutubeVideosWatched(youtubeChannels.count(channel));
+      channelRollups.add(rollup);
+    }
+    var spotifyShowRollups = new ArrayList<ImmersionTrackerItem>(spotifyShows.size());
+    for (int show = 0; show < spotifyShows.size(); show++) {
+      var rollup = ImmersionTrackerItem.createSpotifyShowRollup(user, spotifyShows.key(show));
+      rollup.setSpotifyEpisodesWatched(spotifyShows.count(show));
+      spotifyShowRollups.add(rollup);
+    }
+
+    return new Rollups(lifetime, days, quarters, showRollups, channelRollups, spotifyShowRollups);
+  }
+
+  private long addContent(Instant timestamp, int kind, long seconds) {
+    var day = epochDay(timestamp);
+    var index = dayIndex(day);
+    dayCounts[index * KINDS + kind]++;
+    daySeconds[index] += seconds;
+    if (firstWatched == null || timestamp.isBefore(firstWatched)) {
+      firstWatched = timestamp;
+    }
+    return day;
+  }
+
+  private long epochDay(Instant timestamp) {
+    var offset = zoneRules.getOffset(timestamp).getTotalSeconds();
+    return Math.floorDiv(timestamp.getEpochSecond() + offset, SECONDS_PER_DAY);
+  }
+
+  private int dayIndex(long epochDay) {
+    if (daySeconds.length == 0) {
+      firstDay = epochDay;
+      resizeDays(0, INITIAL_CAPACITY);
+    } else if (epochDay < firstDay) {
+      var shift = (int) Math.max(firstDay - epochDay, daySeconds.length);
+      resizeDays(shift, daySeconds.length + shift);
+      firstDay -= shift;
+    } else if (epochDay - firstDay >= daySeconds.length) {
+      resizeDays(0, (int) Math.max(epochDay - firstDay + 1, 2L * daySeconds.length));
+    }
+    return (int) (epochDay - firstDay);
+  }
+
+  private void resizeDays(int shift, int capacity) {
+    var counts = new int[capacity * KINDS];
+    System.arraycopy(dayCounts, 0, counts, shift * KINDS, dayCounts.length);
+    var seconds = new long[capacity];
+    System.arraycopy(daySeconds, 0, seconds, shift, daySeconds.length);
+    dayCounts = counts;
+    daySeconds = seconds;
+  }
+
+  private static boolean isEmpty(int[] counts, int offset) {
+    for (int kind = 0; kind < KINDS; kind++) {
+      if (counts[offset + kind] != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static ImmersionTrackerItem createQuarterRollup(
+      String user, LocalDate quarterStart, int[] counts, long seconds) {
+    var rollup = ImmersionTrackerItem.createQuarterRollup(user, quarterStart);
+    setTotals(rollup, counts, 0, seconds);
+    return rollup;
+  }
+
+  private static void setTotals(
+      ImmersionTrackerItem rollup, int[] counts, int offset, long seconds) {
+    rollup.setEpisodesWatched(counts[offset + EPISODE]);
+    rollup.setMoviesWatched(counts[offset + MOVIE]);
+    rollup.setYoutubeVideosWatched(counts[offset + YOUTUBE_VIDEO]);
+    rollup.setSpotifyEpisodesWatched(counts[offset + SPOTIFY_EPISODE]);
+    rollup.setSecondsWatched(seconds);
+  }
+
+  private static LocalDate getQuarterStart(LocalDate day) {
+    var zeroBasedMonth = day.getMonthValue() - 1;
+    return LocalDate.of(day.getYear(), zeroBasedMonth - zeroBasedMonth % 3 + 1, 1);
+  }
+
+  private static final class Counters {
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> keys = new ArrayList<>();
+    private int[] counts = new int[INITIAL_CAPACITY];
+
+    private int index(String key) {
+      var index = indexes.get(key);
+      if (index != null) {
+        return index;
+      }
+      if (keys.size() == counts.length) {
+        counts = Arrays.copyOf(counts, counts.length * 2);
+      }
+      keys.add(key);
+      indexes.put(key, keys.size() - 1);
+      return keys.size() - 1;
+    }
+
+    private void increment(int index) {
+      counts[index]++;
+    }
+
+    private int size() {
+      return keys.size();
+    }
+
+    private String key(int index) {
+      return keys.get(index);
+    }
+
+    private int count(int index) {
+      return counts[index];
+    }
+  }
+}
@@ -0,0 +1,393 @@
+package com.jordansimsmith.immersiontracker;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.jordansimsmith.dynamodb.DynamoDbBatchWriter;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+
+/**
+ * Maintains the per-user rollup items that progress is served from. Lifetime totals, quarterly
+ * totals and per-show counters live under {@code ROLLUP#}; day buckets live under {@code
+ * DAYROLLUP#} so the last week can be read as one key range without paging through every day of
+ * history.
+ */
+public class ProgressRollups {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ProgressRollups.class);
+
+  static final ZoneId ZONE_ID = ZoneId.of("Pacific/Auckland");
+  static final Duration DEFAULT_EPISODE_DURATION = Duration.ofMinutes(20);
+
+  // a transaction holds at most 100 actions: one put per item, the lifetime rollup, and at most
+  // one day, quarter and show, channel or Spotify show rollup per item
+  @VisibleForTesting static final int ITEMS_PER_TRANSACTION = 24;
+  static final int MAX_ATTEMPTS = 5;
+  static final int MAX_REBUILD_ATTEMPTS = 3;
+  static final Duration BASE_BACKOFF = Duration.ofMillis(50);
+  private static final String CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+
+  private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbEnhancedClient dynamoDbEnhancedClient;
+  private final DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable;
+  private final DynamoDbBatchWriter dynamoDbBatchWriter;
+
+  public ProgressRollups(
+      DynamoDbClient dynamoDbClient,
+      DynamoDbEnhancedClient dynamoDbEnhancedClient,
+      DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable,
+      DynamoDbBatchWriter dynamoDbBatchWriter) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbEnhancedClient = dynamoDbEnhancedClient;
+    this.immersionTrackerTable = immersionTrackerTable;
+    this.dynamoDbBatchWriter = dynamoDbBatchWriter;
+  }
+
+  public List<ImmersionTrackerItem> write(String user, List<ImmersionTrackerItem> items) {
+    return write(user, items, Map.of());
+  }
+
+  // writes new content items together with their rollup updates in one transaction per chunk, so
+  // the rollups never drift from the stored items. items that already exist are skipped, which
+  // makes retried and concurrent syncs count each item once. episodes are credited with the
+  // runtime of their show at the time of writing. returns the items that were written
+  public List<ImmersionTrackerItem> write(
+      String user,
+      List<ImmersionTrackerItem> items,
+      Map<String, ImmersionTrackerItem> showsByFolderName) {
+    var written = new ArrayList<ImmersionTrackerItem>(items.size());
+    for (var chunk : Lists.partition(items, ITEMS_PER_TRANSACTION)) {
+      written.addAll(writeChunk(user, chunk, showsByFolderName));
+    }
+    return written;
+  }
+
+  // episode durations follow the show runtime, so a runtime change deletes the lifetime rollup in
+  // the same transaction as the show update and the next progress read rebuilds every rollup
+  public void updateShow(
+      String user, ImmersionTrackerItem show, @Nullable Duration previousRuntime) {
+    var runtime = show.getTvdbAverageRuntime();
+    if (getEpisodeDuration(runtime).equals(getEpisodeDuration(previousRuntime))) {
+      immersionTrackerTable.updateItem(show);
+      return;
+    }
+
+    dynamoDbEnhancedClient.transactWriteItems(
+        TransactWriteItemsEnhancedRequest.builder()
+            .addUpdateItem(immersionTrackerTable, show)
+            .addDeleteItem(
+                immersionTrackerTable,
+                Key.builder()
+                    .partitionValue(ImmersionTrackerItem.formatPk(user))
+                    .sortValue(ImmersionTrackerItem.LIFETIMEROLLUP_SK)
+                    .build())
+            .build());
+  }
+
+  // rebuilds every rollup from the user's stored items in one pass over the query pages. a sync
+  // that lands while the rollups are written can be overwritten, so the rebuild repeats until the
+  // lifetime rollup read before the query agrees with the items. the lifetime item is written
+  // last, so an interrupted rebuild is repeated by the next progress read
+  public void rebuild(String user) {
+    for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+      var lifetime =
+          immersionTrackerTable.getItem(
+              GetItemEnhancedRequest.builder()
+                  .key(
+                      Key.builder()
+                          .partitionValue(ImmersionTrackerItem.formatPk(user))
+                          .sortValue(ImmersionTrackerItem.LIFETIMEROLLUP_SK)
+                          .build())
+                  .consistentRead(true)
+                  .build());
+      var items =
+          immersionTrackerTable
+              .query(
+                  QueryEnhancedRequest.builder()
+                      .queryConditional(
+                          QueryConditional.keyEqualTo(
+                              b -> b.partitionValue(ImmersionTrackerItem.formatPk(user))))
+                      .consistentRead(true)
+                      .build())
+              .items();
+
+      var aggregation = new ProgressAggregation();
+      for (var item : items) {
+        aggregation.add(item);
+      }
+      var rollups = aggregation.toRollups(user);
+      if (lifetime != null && hasSameTotals(lifetime, rollups.lifetime())) {
+        return;
+      }
+
+      var buckets = new ArrayList<ImmersionTrackerItem>();
+      buckets.addAll(rollups.days());
+      buckets.addAll(rollups.quarters());
+      buckets.addAll(rollups.shows());
+      buckets.addAll(rollups.youtubeChannels());
+      buckets.addAll(rollups.spotifyShows());
+      dynamoDbBatchWriter.putItems(immersionTrackerTable, buckets);
+      dynamoDbBatchWriter.putItems(immersionTrackerTable, List.of(rollups.lifetime()));
+    }
+
+    LOGGER.warn(
+        "Progress rollups for user {} were still changing after {} rebuild(s)",
+        user,
+        MAX_REBUILD_ATTEMPTS);
+  }
+
+  private List<ImmersionTrackerItem> writeChunk(
+      String user,
+      List<ImmersionTrackerItem> chunk,
+      Map<String, ImmersionTrackerItem> showsByFolderName) {
+    var pending = chunk;
+    var withRollups = true;
+    var attempt = 0;
+    while (!pending.isEmpty()) {
+      try {
+        dynamoDbClient.transactWriteItems(
+            TransactWriteItemsRequest.builder()
+                .transactItems(transactItems(user, pending, showsByFolderName, withRollups))
+                .build());
+        return pending;
+      } catch (TransactionCanceledException e) {
+        var reasons = e.cancellationReasons();
+        var remaining = new ArrayList<ImmersionTrackerItem>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+          if (!isConditionalCheckFailed(reasons, i)) {
+            remaining.add(pending.get(i));
+          }
+        }
+        // the lifetime item marks the rollups as built; until then the items are written alone
+        // and the next read rebuilds the rollups from them
+        var rollupsMissing = withRollups && isConditionalCheckFailed(reasons, pending.size());
+        if (remaining.size() < pending.size() || rollupsMissing) {
+          pending = remaining;
+          withRollups = withRollups && !rollupsMissing;
+          continue;
+        }
+
+        attempt++;
+        if (attempt >= MAX_ATTEMPTS) {
+          throw new RuntimeException(
+              "failed to write "
+                  + pending.size()
+                  + " item(s) with their progress rollups after "
+                  + attempt
+                  + " attempt(s)",
+              e);
+        }
+        backoff(attempt);
+      }
+    }
+    return pending;
+  }
+
+  private List<TransactWriteItem> transactItems(
+      String user,
+      List<ImmersionTrackerItem> items,
+      Map<String, ImmersionTrackerItem> showsByFolderName,
+      boolean withRollups) {
+    var transactItems = new ArrayList<TransactWriteItem>();
+    for (var item : items) {
+      var attributes = new HashMap<>(immersionTrackerTable.tableSchema().itemToMap(item, true));
+      // the version the optimistic lock extension assigns to a new item
+      attributes.put(ImmersionTrackerItem.VERSION, number(1));
+      transactItems.add(
+          TransactWriteItem.builder()
+              .put(
+                  Put.builder()
+                      .tableName(immersionTrackerTable.tableName())
+                      .item(attributes)
+                      .conditionExpression("attribute_not_exists(" + ImmersionTrackerItem.PK + ")")
+                      .build())
+              .build());
+    }
+    if (!withRollups) {
+      return transactItems;
+    }
+
+    var aggregation = new ProgressAggregation();
+    for (var show : showsByFolderName.values()) {
+      aggregation.add(show);
+    }
+    for (var item : items) {
+      aggregation.add(item);
+    }
+    var rollups = aggregation.toRollups(user);
+
+    transactItems.add(
+        TransactWriteItem.builder()
+            .update(
+                totalsUpdate(user, rollups.lifetime())
+                    .conditionExpression("attribute_exists(" + ImmersionTrackerItem.PK + ")")
+                    .build())
+            .build());
+    for (var day : rollups.days()) {
+      transactItems.add(
+          TransactWriteItem.builder().update(totalsUpdate(user, day).build()).build());
+    }
+    for (var quarter : rollups.quarters()) {
+      transactItems.add(
+          TransactWriteItem.builder().update(totalsUpdate(user, quarter).build()).build());
+    }
+    for (var show : rollups.shows()) {
+      transactItems.add(
+          counterUpdate(
+              user,
+              show.getSk(),
+              ImmersionTrackerItem.FOLDER_NAME,
+              show.getFolderName(),
+              ImmersionTrackerItem.EPISODES_WATCHED,
+              show.getEpisodesWatched()));
+    }
+    for (var channel : rollups.youtubeChannels()) {
+      transactItems.add(
+          counterUpdate(
+              user,
+              channel.getSk(),
+              ImmersionTrackerItem.YOUTUBE_CHANNEL_ID,
+              channel.getYoutubeChannelId(),
+              ImmersionTrackerItem.YOUTUBE_VIDEOS_WATCHED,
+              channel.getYoutubeVideosWatched()));
+    }
+    for (var show : rollups.spotifyShows()) {
+      transactItems.add(
+          counterUpdate(
+              user,
+              show.getSk(),
+              ImmersionTrackerItem.SPOTIFY_SHOW_ID,
+              show.getSpotifyShowId(),
+              ImmersionTrackerItem.SPOTIFY_EPISODES_WATCHED,
+              show.getSpotifyEpisodesWatched()));
+    }
+    return transactItems;
+  }
+
+  private Update.Builder totalsUpdate(String user, ImmersionTrackerItem rollup) {
+    var names = new HashMap<String, String>();
+    names.put("#user", ImmersionTrackerItem.USER);
+    var values = new HashMap<String, AttributeValue>();
+    values.put(":user", AttributeValue.builder().s(user).build());
+    values.put(":episodes", number(rollup.getEpisodesWatched()));
+    values.put(":movies", number(rollup.getMoviesWatched()));
+    values.put(":youtubeVideos", number(rollup.getYoutubeVideosWatched()));
+    values.put(":spotifyEpisodes", number(rollup.getSpotifyEpisodesWatched()));
+    values.put(":seconds", number(rollup.getSecondsWatched()));
+
+    var set = new StringBuilder("SET #user = :user");
+    if (rollup.getRollupDate() != null) {
+      set.append(", ").append(ImmersionTrackerItem.ROLLUP_DATE).append(" = :rollupDate");
+      values.put(
+          ":rollupDate", AttributeValue.builder().s(rollup.getRollupDate().toString()).build());
+    }
+    if (rollup.getTimestamp() != null) {
+      set.append(", #timestamp = if_not_exists(#timestamp, :firstWatched)");
+      names.put("#timestamp", ImmersionTrackerItem.TIMESTAMP);
+      values.put(":firstWatched", number(rollup.getTimestamp().getEpochSecond()));
+    }
+
+    return Update.builder()
+        .tableName(immersionTrackerTable.tableName())
+        .key(key(user, rollup.getSk()))
+        .updateExpression(
+            set
+                + " ADD "
+                + ImmersionTrackerItem.EPISODES_WATCHED
+                + " :episodes, "
+                + ImmersionTrackerItem.MOVIES_WATCHED
+                + " :movies, "
+                + ImmersionTrackerItem.YOUTUBE_VIDEOS_WATCHED
+                + " :youtubeVideos, "
+                + ImmersionTrackerItem.SPOTIFY_EPISODES_WATCHED
+                + " :spotifyEpisodes, "
+                + ImmersionTrackerItem.SECONDS_WATCHED
+                + " :seconds")
+        .expressionAttributeNames(names)
+        .expressionAttributeValues(values);
+  }
+
+  private TransactWriteItem counterUpdate(
+      String user,
+      String sk,
+      String idAttribute,
+      String id,
+      String countAttribute,
+      int count) {
+    var update =
+        Update.builder()
+            .tableName(immersionTrackerTable.tableName())
+            .key(key(user, sk))
+            .updateExpression(
+                "SET #user = :user, " + idAttribute + " = :id ADD " + countAttribute + " :count")
+            .expressionAttributeNames(Map.of("#user", ImmersionTrackerItem.USER))
+            .expressionAttributeValues(
+                Map.of(
+                    ":user", AttributeValue.builder().s(user).build(),
+                    ":id", AttributeValue.builder().s(id).build(),
+                    ":count", number(count)))
+            .build();
+    return TransactWriteItem.builder().update(update).build();
+  }
+
+  private static Map<String, AttributeValue> key(String user, String sk) {
+    return Map.of(
+        ImmersionTrackerItem.PK,
+        AttributeValue.builder().s(ImmersionTrackerItem.formatPk(user)).build(),
+        ImmersionTrackerItem.SK,
+        AttributeValue.builder().s(sk).build());
+  }
+
+  private static AttributeValue number(long value) {
+    return AttributeValue.builder().n(String.valueOf(value)).build();
+  }
+
+  private void backoff(int attempt) {
+    var ceiling = BASE_BACKOFF.toMillis() << (attempt - 1);
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static boolean isConditionalCheckFailed(List<CancellationReason> reasons, int index) {
+    return index < reasons.size() && CONDITIONAL_CHECK_FAILED.equals(reasons.get(index).code());
+  }
+
+  private static boolean hasSameTotals(ImmersionTrackerItem a, ImmersionTrackerItem b) {
+    return Objects.equals(a.getEpisodesWatched(), b.getEpisodesWatched())
+        && Objects.equals(a.getMoviesWatched(), b.getMoviesWatched())
+        && Objects.equals(a.getYoutubeVideosWatched(), b.getYoutubeVideosWatched())
+        && Objects.equals(a.getSpotifyEpisodesWatched(), b.getSpotifyEpisodesWatched())
+        && Objects.equals(a.getSecondsWatched(), b.getSecondsWatched());
+  }
+
+  private static Duration getEpisodeDuration(@Nullable Duration runtime) {
+    return runtime != null ? runtime : DEFAULT_EPISODE_DURATION;
+  }
+}
@@ -7,26 +7,38 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
+import com.jordansimsmith.concurrent.BoundedExecutor;
+import com.jordansimsmith.dynamodb.DynamoDbBatchReader;
 import com.jordansimsmith.http.HttpResponseFactory;
 import com.jordansimsmith.http.RequestContextFactory;
 import com.jordansimsmith.time.Clock;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 
 public class SyncEpisodesHandler
     implements RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
   private static final Logger LOGGER = LoggerFactory.getLogger(SyncEpisodesHandler.class);
   @VisibleForTesting static final ZoneId ZONE_ID = ZoneId.of("Pacific/Auckland");
+  private static final int MAX_CONCURRENT_PUTS = 4;
 
   private final Clock clock;
   private final ObjectMapper objectMapper;
   private final RequestContextFactory requestContextFactory;
   private final HttpResponseFactory httpResponseFactory;
   private final DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable;
+  private final DynamoDbBatchReader dynamoDbBatchReader;
+  private final ProgressRollups progressRollups;
 
   @VisibleForTesting
   record SyncEpisodesRequest(@JsonProperty("episodes") List<Episode> episodes) {}
@@ -49,6 +61,8 @@ public class SyncEpisodesHandler
     this.requestContextFactory = factory.requestContextFactory();
     this.httpResponseFactory = factory.httpResponseFactory();
     this.immersionTrackerTable = factory.immersionTrackerTable();
+    this.dynamoDbBatchReader = factory.dynamoDbBatchReader();
+    this.progressRollups = factory.progressRollups();
   }
 
   @Override
@@ -67,35 +81,72 @@ public class SyncEpisodesHandler
     var body = objectMapper.readValue(event.getBody(), SyncEpisodesRequest.class);
 
     var now = clock.now().atZone(ZONE_ID).toInstant();
-    var episodesAdded = 0;
 
+    // one batch read covers every show and episode in the request, however many there are
+    var episodesBySk = new LinkedHashMap<String, Episode>();
+    var folderNames = new LinkedHashSet<String>();
     for (var e : body.episodes) {
-      var show =
-          immersionTrackerTable.getItem(
-              Key.builder()
-                  .partitionValue(ImmersionTrackerItem.formatPk(user))
-                  .sortValue(ImmersionTrackerItem.formatShowSk(e.folderName))
-                  .build());
+      episodesBySk.putIfAbsent(ImmersionTrackerItem.formatEpisodeSk(e.folderName, e.fileName), e);
+      folderNames.add(e.folderName);
+    }
+    var keys = new ArrayList<Key>();
+    for (var folderName : folderNames) {
+      keys.add(key(user, ImmersionTrackerItem.formatShowSk(folderName)));
+    }
+    for (var sk : episodesBySk.keySet()) {
+      keys.add(key(user, sk));
+    }
+    var existingBySk = new HashMap<String, ImmersionTrackerItem>();
+    for (var item : dynamoDbBatchReader.getItems(immersionTrackerTable, keys)) {
+      existingBySk.put(item.getSk(), item);
+    }
+
+    var showsByFolderName = new ConcurrentHashMap<String, ImmersionTrackerItem>();
+    var showsAdded = new ArrayList<ImmersionTrackerItem>();
+    for (var folderName : folderNames) {
+      var show = existingBySk.get(ImmersionTrackerItem.formatShowSk(folderName));
       if (show == null) {
-        show = ImmersionTrackerItem.createShow(user, e.folderName);
-        immersionTrackerTable.putItem(show);
+        showsAdded.add(ImmersionTrackerItem.createShow(user, folderName));
+      } else {
+        showsByFolderName.put(folderName, show);
       }
-
-      var episode =
-          immersionTrackerTable.getItem(
-              Key.builder()
-                  .partitionValue(ImmersionTrackerItem.formatPk(user))
-                  .sortValue(ImmersionTrackerItem.formatEpisodeSk(e.folderName, e.fileName))
-                  .build());
-      if (episode == null) {
-        episode = ImmersionTrackerItem.createEpisode(user, e.folderName, e.fileName, now);
-        immersionTrackerTable.putItem(episode);
-        episodesAdded++;
+    }
+    BoundedExecutor.forEach(
+        showsAdded,
+        MAX_CONCURRENT_PUTS,
+        show -> showsByFolderName.put(show.getFolderName(), putShow(show)));
+
+    var episodes = new ArrayList<ImmersionTrackerItem>();
+    for (var entry : episodesBySk.entrySet()) {
+      if (existingBySk.containsKey(entry.getKey())) {
+        continue;
       }
+      var e = entry.getValue();
+      episodes.add(ImmersionTrackerItem.createEpisode(user, e.folderName, e.fileName, now));
     }
+    var episodesAdded = progressRollups.write(user, episodes, showsByFolderName);
 
-    var res = new SyncEpisodesResponse(episodesAdded);
+    var res = new SyncEpisodesResponse(episodesAdded.size());
 
     return httpResponseFactory.ok(res);
   }
+
+  // the version extension only puts a show that does not exist yet, so a show that a concurrent
+  // sync created, and that may since have been updated, is read back rather than overwritten
+  private ImmersionTrackerItem putShow(ImmersionTrackerItem show) {
+    try {
+      immersionTrackerTable.putItem(show);
+      return show;
+    } catch (ConditionalCheckFailedException e) {
+      return immersionTrackerTable.getItem(
+          GetItemEnhancedRequest.builder()
+              .key(Key.builder().partitionValue(show.getPk()).sortValue(show.getSk()).build())
+              .consistentRead(true)
+              .build());
+    }
+  }
+
+  private static Key key(String user, String sk) {
+    return Key.builder().partitionValue(ImmersionTrackerItem.formatPk(user)).sortValue(sk).build();
+  }
 }
@@ -8,10 +8,14 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.jordansimsmith.dynamodb.DynamoDbBatchReader;
 import com.jordansimsmith.http.HttpResponseFactory;
 import com.jordansimsmith.http.RequestContextFactory;
 import com.jordansimsmith.time.Clock;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +32,8 @@ public class SyncMoviesHandler
   private final RequestContextFactory requestContextFactory;
   private final HttpResponseFactory httpResponseFactory;
   private final DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable;
+  private final DynamoDbBatchReader dynamoDbBatchReader;
+  private final ProgressRollups progressRollups;
   private final TmdbClient tmdbClient;
 
   @VisibleForTesting
@@ -51,6 +57,8 @@ public class SyncMoviesHandler
     this.requestContextFactory = factory.requestContextFactory();
     this.httpResponseFactory = factory.httpResponseFactory();
     this.immersionTrackerTable = factory.immersionTrackerTable();
+    this.dynamoDbBatchReader = factory.dynamoDbBatchReader();
+    this.progressRollups = factory.progressRollups();
     this.tmdbClient = factory.tmdbClient();
   }
 
@@ -70,19 +78,29 @@ public class SyncMoviesHandler
     var body = objectMapper.readValue(event.getBody(), SyncMoviesRequest.class);
 
     var now = clock.now().atZone(ZONE_ID).toInstant();
-    var moviesAdded = 0;
 
+    var moviesByFileName = new LinkedHashMap<String, Movie>();
     for (var movie : body.movies) {
       Preconditions.checkArgument(
           movie.tmdbId() != null && movie.tmdbId() > 0, "tmdb_id must be positive");
-      var existingMovie =
-          immersionTrackerTable.getItem(
-              Key.builder()
-                  .partitionValue(ImmersionTrackerItem.formatPk(user))
-                  .sortValue(ImmersionTrackerItem.formatMovieSk(movie.fileName()))
-                  .build());
-
-      if (existingMovie != null) {
+      moviesByFileName.putIfAbsent(movie.fileName(), movie);
+    }
+    var keys = new ArrayList<Key>(moviesByFileName.size());
+    for (var fileName : moviesByFileName.keySet()) {
+      keys.add(
+          Key.builder()
+              .partitionValue(ImmersionTrackerItem.formatPk(user))
+              .sortValue(ImmersionTrackerItem.formatMovieSk(fileName))
+              .build());
+    }
+    var existingFileNames = new HashSet<String>();
+    for (var item : dynamoDbBatchReader.getItems(immersionTrackerTable, keys)) {
+      existingFileNames.add(item.getFileName());
+    }
+
+    var movies = new ArrayList<ImmersionTrackerItem>();
+    for (var movie : moviesByFileName.values()) {
+      if (existingFileNames.contains(movie.fileName())) {
         continue;
       }
 
@@ -96,11 +114,11 @@ public class SyncMoviesHandler
               tmdbMovie.image(),
               tmdbMovie.duration(),
               now);
-      immersionTrackerTable.putItem(movieItem);
-      moviesAdded++;
+      movies.add(movieItem);
     }
+    var moviesAdded = progressRollups.write(user, movies);
 
-    var res = new SyncMoviesResponse(moviesAdded);
+    var res = new SyncMoviesResponse(moviesAdded.size());
 
     return httpResponseFactory.ok(res);
   }
@@ -11,6 +11,7 @@ import com.jordansimsmith.http.HttpResponseFactory;
 import com.jordansimsmith.http.RequestContextFactory;
 import com.jordansimsmith.time.Clock;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import org.slf4j.Logger;
@@ -30,6 +31,7 @@ public class SyncSpotifyHandler
   private final RequestContextFactory requestContextFactory;
   private final HttpResponseFactory httpResponseFactory;
   private final DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable;
+  private final ProgressRollups progressRollups;
   private final SpotifyClient spotifyClient;
 
   @VisibleForTesting
@@ -51,6 +53,7 @@ public class SyncSpotifyHandler
     this.requestContextFactory = factory.requestContextFactory();
     this.httpResponseFactory = factory.httpResponseFactory();
     this.immersionTrackerTable = factory.immersionTrackerTable();
+    this.progressRollups = factory.progressRollups();
     this.spotifyClient = factory.spotifyClient();
   }
 
@@ -95,7 +98,7 @@ public class SyncSpotifyHandler
       }
     }
 
-    var episodesAdded = 0;
+    var episodes = new ArrayList<ImmersionTrackerItem>();
 
     for (var episodeId : body.episodeIds) {
       if (!backfill && existingEpisodeIds.contains(episodeId)) {
@@ -111,10 +114,9 @@ public class SyncSpotifyHandler
       }
 
       if (existingEpisodeIds.add(target.id())) {
-        immersionTrackerTable.putItem(
+        episodes.add(
             ImmersionTrackerItem.createSpotifyEpisode(
                 user, target.showId(), target.id(), target.title(), target.duration(), now));
-        episodesAdded++;
       }
 
       if (!backfill) {
@@ -128,15 +130,16 @@ public class SyncSpotifyHandler
         }
 
         if (existingEpisodeIds.add(sibling.id())) {
-          immersionTrackerTable.putItem(
+          episodes.add(
               ImmersionTrackerItem.createSpotifyEpisode(
                   user, target.showId(), sibling.id(), sibling.title(), sibling.duration(), now));
-          episodesAdded++;
         }
       }
     }
 
-    var res = new SyncSpotifyResponse(episodesAdded);
+    var episodesAdded = progressRollups.write(user, episodes);
+
+    var res = new SyncSpotifyResponse(episodesAdded.size());
 
     return httpResponseFactory.ok(res);
   }
@@ -7,26 +7,38 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
+import com.jordansimsmith.concurrent.BoundedExecutor;
+import com.jordansimsmith.dynamodb.DynamoDbBatchReader;
 import com.jordansimsmith.http.HttpResponseFactory;
 import com.jordansimsmith.http.RequestContextFactory;
 import com.jordansimsmith.time.Clock;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 
 public class SyncYoutubeHandler
     implements RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
   private static final Logger LOGGER = LoggerFactory.getLogger(SyncYoutubeHandler.class);
   @VisibleForTesting static final ZoneId ZONE_ID = ZoneId.of("Pacific/Auckland");
+  private static final int MAX_CONCURRENT_PUTS = 4;
 
   private final Clock clock;
   private final ObjectMapper objectMapper;
   private final RequestContextFactory requestContextFactory;
   private final HttpResponseFactory httpResponseFactory;
   private final DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable;
+  private final DynamoDbBatchReader dynamoDbBatchReader;
+  private final ProgressRollups progressRollups;
   private final YoutubeClient youtubeClient;
 
   @VisibleForTesting
@@ -46,6 +58,8 @@ public class SyncYoutubeHandler
     this.requestContextFactory = factory.requestContextFactory();
     this.httpResponseFactory = factory.httpResponseFactory();
     this.immersionTrackerTable = factory.immersionTrackerTable();
+    this.dynamoDbBatchReader = factory.dynamoDbBatchReader();
+    this.progressRollups = factory.progressRollups();
     this.youtubeClient = factory.youtubeClient();
   }
 
@@ -65,45 +79,88 @@ public class SyncYoutubeHandler
     var body = objectMapper.readValue(event.getBody(), SyncYoutubeRequest.class);
 
     var now = clock.now().atZone(ZONE_ID).toInstant();
-    var videosAdded = 0;
-
-    for (var videoId : body.videoIds) {
-      var existingVideo =
-          immersionTrackerTable.getItem(
-              Key.builder()
-                  .partitionValue(ImmersionTrackerItem.formatPk(user))
-                  .sortValue(ImmersionTrackerItem.formatYoutubeVideoSk(videoId))
-                  .build());
-
-      if (existingVideo != null) {
-        continue;
+
+    var videoIds = new LinkedHashSet<>(body.videoIds);
+    var existingVideoIds =
+        findExisting(
+            user,
+            videoIds,
+            ImmersionTrackerItem::formatYoutubeVideoSk,
+            ImmersionTrackerItem::getYoutubeVideoId);
+
+    var newVideoIds = new ArrayList<String>();
+    for (var videoId : videoIds) {
+      if (!existingVideoIds.contains(videoId)) {
+        newVideoIds.add(videoId);
       }
+    }
 
-      var video = youtubeClient.getVideo(videoId);
+    var videos = new ArrayList<ImmersionTrackerItem>();
+    var channelIds = new LinkedHashSet<String>();
+    for (var video : youtubeClient.getVideos(newVideoIds)) {
       var videoItem =
           ImmersionTrackerItem.createYoutubeVideo(
               user, video.channelId(), video.id(), video.title(), video.duration(), now);
-      immersionTrackerTable.putItem(videoItem);
-      videosAdded++;
-
-      var existingChannel =
-          immersionTrackerTable.getItem(
-              Key.builder()
-                  .partitionValue(ImmersionTrackerItem.formatPk(user))
-                  .sortValue(ImmersionTrackerItem.formatYoutubeChannelSk(video.channelId()))
-                  .build());
-
-      if (existingChannel == null) {
-        var channel = youtubeClient.getChannel(video.channelId());
-        var channelItem =
-            ImmersionTrackerItem.createYoutubeChannel(
-                user, channel.id(), channel.title(), channel.artworkUrl());
-        immersionTrackerTable.putItem(channelItem);
+      videos.add(videoItem);
+      channelIds.add(video.channelId());
+    }
+
+    var existingChannelIds =
+        findExisting(
+            user,
+            channelIds,
+            ImmersionTrackerItem::formatYoutubeChannelSk,
+            ImmersionTrackerItem::getYoutubeChannelId);
+    var newChannelIds = new ArrayList<String>();
+    for (var channelId : channelIds) {
+      if (!existingChannelIds.contains(channelId)) {
+        newChannelIds.add(channelId);
       }
     }
 
-    var res = new SyncYoutubeResponse(videosAdded);
+    var channels = new ArrayList<ImmersionTrackerItem>();
+    for (var channel : youtubeClient.getChannels(newChannelIds)) {
+      channels.add(
+          ImmersionTrackerItem.createYoutubeChannel(
+              user, channel.id(), channel.title(), channel.artworkUrl()));
+    }
+    BoundedExecutor.forEach(channels, MAX_CONCURRENT_PUTS, this::putChannel);
+
+    var videosAdded = progressRollups.write(user, videos);
+
+    var res = new SyncYoutubeResponse(videosAdded.size());
 
     return httpResponseFactory.ok(res);
   }
+
+  private Set<String> findExisting(
+      String user,
+      Collection<String> ids,
+      Function<String, String> formatSk,
+      Function<ImmersionTrackerItem, String> getId) {
+    var keys = new ArrayList<Key>(ids.size());
+    for (var id : ids) {
+      keys.add(
+          Key.builder()
+              .partitionValue(ImmersionTrackerItem.formatPk(user))
+              .sortValue(formatSk.apply(id))
+              .build());
+    }
+
+    var existing = new HashSet<String>();
+    for (var item : dynamoDbBatchReader.getItems(immersionTrackerTable, keys)) {
+      existing.add(getId.apply(item));
+    }
+    return existing;
+  }
+
+  // the version extension only puts a channel that does not exist yet, so a channel that a
+  // concurrent sync created is kept as it is
+  private void putChannel(ImmersionTrackerItem channel) {
+    try {
+      immersionTrackerTable.putItem(channel);
+    } catch (ConditionalCheckFailedException e) {
+      LOGGER.info("YouTube channel {} was created concurrently", channel.getYoutubeChannelId());
+    }
+  }
 }
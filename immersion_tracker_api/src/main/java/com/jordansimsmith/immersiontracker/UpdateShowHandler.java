@@ -24,6 +24,7 @@ public class UpdateShowHandler
   private final HttpResponseFactory httpResponseFactory;
   private final DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable;
   private final TvdbClient tvdbClient;
+  private final ProgressRollups progressRollups;
 
   @VisibleForTesting
   record UpdateShowRequest(
@@ -43,6 +44,7 @@ public class UpdateShowHandler
     this.httpResponseFactory = factory.httpResponseFactory();
     this.immersionTrackerTable = factory.immersionTrackerTable();
     this.tvdbClient = factory.tvdbClient();
+    this.progressRollups = factory.progressRollups();
   }
 
   @Override
@@ -69,12 +71,13 @@ public class UpdateShowHandler
     Preconditions.checkNotNull(show);
 
     var tvdbShow = tvdbClient.getShow(body.tvdbId);
+    var previousRuntime = show.getTvdbAverageRuntime();
 
     show.setTvdbId(tvdbShow.id());
     show.setTvdbName(tvdbShow.name());
     show.setTvdbImage(tvdbShow.image());
     show.setTvdbAverageRuntime(tvdbShow.averageRuntime());
-    immersionTrackerTable.updateItem(show);
+    progressRollups.updateShow(user, show, previousRuntime);
 
     var res = new UpdateShowResponse();
     return httpResponseFactory.ok(res);
@@ -1,13 +1,16 @@
 package com.jordansimsmith.immersiontracker;
 
 import java.time.Duration;
+import java.util.List;
 
 public interface YoutubeClient {
   record Video(String id, String title, String channelId, String channelTitle, Duration duration) {}
 
   record Channel(String id, String title, String artworkUrl) {}
 
-  Video getVideo(String videoId);
+  // returns one video per distinct ID in request order, failing if any ID is not found
+  List<Video> getVideos(List<String> videoIds);
 
-  Channel getChannel(String channelId);
+  // returns one channel per distinct ID in request order, failing if any ID is not found
+  List<Channel> getChannels(List<String> channelIds);
 }
@@ -0,0 +1,67 @@
+package com.jordansimsmith.immersiontracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CachingYoutubeClientTest {
+  private FakeYoutubeClient fakeYoutubeClient;
+  private CachingYoutubeClient client;
+
+  @BeforeEach
+  void setUp() {
+    fakeYoutubeClient = new FakeYoutubeClient();
+    client = new CachingYoutubeClient(fakeYoutubeClient);
+  }
+
+  @Test
+  void getChannelsShouldOnlyRequestChannelsMissingFromCache() {
+    // arrange
+    fakeYoutubeClient.setChannel("channel1", "Channel 1", "https://example.com/1.jpg");
+    fakeYoutubeClient.setChannel("channel2", "Channel 2", "https://example.com/2.jpg");
+    fakeYoutubeClient.setChannel("channel3", "Channel 3", null);
+    client.getChannels(List.of("channel1", "channel2"));
+
+    // act
+    var channels = client.getChannels(List.of("channel3", "channel2", "channel1", "channel3"));
+
+    // assert
+    assertThat(channels)
+        .extracting(YoutubeClient.Channel::id)
+        .containsExactly("channel3", "channel2", "channel1");
+    assertThat(fakeYoutubeClient.getChannelRequests())
+        .containsExactly(List.of("channel1", "channel2"), List.of("channel3"));
+  }
+
+  @Test
+  void getChannelsShouldNotCallDelegateWhenAllChannelsAreCached() {
+    // arrange
+    fakeYoutubeClient.setChannel("channel1", "Channel 1", "https://example.com/1.jpg");
+    var first = client.getChannels(List.of("channel1"));
+
+    // act
+    var second = client.getChannels(List.of("channel1"));
+
+    // assert
+    assertThat(second).isEqualTo(first);
+    assertThat(fakeYoutubeClient.getChannelRequests()).hasSize(1);
+  }
+
+  @Test
+  void getVideosShouldDelegate() {
+    // arrange
+    fakeYoutubeClient.setVideo("video1", "Video 1", "channel1", "Channel 1", Duration.ofMinutes(3));
+
+    // act
+    var videos = client.getVideos(List.of("video1"));
+
+    // assert
+    assertThat(videos)
+        .containsExactly(
+            new YoutubeClient.Video(
+                "video1", "Video 1", "channel1", "Channel 1", Duration.ofMinutes(3)));
+  }
+}
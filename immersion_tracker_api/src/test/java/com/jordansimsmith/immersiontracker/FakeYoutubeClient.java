@@ -2,25 +2,38 @@ package com.jordansimsmith.immersiontracker;
 
 import com.google.common.base.Preconditions;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 public class FakeYoutubeClient implements YoutubeClient {
   private final Map<String, Video> videos = new HashMap<>();
   private final Map<String, Channel> channels = new HashMap<>();
+  private final List<List<String>> channelRequests = new ArrayList<>();
 
   @Override
-  public Video getVideo(String videoId) {
-    var video = videos.get(videoId);
-    Preconditions.checkNotNull(video, "Video not found: %s", videoId);
-    return video;
+  public List<Video> getVideos(List<String> videoIds) {
+    var result = new ArrayList<Video>();
+    for (var videoId : new LinkedHashSet<>(videoIds)) {
+      var video = videos.get(videoId);
+      Preconditions.checkNotNull(video, "Video not found: %s", videoId);
+      result.add(video);
+    }
+    return result;
   }
 
   @Override
-  public Channel getChannel(String channelId) {
-    var channel = channels.get(channelId);
-    Preconditions.checkNotNull(channel, "Channel not found: %s", channelId);
-    return channel;
+  public List<Channel> getChannels(List<String> channelIds) {
+    channelRequests.add(List.copyOf(channelIds));
+    var result = new ArrayList<Channel>();
+    for (var channelId : new LinkedHashSet<>(channelIds)) {
+      var channel = channels.get(channelId);
+      Preconditions.checkNotNull(channel, "Channel not found: %s", channelId);
+      result.add(channel);
+    }
+    return result;
   }
 
   public void setVideo(
@@ -31,4 +44,8 @@ public class FakeYoutubeClient implements YoutubeClient {
   public void setChannel(String channelId, String channelTitle, String artworkUrl) {
     channels.put(channelId, new Channel(channelId, channelTitle, artworkUrl));
   }
+
+  public List<List<String>> getChannelRequests() {
+    return channelRequests;
+  }
 }
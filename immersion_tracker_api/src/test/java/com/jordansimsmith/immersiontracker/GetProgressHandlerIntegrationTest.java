@@ -13,6 +13,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +27,7 @@ public class GetProgressHandlerIntegrationTest {
   private FakeClock fakeClock;
   private ObjectMapper objectMapper;
   private DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable;
+  private ProgressRollups progressRollups;
 
   private GetProgressHandler getProgressHandler;
 
@@ -45,6 +47,7 @@ public class GetProgressHandlerIntegrationTest {
     fakeClock = factory.fakeClock();
     objectMapper = factory.objectMapper();
     immersionTrackerTable = factory.immersionTrackerTable();
+    progressRollups = factory.progressRollups();
 
     DynamoDbUtils.reset(factory.dynamoDbClient());
 
@@ -1070,4 +1073,99 @@ public class GetProgressHandlerIntegrationTest {
     assertThat(progress.movies())
         .containsExactly(new GetProgressHandler.Movie("legacy_movie", null, null));
   }
+
+  @Test
+  void handleRequestShouldServeProgressFromRollups() throws Exception {
+    // arrange
+    var user = "alice";
+    fakeClock.setTime(Instant.ofEpochMilli(123_000));
+    var now = fakeClock.now();
+    var episode1 = ImmersionTrackerItem.createEpisode(user, "show1", "episode1", now);
+    var show1 = ImmersionTrackerItem.createShow(user, "show1");
+    show1.setTvdbId(1);
+    show1.setTvdbName("my show");
+    show1.setTvdbAverageRuntime(Duration.ofMinutes(45));
+    immersionTrackerTable.putItem(episode1);
+    immersionTrackerTable.putItem(show1);
+
+    var authHeader =
+        "Basic "
+            + Base64.getEncoder()
+                .encodeToString((user + ":password").getBytes(StandardCharsets.UTF_8));
+    var req =
+        APIGatewayV2HTTPEvent.builder().withHeaders(Map.of("Authorization", authHeader)).build();
+    var firstRes = getProgressHandler.handleRequest(req, null);
+
+    // written without the rollups, so only visible once they are rebuilt
+    var episode2 = ImmersionTrackerItem.createEpisode(user, "show1", "episode2", now);
+    immersionTrackerTable.putItem(episode2);
+    var episode3 = ImmersionTrackerItem.createEpisode(user, "show1", "episode3", now);
+    progressRollups.write(user, List.of(episode3), Map.of("show1", show1));
+
+    // act
+    var res = getProgressHandler.handleRequest(req, null);
+
+    // assert
+    assertThat(firstRes.getStatusCode()).isEqualTo(200);
+    var firstProgress =
+        objectMapper.readValue(firstRes.getBody(), GetProgressHandler.GetProgressResponse.class);
+    assertThat(firstProgress.totalEpisodesWatched()).isEqualTo(1);
+
+    assertThat(res.getStatusCode()).isEqualTo(200);
+    var progress =
+        objectMapper.readValue(res.getBody(), GetProgressHandler.GetProgressResponse.class);
+    assertThat(progress.totalEpisodesWatched()).isEqualTo(2);
+    assertThat(progress.episodesWatchedToday()).isEqualTo(2);
+    assertThat(progress.totalHoursWatched()).isEqualTo(1);
+    assertThat(progress.dailyActivity().get(6).minutesWatched()).isEqualTo(90);
+    assertThat(progress.shows())
+        .containsExactly(new GetProgressHandler.Show("1", "my show", null, 2));
+  }
+
+  @Test
+  void rebuildShouldCorrectRollupsThatDisagreeWithStoredItems() throws Exception {
+    // arrange
+    var user = "alice";
+    fakeClock.setTime(Instant.ofEpochMilli(123_000));
+    var now = fakeClock.now();
+    var show1 = ImmersionTrackerItem.createShow(user, "show1");
+    show1.setTvdbId(1);
+    show1.setTvdbName("my show");
+    immersionTrackerTable.putItem(show1);
+    immersionTrackerTable.putItem(
+        ImmersionTrackerItem.createEpisode(user, "show1", "episode1", now));
+    immersionTrackerTable.putItem(
+        ImmersionTrackerItem.createEpisode(user, "show1", "episode2", now));
+
+    // rollups overwritten by a rebuild that raced a sync, missing episode2
+    var staleLifetime = ImmersionTrackerItem.createLifetimeRollup(user);
+    staleLifetime.setEpisodesWatched(1);
+    staleLifetime.setMoviesWatched(0);
+    staleLifetime.setYoutubeVideosWatched(0);
+    staleLifetime.setSpotifyEpisodesWatched(0);
+    staleLifetime.setSecondsWatched(ProgressRollups.DEFAULT_EPISODE_DURATION.toSeconds());
+    immersionTrackerTable.putItem(staleLifetime);
+    var staleShowRollup = ImmersionTrackerItem.createShowRollup(user, "show1");
+    staleShowRollup.setEpisodesWatched(1);
+    immersionTrackerTable.putItem(staleShowRollup);
+
+    var authHeader =
+        "Basic "
+            + Base64.getEncoder()
+                .encodeToString((user + ":password").getBytes(StandardCharsets.UTF_8));
+    var req =
+        APIGatewayV2HTTPEvent.builder().withHeaders(Map.of("Authorization", authHeader)).build();
+
+    // act
+    progressRollups.rebuild(user);
+    var res = getProgressHandler.handleRequest(req, null);
+
+    // assert
+    assertThat(res.getStatusCode()).isEqualTo(200);
+    var progress =
+        objectMapper.readValue(res.getBody(), GetProgressHandler.GetProgressResponse.class);
+    assertThat(progress.totalEpisodesWatched()).isEqualTo(2);
+    assertThat(progress.shows())
+        .containsExactly(new GetProgressHandler.Show("1", "my show", null, 2));
+  }
 }
@@ -0,0 +1,228 @@
+package com.jordansimsmith.immersiontracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jordansimsmith.secrets.FakeSecrets;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+public class HttpYoutubeClientTest {
+  @Mock HttpClient httpClient;
+
+  private ObjectMapper objectMapper;
+  private FakeSecrets secrets;
+  private HttpYoutubeClient client;
+  private List<URI> requestUris;
+  private AutoCloseable openMocks;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    openMocks = openMocks(this);
+    objectMapper = new ObjectMapper();
+    secrets = new FakeSecrets();
+    secrets.set(
+        HttpYoutubeClient.SECRET,
+        objectMapper.writeValueAsString(
+            objectMapper.createObjectNode().put("youtube_api_key", "testApiKey")));
+    client =
+        new HttpYoutubeClient(
+            URI.create("https://www.googleapis.com"), objectMapper, secrets, httpClient);
+    requestUris = Collections.synchronizedList(new ArrayList<>());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    openMocks.close();
+  }
+
+  @Test
+  void getVideosShouldRequestFiftyIdsPerCall() throws Exception {
+    // arrange
+    when(httpClient.send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString())))
+        .thenAnswer(
+            invocation -> {
+              HttpRequest request = invocation.getArgument(0);
+              requestUris.add(request.uri());
+              var items = new ArrayList<String>();
+              for (var id : getIds(request.uri())) {
+                items.add(createVideoItem(id));
+              }
+              return createMockResponse(200, "{\"items\": [" + String.join(",", items) + "]}");
+            });
+    var videoIds = new ArrayList<String>();
+    for (int i = 0; i < 120; i++) {
+      videoIds.add("video" + i);
+    }
+    videoIds.add("video0");
+
+    // act
+    var videos = client.getVideos(videoIds);
+
+    // assert
+    assertThat(videos).hasSize(120);
+    assertThat(videos)
+        .extracting(YoutubeClient.Video::id)
+        .containsExactlyElementsOf(videoIds.subList(0, 120));
+    assertThat(videos.get(7))
+        .isEqualTo(
+            new YoutubeClient.Video(
+                "video7",
+                "Title video7",
+                "channel-video7",
+                "Channel video7",
+                Duration.ofMinutes(4).plusSeconds(12)));
+    assertThat(requestUris)
+        .extracting(uri -> getIds(uri).size())
+        .containsExactlyInAnyOrder(50, 50, 20);
+    assertThat(requestUris)
+        .allSatisfy(
+            uri -> {
+              assertThat(uri.getPath()).isEqualTo("/youtube/v3/videos");
+              assertThat(uri.getQuery()).contains("key=testApiKey");
+            });
+  }
+
+  @Test
+  void getVideosShouldThrowWhenVideoIsMissing() throws Exception {
+    // arrange
+    var response = createMockResponse(200, "{\"items\": [" + createVideoItem("video1") + "]}");
+    when(httpClient.send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString())))
+        .thenReturn(response);
+
+    // act & assert
+    assertThatThrownBy(() -> client.getVideos(List.of("video1", "video2")))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("Video not found: video2");
+  }
+
+  @Test
+  void getVideosShouldNotCallApiForNoIds() throws Exception {
+    // act
+    var videos = client.getVideos(List.of());
+
+    // assert
+    assertThat(videos).isEmpty();
+    verify(httpClient, never())
+        .send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString()));
+  }
+
+  @Test
+  void getChannelsShouldReturnChannelsInRequestOrder() throws Exception {
+    // arrange
+    var response =
+        createMockResponse(
+            200,
+            """
+            {
+              "items": [
+                {
+                  "id": "channel2",
+                  "snippet": {
+                    "title": "Channel 2",
+                    "thumbnails": {
+                      "default": {"url": "https://example.com/2-default.jpg"}
+                    }
+                  }
+                },
+                {
+                  "id": "channel1",
+                  "snippet": {
+                    "title": "Channel 1",
+                    "thumbnails": {
+                      "medium": {"url": "https://example.com/1-medium.jpg"},
+                      "high": {"url": "https://example.com/1-high.jpg"}
+                    }
+                  }
+                }
+              ]
+            }
+            """);
+    when(httpClient.send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString())))
+        .thenReturn(response);
+
+    // act
+    var channels = client.getChannels(List.of("channel1", "channel2"));
+
+    // assert
+    assertThat(channels)
+        .containsExactly(
+            new YoutubeClient.Channel("channel1", "Channel 1", "https://example.com/1-high.jpg"),
+            new YoutubeClient.Channel(
+                "channel2", "Channel 2", "https://example.com/2-default.jpg"));
+  }
+
+  @Test
+  void getChannelsShouldThrowWhenRequestFails() throws Exception {
+    // arrange
+    var response = createMockResponse(403, "{\"error\":{\"code\":403}}");
+    when(httpClient.send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString())))
+        .thenReturn(response);
+
+    // act & assert
+    assertThatThrownBy(() -> client.getChannels(List.of("channel1")))
+        .isInstanceOf(RuntimeException.class)
+        .hasCauseInstanceOf(IOException.class)
+        .hasMessageContaining("YouTube API request failed with status code 403");
+  }
+
+  @Test
+  void parseIso8601DurationShouldParseAllComponents() {
+    assertThat(HttpYoutubeClient.parseIso8601Duration("PT1H2M3S"))
+        .isEqualTo(Duration.ofHours(1).plusMinutes(2).plusSeconds(3));
+    assertThat(HttpYoutubeClient.parseIso8601Duration("PT4M12S"))
+        .isEqualTo(Duration.ofMinutes(4).plusSeconds(12));
+    assertThat(HttpYoutubeClient.parseIso8601Duration("PT45S")).isEqualTo(Duration.ofSeconds(45));
+  }
+
+  private static List<String> getIds(URI uri) {
+    for (var param : uri.getQuery().split("&")) {
+      if (param.startsWith("id=")) {
+        return List.of(param.substring("id=".length()).split(","));
+      }
+    }
+    return List.of();
+  }
+
+  private static String createVideoItem(String id) {
+    return """
+        {
+          "id": "%s",
+          "snippet": {
+            "title": "Title %s",
+            "channelId": "channel-%s",
+            "channelTitle": "Channel %s"
+          },
+          "contentDetails": {"duration": "PT4M12S"}
+        }
+        """
+        .formatted(id, id, id, id);
+  }
+
+  @SuppressWarnings("unchecked")
+  private HttpResponse<String> createMockResponse(int statusCode, String body) {
+    HttpResponse<String> mockResponse = mock(HttpResponse.class);
+    when(mockResponse.statusCode()).thenReturn(statusCode);
+    when(mockResponse.body()).thenReturn(body);
+    return mockResponse;
+  }
+}
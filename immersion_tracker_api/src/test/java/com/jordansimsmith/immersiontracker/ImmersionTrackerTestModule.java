@@ -1,6 +1,7 @@
 package com.jordansimsmith.immersiontracker;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jordansimsmith.dynamodb.DynamoDbBatchWriter;
 import com.jordansimsmith.http.HttpResponseFactory;
 import dagger.Module;
 import dagger.Provides;
@@ -8,6 +9,7 @@ import javax.inject.Singleton;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @Module
 public class ImmersionTrackerTestModule {
@@ -27,6 +29,17 @@ public class ImmersionTrackerTestModule {
     return dynamoDbEnhancedClient.table("immersion_tracker", schema);
   }
 
+  @Provides
+  @Singleton
+  ProgressRollups progressRollups(
+      DynamoDbClient dynamoDbClient,
+      DynamoDbEnhancedClient dynamoDbEnhancedClient,
+      DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable,
+      DynamoDbBatchWriter dynamoDbBatchWriter) {
+    return new ProgressRollups(
+        dynamoDbClient, dynamoDbEnhancedClient, immersionTrackerTable, dynamoDbBatchWriter);
+  }
+
   @Provides
   @Singleton
   FakeTvdbClient fakeTvdbClient() {
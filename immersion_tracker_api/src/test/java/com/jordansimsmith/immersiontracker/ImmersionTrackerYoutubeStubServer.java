@@ -5,86 +5,80 @@ import com.sun.net.httpserver.HttpServer;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Map;
 
 public final class ImmersionTrackerYoutubeStubServer {
-  private static final String OFFICIALPSY_CHANNEL_ID = "UCffDXn7ycAzwL2LDlbyWOTw";
-
-  private static final String VIDEO_9BZKP7Q19F0_RESPONSE =
+  private static final String VIDEO_9BZKP7Q19F0_ITEM =
       """
       {
-        "items": [
-          {
-            "id": "9bZkp7q19f0",
-            "snippet": {
-              "title": "PSY - GANGNAM STYLE(강남스타일) M/V",
-              "channelId": "UCffDXn7ycAzwL2LDlbyWOTw",
-              "channelTitle": "officialpsy"
-            },
-            "contentDetails": {
-              "duration": "PT4M12S"
-            }
-          }
-        ]
+        "id": "9bZkp7q19f0",
+        "snippet": {
+          "title": "PSY - GANGNAM STYLE(강남스타일) M/V",
+          "channelId": "UCffDXn7ycAzwL2LDlbyWOTw",
+          "channelTitle": "officialpsy"
+        },
+        "contentDetails": {
+          "duration": "PT4M12S"
+        }
       }
       """;
 
-  private static final String VIDEO_KJQP7KIW5FK_RESPONSE =
+  private static final String VIDEO_KJQP7KIW5FK_ITEM =
       """
       {
-        "items": [
-          {
-            "id": "kJQP7kiw5Fk",
-            "snippet": {
-              "title": "Luis Fonsi - Despacito ft. Daddy Yankee",
-              "channelId": "UCLp8RBhQHu9wSsq62j_Md6A",
-              "channelTitle": "LuisFonsiVEVO"
-            },
-            "contentDetails": {
-              "duration": "PT3M46S"
-            }
-          }
-        ]
+        "id": "kJQP7kiw5Fk",
+        "snippet": {
+          "title": "Luis Fonsi - Despacito ft. Daddy Yankee",
+          "channelId": "UCLp8RBhQHu9wSsq62j_Md6A",
+          "channelTitle": "LuisFonsiVEVO"
+        },
+        "contentDetails": {
+          "duration": "PT3M46S"
+        }
       }
       """;
 
-  private static final String CHANNEL_OFFICIALPSY_RESPONSE =
+  private static final String CHANNEL_OFFICIALPSY_ITEM =
       """
       {
-        "items": [
-          {
-            "id": "UCffDXn7ycAzwL2LDlbyWOTw",
-            "snippet": {
-              "title": "officialpsy",
-              "thumbnails": {
-                "high": {
-                  "url": "https://images.example.com/youtube/officialpsy.jpg"
-                }
-              }
+        "id": "UCffDXn7ycAzwL2LDlbyWOTw",
+        "snippet": {
+          "title": "officialpsy",
+          "thumbnails": {
+            "high": {
+              "url": "https://images.example.com/youtube/officialpsy.jpg"
             }
           }
-        ]
+        }
       }
       """;
 
-  private static final String CHANNEL_LUIS_FONSI_RESPONSE =
+  private static final String CHANNEL_LUIS_FONSI_ITEM =
       """
       {
-        "items": [
-          {
-            "id": "UCLp8RBhQHu9wSsq62j_Md6A",
-            "snippet": {
-              "title": "LuisFonsiVEVO",
-              "thumbnails": {
-                "high": {
-                  "url": "https://images.example.com/youtube/luis-fonsi-vevo.jpg"
-                }
-              }
+        "id": "UCLp8RBhQHu9wSsq62j_Md6A",
+        "snippet": {
+          "title": "LuisFonsiVEVO",
+          "thumbnails": {
+            "high": {
+              "url": "https://images.example.com/youtube/luis-fonsi-vevo.jpg"
             }
           }
-        ]
+        }
       }
       """;
 
+  private static final Map<String, String> VIDEO_ITEMS =
+      Map.of("9bZkp7q19f0", VIDEO_9BZKP7Q19F0_ITEM, "kJQP7kiw5Fk", VIDEO_KJQP7KIW5FK_ITEM);
+
+  private static final Map<String, String> CHANNEL_ITEMS =
+      Map.of(
+          "UCffDXn7ycAzwL2LDlbyWOTw",
+          CHANNEL_OFFICIALPSY_ITEM,
+          "UCLp8RBhQHu9wSsq62j_Md6A",
+          CHANNEL_LUIS_FONSI_ITEM);
+
   private ImmersionTrackerYoutubeStubServer() {}
 
   public static void main(String[] args) throws Exception {
@@ -94,27 +88,38 @@ public final class ImmersionTrackerYoutubeStubServer {
     server.createContext(
         "/youtube/v3/videos",
         exchange -> {
-          var query = exchange.getRequestURI().getQuery();
-          var responseBody =
-              query != null && query.contains("id=9bZkp7q19f0")
-                  ? VIDEO_9BZKP7Q19F0_RESPONSE
-                  : VIDEO_KJQP7KIW5FK_RESPONSE;
+          var responseBody = listResponse(exchange, VIDEO_ITEMS);
           respond(exchange, "application/json; charset=utf-8", responseBody);
         });
     server.createContext(
         "/youtube/v3/channels",
         exchange -> {
-          var query = exchange.getRequestURI().getQuery();
-          var responseBody =
-              query != null && query.contains("id=" + OFFICIALPSY_CHANNEL_ID)
-                  ? CHANNEL_OFFICIALPSY_RESPONSE
-                  : CHANNEL_LUIS_FONSI_RESPONSE;
+          var responseBody = listResponse(exchange, CHANNEL_ITEMS);
           respond(exchange, "application/json; charset=utf-8", responseBody);
         });
     server.start();
     Thread.currentThread().join();
   }
 
+  // like the real list endpoints, returns the known items for the comma-separated id parameter and
+  // silently omits unknown IDs
+  private static String listResponse(HttpExchange exchange, Map<String, String> itemsById) {
+    var items = new ArrayList<String>();
+    var query = exchange.getRequestURI().getQuery();
+    for (var param : query != null ? query.split("&") : new String[0]) {
+      if (!param.startsWith("id=")) {
+        continue;
+      }
+      for (var id : param.substring("id=".length()).split(",")) {
+        var item = itemsById.get(id);
+        if (item != null) {
+          items.add(item);
+        }
+      }
+    }
+    return "{\"items\": [" + String.join(",", items) + "]}";
+  }
+
   private static void respond(HttpExchange exchange, String contentType, String bodyText)
       throws IOException {
     var body = bodyText.getBytes(StandardCharsets.UTF_8);
@@ -0,0 +1,148 @@
+package com.jordansimsmith.immersiontracker;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+// the original map-of-totals rollup rebuild, kept as the oracle for ProgressAggregation
+public class MapProgressAggregation {
+
+  public List<ImmersionTrackerItem> aggregate(String user, Iterable<ImmersionTrackerItem> items) {
+    var showsByFolderName = new HashMap<String, ImmersionTrackerItem>();
+    var content = new ArrayList<ImmersionTrackerItem>();
+    for (var item : items) {
+      if (item.getSk().startsWith(ImmersionTrackerItem.SHOW_PREFIX)) {
+        showsByFolderName.putIfAbsent(item.getFolderName(), item);
+      } else if (isContent(item)) {
+        content.add(item);
+      }
+    }
+
+    var lifetime = new Totals();
+    var days = new HashMap<LocalDate, Totals>();
+    var quarters = new HashMap<LocalDate, Totals>();
+    var episodesByFolderName = new HashMap<String, Integer>();
+    var videosByChannelId = new HashMap<String, Integer>();
+    var episodesBySpotifyShowId = new HashMap<String, Integer>();
+    for (var item : content) {
+      var timestamp = item.getTimestamp();
+      var day = timestamp.atZone(ProgressRollups.ZONE_ID).toLocalDate();
+      var seconds = getDuration(item, showsByFolderName).toSeconds();
+      lifetime.add(item, seconds);
+      days.computeIfAbsent(day, d -> new Totals()).add(item, seconds);
+      quarters.computeIfAbsent(getQuarterStart(day), q -> new Totals()).add(item, seconds);
+      if (lifetime.firstWatched == null || timestamp.isBefore(lifetime.firstWatched)) {
+        lifetime.firstWatched = timestamp;
+      }
+
+      var sk = item.getSk();
+      if (sk.startsWith(ImmersionTrackerItem.EPISODE_PREFIX)) {
+        episodesByFolderName.merge(item.getFolderName(), 1, Integer::sum);
+      } else if (sk.startsWith(ImmersionTrackerItem.YOUTUBEVIDEO_PREFIX)
+          && item.getYoutubeChannelId() != null) {
+        videosByChannelId.merge(item.getYoutubeChannelId(), 1, Integer::sum);
+      } else if (sk.startsWith(ImmersionTrackerItem.SPOTIFYEPISODE_PREFIX)
+          && item.getSpotifyShowId() != null) {
+        episodesBySpotifyShowId.merge(item.getSpotifyShowId(), 1, Integer::sum);
+      }
+    }
+
+    var rollups = new ArrayList<ImmersionTrackerItem>();
+    var lifetimeItem = ImmersionTrackerItem.createLifetimeRollup(user);
+    lifetime.copyTo(lifetimeItem);
+    lifetimeItem.setTimestamp(lifetime.firstWatched);
+    rollups.add(lifetimeItem);
+    for (var entry : days.entrySet()) {
+      var item = ImmersionTrackerItem.createDayRollup(user, entry.getKey());
+      entry.getValue().copyTo(item);
+      rollups.add(item);
+    }
+    for (var entry : quarters.entrySet()) {
+      var item = ImmersionTrackerItem.createQuarterRollup(user, entry.getKey());
+      entry.getValue().copyTo(item);
+      rollups.add(item);
+    }
+    for (var entry : episodesByFolderName.entrySet()) {
+      var item = ImmersionTrackerItem.createShowRollup(user, entry.getKey());
+      item.setEpisodesWatched(entry.getValue());
+      rollups.add(item);
+    }
+    for (var entry : videosByChannelId.entrySet()) {
+      var item = ImmersionTrackerItem.createYoutubeChannelRollup(user, entry.getKey());
+      item.setYoutubeVideosWatched(entry.getValue());
+      rollups.add(item);
+    }
+    for (var entry : episodesBySpotifyShowId.entrySet()) {
+      var item = ImmersionTrackerItem.createSpotifyShowRollup(user, entry.getKey());
+      item.setSpotifyEpisodesWatched(entry.getValue());
+      rollups.add(item);
+    }
+    return rollups;
+  }
+
+  private static boolean isContent(ImmersionTrackerItem item) {
+    var sk = item.getSk();
+    return sk.startsWith(ImmersionTrackerItem.EPISODE_PREFIX)
+        || sk.startsWith(ImmersionTrackerItem.MOVIE_PREFIX)
+        || sk.startsWith(ImmersionTrackerItem.YOUTUBEVIDEO_PREFIX)
+        || sk.startsWith(ImmersionTrackerItem.SPOTIFYEPISODE_PREFIX);
+  }
+
+  private static Duration getDuration(
+      ImmersionTrackerItem item, Map<String, ImmersionTrackerItem> showsByFolderName) {
+    var sk = item.getSk();
+    if (sk.startsWith(ImmersionTrackerItem.EPISODE_PREFIX)) {
+      var show = showsByFolderName.get(item.getFolderName());
+      var runtime = show != null ? show.getTvdbAverageRuntime() : null;
+      return runtime != null ? runtime : ProgressRollups.DEFAULT_EPISODE_DURATION;
+    }
+    if (sk.startsWith(ImmersionTrackerItem.MOVIE_PREFIX)) {
+      return item.getMovieDuration();
+    }
+    if (sk.startsWith(ImmersionTrackerItem.YOUTUBEVIDEO_PREFIX)) {
+      return item.getYoutubeVideoDuration();
+    }
+    return item.getSpotifyEpisodeDuration();
+  }
+
+  private static LocalDate getQuarterStart(LocalDate day) {
+    var zeroBasedMonth = day.getMonthValue() - 1;
+    return LocalDate.of(day.getYear(), zeroBasedMonth - zeroBasedMonth % 3 + 1, 1);
+  }
+
+  private static final class Totals {
+    private int episodes;
+    private int movies;
+    private int youtubeVideos;
+    private int spotifyEpisodes;
+    private long seconds;
+    @Nullable private Instant firstWatched;
+
+    private void add(ImmersionTrackerItem item, long itemSeconds) {
+      var sk = item.getSk();
+      if (sk.startsWith(ImmersionTrackerItem.EPISODE_PREFIX)) {
+        episodes++;
+      } else if (sk.startsWith(ImmersionTrackerItem.MOVIE_PREFIX)) {
+        movies++;
+      } else if (sk.startsWith(ImmersionTrackerItem.YOUTUBEVIDEO_PREFIX)) {
+        youtubeVideos++;
+      } else if (sk.startsWith(ImmersionTrackerItem.SPOTIFYEPISODE_PREFIX)) {
+        spotifyEpisodes++;
+      }
+      seconds += itemSeconds;
+    }
+
+    private void copyTo(ImmersionTrackerItem rollup) {
+      rollup.setEpisodesWatched(episodes);
+      rollup.setMoviesWatched(movies);
+      rollup.setYoutubeVideosWatched(youtubeVideos);
+      rollup.setSpotifyEpisodesWatched(spotifyEpisodes);
+      rollup.setSecondsWatched(seconds);
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package com.jordansimsmith.immersiontracker;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+// rebuilds rollups from a synthetic watch history with the single-pass and the map-based
+// aggregation and reports time and bytes allocated per rebuild; run with
+// bazel run //immersion_tracker_api:progress-aggregation-benchmark -- [items] [iterations]
+public final class ProgressAggregationBenchmark {
+  private static final String USER = "alice";
+  private static final Instant HISTORY_END = Instant.ofEpochSecond(1700000000);
+  private static final int HISTORY_DAYS = 4 * 365;
+  private static final int SHOWS = 150;
+  private static final int CHANNELS = 300;
+  private static final int SPOTIFY_SHOWS = 40;
+  private static final int WARMUP_ITERATIONS = 10;
+
+  public static void main(String[] args) {
+    var itemCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+    var iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+    var items = createHistory(itemCount, new Random(42));
+    var mapAggregation = new MapProgressAggregation();
+
+    measure("single-pass", items, iterations, ProgressAggregationBenchmark::aggregate);
+    measure("map", items, iterations, history -> mapAggregation.aggregate(USER, history).size());
+  }
+
+  private static void measure(
+      String name,
+      List<ImmersionTrackerItem> items,
+      int iterations,
+      ToIntFunction<List<ImmersionTrackerItem>> aggregate) {
+    long checksum = 0;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      checksum += aggregate.applyAsInt(items);
+    }
+
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    var threadId = Thread.currentThread().threadId();
+    long totalNanos = 0;
+    long totalBytes = 0;
+    long bestNanos = Long.MAX_VALUE;
+    for (int i = 0; i < iterations; i++) {
+      var bytesBefore = threadBean.getThreadAllocatedBytes(threadId);
+      var start = System.nanoTime();
+      checksum += aggregate.applyAsInt(items);
+      var elapsed = System.nanoTime() - start;
+      totalBytes += threadBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+      totalNanos += elapsed;
+      bestNanos = Math.min(bestNanos, elapsed);
+    }
+
+    System.out.printf(
+        "%s: %d items, mean %.2f ms, best %.2f ms, %d bytes allocated per rebuild (checksum %d)%n",
+        name,
+        items.size(),
+        totalNanos / (double) iterations / 1e6,
+        bestNanos / 1e6,
+        totalBytes / iterations,
+        checksum);
+  }
+
+  private static int aggregate(List<ImmersionTrackerItem> items) {
+    var aggregation = new ProgressAggregation();
+    for (var item : items) {
+      aggregation.add(item);
+    }
+    var rollups = aggregation.toRollups(USER);
+    return 1
+        + rollups.days().size()
+        + rollups.quarters().size()
+        + rollups.shows().size()
+        + rollups.youtubeChannels().size()
+        + rollups.spotifyShows().size();
+  }
+
+  // mostly episodes binged a few at a time, with videos, podcasts and the odd movie, returned in
+  // sort key order like the partition query
+  private static List<ImmersionTrackerItem> createHistory(int count, Random random) {
+    var items = new ArrayList<ImmersionTrackerItem>(count + SHOWS);
+    for (int s = 0; s < SHOWS; s++) {
+      var show = ImmersionTrackerItem.createShow(USER, "show" + s);
+      if (s % 10 != 0) {
+        show.setTvdbAverageRuntime(Duration.ofMinutes(20 + random.nextInt(40)));
+      }
+      items.add(show);
+    }
+    for (int i = 0; i < count; i++) {
+      var timestamp = HISTORY_END.minusSeconds(random.nextLong(HISTORY_DAYS * 86_400L));
+      var duration = Duration.ofSeconds(120 + random.nextInt(3_600));
+      var kind = random.nextInt(100);
+      if (kind < 60) {
+        items.add(
+            ImmersionTrackerItem.createEpisode(
+                USER, "show" + random.nextInt(SHOWS), "episode" + i, timestamp));
+      } else if (kind < 85) {
+        items.add(
+            ImmersionTrackerItem.createYoutubeVideo(
+                USER,
+                "channel" + random.nextInt(CHANNELS),
+                "video" + i,
+                "video",
+                duration,
+                timestamp));
+      } else if (kind < 98) {
+        items.add(
+            ImmersionTrackerItem.createSpotifyEpisode(
+                USER,
+                "spotify" + random.nextInt(SPOTIFY_SHOWS),
+                "episode" + i,
+                "episode",
+                duration,
+                timestamp));
+      } else {
+        items.add(
+            ImmersionTrackerItem.createMovie(
+                USER, "movie" + i, i, "movie", null, duration.multipliedBy(3), timestamp));
+      }
+    }
+    items.sort(Comparator.comparing(ImmersionTrackerItem::getSk));
+    return items;
+  }
+
+  private ProgressAggregationBenchmark() {}
+}
@@ -0,0 +1,130 @@
+package com.jordansimsmith.immersiontracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class ProgressAggregationTest {
+  private static final String USER = "alice";
+
+  @Test
+  void toRollupsShouldCreditEpisodesWithShowRuntime() {
+    // arrange
+    var aggregation = new ProgressAggregation();
+    var show = ImmersionTrackerItem.createShow(USER, "show");
+    show.setTvdbAverageRuntime(Duration.ofMinutes(45));
+    // 2024-04-01 00:30 in Auckland, the first day of the second quarter
+    var firstEpisode =
+        ImmersionTrackerItem.createEpisode(
+            USER, "show", "episode 1", Instant.parse("2024-03-31T11:30:00Z"));
+    var secondEpisode =
+        ImmersionTrackerItem.createEpisode(
+            USER, "show", "episode 2", Instant.parse("2024-03-31T12:00:00Z"));
+    var unknownEpisode =
+        ImmersionTrackerItem.createEpisode(
+            USER, "unknown", "episode 1", Instant.parse("2024-03-31T10:00:00Z"));
+
+    // act
+    aggregation.add(firstEpisode);
+    aggregation.add(secondEpisode);
+    aggregation.add(unknownEpisode);
+    aggregation.add(show);
+    var rollups = aggregation.toRollups(USER);
+
+    // assert
+    assertThat(rollups.lifetime().getEpisodesWatched()).isEqualTo(3);
+    assertThat(rollups.lifetime().getSecondsWatched())
+        .isEqualTo(Duration.ofMinutes(45 + 45 + 20).toSeconds());
+    assertThat(rollups.lifetime().getTimestamp()).isEqualTo(unknownEpisode.getTimestamp());
+    assertThat(rollups.days())
+        .extracting(
+            ImmersionTrackerItem::getRollupDate,
+            ImmersionTrackerItem::getEpisodesWatched,
+            ImmersionTrackerItem::getSecondsWatched)
+        .containsExactly(
+            tuple(LocalDate.parse("2024-03-31"), 1, Duration.ofMinutes(20).toSeconds()),
+            tuple(LocalDate.parse("2024-04-01"), 2, Duration.ofMinutes(90).toSeconds()));
+    assertThat(rollups.quarters())
+        .extracting(ImmersionTrackerItem::getRollupDate, ImmersionTrackerItem::getEpisodesWatched)
+        .containsExactly(
+            tuple(LocalDate.parse("2024-01-01"), 1),
+            tuple(LocalDate.parse("2024-04-01"), 2));
+    assertThat(rollups.shows())
+        .extracting(ImmersionTrackerItem::getFolderName, ImmersionTrackerItem::getEpisodesWatched)
+        .containsExactlyInAnyOrder(tuple("show", 2), tuple("unknown", 1));
+  }
+
+  @Test
+  void toRollupsShouldMatchMapAggregation() {
+    // arrange
+    var random = new Random(42);
+    var items = new ArrayList<ImmersionTrackerItem>();
+    for (int i = 0; i < 20; i++) {
+      var show = ImmersionTrackerItem.createShow(USER, "show" + i);
+      if (i % 3 != 0) {
+        show.setTvdbAverageRuntime(Duration.ofMinutes(10 + random.nextInt(50)));
+      }
+      items.add(show);
+    }
+    for (int i = 0; i < 2_000; i++) {
+      var timestamp =
+          Instant.parse("2021-01-01T00:00:00Z").plusSeconds(random.nextLong(4 * 365 * 86_400L));
+      var duration = Duration.ofSeconds(60 + random.nextInt(7_200));
+      switch (random.nextInt(4)) {
+        case 0 ->
+            items.add(
+                ImmersionTrackerItem.createEpisode(
+                    USER, "show" + random.nextInt(25), "episode" + i, timestamp));
+        case 1 ->
+            items.add(
+                ImmersionTrackerItem.createMovie(
+                    USER, "movie" + i, i, "movie", null, duration, timestamp));
+        case 2 ->
+            items.add(
+                ImmersionTrackerItem.createYoutubeVideo(
+                    USER,
+                    random.nextInt(10) == 0 ? null : "channel" + random.nextInt(8),
+                    "video" + i,
+                    "video",
+                    duration,
+                    timestamp));
+        default ->
+            items.add(
+                ImmersionTrackerItem.createSpotifyEpisode(
+                    USER,
+                    "spotify" + random.nextInt(5),
+                    "episode" + i,
+                    "episode",
+                    duration,
+                    timestamp));
+      }
+    }
+    // the partition query returns items in sort key order
+    items.sort(Comparator.comparing(ImmersionTrackerItem::getSk));
+
+    // act
+    var aggregation = new ProgressAggregation();
+    for (var item : items) {
+      aggregation.add(item);
+    }
+    var rollups = aggregation.toRollups(USER);
+
+    // assert
+    var actual = new ArrayList<ImmersionTrackerItem>();
+    actual.add(rollups.lifetime());
+    actual.addAll(rollups.days());
+    actual.addAll(rollups.quarters());
+    actual.addAll(rollups.shows());
+    actual.addAll(rollups.youtubeChannels());
+    actual.addAll(rollups.spotifyShows());
+    var expected = new MapProgressAggregation().aggregate(USER, items);
+    assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+  }
+}
@@ -8,7 +8,9 @@ import com.jordansimsmith.dynamodb.DynamoDbContainer;
 import com.jordansimsmith.dynamodb.DynamoDbUtils;
 import com.jordansimsmith.time.FakeClock;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +29,7 @@ public class SyncEpisodesHandlerIntegrationTest {
   private FakeClock clock;
   private ObjectMapper objectMapper;
   private DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable;
+  private ProgressRollups progressRollups;
 
   private SyncEpisodesHandler syncEpisodesHandler;
 
@@ -46,6 +49,7 @@ public class SyncEpisodesHandlerIntegrationTest {
     clock = factory.fakeClock();
     objectMapper = factory.objectMapper();
     immersionTrackerTable = factory.immersionTrackerTable();
+    progressRollups = factory.progressRollups();
 
     DynamoDbUtils.reset(factory.dynamoDbClient());
 
@@ -120,4 +124,218 @@ public class SyncEpisodesHandlerIntegrationTest {
     assertThat(items)
         .contains(ImmersionTrackerItem.createEpisode(user, "show2", "episode3", clock.now()));
   }
+
+  @Test
+  void handleRequestShouldSyncLargeRequestsWithDuplicates() throws Exception {
+    // arrange
+    clock.setTime(Instant.ofEpochMilli(123_000));
+    var user = "alice";
+    immersionTrackerTable.putItem(
+        ImmersionTrackerItem.createEpisode(user, "show0", "episode0", Instant.EPOCH));
+
+    var episodes = new ArrayList<SyncEpisodesHandler.Episode>();
+    for (int i = 0; i < 150; i++) {
+      episodes.add(new SyncEpisodesHandler.Episode("show" + i % 3, "episode" + i));
+    }
+    episodes.addAll(episodes.subList(0, 30));
+    var body =
+        objectMapper.writeValueAsString(new SyncEpisodesHandler.SyncEpisodesRequest(episodes));
+
+    // act
+    var authHeader =
+        "Basic "
+            + Base64.getEncoder()
+                .encodeToString((user + ":password").getBytes(StandardCharsets.UTF_8));
+    var req =
+        APIGatewayV2HTTPEvent.builder()
+            .withHeaders(Map.of("Authorization", authHeader))
+            .withBody(body)
+            .build();
+    var res = syncEpisodesHandler.handleRequest(req, null);
+
+    // assert
+    assertThat(res.getStatusCode()).isEqualTo(200);
+
+    var episodesAdded =
+        objectMapper.readValue(res.getBody(), SyncEpisodesHandler.SyncEpisodesResponse.class);
+    assertThat(episodesAdded.episodesAdded()).isEqualTo(149);
+
+    var items =
+        immersionTrackerTable
+            .query(
+                QueryEnhancedRequest.builder()
+                    .queryConditional(
+                        QueryConditional.keyEqualTo(
+                            Key.builder()
+                                .partitionValue(ImmersionTrackerItem.formatPk(user))
+                                .build()))
+                    .build())
+            .items()
+            .stream()
+            .toList();
+
+    assertThat(items).hasSize(153);
+    assertThat(items)
+        .contains(ImmersionTrackerItem.createEpisode(user, "show0", "episode0", Instant.EPOCH));
+    assertThat(items)
+        .contains(ImmersionTrackerItem.createEpisode(user, "show2", "episode149", clock.now()));
+    assertThat(items).contains(ImmersionTrackerItem.createShow(user, "show1"));
+    assertThat(items)
+        .filteredOn(item -> item.getSk().startsWith(ImmersionTrackerItem.SHOW_PREFIX))
+        .hasSize(3)
+        .allSatisfy(show -> assertThat(show.getVersion()).isEqualTo(1L));
+  }
+
+  @Test
+  void handleRequestShouldUpdateProgressRollups() throws Exception {
+    // arrange
+    clock.setTime(Instant.parse("2024-01-07T12:00:00Z"));
+    var user = "alice";
+    var episode1 = ImmersionTrackerItem.createEpisode(user, "show1", "episode1", Instant.EPOCH);
+    var show1 = ImmersionTrackerItem.createShow(user, "show1");
+    show1.setTvdbAverageRuntime(Duration.ofMinutes(45));
+    immersionTrackerTable.putItem(episode1);
+    immersionTrackerTable.putItem(show1);
+    progressRollups.rebuild(user);
+
+    var episode2 = new SyncEpisodesHandler.Episode("show1", "episode1");
+    var episode3 = new SyncEpisodesHandler.Episode("show1", "episode2");
+    var episode4 = new SyncEpisodesHandler.Episode("show2", "episode1");
+    var episodes = List.of(episode2, episode3, episode4);
+    var body =
+        objectMapper.writeValueAsString(new SyncEpisodesHandler.SyncEpisodesRequest(episodes));
+
+    // act
+    var authHeader =
+        "Basic "
+            + Base64.getEncoder()
+                .encodeToString((user + ":password").getBytes(StandardCharsets.UTF_8));
+    var req =
+        APIGatewayV2HTTPEvent.builder()
+            .withHeaders(Map.of("Authorization", authHeader))
+            .withBody(body)
+            .build();
+    var res = syncEpisodesHandler.handleRequest(req, null);
+
+    // assert
+    assertThat(res.getStatusCode()).isEqualTo(200);
+
+    var lifetime = getItem(user, ImmersionTrackerItem.LIFETIMEROLLUP_SK);
+    assertThat(lifetime.getEpisodesWatched()).isEqualTo(3);
+    assertThat(lifetime.getSecondsWatched())
+        .isEqualTo(Duration.ofMinutes(45 + 45 + 20).toSeconds());
+    assertThat(lifetime.getTimestamp()).isEqualTo(Instant.EPOCH);
+
+    var today = clock.now().atZone(SyncEpisodesHandler.ZONE_ID).toLocalDate();
+    var day = getItem(user, ImmersionTrackerItem.formatDayRollupSk(today));
+    assertThat(day.getEpisodesWatched()).isEqualTo(2);
+    assertThat(day.getSecondsWatched()).isEqualTo(Duration.ofMinutes(45 + 20).toSeconds());
+
+    var show1Rollup = getItem(user, ImmersionTrackerItem.formatShowRollupSk("show1"));
+    assertThat(show1Rollup.getEpisodesWatched()).isEqualTo(2);
+    var show2Rollup = getItem(user, ImmersionTrackerItem.formatShowRollupSk("show2"));
+    assertThat(show2Rollup.getEpisodesWatched()).isEqualTo(1);
+  }
+
+  @Test
+  void handleRequestShouldLeaveUnbuiltProgressRollupsToTheNextRead() throws Exception {
+    // arrange
+    clock.setTime(Instant.ofEpochMilli(123_000));
+    var user = "alice";
+    var episodes = List.of(new SyncEpisodesHandler.Episode("show1", "episode1"));
+    var body =
+        objectMapper.writeValueAsString(new SyncEpisodesHandler.SyncEpisodesRequest(episodes));
+
+    // act
+    var authHeader =
+        "Basic "
+            + Base64.getEncoder()
+                .encodeToString((user + ":password").getBytes(StandardCharsets.UTF_8));
+    var req =
+        APIGatewayV2HTTPEvent.builder()
+            .withHeaders(Map.of("Authorization", authHeader))
+            .withBody(body)
+            .build();
+    var res = syncEpisodesHandler.handleRequest(req, null);
+
+    // assert
+    assertThat(res.getStatusCode()).isEqualTo(200);
+    var syncRes =
+        objectMapper.readValue(res.getBody(), SyncEpisodesHandler.SyncEpisodesResponse.class);
+    assertThat(syncRes.episodesAdded()).isEqualTo(1);
+    assertThat(getItem(user, ImmersionTrackerItem.formatEpisodeSk("show1", "episode1")))
+        .isNotNull();
+    assertThat(getItem(user, ImmersionTrackerItem.LIFETIMEROLLUP_SK)).isNull();
+    assertThat(getItem(user, ImmersionTrackerItem.formatShowRollupSk("show1"))).isNull();
+  }
+
+  @Test
+  void handleRequestShouldUpdateProgressRollupsAcrossTransactions() throws Exception {
+    // arrange
+    clock.setTime(Instant.parse("2024-01-07T12:00:00Z"));
+    var user = "alice";
+    progressRollups.rebuild(user);
+
+    var episodeCount = ProgressRollups.ITEMS_PER_TRANSACTION * 2 + 1;
+    var episodes = new ArrayList<SyncEpisodesHandler.Episode>();
+    for (int i = 0; i < episodeCount; i++) {
+      episodes.add(new SyncEpisodesHandler.Episode("show1", "episode" + i));
+    }
+    var body =
+        objectMapper.writeValueAsString(new SyncEpisodesHandler.SyncEpisodesRequest(episodes));
+
+    // act
+    var authHeader =
+        "Basic "
+            + Base64.getEncoder()
+                .encodeToString((user + ":password").getBytes(StandardCharsets.UTF_8));
+    var req =
+        APIGatewayV2HTTPEvent.builder()
+            .withHeaders(Map.of("Authorization", authHeader))
+            .withBody(body)
+            .build();
+    var res = syncEpisodesHandler.handleRequest(req, null);
+
+    // assert
+    assertThat(res.getStatusCode()).isEqualTo(200);
+    var syncRes =
+        objectMapper.readValue(res.getBody(), SyncEpisodesHandler.SyncEpisodesResponse.class);
+    assertThat(syncRes.episodesAdded()).isEqualTo(episodeCount);
+
+    var lifetime = getItem(user, ImmersionTrackerItem.LIFETIMEROLLUP_SK);
+    assertThat(lifetime.getEpisodesWatched()).isEqualTo(episodeCount);
+    assertThat(lifetime.getSecondsWatched())
+        .isEqualTo(ProgressRollups.DEFAULT_EPISODE_DURATION.multipliedBy(episodeCount).toSeconds());
+    var show1Rollup = getItem(user, ImmersionTrackerItem.formatShowRollupSk("show1"));
+    assertThat(show1Rollup.getEpisodesWatched()).isEqualTo(episodeCount);
+  }
+
+  @Test
+  void writeShouldNotCountEpisodesThatAlreadyExist() {
+    // arrange
+    var user = "alice";
+    var episode1 = ImmersionTrackerItem.createEpisode(user, "show1", "episode1", Instant.EPOCH);
+    immersionTrackerTable.putItem(episode1);
+    progressRollups.rebuild(user);
+
+    // a retried or concurrent sync that did not see episode1 when it read the table
+    var retriedEpisode1 =
+        ImmersionTrackerItem.createEpisode(user, "show1", "episode1", Instant.EPOCH);
+    var episode2 = ImmersionTrackerItem.createEpisode(user, "show1", "episode2", Instant.EPOCH);
+
+    // act
+    var written = progressRollups.write(user, List.of(retriedEpisode1, episode2));
+
+    // assert
+    assertThat(written).containsExactly(episode2);
+    var lifetime = getItem(user, ImmersionTrackerItem.LIFETIMEROLLUP_SK);
+    assertThat(lifetime.getEpisodesWatched()).isEqualTo(2);
+    var show1Rollup = getItem(user, ImmersionTrackerItem.formatShowRollupSk("show1"));
+    assertThat(show1Rollup.getEpisodesWatched()).isEqualTo(2);
+  }
+
+  private ImmersionTrackerItem getItem(String user, String sk) {
+    return immersionTrackerTable.getItem(
+        Key.builder().partitionValue(ImmersionTrackerItem.formatPk(user)).sortValue(sk).build());
+  }
 }
@@ -11,6 +11,7 @@ import com.jordansimsmith.time.FakeClock;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
@@ -177,6 +178,72 @@ public class SyncMoviesHandlerIntegrationTest {
     assertThat(items.get(0)).isEqualTo(existingMovie);
   }
 
+  @Test
+  void handleRequestShouldSyncLargeRequestsWithDuplicates() throws Exception {
+    // arrange
+    clock.setTime(Instant.ofEpochMilli(123_000));
+    var user = "alice";
+    var existingMovie =
+        ImmersionTrackerItem.createMovie(
+            user, "movie0", 1000, "Movie 0", "image0", Duration.ofMinutes(100), Instant.EPOCH);
+    immersionTrackerTable.putItem(existingMovie);
+
+    var movies = new ArrayList<SyncMoviesHandler.Movie>();
+    for (int i = 0; i < 150; i++) {
+      fakeTmdbClient.addMovie(
+          new TmdbClient.Movie(1000 + i, "Movie " + i, "image" + i, Duration.ofMinutes(100)));
+      movies.add(new SyncMoviesHandler.Movie("movie" + i, 1000 + i));
+    }
+    movies.addAll(movies.subList(0, 30));
+    var body = objectMapper.writeValueAsString(new SyncMoviesHandler.SyncMoviesRequest(movies));
+
+    // act
+    var authHeader =
+        "Basic "
+            + Base64.getEncoder()
+                .encodeToString((user + ":password").getBytes(StandardCharsets.UTF_8));
+    var req =
+        APIGatewayV2HTTPEvent.builder()
+            .withHeaders(Map.of("Authorization", authHeader))
+            .withBody(body)
+            .build();
+    var res = syncMoviesHandler.handleRequest(req, null);
+
+    // assert
+    assertThat(res.getStatusCode()).isEqualTo(200);
+
+    var moviesAdded =
+        objectMapper.readValue(res.getBody(), SyncMoviesHandler.SyncMoviesResponse.class);
+    assertThat(moviesAdded.moviesAdded()).isEqualTo(149);
+
+    var items =
+        immersionTrackerTable
+            .query(
+                QueryEnhancedRequest.builder()
+                    .queryConditional(
+                        QueryConditional.keyEqualTo(
+                            Key.builder()
+                                .partitionValue(ImmersionTrackerItem.formatPk(user))
+                                .build()))
+                    .build())
+            .items()
+            .stream()
+            .toList();
+
+    assertThat(items).hasSize(150);
+    assertThat(items).contains(existingMovie);
+    assertThat(items)
+        .contains(
+            ImmersionTrackerItem.createMovie(
+                user,
+                "movie149",
+                1149,
+                "Movie 149",
+                "image149",
+                Duration.ofMinutes(100),
+                clock.now()));
+  }
+
   @Test
   void handleRequestShouldRejectMissingTmdbId() {
     // arrange
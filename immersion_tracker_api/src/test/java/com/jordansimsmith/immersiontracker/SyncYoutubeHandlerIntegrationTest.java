@@ -10,6 +10,7 @@ import com.jordansimsmith.time.FakeClock;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
@@ -300,4 +301,79 @@ public class SyncYoutubeHandlerIntegrationTest {
             user, "UCTestChannel", "Test Channel", "https://yt3.ggpht.com/test-channel-thumbnail");
     assertThat(items).contains(channel);
   }
+
+  @Test
+  void handleRequestShouldSyncLargeRequestsWithDuplicates() throws Exception {
+    // arrange
+    clock.setTime(Instant.ofEpochMilli(123_000));
+    var user = "alice";
+    var existingVideo =
+        ImmersionTrackerItem.createYoutubeVideo(
+            user, "channel0", "video0", "Video 0", Duration.ofMinutes(10), Instant.EPOCH);
+    immersionTrackerTable.putItem(existingVideo);
+    var existingChannel =
+        ImmersionTrackerItem.createYoutubeChannel(user, "channel0", "Old Channel 0", "old-artwork");
+    immersionTrackerTable.putItem(existingChannel);
+
+    var videoIds = new ArrayList<String>();
+    for (int i = 0; i < 150; i++) {
+      fakeYoutubeClient.setVideo(
+          "video" + i, "Video " + i, "channel" + i % 30, "Channel", Duration.ofMinutes(10));
+      videoIds.add("video" + i);
+    }
+    for (int i = 0; i < 30; i++) {
+      fakeYoutubeClient.setChannel("channel" + i, "Channel " + i, "artwork" + i);
+    }
+    videoIds.addAll(videoIds.subList(0, 30));
+    var body = objectMapper.writeValueAsString(new SyncYoutubeHandler.SyncYoutubeRequest(videoIds));
+
+    // act
+    var authHeader =
+        "Basic "
+            + Base64.getEncoder()
+                .encodeToString((user + ":password").getBytes(StandardCharsets.UTF_8));
+    var req =
+        APIGatewayV2HTTPEvent.builder()
+            .withHeaders(Map.of("Authorization", authHeader))
+            .withBody(body)
+            .build();
+    var res = syncYoutubeHandler.handleRequest(req, null);
+
+    // assert
+    assertThat(res.getStatusCode()).isEqualTo(200);
+
+    var videosAdded =
+        objectMapper.readValue(res.getBody(), SyncYoutubeHandler.SyncYoutubeResponse.class);
+    assertThat(videosAdded.videosAdded()).isEqualTo(149);
+
+    assertThat(fakeYoutubeClient.getChannelRequests()).hasSize(1);
+    assertThat(fakeYoutubeClient.getChannelRequests().get(0))
+        .hasSize(29)
+        .doesNotContain("channel0");
+
+    var items =
+        immersionTrackerTable
+            .query(
+                QueryEnhancedRequest.builder()
+                    .queryConditional(
+                        QueryConditional.keyEqualTo(
+                            Key.builder()
+                                .partitionValue(ImmersionTrackerItem.formatPk(user))
+                                .build()))
+                    .build())
+            .items()
+            .stream()
+            .toList();
+
+    assertThat(items).hasSize(180);
+    assertThat(items).contains(existingVideo, existingChannel);
+    assertThat(items)
+        .contains(
+            ImmersionTrackerItem.createYoutubeVideo(
+                user, "channel29", "video149", "Video 149", Duration.ofMinutes(10), clock.now()));
+    assertThat(items)
+        .filteredOn(item -> item.getSk().startsWith(ImmersionTrackerItem.YOUTUBECHANNEL_PREFIX))
+        .hasSize(30)
+        .allSatisfy(channel -> assertThat(channel.getVersion()).isEqualTo(1L));
+  }
 }
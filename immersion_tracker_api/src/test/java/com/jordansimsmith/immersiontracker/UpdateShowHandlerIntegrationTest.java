@@ -8,6 +8,8 @@ import com.jordansimsmith.dynamodb.DynamoDbContainer;
 import com.jordansimsmith.dynamodb.DynamoDbUtils;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Base64;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeAll;
@@ -23,6 +25,7 @@ public class UpdateShowHandlerIntegrationTest {
   private FakeTvdbClient tvdbClient;
   private ObjectMapper objectMapper;
   private DynamoDbTable<ImmersionTrackerItem> immersionTrackerTable;
+  private ProgressRollups progressRollups;
 
   private UpdateShowHandler updateShowHandler;
 
@@ -42,6 +45,7 @@ public class UpdateShowHandlerIntegrationTest {
     tvdbClient = factory.fakeTvdbClient();
     objectMapper = factory.objectMapper();
     immersionTrackerTable = factory.immersionTrackerTable();
+    progressRollups = factory.progressRollups();
 
     DynamoDbUtils.reset(factory.dynamoDbClient());
 
@@ -88,4 +92,64 @@ public class UpdateShowHandlerIntegrationTest {
     assertThat(updatedShow.getTvdbAverageRuntime()).isEqualTo(Duration.ofMinutes(45));
     assertThat(updatedShow.getVersion()).isEqualTo(2);
   }
+
+  @Test
+  void handleRequestShouldRebuildProgressRollupsWhenRuntimeChanges() throws Exception {
+    // arrange
+    var user = "alice";
+    var show1 = ImmersionTrackerItem.createShow(user, "show1");
+    var episode1 = ImmersionTrackerItem.createEpisode(user, "show1", "episode1", Instant.EPOCH);
+    var episode2 =
+        ImmersionTrackerItem.createEpisode(
+            user, "show1", "episode2", Instant.EPOCH.plus(1, ChronoUnit.DAYS));
+    var episode3 = ImmersionTrackerItem.createEpisode(user, "show10", "episode1", Instant.EPOCH);
+    immersionTrackerTable.putItem(show1);
+    immersionTrackerTable.putItem(episode1);
+    immersionTrackerTable.putItem(episode2);
+    immersionTrackerTable.putItem(episode3);
+    progressRollups.rebuild(user);
+
+    var tvdbShow = new TvdbClient.Show(123, "my show", "my image", Duration.ofMinutes(45));
+    tvdbClient.addShow(tvdbShow);
+
+    var body = new UpdateShowHandler.UpdateShowRequest(show1.getFolderName(), tvdbShow.id());
+    var authHeader =
+        "Basic "
+            + Base64.getEncoder()
+                .encodeToString((user + ":password").getBytes(StandardCharsets.UTF_8));
+    var req =
+        APIGatewayV2HTTPEvent.builder()
+            .withHeaders(Map.of("Authorization", authHeader))
+            .withBody(objectMapper.writeValueAsString(body))
+            .build();
+
+    // act
+    var res = updateShowHandler.handleRequest(req, null);
+
+    // assert
+    assertThat(res.getStatusCode()).isEqualTo(200);
+    assertThat(getItem(user, ImmersionTrackerItem.LIFETIMEROLLUP_SK)).isNull();
+    var updatedShow = getItem(user, ImmersionTrackerItem.formatShowSk(show1.getFolderName()));
+    assertThat(updatedShow.getTvdbAverageRuntime()).isEqualTo(Duration.ofMinutes(45));
+    assertThat(updatedShow.getVersion()).isEqualTo(2);
+
+    progressRollups.rebuild(user);
+    var lifetime = getItem(user, ImmersionTrackerItem.LIFETIMEROLLUP_SK);
+    assertThat(lifetime.getEpisodesWatched()).isEqualTo(3);
+    assertThat(lifetime.getSecondsWatched())
+        .isEqualTo(Duration.ofMinutes(45 + 45 + 20).toSeconds());
+
+    var firstDay = Instant.EPOCH.atZone(ProgressRollups.ZONE_ID).toLocalDate();
+    var firstDayRollup = getItem(user, ImmersionTrackerItem.formatDayRollupSk(firstDay));
+    assertThat(firstDayRollup.getSecondsWatched())
+        .isEqualTo(Duration.ofMinutes(45 + 20).toSeconds());
+    var secondDayRollup =
+        getItem(user, ImmersionTrackerItem.formatDayRollupSk(firstDay.plusDays(1)));
+    assertThat(secondDayRollup.getSecondsWatched()).isEqualTo(Duration.ofMinutes(45).toSeconds());
+  }
+
+  private ImmersionTrackerItem getItem(String user, String sk) {
+    return immersionTrackerTable.getItem(
+        Key.builder().partitionValue(ImmersionTrackerItem.formatPk(user)).sortValue(sk).build());
+  }
 }
@@ -16,6 +16,7 @@ import requests
 
 DEFAULT_API_URL = "https://api.japanese-dictionary.jordansimsmith.com"
 REQUEST_TIMEOUT_SECONDS = 60
+BOOKMARK_PAGE_SIZE = 500
 
 
 @dataclass(frozen=True)
@@ -69,22 +70,30 @@ def send_request(method, path, body=None):
 
 
 def find_bookmarks_with_terms():
-    """Call `GET /bookmarks?include=term` and parse the response into `Bookmark`s."""
-    response = send_request("GET", "/bookmarks?include=term")
-    payload = response.json()
-    return [
-        Bookmark(
-            sequence=row["sequence"],
-            created_at=row["created_at"],
-            expression=row["expression"],
-            reading=row["reading"],
-            reading_romaji=row["reading_romaji"],
-            frequency_rank=row.get("frequency_rank"),
-            pitch=row.get("pitch"),
-            glossary_raw=row.get("glossary_raw"),
+    """Fetch every page of `GET /bookmarks?include=term` as `Bookmark`s."""
+    bookmarks = []
+    continuation = None
+    while True:
+        path = f"/bookmarks?include=term&limit={BOOKMARK_PAGE_SIZE}"
+        if continuation:
+            path += "&continuation=" + urllib.parse.quote(continuation)
+        payload = send_request("GET", path).json()
+        bookmarks.extend(
+            Bookmark(
+                sequence=row["sequence"],
+                created_at=row["created_at"],
+                expression=row["expression"],
+                reading=row["reading"],
+                reading_romaji=row["reading_romaji"],
+                frequency_rank=row.get("frequency_rank"),
+                pitch=row.get("pitch"),
+                glossary_raw=row.get("glossary_raw"),
+            )
+            for row in payload.get("bookmarks", [])
         )
-        for row in payload.get("bookmarks", [])
-    ]
+        continuation = payload.get("next_continuation")
+        if not continuation:
+            return bookmarks
 
 
 def delete_bookmark(sequence):
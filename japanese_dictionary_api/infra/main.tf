@@ -133,6 +133,46 @@ resource "aws_dynamodb_table" "japanese_dictionary" {
     type = "S"
   }
 
+  attribute {
+    name = "gsi4pk"
+    type = "S"
+  }
+
+  attribute {
+    name = "gsi4sk"
+    type = "S"
+  }
+
+  attribute {
+    name = "gsi5pk"
+    type = "S"
+  }
+
+  attribute {
+    name = "gsi5sk"
+    type = "S"
+  }
+
+  attribute {
+    name = "gsi6pk"
+    type = "S"
+  }
+
+  attribute {
+    name = "gsi6sk"
+    type = "S"
+  }
+
+  attribute {
+    name = "gsi7pk"
+    type = "S"
+  }
+
+  attribute {
+    name = "gsi7sk"
+    type = "S"
+  }
+
   global_secondary_index {
     name               = "gsi1"
     hash_key           = "gsi1pk"
@@ -157,6 +197,38 @@ resource "aws_dynamodb_table" "japanese_dictionary" {
     non_key_attributes = ["sequence", "frequency_rank"]
   }
 
+  global_secondary_index {
+    name               = "gsi4"
+    hash_key           = "gsi4pk"
+    range_key          = "gsi4sk"
+    projection_type    = "INCLUDE"
+    non_key_attributes = ["sequence", "frequency_rank"]
+  }
+
+  global_secondary_index {
+    name               = "gsi5"
+    hash_key           = "gsi5pk"
+    range_key          = "gsi5sk"
+    projection_type    = "INCLUDE"
+    non_key_attributes = ["sequence", "frequency_rank"]
+  }
+
+  global_secondary_index {
+    name               = "gsi6"
+    hash_key           = "gsi6pk"
+    range_key          = "gsi6sk"
+    projection_type    = "INCLUDE"
+    non_key_attributes = ["sequence", "frequency_rank"]
+  }
+
+  global_secondary_index {
+    name               = "gsi7"
+    hash_key           = "gsi7pk"
+    range_key          = "gsi7sk"
+    projection_type    = "INCLUDE"
+    non_key_attributes = ["sequence", "created_at"]
+  }
+
   point_in_time_recovery {
     enabled = true
   }
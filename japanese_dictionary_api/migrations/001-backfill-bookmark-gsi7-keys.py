@@ -0,0 +1,96 @@
+#!/usr/bin/env python3
+
+import os
+import sys
+import boto3
+from boto3.dynamodb.conditions import Attr
+from botocore.exceptions import ClientError
+
+
+DYNAMODB_TABLE_NAME = "japanese_dictionary"
+USER_PREFIX = "USER#"
+BOOKMARK_PREFIX = "BOOKMARK#"
+MAX_LONG = 2**63 - 1
+
+
+def format_gsi7sk(created_at, sequence):
+    # mirrors BookmarkItem.formatGsi7sk
+    return f"{BOOKMARK_PREFIX}{MAX_LONG - created_at:019d}#{sequence:019d}"
+
+
+def main():
+    dry_run = "--execute" not in sys.argv
+    if dry_run:
+        print("DRY RUN mode - use --execute to write to DynamoDB\n")
+
+    aws_access_key_id = os.environ["AWS_ACCESS_KEY_ID"]
+    aws_secret_access_key = os.environ["AWS_SECRET_ACCESS_KEY"]
+
+    dynamodb = boto3.resource(
+        "dynamodb",
+        region_name="ap-southeast-2",
+        aws_access_key_id=aws_access_key_id,
+        aws_secret_access_key=aws_secret_access_key,
+    )
+    table = dynamodb.Table(DYNAMODB_TABLE_NAME)
+
+    print(f"Scanning {DYNAMODB_TABLE_NAME} for bookmark items...")
+    bookmark_filter = Attr("pk").begins_with(USER_PREFIX) & Attr("sk").begins_with(
+        BOOKMARK_PREFIX
+    )
+    response = table.scan(FilterExpression=bookmark_filter)
+    bookmarks = response["Items"]
+    while "LastEvaluatedKey" in response:
+        response = table.scan(
+            FilterExpression=bookmark_filter,
+            ExclusiveStartKey=response["LastEvaluatedKey"],
+        )
+        bookmarks.extend(response["Items"])
+    print(f"Found {len(bookmarks)} bookmark items\n")
+
+    stats = {"updated": 0, "already_correct": 0, "conflicts": 0, "errored": 0}
+
+    for bookmark in bookmarks:
+        pk = bookmark["pk"]
+        sk = bookmark["sk"]
+        created_at = int(bookmark["created_at"])
+        gsi7sk = format_gsi7sk(created_at, int(bookmark["sequence"]))
+
+        if bookmark.get("gsi7pk") == pk and bookmark.get("gsi7sk") == gsi7sk:
+            stats["already_correct"] += 1
+            continue
+
+        if dry_run:
+            print(f"[DRY RUN] Would set gsi7 keys for {pk} {sk}")
+            stats["updated"] += 1
+            continue
+
+        try:
+            # a PUT or DELETE since the scan has already left the row in a correct state
+            table.update_item(
+                Key={"pk": pk, "sk": sk},
+                UpdateExpression="SET gsi7pk = :gsi7pk, gsi7sk = :gsi7sk",
+                ConditionExpression=Attr("created_at").eq(created_at),
+                ExpressionAttributeValues={":gsi7pk": pk, ":gsi7sk": gsi7sk},
+            )
+            print(f"[UPDATE] Set gsi7 keys for {pk} {sk}")
+            stats["updated"] += 1
+        except ClientError as exc:
+            if exc.response["Error"]["Code"] == "ConditionalCheckFailedException":
+                stats["conflicts"] += 1
+                print(f"[CONFLICT] {pk} {sk} was rewritten or deleted during backfill")
+                continue
+            stats["errored"] += 1
+            print(f"[ERROR] Failed to backfill {pk} {sk}: {exc}")
+
+    action = "Would update" if dry_run else "Updated"
+    print(
+        f"\n{action} {stats['updated']} bookmarks "
+        f"({stats['already_correct']} already correct, "
+        f"{stats['conflicts']} conflicts, "
+        f"{stats['errored']} errors)"
+    )
+
+
+if __name__ == "__main__":
+    main()
@@ -7,6 +7,8 @@ import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttri
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbConvertedBy;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
 
 @DynamoDbBean
@@ -15,14 +17,20 @@ public class BookmarkItem {
   public static final String USER_PREFIX = "USER" + DELIMITER;
   public static final String BOOKMARK_PREFIX = "BOOKMARK" + DELIMITER;
 
+  public static final String GSI7_NAME = "gsi7";
+
   public static final String PK = "pk";
   public static final String SK = "sk";
+  public static final String GSI7PK = "gsi7pk";
+  public static final String GSI7SK = "gsi7sk";
   public static final String USER = "user";
   public static final String SEQUENCE = "sequence";
   public static final String CREATED_AT = "created_at";
 
   private String pk;
   private String sk;
+  private String gsi7pk;
+  private String gsi7sk;
   private String user;
   private Long sequence;
   private Instant createdAt;
@@ -47,6 +55,26 @@ public class BookmarkItem {
     this.sk = sk;
   }
 
+  @DynamoDbSecondaryPartitionKey(indexNames = GSI7_NAME)
+  @DynamoDbAttribute(GSI7PK)
+  public String getGsi7pk() {
+    return gsi7pk;
+  }
+
+  public void setGsi7pk(String gsi7pk) {
+    this.gsi7pk = gsi7pk;
+  }
+
+  @DynamoDbSecondarySortKey(indexNames = GSI7_NAME)
+  @DynamoDbAttribute(GSI7SK)
+  public String getGsi7sk() {
+    return gsi7sk;
+  }
+
+  public void setGsi7sk(String gsi7sk) {
+    this.gsi7sk = gsi7sk;
+  }
+
   @DynamoDbAttribute(USER)
   public String getUser() {
     return user;
@@ -82,6 +110,8 @@ public class BookmarkItem {
     BookmarkItem that = (BookmarkItem) o;
     return Objects.equals(pk, that.pk)
         && Objects.equals(sk, that.sk)
+        && Objects.equals(gsi7pk, that.gsi7pk)
+        && Objects.equals(gsi7sk, that.gsi7sk)
         && Objects.equals(user, that.user)
         && Objects.equals(sequence, that.sequence)
         && Objects.equals(createdAt, that.createdAt);
@@ -89,7 +119,7 @@ public class BookmarkItem {
 
   @Override
   public int hashCode() {
-    return Objects.hash(pk, sk, user, sequence, createdAt);
+    return Objects.hash(pk, sk, gsi7pk, gsi7sk, user, sequence, createdAt);
   }
 
   @Override
@@ -101,6 +131,12 @@ public class BookmarkItem {
         + ", sk='"
         + sk
         + '\''
+        + ", gsi7pk='"
+        + gsi7pk
+        + '\''
+        + ", gsi7sk='"
+        + gsi7sk
+        + '\''
         + ", user='"
         + user
         + '\''
@@ -119,10 +155,25 @@ public class BookmarkItem {
     return BOOKMARK_PREFIX + sequence;
   }
 
+  public static String formatGsi7pk(String user) {
+    return USER_PREFIX + user;
+  }
+
+  // inverting created_at makes a forward read newest first, with same-second bookmarks in
+  // ascending sequence order
+  public static String formatGsi7sk(Instant createdAt, long sequence) {
+    return BOOKMARK_PREFIX
+        + String.format("%019d", Long.MAX_VALUE - createdAt.getEpochSecond())
+        + DELIMITER
+        + String.format("%019d", sequence);
+  }
+
   public static BookmarkItem create(String user, long sequence, Instant createdAt) {
     var item = new BookmarkItem();
     item.setPk(formatPk(user));
     item.setSk(formatSk(sequence));
+    item.setGsi7pk(formatGsi7pk(user));
+    item.setGsi7sk(formatGsi7sk(createdAt, sequence));
     item.setUser(user);
     item.setSequence(sequence);
     item.setCreatedAt(createdAt);
@@ -0,0 +1,133 @@
+package com.jordansimsmith.japanesedictionary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+
+/**
+ * Prefix search straight against DynamoDB, used when no term index snapshot is available. Prefix
+ * reads walk the frequency-tiered GSIs best tier first and stop once a tier leaves them with
+ * enough candidates; exact matches come from key-equality reads on the raw-key GSIs, so they are
+ * found whatever their tier. A tier is always read to its end: within a tier terms come back in
+ * key order rather than by frequency, so stopping inside one could drop its best-ranked terms.
+ */
+public class DynamoDbTermSearch implements TermSearch {
+  // no dictionary key is shared by anywhere near this many terms
+  private static final int MAX_EXACT_MATCHES = 200;
+  private static final int QUERY_PARALLELISM = 6;
+
+  private final DynamoDbTable<TermItem> termTable;
+  private final ExecutorService executor;
+
+  public DynamoDbTermSearch(DynamoDbTable<TermItem> termTable) {
+    this.termTable = termTable;
+    this.executor =
+        Executors.newFixedThreadPool(
+            QUERY_PARALLELISM, Thread.ofPlatform().name("term-search-", 0).daemon().factory());
+  }
+
+  @Override
+  public List<Long> search(String q, String qRomaji, int limit) {
+    var exactReads =
+        List.of(
+            executor.submit(() -> queryExact(TermItem.GSI1_NAME, TermItem.formatGsi1pk(), q)),
+            executor.submit(() -> queryExact(TermItem.GSI2_NAME, TermItem.formatGsi2pk(), q)),
+            executor.submit(
+                () -> queryExact(TermItem.GSI3_NAME, TermItem.formatGsi3pk(), qRomaji)));
+    var prefixReads =
+        List.of(
+            executor.submit(
+                () -> queryTiered(TermItem.GSI4_NAME, TermItem.formatGsi4pk(), q, limit)),
+            executor.submit(
+                () -> queryTiered(TermItem.GSI5_NAME, TermItem.formatGsi5pk(), q, limit)),
+            executor.submit(
+                () -> queryTiered(TermItem.GSI6_NAME, TermItem.formatGsi6pk(), qRomaji, limit)));
+
+    var exactSequences = new HashSet<Long>();
+    var candidates = new LinkedHashMap<Long, TermItem>();
+    for (var item : join(exactReads)) {
+      exactSequences.add(item.getSequence());
+      candidates.putIfAbsent(item.getSequence(), item);
+    }
+    for (var item : join(prefixReads)) {
+      candidates.putIfAbsent(item.getSequence(), item);
+    }
+
+    // a prefix read that stopped after tier t already holds at least limit terms ranked above
+    // anything it skipped, so the top of the union matches a full read
+    var ranked = new ArrayList<>(candidates.values());
+    ranked.sort(
+        Comparator.<TermItem, Integer>comparing(
+                item -> exactSequences.contains(item.getSequence()) ? 0 : 1)
+            .thenComparing(
+                TermItem::getFrequencyRank, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TermItem::getSequence));
+
+    var top = new ArrayList<Long>(Math.min(limit, ranked.size()));
+    for (var i = 0; i < ranked.size() && i < limit; i++) {
+      top.add(ranked.get(i).getSequence());
+    }
+    return top;
+  }
+
+  private List<TermItem> queryExact(String indexName, String partitionValue, String key) {
+    var request =
+        QueryEnhancedRequest.builder()
+            .queryConditional(
+                QueryConditional.keyEqualTo(
+                    Key.builder().partitionValue(partitionValue).sortValue(key).build()))
+            .limit(MAX_EXACT_MATCHES)
+            .build();
+    return termTable.index(indexName).query(request).stream()
+        .findFirst()
+        .map(Page::items)
+        .orElse(List.of());
+  }
+
+  private List<TermItem> queryTiered(
+      String indexName, String partitionValue, String prefix, int limit) {
+    var index = termTable.index(indexName);
+    var items = new ArrayList<TermItem>();
+    for (var tier = 0; tier < TermItem.FREQUENCY_TIER_COUNT && items.size() < limit; tier++) {
+      var request =
+          QueryEnhancedRequest.builder()
+              .queryConditional(
+                  QueryConditional.sortBeginsWith(
+                      Key.builder()
+                          .partitionValue(partitionValue)
+                          .sortValue(TermItem.formatTieredSk(tier, prefix))
+                          .build()))
+              .build();
+      for (var page : index.query(request)) {
+        items.addAll(page.items());
+      }
+    }
+    return items;
+  }
+
+  private static List<TermItem> join(List<Future<List<TermItem>>> reads) {
+    var items = new ArrayList<TermItem>();
+    try {
+      for (var read : reads) {
+        items.addAll(read.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+    return items;
+  }
+}
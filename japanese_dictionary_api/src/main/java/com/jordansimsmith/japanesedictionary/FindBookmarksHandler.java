@@ -9,13 +9,15 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
+import com.jordansimsmith.dynamodb.Continuations;
 import com.jordansimsmith.http.HttpResponseFactory;
 import com.jordansimsmith.http.RequestContextFactory;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +25,7 @@ import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
@@ -33,7 +36,9 @@ public class FindBookmarksHandler
   private static final Logger LOGGER = LoggerFactory.getLogger(FindBookmarksHandler.class);
 
   private static final String INCLUDE_TERM = "term";
-  private static final int BATCH_GET_CHUNK = 100;
+  private static final int DEFAULT_LIMIT = 100;
+  private static final int MAX_LIMIT = 500;
+  private static final int BATCH_GET_CHUNK = 25;
 
   @VisibleForTesting
   record Bookmark(
@@ -47,7 +52,9 @@ public class FindBookmarksHandler
       @Nullable @JsonProperty("glossary_raw") JsonNode glossaryRaw) {}
 
   @VisibleForTesting
-  record FindBookmarksResponse(@JsonProperty("bookmarks") List<Bookmark> bookmarks) {}
+  record FindBookmarksResponse(
+      @JsonProperty("bookmarks") List<Bookmark> bookmarks,
+      @Nullable @JsonProperty("next_continuation") String nextContinuation) {}
 
   @VisibleForTesting
   record ErrorResponse(@JsonProperty("message") String message) {}
@@ -84,17 +91,23 @@ public class FindBookmarksHandler
   }
 
   private APIGatewayV2HTTPResponse doHandleRequest(APIGatewayV2HTTPEvent event) throws Exception {
-    var include =
-        event.getQueryStringParameters() == null
-            ? null
-            : event.getQueryStringParameters().get("include");
+    var queryParams = event.getQueryStringParameters();
+    var include = queryParams == null ? null : queryParams.get("include");
+    var continuation = queryParams == null ? null : queryParams.get("continuation");
+    var limitParam = queryParams == null ? null : queryParams.get("limit");
     if (include != null && !include.equals(INCLUDE_TERM)) {
       return httpResponseFactory.badRequest(
           new ErrorResponse("include parameter must be 'term' or omitted"));
     }
+    var limit = parseLimit(limitParam);
+    if (limit == null) {
+      return httpResponseFactory.badRequest(
+          new ErrorResponse("limit parameter must be between 1 and " + MAX_LIMIT));
+    }
 
     var user = requestContextFactory.createCtx(event).user();
-    var bookmarkItems = findUserBookmarks(user);
+    var page = findUserBookmarks(user, limit, continuation);
+    var bookmarkItems = page.items();
 
     var bookmarks = new ArrayList<Bookmark>(bookmarkItems.size());
     if (include == null) {
@@ -118,7 +131,6 @@ public class FindBookmarksHandler
         if (term == null) {
           continue;
         }
-        var raw = term.getGlossaryRaw();
         bookmarks.add(
             new Bookmark(
                 item.getSequence(),
@@ -128,50 +140,88 @@ public class FindBookmarksHandler
                 term.getReadingRomaji(),
                 term.getFrequencyRank(),
                 term.getPitch(),
-                raw == null ? objectMapper.nullNode() : objectMapper.readTree(raw)));
+                term.toGlossaryNode()));
       }
     }
 
-    return httpResponseFactory.ok(new FindBookmarksResponse(bookmarks));
+    var nextContinuation = Continuations.encode(page.lastEvaluatedKey(), objectMapper);
+    return httpResponseFactory.ok(new FindBookmarksResponse(bookmarks, nextContinuation));
   }
 
-  private List<BookmarkItem> findUserBookmarks(String user) {
-    var request =
+  @Nullable
+  private static Integer parseLimit(@Nullable String limitParam) {
+    if (limitParam == null) {
+      return DEFAULT_LIMIT;
+    }
+    try {
+      var limit = Integer.parseInt(limitParam);
+      return limit >= 1 && limit <= MAX_LIMIT ? limit : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  // gsi7 keeps each user's bookmarks in response order, so a page is a single bounded query
+  private Page<BookmarkItem> findUserBookmarks(
+      String user, int limit, @Nullable String continuation) {
+    var requestBuilder =
         QueryEnhancedRequest.builder()
             .queryConditional(
-                QueryConditional.sortBeginsWith(
-                    Key.builder()
-                        .partitionValue(BookmarkItem.formatPk(user))
-                        .sortValue(BookmarkItem.BOOKMARK_PREFIX)
-                        .build()))
-            .build();
-    return bookmarkTable.query(request).stream()
-        .flatMap(page -> page.items().stream())
-        .sorted(
-            Comparator.comparing(BookmarkItem::getCreatedAt)
-                .reversed()
-                .thenComparing(BookmarkItem::getSequence))
-        .toList();
+                QueryConditional.keyEqualTo(
+                    Key.builder().partitionValue(BookmarkItem.formatGsi7pk(user)).build()))
+            .scanIndexForward(true)
+            .limit(limit);
+    var exclusiveStartKey = Continuations.decode(continuation, objectMapper);
+    if (exclusiveStartKey != null) {
+      requestBuilder.exclusiveStartKey(exclusiveStartKey);
+    }
+
+    return bookmarkTable
+        .index(BookmarkItem.GSI7_NAME)
+        .query(requestBuilder.build())
+        .stream()
+        .findFirst()
+        .orElse(Page.create(List.of()));
   }
 
-  private Map<Long, TermItem> batchGetTerms(List<Long> sequences) {
-    var byKey = new HashMap<Long, TermItem>(sequences.size());
+  // chunks are fetched concurrently; within a chunk the enhanced client keeps requesting pages
+  // until DynamoDB returns no unprocessed keys
+  private Map<Long, TermItem> batchGetTerms(List<Long> sequences) throws Exception {
+    var byKey = new ConcurrentHashMap<Long, TermItem>(sequences.size());
+    var chunks = new ArrayList<Callable<Void>>();
     for (var chunk : Lists.partition(sequences, BATCH_GET_CHUNK)) {
-      var readBatch = ReadBatch.builder(TermItem.class).mappedTableResource(termTable);
-      for (var seq : chunk) {
-        readBatch.addGetItem(
-            Key.builder()
-                .partitionValue(TermItem.formatPk(seq))
-                .sortValue(TermItem.formatSk(seq))
-                .build());
-      }
-      var request = BatchGetItemEnhancedRequest.builder().readBatches(readBatch.build()).build();
-      for (var page : dynamoDbEnhancedClient.batchGetItem(request)) {
-        for (var term : page.resultsForTable(termTable)) {
-          byKey.put(term.getSequence(), term);
-        }
+      chunks.add(
+          () -> {
+            for (var term : batchGetChunk(chunk)) {
+              byKey.put(term.getSequence(), term);
+            }
+            return null;
+          });
+    }
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var result : executor.invokeAll(chunks)) {
+        result.get();
       }
     }
     return byKey;
   }
+
+  private List<TermItem> batchGetChunk(List<Long> sequences) {
+    var readBatch = ReadBatch.builder(TermItem.class).mappedTableResource(termTable);
+    for (var seq : sequences) {
+      readBatch.addGetItem(
+          Key.builder()
+              .partitionValue(TermItem.formatPk(seq))
+              .sortValue(TermItem.formatSk(seq))
+              .build());
+    }
+    var request = BatchGetItemEnhancedRequest.builder().readBatches(readBatch.build()).build();
+
+    var terms = new ArrayList<TermItem>(sequences.size());
+    for (var page : dynamoDbEnhancedClient.batchGetItem(request)) {
+      page.resultsForTable(termTable).forEach(terms::add);
+    }
+    return terms;
+  }
 }
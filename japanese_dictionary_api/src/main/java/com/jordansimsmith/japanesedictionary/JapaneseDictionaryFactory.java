@@ -40,8 +40,16 @@ public interface JapaneseDictionaryFactory {
 
   DynamoDbTable<BookmarkItem> bookmarkTable();
 
+  DynamoDbTable<TermIndexItem> termIndexTable();
+
+  TermIndexStore termIndexStore();
+
+  TermSearch termSearch();
+
   RomajiNormaliser romajiNormaliser();
 
+  TermIngester termIngester();
+
   static JapaneseDictionaryFactory create() {
     return DaggerJapaneseDictionaryFactory.create();
   }
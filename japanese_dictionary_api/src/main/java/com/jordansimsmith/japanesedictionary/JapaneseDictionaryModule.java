@@ -1,17 +1,23 @@
 package com.jordansimsmith.japanesedictionary;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jordansimsmith.dynamodb.DynamoDbBatchWriter;
 import com.jordansimsmith.http.HttpResponseFactory;
+import com.jordansimsmith.time.Clock;
 import dagger.Module;
 import dagger.Provides;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @Module
 public class JapaneseDictionaryModule {
   private static final String TABLE_NAME = "japanese_dictionary";
+  // bulk ingest runs from an operator laptop against on-demand capacity
+  private static final int INGEST_CONCURRENT_BATCHES = 16;
 
   @Provides
   @Singleton
@@ -35,9 +41,53 @@ public class JapaneseDictionaryModule {
     return dynamoDbEnhancedClient.table(TABLE_NAME, schema);
   }
 
+  @Provides
+  @Singleton
+  DynamoDbTable<TermIndexItem> termIndexTable(DynamoDbEnhancedClient dynamoDbEnhancedClient) {
+    var schema = TableSchema.fromBean(TermIndexItem.class);
+    return dynamoDbEnhancedClient.table(TABLE_NAME, schema);
+  }
+
+  @Provides
+  @Singleton
+  TermIndexStore termIndexStore(
+      DynamoDbTable<TermIndexItem> termIndexTable, DynamoDbTable<TermItem> termTable, Clock clock) {
+    return new TermIndexStore(termIndexTable, termTable, clock);
+  }
+
+  @Provides
+  @Singleton
+  DynamoDbTermSearch dynamoDbTermSearch(DynamoDbTable<TermItem> termTable) {
+    return new DynamoDbTermSearch(termTable);
+  }
+
+  @Provides
+  @Singleton
+  TermSearch termSearch(
+      TermIndexStore termIndexStore, Provider<DynamoDbTermSearch> dynamoDbTermSearch) {
+    var termIndex = termIndexStore.load();
+    return termIndex != null ? termIndex : dynamoDbTermSearch.get();
+  }
+
   @Provides
   @Singleton
   RomajiNormaliser romajiNormaliser() {
     return new RomajiNormaliser();
   }
+
+  @Provides
+  @Singleton
+  TermIngester termIngester(
+      DynamoDbTable<TermItem> termTable,
+      DynamoDbClient dynamoDbClient,
+      RomajiNormaliser romajiNormaliser,
+      ObjectMapper objectMapper) {
+    return new TermIngester(
+        termTable,
+        new DynamoDbBatchWriter(dynamoDbClient, INGEST_CONCURRENT_BATCHES),
+        new YomitanZipReader(objectMapper),
+        new KanaRomaniser(),
+        romajiNormaliser,
+        objectMapper);
+  }
 }
@@ -0,0 +1,168 @@
+package com.jordansimsmith.japanesedictionary;
+
+import java.util.Map;
+
+/** Modified Hepburn (vowel-doubled, no macrons) for readings, computed once at ingest. */
+public class KanaRomaniser {
+  private static final Map<Character, String> BASE =
+      Map.ofEntries(
+          Map.entry('あ', "a"),
+          Map.entry('い', "i"),
+          Map.entry('う', "u"),
+          Map.entry('え', "e"),
+          Map.entry('お', "o"),
+          Map.entry('か', "ka"),
+          Map.entry('き', "ki"),
+          Map.entry('く', "ku"),
+          Map.entry('け', "ke"),
+          Map.entry('こ', "ko"),
+          Map.entry('が', "ga"),
+          Map.entry('ぎ', "gi"),
+          Map.entry('ぐ', "gu"),
+          Map.entry('げ', "ge"),
+          Map.entry('ご', "go"),
+          Map.entry('さ', "sa"),
+          Map.entry('し', "shi"),
+          Map.entry('す', "su"),
+          Map.entry('せ', "se"),
+          Map.entry('そ', "so"),
+          Map.entry('ざ', "za"),
+          Map.entry('じ', "ji"),
+          Map.entry('ず', "zu"),
+          Map.entry('ぜ', "ze"),
+          Map.entry('ぞ', "zo"),
+          Map.entry('た', "ta"),
+          Map.entry('ち', "chi"),
+          Map.entry('つ', "tsu"),
+          Map.entry('て', "te"),
+          Map.entry('と', "to"),
+          Map.entry('だ', "da"),
+          Map.entry('ぢ', "ji"),
+          Map.entry('づ', "zu"),
+          Map.entry('で', "de"),
+          Map.entry('ど', "do"),
+          Map.entry('な', "na"),
+          Map.entry('に', "ni"),
+          Map.entry('ぬ', "nu"),
+          Map.entry('ね', "ne"),
+          Map.entry('の', "no"),
+          Map.entry('は', "ha"),
+          Map.entry('ひ', "hi"),
+          Map.entry('ふ', "fu"),
+          Map.entry('へ', "he"),
+          Map.entry('ほ', "ho"),
+          Map.entry('ば', "ba"),
+          Map.entry('び', "bi"),
+          Map.entry('ぶ', "bu"),
+          Map.entry('べ', "be"),
+          Map.entry('ぼ', "bo"),
+          Map.entry('ぱ', "pa"),
+          Map.entry('ぴ', "pi"),
+          Map.entry('ぷ', "pu"),
+          Map.entry('ぺ', "pe"),
+          Map.entry('ぽ', "po"),
+          Map.entry('ま', "ma"),
+          Map.entry('み', "mi"),
+          Map.entry('む', "mu"),
+          Map.entry('め', "me"),
+          Map.entry('も', "mo"),
+          Map.entry('や', "ya"),
+          Map.entry('ゆ', "yu"),
+          Map.entry('よ', "yo"),
+          Map.entry('ら', "ra"),
+          Map.entry('り', "ri"),
+          Map.entry('る', "ru"),
+          Map.entry('れ', "re"),
+          Map.entry('ろ', "ro"),
+          Map.entry('わ', "wa"),
+          Map.entry('ゐ', "i"),
+          Map.entry('ゑ', "e"),
+          Map.entry('を', "o"),
+          Map.entry('ん', "n"));
+
+  private static final Map<Character, String> YOON =
+      Map.ofEntries(
+          Map.entry('き', "k"),
+          Map.entry('ぎ', "g"),
+          Map.entry('し', "sh"),
+          Map.entry('じ', "j"),
+          Map.entry('ち', "ch"),
+          Map.entry('に', "n"),
+          Map.entry('ひ', "h"),
+          Map.entry('び', "b"),
+          Map.entry('ぴ', "p"),
+          Map.entry('み', "m"),
+          Map.entry('り', "r"));
+
+  private static final Map<Character, Character> YOON_VOWEL =
+      Map.of('ゃ', 'a', 'ゅ', 'u', 'ょ', 'o');
+
+  private static final String SMALL_YAYUYO = "ゃゅょゎャュョヮ";
+
+  public String romanise(String reading) {
+    var s = toHiragana(reading);
+    var out = new StringBuilder(s.length() * 2);
+    for (var i = 0; i < s.length(); i++) {
+      var ch = s.charAt(i);
+      var geminate = i > 0 && s.charAt(i - 1) == 'っ';
+      if (ch == 'っ') {
+        continue;
+      }
+      if (ch == 'ー') {
+        // lengthen the previous vowel
+        if (!out.isEmpty() && isVowel(out.charAt(out.length() - 1))) {
+          out.append(out.charAt(out.length() - 1));
+        }
+        continue;
+      }
+
+      var next = i + 1 < s.length() ? s.charAt(i + 1) : 0;
+      var stem = YOON.get(ch);
+      var vowel = YOON_VOWEL.get(next);
+      if (stem != null && vowel != null) {
+        var piece =
+            stem.equals("sh") || stem.equals("ch") || stem.equals("j")
+                ? stem + vowel
+                : stem + "y" + vowel;
+        out.append(geminate ? geminate(piece) : piece);
+        i++;
+        continue;
+      }
+
+      var piece = BASE.get(ch);
+      if (piece != null) {
+        out.append(geminate && !isVowel(piece.charAt(0)) ? geminate(piece) : piece);
+        continue;
+      }
+      out.append(ch);
+    }
+    return out.toString();
+  }
+
+  public int moraCount(String reading) {
+    var count = 0;
+    for (var i = 0; i < reading.length(); i++) {
+      if (SMALL_YAYUYO.indexOf(reading.charAt(i)) < 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static String geminate(String piece) {
+    return piece.startsWith("ch") ? "t" + piece : piece.charAt(0) + piece;
+  }
+
+  private static boolean isVowel(char c) {
+    return c == 'a' || c == 'i' || c == 'u' || c == 'e' || c == 'o';
+  }
+
+  private static String toHiragana(String s) {
+    var out = new StringBuilder(s.length());
+    for (var i = 0; i < s.length(); i++) {
+      var ch = s.charAt(i);
+      out.append(ch >= 'ァ' && ch <= 'ヶ' ? (char) (ch - 0x60) : ch);
+    }
+    return out.toString();
+  }
+}
@@ -2,36 +2,130 @@ package com.jordansimsmith.japanesedictionary;
 
 import java.util.Locale;
 
+/**
+ * Folds macron, circumflex and kunrei spellings into the vowel-doubled Hepburn stored in
+ * {@code reading_romaji}. Rewrites happen in a single left-to-right pass; input that needs no
+ * rewrite is returned without copying.
+ */
 public class RomajiNormaliser {
+  private static final char COMBINING_MACRON = '\u0304';
+  private static final char COMBINING_CIRCUMFLEX = '\u0302';
 
   public String normalise(String input) {
     if (input == null) {
       return null;
     }
 
-    var s = input.toLowerCase(Locale.ROOT);
+    var s = expandLongVowels(input.toLowerCase(Locale.ROOT));
 
-    s = s.replace("\u0304", "").replace("\u0302", "");
+    StringBuilder out = null;
+    var length = s.length();
+    for (var i = 0; i < length; i++) {
+      var c = s.charAt(i);
+      var next = i + 1 < length ? s.charAt(i + 1) : 0;
+      var replacement = rewrite(c, next, i > 0 ? s.charAt(i - 1) : 0);
+      if (replacement == null) {
+        if (out != null) {
+          out.append(c);
+        }
+        continue;
+      }
 
-    s = s.replace("ō", "ou").replace("ô", "ou");
-    s = s.replace("ū", "uu").replace("û", "uu");
-    s = s.replace("ē", "ee");
-    s = s.replace("ā", "aa");
-    s = s.replace("ī", "ii");
+      if (out == null) {
+        out = new StringBuilder(length + 8).append(s, 0, i);
+      }
+      out.append(replacement);
+      // every rewrite but the apostrophe consumes a two character pair
+      if (c != '\'') {
+        i++;
+      }
+    }
+    return out == null ? s : out.toString();
+  }
 
-    s = s.replace("sy", "sh");
-    s = s.replace("ty", "ch");
-    s = s.replace("zy", "j");
-    s = s.replace("si", "shi");
-    s = s.replace("ti", "chi");
-    s = s.replace("tu", "tsu");
-    s = s.replaceAll("(?<![sc])hu", "fu");
-    s = s.replace("zi", "ji");
-    s = s.replace("di", "ji");
-    s = s.replace("du", "zu");
+  // no rewrite ever produces a pair another rewrite matches, so one pass gives the same result
+  // as applying the rules one after another
+  private static String rewrite(char c, char next, char previous) {
+    switch (c) {
+      case 's':
+        if (next == 'y') {
+          return "sh";
+        }
+        if (next == 'i') {
+          return "shi";
+        }
+        return null;
+      case 't':
+        if (next == 'y') {
+          return "ch";
+        }
+        if (next == 'i') {
+          return "chi";
+        }
+        if (next == 'u') {
+          return "tsu";
+        }
+        return null;
+      case 'z':
+        if (next == 'y') {
+          return "j";
+        }
+        if (next == 'i') {
+          return "ji";
+        }
+        return null;
+      case 'd':
+        if (next == 'i') {
+          return "ji";
+        }
+        if (next == 'u') {
+          return "zu";
+        }
+        return null;
+      case 'h':
+        // sh and ch stay as they are
+        if (next == 'u' && previous != 's' && previous != 'c') {
+          return "fu";
+        }
+        return null;
+      case '\'':
+        return "";
+      default:
+        return null;
+    }
+  }
 
-    s = s.replace("'", "");
+  // combining marks are dropped and precomposed long vowels doubled before any other rewrite, so
+  // they can complete a pair (s + ī reads as shii)
+  private static String expandLongVowels(String s) {
+    var i = 0;
+    while (i < s.length() && !isLongVowelMark(s.charAt(i))) {
+      i++;
+    }
+    if (i == s.length()) {
+      return s;
+    }
+
+    var out = new StringBuilder(s.length() + 8).append(s, 0, i);
+    for (; i < s.length(); i++) {
+      var c = s.charAt(i);
+      switch (c) {
+        case COMBINING_MACRON, COMBINING_CIRCUMFLEX -> {}
+        case 'ō', 'ô' -> out.append("ou");
+        case 'ū', 'û' -> out.append("uu");
+        case 'ē' -> out.append("ee");
+        case 'ā' -> out.append("aa");
+        case 'ī' -> out.append("ii");
+        default -> out.append(c);
+      }
+    }
+    return out.toString();
+  }
 
-    return s;
+  private static boolean isLongVowelMark(char c) {
+    return switch (c) {
+      case COMBINING_MACRON, COMBINING_CIRCUMFLEX, 'ō', 'ô', 'ū', 'û', 'ē', 'ā', 'ī' -> true;
+      default -> false;
+    };
   }
 }
@@ -6,28 +6,21 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.jordansimsmith.http.HttpResponseFactory;
 import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
-import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
 
 public class SearchHandler
@@ -54,11 +47,11 @@ public class SearchHandler
   @VisibleForTesting
   record ErrorResponse(@JsonProperty("message") String message) {}
 
-  private final ObjectMapper objectMapper;
   private final HttpResponseFactory httpResponseFactory;
   private final DynamoDbTable<TermItem> termTable;
   private final DynamoDbEnhancedClient dynamoDbEnhancedClient;
   private final RomajiNormaliser romajiNormaliser;
+  private final TermSearch termSearch;
 
   public SearchHandler() {
     this(JapaneseDictionaryFactory.create());
@@ -66,11 +59,11 @@ public class SearchHandler
 
   @VisibleForTesting
   SearchHandler(JapaneseDictionaryFactory factory) {
-    this.objectMapper = factory.objectMapper();
     this.httpResponseFactory = factory.httpResponseFactory();
     this.termTable = factory.termTable();
     this.dynamoDbEnhancedClient = factory.dynamoDbEnhancedClient();
     this.romajiNormaliser = factory.romajiNormaliser();
+    this.termSearch = factory.termSearch();
   }
 
   @Override
@@ -98,8 +91,7 @@ public class SearchHandler
 
     var qRomaji = romajiNormaliser.normalise(q);
 
-    var candidates = runParallelQueries(q, qRomaji);
-    var topSequences = rankTopN(candidates, q, qRomaji, RESULT_LIMIT);
+    var topSequences = termSearch.search(q, qRomaji, RESULT_LIMIT);
 
     if (topSequences.isEmpty()) {
       return httpResponseFactory.ok(new SearchResponse(List.of()));
@@ -116,68 +108,6 @@ public class SearchHandler
     return httpResponseFactory.ok(new SearchResponse(results));
   }
 
-  private List<TermItem> runParallelQueries(String q, String qRomaji) {
-    var f1 =
-        CompletableFuture.supplyAsync(
-            () -> queryIndex(TermItem.GSI1_NAME, TermItem.formatGsi1pk(), q));
-    var f2 =
-        CompletableFuture.supplyAsync(
-            () -> queryIndex(TermItem.GSI2_NAME, TermItem.formatGsi2pk(), q));
-    var f3 =
-        CompletableFuture.supplyAsync(
-            () -> queryIndex(TermItem.GSI3_NAME, TermItem.formatGsi3pk(), qRomaji));
-
-    CompletableFuture.allOf(f1, f2, f3).join();
-
-    var combined = new ArrayList<TermItem>();
-    combined.addAll(f1.join());
-    combined.addAll(f2.join());
-    combined.addAll(f3.join());
-    return combined;
-  }
-
-  private List<TermItem> queryIndex(String indexName, String partitionValue, String sortPrefix) {
-    DynamoDbIndex<TermItem> index = termTable.index(indexName);
-    var request =
-        QueryEnhancedRequest.builder()
-            .queryConditional(
-                QueryConditional.sortBeginsWith(
-                    Key.builder().partitionValue(partitionValue).sortValue(sortPrefix).build()))
-            .build();
-    var items = new ArrayList<TermItem>();
-    for (var page : index.query(request)) {
-      items.addAll(page.items());
-    }
-    return items;
-  }
-
-  private static List<Long> rankTopN(
-      List<TermItem> candidates, String q, String qRomaji, int limit) {
-    var dedup = new LinkedHashMap<Long, TermItem>();
-    for (var item : candidates) {
-      dedup.putIfAbsent(item.getSequence(), item);
-    }
-
-    var ranked = new ArrayList<>(dedup.values());
-    ranked.sort(
-        Comparator.<TermItem, Integer>comparing(item -> isExactMatch(item, q, qRomaji) ? 0 : 1)
-            .thenComparing(
-                TermItem::getFrequencyRank, Comparator.nullsLast(Comparator.naturalOrder()))
-            .thenComparing(TermItem::getSequence));
-
-    var top = new ArrayList<Long>(Math.min(limit, ranked.size()));
-    for (var i = 0; i < ranked.size() && i < limit; i++) {
-      top.add(ranked.get(i).getSequence());
-    }
-    return top;
-  }
-
-  private static boolean isExactMatch(TermItem item, String q, String qRomaji) {
-    return q.equals(item.getExpression())
-        || q.equals(item.getReading())
-        || qRomaji.equals(item.getReadingRomaji());
-  }
-
   private List<TermItem> batchGet(List<Long> sequences) {
     var readBatch = ReadBatch.builder(TermItem.class).mappedTableResource(termTable);
     for (var seq : sequences) {
@@ -215,9 +145,7 @@ public class SearchHandler
     return Collections.unmodifiableList(ordered);
   }
 
-  private SearchResult toSearchResult(TermItem item) throws Exception {
-    var raw = item.getGlossaryRaw();
-    var glossaryNode = raw == null ? objectMapper.nullNode() : objectMapper.readTree(raw);
+  private SearchResult toSearchResult(TermItem item) {
     return new SearchResult(
         item.getSequence(),
         item.getExpression(),
@@ -225,6 +153,6 @@ public class SearchHandler
         item.getReadingRomaji(),
         item.getFrequencyRank(),
         item.getPitch(),
-        glossaryNode);
+        item.toGlossaryNode());
   }
 }
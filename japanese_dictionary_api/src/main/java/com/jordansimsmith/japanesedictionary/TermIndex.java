@@ -0,0 +1,408 @@
+package com.jordansimsmith.japanesedictionary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * Immutable in-memory prefix index over the expression, reading and romaji keys of the term
+ * corpus. Terms are numbered by search rank (frequency rank ascending with unranked terms last,
+ * then sequence), so the best matches for a prefix are the smallest ordinals in its key range.
+ */
+public final class TermIndex implements TermSearch {
+  private static final int MAGIC = 0x4a445449;
+  private static final int FORMAT_VERSION = 1;
+  private static final int BLOCK_SIZE = 16;
+
+  public record Term(
+      long sequence,
+      @Nullable String expression,
+      @Nullable String reading,
+      @Nullable String readingRomaji,
+      @Nullable Integer frequencyRank) {}
+
+  private final long[] sequences;
+  private final KeyField expressions;
+  private final KeyField readings;
+  private final KeyField romaji;
+
+  private TermIndex(long[] sequences, KeyField expressions, KeyField readings, KeyField romaji) {
+    this.sequences = sequences;
+    this.expressions = expressions;
+    this.readings = readings;
+    this.romaji = romaji;
+  }
+
+  public static TermIndex build(Collection<Term> terms) {
+    var ranked = new ArrayList<Term>(terms.size());
+    var seen = new HashSet<Long>();
+    for (var term : terms) {
+      if (seen.add(term.sequence())) {
+        ranked.add(term);
+      }
+    }
+    ranked.sort(
+        Comparator.comparing(Term::frequencyRank, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Term::sequence));
+
+    var sequences = new long[ranked.size()];
+    for (var i = 0; i < ranked.size(); i++) {
+      sequences[i] = ranked.get(i).sequence();
+    }
+
+    return new TermIndex(
+        sequences,
+        KeyField.build(ranked, Term::expression),
+        KeyField.build(ranked, Term::reading),
+        KeyField.build(ranked, Term::readingRomaji));
+  }
+
+  public int size() {
+    return sequences.length;
+  }
+
+  @Override
+  public List<Long> search(String q, String qRomaji, int limit) {
+    var qBytes = q.getBytes(StandardCharsets.UTF_8);
+    var qRomajiBytes = qRomaji.getBytes(StandardCharsets.UTF_8);
+
+    var exact = new TreeSet<Integer>();
+    expressions.collectExact(qBytes, limit, exact);
+    readings.collectExact(qBytes, limit, exact);
+    romaji.collectExact(qRomajiBytes, limit, exact);
+
+    // the top matches of the union are always among the top matches of each field
+    var prefix = new TreeSet<Integer>();
+    expressions.collectPrefix(qBytes, limit, prefix);
+    readings.collectPrefix(qBytes, limit, prefix);
+    romaji.collectPrefix(qRomajiBytes, limit, prefix);
+
+    var top = new ArrayList<Long>(limit);
+    for (var ordinal : exact) {
+      if (top.size() == limit) {
+        return top;
+      }
+      top.add(sequences[ordinal]);
+    }
+    for (var ordinal : prefix) {
+      if (top.size() == limit) {
+        return top;
+      }
+      if (!exact.contains(ordinal)) {
+        top.add(sequences[ordinal]);
+      }
+    }
+    return top;
+  }
+
+  public void write(DataOutput out) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    out.writeInt(sequences.length);
+    for (var sequence : sequences) {
+      out.writeLong(sequence);
+    }
+    expressions.write(out);
+    readings.write(out);
+    romaji.write(out);
+  }
+
+  public static TermIndex read(DataInput in) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new IOException("not a term index snapshot");
+    }
+    var version = in.readInt();
+    if (version != FORMAT_VERSION) {
+      throw new IOException("unsupported term index format version " + version);
+    }
+    var sequences = new long[in.readInt()];
+    for (var i = 0; i < sequences.length; i++) {
+      sequences[i] = in.readLong();
+    }
+    return new TermIndex(sequences, KeyField.read(in), KeyField.read(in), KeyField.read(in));
+  }
+
+  /**
+   * Sorted unique keys front-coded in blocks of {@link #BLOCK_SIZE}, each pointing at a run of
+   * term ordinals in ascending order. A min segment tree over the concatenated runs answers
+   * top-k for any key range without visiting every posting in it.
+   */
+  private static final class KeyField {
+    private final int keyCount;
+    private final int maxKeyLength;
+    private final int[] blockOffsets;
+    private final byte[] keyBytes;
+    private final int[] postingStarts;
+    private final int[] postings;
+    private final int leafOffset;
+    private final int[] tree;
+
+    private KeyField(
+        int keyCount,
+        int maxKeyLength,
+        int[] blockOffsets,
+        byte[] keyBytes,
+        int[] postingStarts,
+        int[] postings) {
+      this.keyCount = keyCount;
+      this.maxKeyLength = maxKeyLength;
+      this.blockOffsets = blockOffsets;
+      this.keyBytes = keyBytes;
+      this.postingStarts = postingStarts;
+      this.postings = postings;
+
+      this.leafOffset = Integer.highestOneBit(Math.max(1, postings.length - 1)) << 1;
+      this.tree = new int[leafOffset * 2];
+      Arrays.fill(tree, Integer.MAX_VALUE);
+      System.arraycopy(postings, 0, tree, leafOffset, postings.length);
+      for (var node = leafOffset - 1; node > 0; node--) {
+        tree[node] = Math.min(tree[node * 2], tree[node * 2 + 1]);
+      }
+    }
+
+    private record Posting(byte[] key, int ordinal) {}
+
+    static KeyField build(List<Term> ranked, Function<Term, String> keyFunction) {
+      var entries = new ArrayList<Posting>(ranked.size());
+      for (var ordinal = 0; ordinal < ranked.size(); ordinal++) {
+        var key = keyFunction.apply(ranked.get(ordinal));
+        if (key != null && !key.isEmpty()) {
+          entries.add(new Posting(key.getBytes(StandardCharsets.UTF_8), ordinal));
+        }
+      }
+      entries.sort(
+          Comparator.comparing(Posting::key, Arrays::compareUnsigned)
+              .thenComparingInt(Posting::ordinal));
+
+      var keys = new ByteArrayOutputStream();
+      var blockOffsets = new ArrayList<Integer>();
+      var postingStarts = new ArrayList<Integer>();
+      var postings = new int[entries.size()];
+      var maxKeyLength = 0;
+      byte[] previous = null;
+      for (var i = 0; i < entries.size(); i++) {
+        var key = entries.get(i).key();
+        postings[i] = entries.get(i).ordinal();
+        if (previous != null && Arrays.equals(previous, key)) {
+          continue;
+        }
+
+        if (postingStarts.size() % BLOCK_SIZE == 0) {
+          blockOffsets.add(keys.size());
+          writeVarInt(keys, key.length);
+          keys.write(key, 0, key.length);
+        } else {
+          var shared = Arrays.mismatch(previous, key);
+          writeVarInt(keys, shared);
+          writeVarInt(keys, key.length - shared);
+          keys.write(key, shared, key.length - shared);
+        }
+        postingStarts.add(i);
+        maxKeyLength = Math.max(maxKeyLength, key.length);
+        previous = key;
+      }
+      postingStarts.add(entries.size());
+
+      return new KeyField(
+          postingStarts.size() - 1,
+          maxKeyLength,
+          blockOffsets.stream().mapToInt(Integer::intValue).toArray(),
+          keys.toByteArray(),
+          postingStarts.stream().mapToInt(Integer::intValue).toArray(),
+          postings);
+    }
+
+    void collectExact(byte[] key, int limit, TreeSet<Integer> out) {
+      if (key.length == 0) {
+        return;
+      }
+      var index = lowerBound(key);
+      if (index == keyCount) {
+        return;
+      }
+      var buffer = new byte[maxKeyLength];
+      var length = decodeKey(index, buffer);
+      if (!Arrays.equals(buffer, 0, length, key, 0, key.length)) {
+        return;
+      }
+      var end = Math.min(postingStarts[index + 1], postingStarts[index] + limit);
+      for (var i = postingStarts[index]; i < end; i++) {
+        out.add(postings[i]);
+      }
+    }
+
+    void collectPrefix(byte[] prefix, int limit, TreeSet<Integer> out) {
+      if (prefix.length == 0) {
+        return;
+      }
+      var from = postingStarts[lowerBound(prefix)];
+      var to = postingStarts[upperBound(prefix)];
+      if (from >= to) {
+        return;
+      }
+
+      // best-first walk of the segment tree nodes covering [from, to)
+      var queue = new PriorityQueue<Long>();
+      for (int l = from + leafOffset, r = to + leafOffset; l < r; l >>= 1, r >>= 1) {
+        if ((l & 1) == 1) {
+          queue.add(node(l++));
+        }
+        if ((r & 1) == 1) {
+          queue.add(node(--r));
+        }
+      }
+      var taken = 0;
+      while (taken < limit && !queue.isEmpty()) {
+        var node = (int) (long) queue.poll();
+        if (node >= leafOffset) {
+          out.add(tree[node]);
+          taken++;
+        } else {
+          queue.add(node(node * 2));
+          queue.add(node(node * 2 + 1));
+        }
+      }
+    }
+
+    private long node(int node) {
+      return ((long) tree[node] << 32) | node;
+    }
+
+    private int upperBound(byte[] prefix) {
+      // utf-8 never contains 0xff, so bumping the last byte yields the first key past the prefix
+      var successor = Arrays.copyOf(prefix, prefix.length);
+      successor[successor.length - 1]++;
+      return lowerBound(successor);
+    }
+
+    private int lowerBound(byte[] target) {
+      var low = 0;
+      var high = blockOffsets.length - 1;
+      var block = -1;
+      while (low <= high) {
+        var mid = (low + high) >>> 1;
+        var cursor = new int[] {blockOffsets[mid]};
+        var length = readVarInt(cursor);
+        var cmp =
+            Arrays.compareUnsigned(
+                keyBytes, cursor[0], cursor[0] + length, target, 0, target.length);
+        if (cmp == 0) {
+          return mid * BLOCK_SIZE;
+        }
+        if (cmp < 0) {
+          block = mid;
+          low = mid + 1;
+        } else {
+          high = mid - 1;
+        }
+      }
+      if (block < 0) {
+        return 0;
+      }
+
+      var buffer = new byte[maxKeyLength];
+      var first = block * BLOCK_SIZE;
+      var last = Math.min(keyCount, first + BLOCK_SIZE);
+      var cursor = new int[] {blockOffsets[block]};
+      var length = readVarInt(cursor);
+      System.arraycopy(keyBytes, cursor[0], buffer, 0, length);
+      cursor[0] += length;
+      for (var index = first + 1; index < last; index++) {
+        length = readNextKey(cursor, buffer);
+        if (Arrays.compareUnsigned(buffer, 0, length, target, 0, target.length) >= 0) {
+          return index;
+        }
+      }
+      return last;
+    }
+
+    private int decodeKey(int index, byte[] buffer) {
+      var block = index / BLOCK_SIZE;
+      var cursor = new int[] {blockOffsets[block]};
+      var length = readVarInt(cursor);
+      System.arraycopy(keyBytes, cursor[0], buffer, 0, length);
+      cursor[0] += length;
+      for (var i = block * BLOCK_SIZE; i < index; i++) {
+        length = readNextKey(cursor, buffer);
+      }
+      return length;
+    }
+
+    private int readNextKey(int[] cursor, byte[] buffer) {
+      var shared = readVarInt(cursor);
+      var suffix = readVarInt(cursor);
+      System.arraycopy(keyBytes, cursor[0], buffer, shared, suffix);
+      cursor[0] += suffix;
+      return shared + suffix;
+    }
+
+    private int readVarInt(int[] cursor) {
+      var value = 0;
+      var shift = 0;
+      int b;
+      do {
+        b = keyBytes[cursor[0]++];
+        value |= (b & 0x7f) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      return value;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+      while ((value & ~0x7f) != 0) {
+        out.write((value & 0x7f) | 0x80);
+        value >>>= 7;
+      }
+      out.write(value);
+    }
+
+    void write(DataOutput out) throws IOException {
+      out.writeInt(keyCount);
+      out.writeInt(maxKeyLength);
+      writeInts(out, blockOffsets);
+      out.writeInt(keyBytes.length);
+      out.write(keyBytes);
+      writeInts(out, postingStarts);
+      writeInts(out, postings);
+    }
+
+    static KeyField read(DataInput in) throws IOException {
+      var keyCount = in.readInt();
+      var maxKeyLength = in.readInt();
+      var blockOffsets = readInts(in);
+      var keyBytes = new byte[in.readInt()];
+      in.readFully(keyBytes);
+      var postingStarts = readInts(in);
+      var postings = readInts(in);
+      return new KeyField(
+          keyCount, maxKeyLength, blockOffsets, keyBytes, postingStarts, postings);
+    }
+
+    private static void writeInts(DataOutput out, int[] values) throws IOException {
+      out.writeInt(values.length);
+      for (var value : values) {
+        out.writeInt(value);
+      }
+    }
+
+    private static int[] readInts(DataInput in) throws IOException {
+      var values = new int[in.readInt()];
+      for (var i = 0; i < values.length; i++) {
+        values[i] = in.readInt();
+      }
+      return values;
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.jordansimsmith.japanesedictionary;
+
+import java.util.List;
+
+/**
+ * Rebuilds the search index snapshot from the term corpus. Run after every corpus refresh;
+ * dry-run by default, pass --execute to write the snapshot to DynamoDB.
+ */
+public class TermIndexBuilder {
+  public static void main(String[] args) {
+    var execute = List.of(args).contains("--execute");
+    if (!execute) {
+      System.out.println("DRY RUN mode - use --execute to write to DynamoDB\n");
+    }
+
+    var factory = JapaneseDictionaryFactory.create();
+    var termIndexStore = factory.termIndexStore();
+
+    var started = System.nanoTime();
+    var index = termIndexStore.buildFromCorpus();
+    var snapshot = TermIndexStore.serialize(index);
+    var elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+    System.out.printf(
+        "built term index: %,d terms, %,d snapshot bytes, %,d ms%n",
+        index.size(), snapshot.length, elapsedMillis);
+
+    if (!execute) {
+      System.out.println("DRY RUN: would write the snapshot and swap the manifest");
+      return;
+    }
+
+    var generation = termIndexStore.save(index);
+    System.out.printf("saved term index generation %s%n", generation);
+  }
+}
@@ -0,0 +1,179 @@
+package com.jordansimsmith.japanesedictionary;
+
+import java.util.Objects;
+import javax.annotation.Nullable;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+
+@DynamoDbBean
+public class TermIndexItem {
+  public static final String DELIMITER = "#";
+  public static final String TERM_INDEX_PREFIX = "TERM_INDEX";
+  public static final String CHUNK_PREFIX = "CHUNK" + DELIMITER;
+
+  public static final String PK = "pk";
+  public static final String SK = "sk";
+  public static final String GENERATION = "generation";
+  public static final String PREVIOUS_GENERATION = "previous_generation";
+  public static final String CHUNK_COUNT = "chunk_count";
+  public static final String TERM_COUNT = "term_count";
+  public static final String DATA = "data";
+
+  private String pk;
+  private String sk;
+  private String generation;
+  @Nullable private String previousGeneration;
+  @Nullable private Integer chunkCount;
+  @Nullable private Integer termCount;
+  @Nullable private SdkBytes data;
+
+  @DynamoDbPartitionKey
+  @DynamoDbAttribute(PK)
+  public String getPk() {
+    return pk;
+  }
+
+  public void setPk(String pk) {
+    this.pk = pk;
+  }
+
+  @DynamoDbSortKey
+  @DynamoDbAttribute(SK)
+  public String getSk() {
+    return sk;
+  }
+
+  public void setSk(String sk) {
+    this.sk = sk;
+  }
+
+  @DynamoDbAttribute(GENERATION)
+  public String getGeneration() {
+    return generation;
+  }
+
+  public void setGeneration(String generation) {
+    this.generation = generation;
+  }
+
+  @Nullable
+  @DynamoDbAttribute(PREVIOUS_GENERATION)
+  public String getPreviousGeneration() {
+    return previousGeneration;
+  }
+
+  public void setPreviousGeneration(@Nullable String previousGeneration) {
+    this.previousGeneration = previousGeneration;
+  }
+
+  @Nullable
+  @DynamoDbAttribute(CHUNK_COUNT)
+  public Integer getChunkCount() {
+    return chunkCount;
+  }
+
+  public void setChunkCount(@Nullable Integer chunkCount) {
+    this.chunkCount = chunkCount;
+  }
+
+  @Nullable
+  @DynamoDbAttribute(TERM_COUNT)
+  public Integer getTermCount() {
+    return termCount;
+  }
+
+  public void setTermCount(@Nullable Integer termCount) {
+    this.termCount = termCount;
+  }
+
+  @Nullable
+  @DynamoDbAttribute(DATA)
+  public SdkBytes getData() {
+    return data;
+  }
+
+  public void setData(@Nullable SdkBytes data) {
+    this.data = data;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    TermIndexItem that = (TermIndexItem) o;
+    return Objects.equals(pk, that.pk)
+        && Objects.equals(sk, that.sk)
+        && Objects.equals(generation, that.generation)
+        && Objects.equals(previousGeneration, that.previousGeneration)
+        && Objects.equals(chunkCount, that.chunkCount)
+        && Objects.equals(termCount, that.termCount)
+        && Objects.equals(data, that.data);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(pk, sk, generation, previousGeneration, chunkCount, termCount, data);
+  }
+
+  @Override
+  public String toString() {
+    return "TermIndexItem{"
+        + "pk='"
+        + pk
+        + '\''
+        + ", sk='"
+        + sk
+        + '\''
+        + ", generation='"
+        + generation
+        + '\''
+        + ", previousGeneration='"
+        + previousGeneration
+        + '\''
+        + ", chunkCount="
+        + chunkCount
+        + ", termCount="
+        + termCount
+        + '}';
+  }
+
+  public static String formatManifestPk() {
+    return TERM_INDEX_PREFIX;
+  }
+
+  public static String formatManifestSk() {
+    return TERM_INDEX_PREFIX;
+  }
+
+  public static String formatChunkPk(String generation) {
+    return TERM_INDEX_PREFIX + DELIMITER + generation;
+  }
+
+  public static String formatChunkSk(int chunk) {
+    return CHUNK_PREFIX + String.format("%05d", chunk);
+  }
+
+  public static TermIndexItem createManifest(
+      String generation, @Nullable String previousGeneration, int chunkCount, int termCount) {
+    var item = new TermIndexItem();
+    item.setPk(formatManifestPk());
+    item.setSk(formatManifestSk());
+    item.setGeneration(generation);
+    item.setPreviousGeneration(previousGeneration);
+    item.setChunkCount(chunkCount);
+    item.setTermCount(termCount);
+    return item;
+  }
+
+  public static TermIndexItem createChunk(String generation, int chunk, SdkBytes data) {
+    var item = new TermIndexItem();
+    item.setPk(formatChunkPk(generation));
+    item.setSk(formatChunkSk(chunk));
+    item.setGeneration(generation);
+    item.setData(data);
+    return item;
+  }
+}
@@ -0,0 +1,210 @@
+package com.jordansimsmith.japanesedictionary;
+
+import com.jordansimsmith.time.Clock;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+
+public class TermIndexStore {
+  private static final Logger LOGGER = LoggerFactory.getLogger(TermIndexStore.class);
+
+  // dynamodb items are capped at 400 KB
+  private static final int CHUNK_SIZE = 350 * 1024;
+
+  private final DynamoDbTable<TermIndexItem> termIndexTable;
+  private final DynamoDbTable<TermItem> termTable;
+  private final Clock clock;
+
+  public TermIndexStore(
+      DynamoDbTable<TermIndexItem> termIndexTable, DynamoDbTable<TermItem> termTable, Clock clock) {
+    this.termIndexTable = termIndexTable;
+    this.termTable = termTable;
+    this.clock = clock;
+  }
+
+  @Nullable
+  public TermIndex load() {
+    var manifest = getManifest();
+    if (manifest == null) {
+      LOGGER.warn("no term index snapshot found");
+      return null;
+    }
+
+    var request =
+        QueryEnhancedRequest.builder()
+            .queryConditional(
+                QueryConditional.keyEqualTo(
+                    Key.builder()
+                        .partitionValue(TermIndexItem.formatChunkPk(manifest.getGeneration()))
+                        .build()))
+            .consistentRead(true)
+            .build();
+    var snapshot = new ByteArrayOutputStream();
+    var chunks = 0;
+    for (var chunk : termIndexTable.query(request).items()) {
+      snapshot.writeBytes(chunk.getData().asByteArrayUnsafe());
+      chunks++;
+    }
+    if (chunks != manifest.getChunkCount()) {
+      throw new IllegalStateException(
+          "term index generation %s has %d of %d chunks"
+              .formatted(manifest.getGeneration(), chunks, manifest.getChunkCount()));
+    }
+
+    return deserialize(snapshot.toByteArray());
+  }
+
+  /**
+   * Writes the snapshot under a new generation, then swaps the manifest to it. The previous
+   * generation is kept for cold starts that read the old manifest mid-swap; older ones are
+   * deleted.
+   */
+  public String save(TermIndex index) {
+    var snapshot = serialize(index);
+    var generation = String.valueOf(clock.now().toEpochMilli());
+
+    var chunks = 0;
+    for (var offset = 0; offset < snapshot.length; offset += CHUNK_SIZE) {
+      var end = Math.min(snapshot.length, offset + CHUNK_SIZE);
+      var data = SdkBytes.fromByteArray(Arrays.copyOfRange(snapshot, offset, end));
+      termIndexTable.putItem(TermIndexItem.createChunk(generation, chunks++, data));
+    }
+
+    var previous = getManifest();
+    termIndexTable.putItem(
+        TermIndexItem.createManifest(
+            generation,
+            previous == null ? null : previous.getGeneration(),
+            chunks,
+            index.size()));
+
+    if (previous != null && previous.getPreviousGeneration() != null) {
+      deleteGeneration(previous.getPreviousGeneration());
+    }
+
+    return generation;
+  }
+
+  /**
+   * Builds the index from the key projections of the three search GSIs, which avoids reading the
+   * glossary payload of every term.
+   */
+  public TermIndex buildFromCorpus() {
+    var expressions =
+        queryPartition(TermItem.GSI1_NAME, TermItem.formatGsi1pk(), TermItem::getGsi1sk);
+    var readings =
+        queryPartition(TermItem.GSI2_NAME, TermItem.formatGsi2pk(), TermItem::getGsi2sk);
+    var romaji =
+        queryPartition(TermItem.GSI3_NAME, TermItem.formatGsi3pk(), TermItem::getGsi3sk);
+
+    var sequences = new LinkedHashSet<Long>();
+    sequences.addAll(expressions.keySet());
+    sequences.addAll(readings.keySet());
+    sequences.addAll(romaji.keySet());
+
+    var terms = new ArrayList<TermIndex.Term>(sequences.size());
+    for (var sequence : sequences) {
+      var item =
+          expressions.getOrDefault(sequence, readings.getOrDefault(sequence, romaji.get(sequence)));
+      terms.add(
+          new TermIndex.Term(
+              sequence,
+              keyOf(expressions.get(sequence), TermItem::getGsi1sk),
+              keyOf(readings.get(sequence), TermItem::getGsi2sk),
+              keyOf(romaji.get(sequence), TermItem::getGsi3sk),
+              item.getFrequencyRank()));
+    }
+    return TermIndex.build(terms);
+  }
+
+  public static byte[] serialize(TermIndex index) {
+    var bytes = new ByteArrayOutputStream();
+    try (var out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(bytes)))) {
+      index.write(out);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  public static TermIndex deserialize(byte[] snapshot) {
+    try (var in =
+        new DataInputStream(
+            new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(snapshot))))) {
+      return TermIndex.read(in);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Nullable
+  private TermIndexItem getManifest() {
+    return termIndexTable.getItem(
+        GetItemEnhancedRequest.builder()
+            .key(
+                Key.builder()
+                    .partitionValue(TermIndexItem.formatManifestPk())
+                    .sortValue(TermIndexItem.formatManifestSk())
+                    .build())
+            .consistentRead(true)
+            .build());
+  }
+
+  private void deleteGeneration(String generation) {
+    var request =
+        QueryEnhancedRequest.builder()
+            .queryConditional(
+                QueryConditional.keyEqualTo(
+                    Key.builder().partitionValue(TermIndexItem.formatChunkPk(generation)).build()))
+            .attributesToProject(TermIndexItem.PK, TermIndexItem.SK)
+            .build();
+    for (var chunk : termIndexTable.query(request).items()) {
+      termIndexTable.deleteItem(
+          Key.builder().partitionValue(chunk.getPk()).sortValue(chunk.getSk()).build());
+    }
+  }
+
+  private Map<Long, TermItem> queryPartition(
+      String indexName, String partitionValue, Function<TermItem, String> keyFunction) {
+    var request =
+        QueryEnhancedRequest.builder()
+            .queryConditional(
+                QueryConditional.keyEqualTo(Key.builder().partitionValue(partitionValue).build()))
+            .build();
+    var items = new HashMap<Long, TermItem>();
+    for (var page : termTable.index(indexName).query(request)) {
+      for (var item : page.items()) {
+        if (keyFunction.apply(item) != null) {
+          items.put(item.getSequence(), item);
+        }
+      }
+    }
+    return items;
+  }
+
+  @Nullable
+  private static String keyOf(@Nullable TermItem item, Function<TermItem, String> keyFunction) {
+    return item == null ? null : keyFunction.apply(item);
+  }
+}
@@ -0,0 +1,70 @@
+package com.jordansimsmith.japanesedictionary;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Loads the term corpus from the Jitendex, JPDB and Kanjium Yomitan zips and applies it to the
+ * table as a diff; dry-run by default, pass --execute to write to DynamoDB.
+ */
+public class TermIngest {
+  public static void main(String[] args) {
+    var arguments = List.of(args);
+    var execute = arguments.contains("--execute");
+    var sources =
+        new TermIngester.Sources(
+            path(arguments, "--jitendex", "jitendex-yomitan.zip"),
+            path(arguments, "--jpdb", "JPDB_v2.2_Frequency_Kana_2024-10-13.zip"),
+            path(arguments, "--kanjium", "kanjium_pitch_accents.zip"));
+    for (var zip : List.of(sources.jitendex(), sources.jpdb(), sources.kanjium())) {
+      if (!Files.exists(zip)) {
+        System.err.printf("error: %s not found%n", zip);
+        System.exit(1);
+      }
+    }
+
+    if (!execute) {
+      System.out.println("DRY RUN mode - use --execute to write to DynamoDB\n");
+    }
+
+    var factory = JapaneseDictionaryFactory.create();
+    var termIngester = factory.termIngester();
+
+    var started = System.nanoTime();
+    var terms = termIngester.build(sources);
+    var total = terms.items().size();
+    System.out.printf("built %,d term records%n", total);
+    System.out.printf(
+        "  with frequency_rank: %,d (%.1f%%)%n",
+        terms.withFrequency(), terms.withFrequency() * 100.0 / total);
+    System.out.printf(
+        "  with pitch         : %,d (%.1f%%)%n",
+        terms.withPitch(), terms.withPitch() * 100.0 / total);
+
+    var diff = termIngester.diff(terms.items());
+    System.out.printf(
+        "diff: %,d added, %,d updated, %,d deleted, %,d unchanged%n",
+        diff.added(), diff.updated(), diff.deletes().size(), diff.unchanged());
+
+    if (!execute) {
+      System.out.println("DRY RUN: would write the diff to DynamoDB");
+      System.out.printf("elapsed: %,d ms%n", (System.nanoTime() - started) / 1_000_000);
+      return;
+    }
+
+    termIngester.apply(diff);
+    System.out.printf(
+        "applied %,d puts and %,d deletes, elapsed %,d ms%n",
+        diff.puts().size(), diff.deletes().size(), (System.nanoTime() - started) / 1_000_000);
+    System.out.println("next: publish the search index with the term-index-builder binary");
+  }
+
+  private static Path path(List<String> arguments, String flag, String defaultFileName) {
+    var index = arguments.indexOf(flag);
+    if (index >= 0 && index + 1 < arguments.size()) {
+      return Path.of(arguments.get(index + 1));
+    }
+    return Path.of(System.getProperty("user.home"), "Downloads", defaultFileName);
+  }
+}
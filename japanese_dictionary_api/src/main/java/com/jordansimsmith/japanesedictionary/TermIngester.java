@@ -0,0 +1,317 @@
+package com.jordansimsmith.japanesedictionary;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jordansimsmith.dynamodb.DynamoDbBatchWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+/**
+ * Builds term rows from the Jitendex, JPDB and Kanjium Yomitan zips and applies them to the table
+ * as a diff against the rows already there.
+ */
+public class TermIngester {
+  private static final int SCAN_SEGMENTS = 8;
+
+  public record Sources(Path jitendex, Path jpdb, Path kanjium) {}
+
+  public record Terms(List<TermItem> items, int withFrequency, int withPitch) {}
+
+  public record Diff(
+      List<TermItem> puts, List<WriteRequest> deletes, int added, int updated, int unchanged) {}
+
+  private record Headword(int score, String expression, String reading, String glossaryRaw) {}
+
+  private final DynamoDbTable<TermItem> termTable;
+  private final DynamoDbBatchWriter dynamoDbBatchWriter;
+  private final YomitanZipReader yomitanZipReader;
+  private final KanaRomaniser kanaRomaniser;
+  private final RomajiNormaliser romajiNormaliser;
+  private final ObjectMapper objectMapper;
+
+  public TermIngester(
+      DynamoDbTable<TermItem> termTable,
+      DynamoDbBatchWriter dynamoDbBatchWriter,
+      YomitanZipReader yomitanZipReader,
+      KanaRomaniser kanaRomaniser,
+      RomajiNormaliser romajiNormaliser,
+      ObjectMapper objectMapper) {
+    this.termTable = termTable;
+    this.dynamoDbBatchWriter = dynamoDbBatchWriter;
+    this.yomitanZipReader = yomitanZipReader;
+    this.kanaRomaniser = kanaRomaniser;
+    this.romajiNormaliser = romajiNormaliser;
+    this.objectMapper = objectMapper;
+  }
+
+  public Terms build(Sources sources) {
+    Future<Map<Long, Headword>> headwords;
+    Future<Map<String, Integer>> frequencies;
+    Future<Map<String, Integer>> pitches;
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      headwords = executor.submit(() -> loadHeadwords(sources.jitendex()));
+      frequencies = executor.submit(() -> loadFrequencies(sources.jpdb()));
+      pitches = executor.submit(() -> loadPitches(sources.kanjium()));
+    }
+
+    return assemble(join(headwords), join(frequencies), join(pitches));
+  }
+
+  /** Reads the existing term rows and works out which ones the built terms add, change or drop. */
+  public Diff diff(List<TermItem> items) {
+    var existing = scanFingerprints();
+
+    var puts = new ArrayList<TermItem>();
+    var added = 0;
+    var updated = 0;
+    var unchanged = 0;
+    for (var item : items) {
+      var fingerprint = existing.remove(item.getSequence());
+      if (fingerprint == null) {
+        added++;
+        puts.add(item);
+      } else if (!fingerprint.equals(fingerprint(item))) {
+        updated++;
+        puts.add(item);
+      } else {
+        unchanged++;
+      }
+    }
+
+    var deletes = new ArrayList<WriteRequest>(existing.size());
+    for (var sequence : existing.keySet()) {
+      deletes.add(
+          WriteRequest.builder()
+              .deleteRequest(
+                  DeleteRequest.builder()
+                      .key(
+                          Map.of(
+                              TermItem.PK,
+                              AttributeValue.fromS(TermItem.formatPk(sequence)),
+                              TermItem.SK,
+                              AttributeValue.fromS(TermItem.formatSk(sequence))))
+                      .build())
+              .build());
+    }
+
+    return new Diff(puts, deletes, added, updated, unchanged);
+  }
+
+  public void apply(Diff diff) {
+    dynamoDbBatchWriter.putItems(termTable, diff.puts());
+    dynamoDbBatchWriter.write(termTable.tableName(), diff.deletes());
+  }
+
+  private Terms assemble(
+      Map<Long, Headword> headwords,
+      Map<String, Integer> frequencies,
+      Map<String, Integer> pitches) {
+    var items = new ArrayList<TermItem>(headwords.size());
+    var withFrequency = 0;
+    var withPitch = 0;
+    for (var entry : new TreeMap<>(headwords).entrySet()) {
+      var headword = entry.getValue();
+      var key = joinKey(headword.expression(), headword.reading());
+      var frequencyRank = frequencies.get(key);
+      var pitch = pitches.get(key);
+      if (frequencyRank != null) {
+        withFrequency++;
+      }
+      if (pitch != null) {
+        withPitch++;
+      }
+      // stored romaji lives in the same form queries are normalised to
+      var readingRomaji = romajiNormaliser.normalise(kanaRomaniser.romanise(headword.reading()));
+      items.add(
+          TermItem.create(
+              entry.getKey(),
+              headword.expression(),
+              headword.reading(),
+              readingRomaji,
+              frequencyRank,
+              pitch,
+              headword.glossaryRaw()));
+    }
+    return new Terms(items, withFrequency, withPitch);
+  }
+
+  // drops redirects and keeps the highest scoring entry per JMdict sequence
+  private Map<Long, Headword> loadHeadwords(Path zip) {
+    var headwords = new HashMap<Long, Headword>();
+    yomitanZipReader.forEachEntry(
+        zip,
+        YomitanZipReader.TERM_BANK,
+        entry -> {
+          var sequence = entry.path(6);
+          var expression = entry.path(0).asText();
+          if (!sequence.isIntegralNumber() || sequence.asLong() < 0 || expression.isEmpty()) {
+            return;
+          }
+          var score = entry.path(4).asInt(0);
+          var current = headwords.get(sequence.asLong());
+          if (current != null && score <= current.score()) {
+            return;
+          }
+          var reading = entry.path(1).asText();
+          headwords.put(
+              sequence.asLong(),
+              new Headword(
+                  score,
+                  expression,
+                  reading.isEmpty() ? expression : reading,
+                  writeJson(entry.path(5))));
+        });
+    return headwords;
+  }
+
+  // lowest JPDB rank per (term, reading); the kana-only flag is ignored
+  private Map<String, Integer> loadFrequencies(Path zip) {
+    var frequencies = new HashMap<String, Integer>();
+    yomitanZipReader.forEachEntry(
+        zip,
+        YomitanZipReader.TERM_META_BANK,
+        entry -> {
+          var term = entry.path(0).asText();
+          var payload = entry.path(2);
+          if (!entry.path(1).asText().equals("freq") || !payload.isObject()) {
+            return;
+          }
+          String key;
+          JsonNode value;
+          if (payload.has("reading") && payload.has("frequency")) {
+            key = joinKey(term, payload.get("reading").asText());
+            value = payload.get("frequency").path("value");
+          } else if (payload.has("value")) {
+            key = joinKey(term, term);
+            value = payload.get("value");
+          } else {
+            return;
+          }
+          if (!value.isNumber()) {
+            return;
+          }
+          frequencies.merge(key, value.asInt(), Math::min);
+        });
+    return frequencies;
+  }
+
+  // first pitch position per (term, reading) that fits within the reading's mora count
+  private Map<String, Integer> loadPitches(Path zip) {
+    var pitches = new HashMap<String, Integer>();
+    yomitanZipReader.forEachEntry(
+        zip,
+        YomitanZipReader.TERM_META_BANK,
+        entry -> {
+          var payload = entry.path(2);
+          if (!entry.path(1).asText().equals("pitch") || !payload.isObject()) {
+            return;
+          }
+          var reading = payload.path("reading").asText();
+          var key = joinKey(entry.path(0).asText(), reading);
+          if (pitches.containsKey(key)) {
+            return;
+          }
+          var moraCount = kanaRomaniser.moraCount(reading);
+          for (var pitch : payload.path("pitches")) {
+            var position = pitch.path("position");
+            if (position.isInt() && position.asInt() >= 0 && position.asInt() <= moraCount) {
+              pitches.put(key, position.asInt());
+              return;
+            }
+          }
+        });
+    return pitches;
+  }
+
+  private Map<Long, ByteBuffer> scanFingerprints() {
+    var fingerprints = new ConcurrentHashMap<Long, ByteBuffer>();
+    var segments = new ArrayList<Callable<Void>>(SCAN_SEGMENTS);
+    for (var segment = 0; segment < SCAN_SEGMENTS; segment++) {
+      var request =
+          ScanEnhancedRequest.builder()
+              .segment(segment)
+              .totalSegments(SCAN_SEGMENTS)
+              .filterExpression(
+                  Expression.builder()
+                      .expression("begins_with(#pk, :prefix)")
+                      .putExpressionName("#pk", TermItem.PK)
+                      .putExpressionValue(":prefix", AttributeValue.fromS(TermItem.TERM_PREFIX))
+                      .build())
+              .build();
+      segments.add(
+          () -> {
+            // only a digest of each row is kept, so the scan never holds the glossaries
+            for (var item : termTable.scan(request).items()) {
+              fingerprints.put(item.getSequence(), fingerprint(item));
+            }
+            return null;
+          });
+    }
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var result : executor.invokeAll(segments)) {
+        join(result);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    return fingerprints;
+  }
+
+  private ByteBuffer fingerprint(TermItem item) {
+    var attributes = new TreeMap<>(termTable.tableSchema().itemToMap(item, true));
+    try {
+      var digest = MessageDigest.getInstance("SHA-256");
+      return ByteBuffer.wrap(digest.digest(attributes.toString().getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private String writeJson(JsonNode node) {
+    try {
+      return objectMapper.writeValueAsString(node);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static String joinKey(String term, String reading) {
+    return term + '\u0000' + reading;
+  }
+
+  private static <T> T join(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+}
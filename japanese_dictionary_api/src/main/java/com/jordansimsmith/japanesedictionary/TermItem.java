@@ -1,5 +1,8 @@
 package com.jordansimsmith.japanesedictionary;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.util.RawValue;
 import java.util.Objects;
 import javax.annotation.Nullable;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
@@ -21,6 +24,14 @@ public class TermItem {
   public static final String GSI1_NAME = "gsi1";
   public static final String GSI2_NAME = "gsi2";
   public static final String GSI3_NAME = "gsi3";
+  public static final String GSI4_NAME = "gsi4";
+  public static final String GSI5_NAME = "gsi5";
+  public static final String GSI6_NAME = "gsi6";
+
+  // ranked tiers double in width, tier t starting at frequency rank 1000 * (2^t - 1)
+  public static final int FREQUENCY_TIER_COUNT = 11;
+  public static final int UNRANKED_TIER = FREQUENCY_TIER_COUNT - 1;
+  private static final int FREQUENCY_TIER_BASE = 1000;
 
   public static final String PK = "pk";
   public static final String SK = "sk";
@@ -30,6 +41,12 @@ public class TermItem {
   public static final String GSI2SK = "gsi2sk";
   public static final String GSI3PK = "gsi3pk";
   public static final String GSI3SK = "gsi3sk";
+  public static final String GSI4PK = "gsi4pk";
+  public static final String GSI4SK = "gsi4sk";
+  public static final String GSI5PK = "gsi5pk";
+  public static final String GSI5SK = "gsi5sk";
+  public static final String GSI6PK = "gsi6pk";
+  public static final String GSI6SK = "gsi6sk";
   public static final String SEQUENCE = "sequence";
   public static final String EXPRESSION = "expression";
   public static final String READING = "reading";
@@ -46,6 +63,12 @@ public class TermItem {
   private String gsi2sk;
   private String gsi3pk;
   private String gsi3sk;
+  private String gsi4pk;
+  private String gsi4sk;
+  private String gsi5pk;
+  private String gsi5sk;
+  private String gsi6pk;
+  private String gsi6sk;
   private Long sequence;
   private String expression;
   private String reading;
@@ -134,6 +157,66 @@ public class TermItem {
     this.gsi3sk = gsi3sk;
   }
 
+  @DynamoDbSecondaryPartitionKey(indexNames = GSI4_NAME)
+  @DynamoDbAttribute(GSI4PK)
+  public String getGsi4pk() {
+    return gsi4pk;
+  }
+
+  public void setGsi4pk(String gsi4pk) {
+    this.gsi4pk = gsi4pk;
+  }
+
+  @DynamoDbSecondarySortKey(indexNames = GSI4_NAME)
+  @DynamoDbAttribute(GSI4SK)
+  public String getGsi4sk() {
+    return gsi4sk;
+  }
+
+  public void setGsi4sk(String gsi4sk) {
+    this.gsi4sk = gsi4sk;
+  }
+
+  @DynamoDbSecondaryPartitionKey(indexNames = GSI5_NAME)
+  @DynamoDbAttribute(GSI5PK)
+  public String getGsi5pk() {
+    return gsi5pk;
+  }
+
+  public void setGsi5pk(String gsi5pk) {
+    this.gsi5pk = gsi5pk;
+  }
+
+  @DynamoDbSecondarySortKey(indexNames = GSI5_NAME)
+  @DynamoDbAttribute(GSI5SK)
+  public String getGsi5sk() {
+    return gsi5sk;
+  }
+
+  public void setGsi5sk(String gsi5sk) {
+    this.gsi5sk = gsi5sk;
+  }
+
+  @DynamoDbSecondaryPartitionKey(indexNames = GSI6_NAME)
+  @DynamoDbAttribute(GSI6PK)
+  public String getGsi6pk() {
+    return gsi6pk;
+  }
+
+  public void setGsi6pk(String gsi6pk) {
+    this.gsi6pk = gsi6pk;
+  }
+
+  @DynamoDbSecondarySortKey(indexNames = GSI6_NAME)
+  @DynamoDbAttribute(GSI6SK)
+  public String getGsi6sk() {
+    return gsi6sk;
+  }
+
+  public void setGsi6sk(String gsi6sk) {
+    this.gsi6sk = gsi6sk;
+  }
+
   @DynamoDbAttribute(SEQUENCE)
   public Long getSequence() {
     return sequence;
@@ -199,6 +282,13 @@ public class TermItem {
     this.glossaryRaw = glossaryRaw;
   }
 
+  // glossaries are stored as serialised JSON, so they are written into responses verbatim
+  public JsonNode toGlossaryNode() {
+    return glossaryRaw == null
+        ? JsonNodeFactory.instance.nullNode()
+        : JsonNodeFactory.instance.rawValueNode(new RawValue(glossaryRaw));
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -212,6 +302,12 @@ public class TermItem {
         && Objects.equals(gsi2sk, that.gsi2sk)
         && Objects.equals(gsi3pk, that.gsi3pk)
         && Objects.equals(gsi3sk, that.gsi3sk)
+        && Objects.equals(gsi4pk, that.gsi4pk)
+        && Objects.equals(gsi4sk, that.gsi4sk)
+        && Objects.equals(gsi5pk, that.gsi5pk)
+        && Objects.equals(gsi5sk, that.gsi5sk)
+        && Objects.equals(gsi6pk, that.gsi6pk)
+        && Objects.equals(gsi6sk, that.gsi6sk)
         && Objects.equals(sequence, that.sequence)
         && Objects.equals(expression, that.expression)
         && Objects.equals(reading, that.reading)
@@ -232,6 +328,12 @@ public class TermItem {
         gsi2sk,
         gsi3pk,
         gsi3sk,
+        gsi4pk,
+        gsi4sk,
+        gsi5pk,
+        gsi5sk,
+        gsi6pk,
+        gsi6sk,
         sequence,
         expression,
         reading,
@@ -300,6 +402,42 @@ public class TermItem {
     return readingRomaji;
   }
 
+  public static String formatGsi4pk() {
+    return EXPRESSION_PARTITION;
+  }
+
+  public static String formatGsi4sk(String expression, @Nullable Integer frequencyRank) {
+    return formatTieredSk(frequencyTier(frequencyRank), expression);
+  }
+
+  public static String formatGsi5pk() {
+    return READING_PARTITION;
+  }
+
+  public static String formatGsi5sk(String reading, @Nullable Integer frequencyRank) {
+    return formatTieredSk(frequencyTier(frequencyRank), reading);
+  }
+
+  public static String formatGsi6pk() {
+    return ROMAJI_PARTITION;
+  }
+
+  public static String formatGsi6sk(String readingRomaji, @Nullable Integer frequencyRank) {
+    return formatTieredSk(frequencyTier(frequencyRank), readingRomaji);
+  }
+
+  public static String formatTieredSk(int tier, String key) {
+    return String.format("%02d", tier) + DELIMITER + key;
+  }
+
+  public static int frequencyTier(@Nullable Integer frequencyRank) {
+    if (frequencyRank == null) {
+      return UNRANKED_TIER;
+    }
+    var bucket = Math.max(0, frequencyRank) / FREQUENCY_TIER_BASE + 1;
+    return Math.min(31 - Integer.numberOfLeadingZeros(bucket), UNRANKED_TIER - 1);
+  }
+
   public static TermItem create(
       long sequence,
       String expression,
@@ -317,6 +455,12 @@ public class TermItem {
     item.setGsi2sk(formatGsi2sk(reading));
     item.setGsi3pk(formatGsi3pk());
     item.setGsi3sk(formatGsi3sk(readingRomaji));
+    item.setGsi4pk(formatGsi4pk());
+    item.setGsi4sk(formatGsi4sk(expression, frequencyRank));
+    item.setGsi5pk(formatGsi5pk());
+    item.setGsi5sk(formatGsi5sk(reading, frequencyRank));
+    item.setGsi6pk(formatGsi6pk());
+    item.setGsi6sk(formatGsi6sk(readingRomaji, frequencyRank));
     item.setSequence(sequence);
     item.setExpression(expression);
     item.setReading(reading);
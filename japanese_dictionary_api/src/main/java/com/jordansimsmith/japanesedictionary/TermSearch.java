@@ -0,0 +1,12 @@
+package com.jordansimsmith.japanesedictionary;
+
+import java.util.List;
+
+public interface TermSearch {
+  /**
+   * Returns the sequences of the top {@code limit} terms whose expression or reading starts with
+   * {@code q} or whose romaji starts with {@code qRomaji}. Exact key matches rank first, then
+   * frequency rank ascending with unranked terms last, then sequence.
+   */
+  List<Long> search(String q, String qRomaji, int limit);
+}
@@ -0,0 +1,47 @@
+package com.jordansimsmith.japanesedictionary;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.zip.ZipFile;
+
+/**
+ * Streams the entries of Yomitan dictionary banks one at a time, so a bank is never held in
+ * memory as a whole.
+ */
+public class YomitanZipReader {
+  public static final Pattern TERM_BANK = Pattern.compile("^term_bank_\\d+\\.json$");
+  public static final Pattern TERM_META_BANK = Pattern.compile("^term_meta_bank_\\d+\\.json$");
+
+  private final ObjectMapper objectMapper;
+
+  public YomitanZipReader(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  public void forEachEntry(Path zip, Pattern bank, Consumer<JsonNode> consumer) {
+    try (var zipFile = new ZipFile(zip.toFile())) {
+      var entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        var entry = entries.nextElement();
+        if (!bank.matcher(entry.getName()).matches()) {
+          continue;
+        }
+        try (var parser = objectMapper.createParser(zipFile.getInputStream(entry))) {
+          if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalStateException(entry.getName() + " is not a JSON array");
+          }
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            consumer.accept(objectMapper.readTree(parser));
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
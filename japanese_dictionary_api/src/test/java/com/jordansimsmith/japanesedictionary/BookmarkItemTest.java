@@ -17,6 +17,18 @@ public class BookmarkItemTest {
     assertThat(BookmarkItem.formatSk(1316830L)).isEqualTo("BOOKMARK#1316830");
   }
 
+  @Test
+  void formatGsi7skShouldSortNewestFirstThenBySequence() {
+    var older = BookmarkItem.formatGsi7sk(Instant.ofEpochSecond(100L), 1L);
+    var newer = BookmarkItem.formatGsi7sk(Instant.ofEpochSecond(200L), 1L);
+    var newerLowSequence = BookmarkItem.formatGsi7sk(Instant.ofEpochSecond(200L), 5L);
+    var newerHighSequence = BookmarkItem.formatGsi7sk(Instant.ofEpochSecond(200L), 50L);
+
+    assertThat(newer).isLessThan(older);
+    assertThat(newerLowSequence).isLessThan(newerHighSequence);
+    assertThat(newerHighSequence).isLessThan(older);
+  }
+
   @Test
   void createShouldPopulateAllAttributes() {
     var createdAt = Instant.ofEpochSecond(1731974400L);
@@ -24,6 +36,8 @@ public class BookmarkItemTest {
 
     assertThat(item.getPk()).isEqualTo("USER#alice");
     assertThat(item.getSk()).isEqualTo("BOOKMARK#1316830");
+    assertThat(item.getGsi7pk()).isEqualTo("USER#alice");
+    assertThat(item.getGsi7sk()).isEqualTo("BOOKMARK#9223372035122801407#0000000000001316830");
     assertThat(item.getUser()).isEqualTo("alice");
     assertThat(item.getSequence()).isEqualTo(1316830L);
     assertThat(item.getCreatedAt()).isEqualTo(createdAt);
@@ -0,0 +1,123 @@
+package com.jordansimsmith.japanesedictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jordansimsmith.dynamodb.DynamoDbContainer;
+import com.jordansimsmith.dynamodb.DynamoDbUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+
+@Testcontainers
+public class DynamoDbTermSearchIntegrationTest {
+  private DynamoDbTable<TermItem> termTable;
+
+  private DynamoDbTermSearch dynamoDbTermSearch;
+
+  @Container private static final DynamoDbContainer dynamoDbContainer = new DynamoDbContainer();
+
+  @BeforeAll
+  static void setUpBeforeClass() {
+    var factory = JapaneseDictionaryTestFactory.create(dynamoDbContainer.getEndpoint());
+    DynamoDbUtils.createTable(factory.dynamoDbClient(), factory.termTable());
+  }
+
+  @BeforeEach
+  void setUp() {
+    var factory = JapaneseDictionaryTestFactory.create(dynamoDbContainer.getEndpoint());
+
+    termTable = factory.termTable();
+
+    DynamoDbUtils.reset(factory.dynamoDbClient());
+
+    dynamoDbTermSearch = new DynamoDbTermSearch(termTable);
+  }
+
+  @Test
+  void searchShouldOrderPrefixMatchesByFrequencyAcrossTiers() {
+    // arrange
+    termTable.putItem(TermItem.create(1L, "新橋", "しんばし", "shinbashi", 18472, 0, "{}"));
+    termTable.putItem(TermItem.create(2L, "新聞", "しんぶん", "shinbun", 1000, null, "{}"));
+    termTable.putItem(TermItem.create(3L, "新人", "しんじん", "shinjin", 12000, 0, "{}"));
+    termTable.putItem(TermItem.create(4L, "新米", "しんまい", "shinmai", 1500, 0, "{}"));
+    termTable.putItem(TermItem.create(5L, "新芽", "しんめ", "shinme", null, 0, "{}"));
+
+    // act
+    var sequences = dynamoDbTermSearch.search("新", "新", 10);
+
+    // assert
+    assertThat(sequences).containsExactly(2L, 4L, 3L, 1L, 5L);
+  }
+
+  @Test
+  void searchShouldStopAtTheFirstTierThatFillsTheLimit() {
+    // arrange
+    termTable.putItem(TermItem.create(1L, "新聞", "しんぶん", "shinbun", 1000, null, "{}"));
+    termTable.putItem(TermItem.create(2L, "新米", "しんまい", "shinmai", 1500, 0, "{}"));
+    termTable.putItem(TermItem.create(3L, "新人", "しんじん", "shinjin", 12000, 0, "{}"));
+
+    // act
+    var sequences = dynamoDbTermSearch.search("shin", "shin", 2);
+
+    // assert
+    assertThat(sequences).containsExactly(1L, 2L);
+  }
+
+  @Test
+  void searchShouldReadWholeTierBeforeRanking() {
+    // arrange
+    for (var i = 0; i < 250; i++) {
+      var suffix = String.format("%03d", i);
+      termTable.putItem(
+          TermItem.create(i, "新" + suffix, "しん" + suffix, "shin" + suffix, 999 - i, 0, "{}"));
+    }
+
+    // act
+    var sequences = dynamoDbTermSearch.search("shin", "shin", 2);
+
+    // assert
+    assertThat(sequences).containsExactly(249L, 248L);
+  }
+
+  @Test
+  void searchShouldRankUnrankedExactMatchesFirstAfterStoppingEarly() {
+    // arrange
+    termTable.putItem(TermItem.create(1L, "新", "しん", "shin", null, 0, "{}"));
+    termTable.putItem(TermItem.create(2L, "新聞", "しんぶん", "shinbun", 1000, null, "{}"));
+    termTable.putItem(TermItem.create(3L, "新米", "しんまい", "shinmai", 1500, 0, "{}"));
+    termTable.putItem(TermItem.create(4L, "新人", "しんじん", "shinjin", 12000, 0, "{}"));
+
+    // act
+    var sequences = dynamoDbTermSearch.search("しん", "shin", 2);
+
+    // assert
+    assertThat(sequences).containsExactly(1L, 2L);
+  }
+
+  @Test
+  void searchShouldMatchKunreiQueriesThroughTheNormalisedRomaji() {
+    // arrange
+    termTable.putItem(TermItem.create(1L, "新聞", "しんぶん", "shinbun", 1000, null, "{}"));
+
+    // act
+    var sequences = dynamoDbTermSearch.search("sinb", "shinb", 10);
+
+    // assert
+    assertThat(sequences).containsExactly(1L);
+  }
+
+  @Test
+  void searchShouldReturnEmptyForUnmatchedPrefix() {
+    // arrange
+    termTable.putItem(TermItem.create(1L, "新", "しん", "shin", null, 0, "{}"));
+
+    // act
+    var sequences = dynamoDbTermSearch.search("猫", "猫", 10);
+
+    // assert
+    assertThat(sequences).isEmpty();
+  }
+}
@@ -9,7 +9,10 @@ import com.jordansimsmith.dynamodb.DynamoDbContainer;
 import com.jordansimsmith.dynamodb.DynamoDbUtils;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,7 +34,8 @@ public class FindBookmarksHandlerIntegrationTest {
   @BeforeAll
   static void setUpBeforeClass() {
     var factory = JapaneseDictionaryTestFactory.create(dynamoDbContainer.getEndpoint());
-    DynamoDbUtils.createTable(factory.dynamoDbClient(), factory.termTable());
+    // the bookmark schema declares gsi7, which pages through a user's bookmarks
+    DynamoDbUtils.createTable(factory.dynamoDbClient(), factory.bookmarkTable());
   }
 
   @BeforeEach
@@ -173,6 +177,24 @@ public class FindBookmarksHandlerIntegrationTest {
     assertThat(bookmark.glossaryRaw().get("content").asText()).isEqualTo("Shinbashi");
   }
 
+  @Test
+  void handleRequestShouldWriteStoredGlossaryVerbatimWhenIncludeTermIsSet() throws Exception {
+    // arrange
+    var glossaryRaw = "{ \"tag\": \"div\",  \"content\": [\"cat\", {\"tag\": \"br\"}] }";
+    termTable.putItem(TermItem.create(1467640L, "猫", "ねこ", "neko", 2500, 1, glossaryRaw));
+    bookmarkTable.putItem(BookmarkItem.create("alice", 1467640L, Instant.ofEpochSecond(500L)));
+
+    // act
+    var response = findBookmarksHandler.handleRequest(buildEvent("alice", "term"), null);
+
+    // assert
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.getBody()).contains("\"glossary_raw\":" + glossaryRaw);
+    var body = parseBody(response.getBody());
+    assertThat(body.bookmarks().get(0).glossaryRaw().get("content").get(0).asText())
+        .isEqualTo("cat");
+  }
+
   @Test
   void handleRequestShouldDropDanglingBookmarksWhenIncludeTermIsSet() throws Exception {
     // arrange
@@ -204,6 +226,105 @@ public class FindBookmarksHandlerIntegrationTest {
     assertThat(body.bookmarks()).isEmpty();
   }
 
+  @Test
+  void handleRequestShouldPageThroughBookmarksWithContinuations() throws Exception {
+    // arrange
+    for (var sequence = 1L; sequence <= 5L; sequence++) {
+      bookmarkTable.putItem(
+          BookmarkItem.create("alice", sequence, Instant.ofEpochSecond(100L * sequence)));
+    }
+    bookmarkTable.putItem(BookmarkItem.create("bob", 6L, Instant.ofEpochSecond(600L)));
+
+    // act
+    var sequences = new ArrayList<Long>();
+    var pages = 0;
+    String continuation = null;
+    do {
+      var params = new HashMap<String, String>();
+      params.put("limit", "2");
+      if (continuation != null) {
+        params.put("continuation", continuation);
+      }
+      var response =
+          findBookmarksHandler.handleRequest(buildEventWithQuery("alice", params), null);
+      assertThat(response.getStatusCode()).isEqualTo(200);
+      var body = parseBody(response.getBody());
+      assertThat(body.bookmarks().size()).isLessThanOrEqualTo(2);
+      body.bookmarks().forEach(bookmark -> sequences.add(bookmark.sequence()));
+      continuation = body.nextContinuation();
+      pages++;
+    } while (continuation != null);
+
+    // assert
+    assertThat(sequences).containsExactly(5L, 4L, 3L, 2L, 1L);
+    assertThat(pages).isGreaterThanOrEqualTo(3);
+  }
+
+  @Test
+  void handleRequestShouldOmitContinuationWhenEverythingFitsOnOnePage() throws Exception {
+    // arrange
+    bookmarkTable.putItem(BookmarkItem.create("alice", 1L, Instant.ofEpochSecond(100L)));
+    bookmarkTable.putItem(BookmarkItem.create("alice", 2L, Instant.ofEpochSecond(200L)));
+
+    // act
+    var response = findBookmarksHandler.handleRequest(buildEvent("alice", null), null);
+
+    // assert
+    var body = parseBody(response.getBody());
+    assertThat(body.bookmarks())
+        .extracting(FindBookmarksHandler.Bookmark::sequence)
+        .containsExactly(2L, 1L);
+    assertThat(body.nextContinuation()).isNull();
+  }
+
+  @Test
+  void handleRequestShouldHydrateEveryTermOnAPageSpanningSeveralBatches() throws Exception {
+    // arrange
+    for (var sequence = 1L; sequence <= 60L; sequence++) {
+      termTable.putItem(
+          TermItem.create(
+              sequence, "語" + sequence, "ご", "go", null, null, "{\"tag\":\"div\"}"));
+      bookmarkTable.putItem(BookmarkItem.create("alice", sequence, Instant.ofEpochSecond(500L)));
+    }
+
+    // act
+    var response =
+        findBookmarksHandler.handleRequest(
+            buildEventWithQuery("alice", Map.of("include", "term", "limit", "60")), null);
+
+    // assert
+    var body = parseBody(response.getBody());
+    assertThat(body.bookmarks()).hasSize(60);
+    for (var i = 0; i < 60; i++) {
+      var bookmark = body.bookmarks().get(i);
+      assertThat(bookmark.sequence()).isEqualTo(i + 1L);
+      assertThat(bookmark.expression()).isEqualTo("語" + (i + 1));
+    }
+  }
+
+  @Test
+  void handleRequestShouldRejectOutOfRangeLimit() throws Exception {
+    // arrange
+    var zero = buildEventWithQuery("alice", Map.of("limit", "0"));
+    var tooLarge = buildEventWithQuery("alice", Map.of("limit", "501"));
+    var notANumber = buildEventWithQuery("alice", Map.of("limit", "all"));
+
+    // act
+    var responses =
+        List.of(
+            findBookmarksHandler.handleRequest(zero, null),
+            findBookmarksHandler.handleRequest(tooLarge, null),
+            findBookmarksHandler.handleRequest(notANumber, null));
+
+    // assert
+    for (var response : responses) {
+      assertThat(response.getStatusCode()).isEqualTo(400);
+      var body =
+          objectMapper.readValue(response.getBody(), FindBookmarksHandler.ErrorResponse.class);
+      assertThat(body.message()).isEqualTo("limit parameter must be between 1 and 500");
+    }
+  }
+
   @Test
   void handleRequestShouldRejectUnknownIncludeValue() throws Exception {
     // arrange
@@ -227,13 +348,18 @@ public class FindBookmarksHandlerIntegrationTest {
   }
 
   private static APIGatewayV2HTTPEvent buildEvent(String user, String include) {
+    return buildEventWithQuery(user, include == null ? null : Map.of("include", include));
+  }
+
+  private static APIGatewayV2HTTPEvent buildEventWithQuery(
+      String user, Map<String, String> queryParams) {
     var authHeader =
         "Basic "
             + Base64.getEncoder()
                 .encodeToString((user + ":password").getBytes(StandardCharsets.UTF_8));
     var builder = APIGatewayV2HTTPEvent.builder().withHeaders(Map.of("Authorization", authHeader));
-    if (include != null) {
-      builder.withQueryStringParameters(Map.of("include", include));
+    if (queryParams != null) {
+      builder.withQueryStringParameters(queryParams);
     }
     return builder.build();
   }
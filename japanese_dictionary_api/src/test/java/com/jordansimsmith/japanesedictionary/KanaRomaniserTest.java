@@ -0,0 +1,48 @@
+package com.jordansimsmith.japanesedictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class KanaRomaniserTest {
+  private final KanaRomaniser romaniser = new KanaRomaniser();
+
+  @Test
+  void romaniseShouldUseModifiedHepburn() {
+    assertThat(romaniser.romanise("しんぶん")).isEqualTo("shinbun");
+    assertThat(romaniser.romanise("ちず")).isEqualTo("chizu");
+    assertThat(romaniser.romanise("ふつう")).isEqualTo("futsuu");
+  }
+
+  @Test
+  void romaniseShouldCombineYoon() {
+    assertThat(romaniser.romanise("きょう")).isEqualTo("kyou");
+    assertThat(romaniser.romanise("しゃしん")).isEqualTo("shashin");
+    assertThat(romaniser.romanise("ちゅうい")).isEqualTo("chuui");
+  }
+
+  @Test
+  void romaniseShouldDoubleConsonantsAfterSokuon() {
+    assertThat(romaniser.romanise("がっこう")).isEqualTo("gakkou");
+    assertThat(romaniser.romanise("まっちゃ")).isEqualTo("matcha");
+    assertThat(romaniser.romanise("いっしょ")).isEqualTo("issho");
+  }
+
+  @Test
+  void romaniseShouldConvertKatakanaAndLengthenVowels() {
+    assertThat(romaniser.romanise("コーヒー")).isEqualTo("koohii");
+    assertThat(romaniser.romanise("ラーメン")).isEqualTo("raamen");
+  }
+
+  @Test
+  void romaniseShouldPassThroughUnknownCharacters() {
+    assertThat(romaniser.romanise("CDを")).isEqualTo("CDo");
+  }
+
+  @Test
+  void moraCountShouldSkipSmallYaYuYo() {
+    assertThat(romaniser.moraCount("きょう")).isEqualTo(2);
+    assertThat(romaniser.moraCount("しんぶん")).isEqualTo(4);
+    assertThat(romaniser.moraCount("がっこう")).isEqualTo(4);
+  }
+}
@@ -0,0 +1,84 @@
+package com.jordansimsmith.japanesedictionary;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+// normalises a synthetic set of search-box queries with the single-pass and the chained
+// normaliser and reports time and bytes allocated per query; run with
+// bazel run //japanese_dictionary_api:romaji-normaliser-benchmark -- [queries] [iterations]
+public final class RomajiNormaliserBenchmark {
+  private static final String[] KUNREI = {"si", "ti", "tu", "hu", "zi", "sya", "tyo", "zyu"};
+  private static final int WARMUP_ITERATIONS = 20;
+
+  public static void main(String[] args) {
+    var queryCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    var iterations = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+    var queries = createQueries(queryCount, new Random(42));
+    var normaliser = new RomajiNormaliser();
+    var chainedNormaliser = new ChainedRomajiNormaliser();
+
+    measure("single-pass", queries, iterations, normaliser::normalise);
+    measure("chained", queries, iterations, chainedNormaliser::normalise);
+  }
+
+  private static void measure(
+      String name, List<String> queries, int iterations, UnaryOperator<String> normalise) {
+    long checksum = 0;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      checksum += run(queries, normalise);
+    }
+
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    var threadId = Thread.currentThread().threadId();
+    long totalNanos = 0;
+    long totalBytes = 0;
+    for (int i = 0; i < iterations; i++) {
+      var bytesBefore = threadBean.getThreadAllocatedBytes(threadId);
+      var start = System.nanoTime();
+      checksum += run(queries, normalise);
+      totalNanos += System.nanoTime() - start;
+      totalBytes += threadBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+    }
+
+    long operations = (long) iterations * queries.size();
+    System.out.printf(
+        "%s: %.1f ns/query, %d bytes allocated/query (checksum %d)%n",
+        name, totalNanos / (double) operations, totalBytes / operations, checksum);
+  }
+
+  private static long run(List<String> queries, UnaryOperator<String> normalise) {
+    long length = 0;
+    for (var query : queries) {
+      length += normalise.apply(query).length();
+    }
+    return length;
+  }
+
+  // prefixes of romanised readings, as typed: mostly Hepburn, some kunrei, macrons and capitals
+  private static List<String> createQueries(int count, Random random) {
+    var romaniser = new KanaRomaniser();
+    var queries = new ArrayList<String>(count);
+    while (queries.size() < count) {
+      var reading = new StringBuilder();
+      var kana = 2 + random.nextInt(4);
+      for (int i = 0; i < kana; i++) {
+        reading.append((char) ('あ' + random.nextInt('ん' - 'あ' + 1)));
+      }
+      var romaji = romaniser.romanise(reading.toString());
+      var query = romaji.substring(0, 1 + random.nextInt(romaji.length()));
+      switch (random.nextInt(10)) {
+        case 0 -> query = query + KUNREI[random.nextInt(KUNREI.length)];
+        case 1 -> query = query.replace("ou", "ō");
+        case 2 -> query = query.toUpperCase(Locale.ROOT);
+        default -> {}
+      }
+      queries.add(query);
+    }
+    return queries;
+  }
+}
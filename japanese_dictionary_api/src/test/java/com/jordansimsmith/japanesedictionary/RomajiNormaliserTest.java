@@ -2,10 +2,54 @@ package com.jordansimsmith.japanesedictionary;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 public class RomajiNormaliserTest {
+  // the characters the rewrite rules look at, plus a few they pass through
+  private static final String ALPHABET = "syztdhucaioj'ōôūûēāīSTŌ\u0304\u0302";
+
+  // real dictionary readings: long vowels, geminates, yoon, syllabic n before vowels and y, the
+  // kunrei-sensitive kana, and katakana loanwords with long vowel marks and small vowels
+  private static final String SAMPLE_READINGS =
+      """
+      とうきょう おおさか きょうと ほっかいどう しんぶん がっこう せんせい べんきょう しゅくだい
+      りょこう ちゅうごく じてんしゃ でんしゃ ひこうき くうこう ゆうびんきょく ぎんこう びょういん
+      としょかん えいがかん きっさてん しょくどう れいぞうこ せんたくき そうじき けいたいでんわ
+      こんにちは ありがとう すみません おはよう さようなら いただきます ごちそうさま はじめまして
+      よろしく おねがいします しつれいします だいじょうぶ ちょっと ずっと やっぱり いっしょ きっと
+      もっと さっき ちょうど じゅうぶん たいてい ほとんど ぜんぜん なかなか いろいろ だんだん
+      そろそろ ゆっくり はっきり すっかり びっくり がっかり にっぽん しゅっぱつ しゅっせき けっこん
+      じっけん ざっし きっぷ はっぴゃく ろっぴゃく さんびゃく いっぽん さんぼん ひゃっかてん
+      しゅうまつ しゅうかん じゅうしょ じょうず しょうがっこう ちゅうがっこう こうこう だいがくいん
+      きょうしつ きょうかしょ しょうせつ しょうじょ しょうねん じょせい だんせい おとうさん おかあさん
+      おにいさん おねえさん おじいさん おばあさん いもうと おとうと あかちゃん ともだち こいびと
+      ふうふ しんせき りゅうがくせい けんきゅう けいざい せいじ ぶんか れきし すうがく ぶつり
+      せいぶつ おんがく びじゅつ たいいく にほんご ちゅうごくご かんこくご ひらがな かたかな
+      はなぢ つづく みかづき ちぢむ こづつみ おこづかい つづき ちかぢか てづくり
+      げんいん きんえん はんのう ほんや きんようび こんや しんよう てんいん ぜんいん れんあい
+      たんい かんい まんいち げんえき ほんい しんや きんゆう はんえい せんよう ぐんよう
+      おおきい とおい とおる こおり おおい ほのお ちいさい せいかつ えいが けいけん ふうせん
+      くうき ゆうき すうじ つうやく ぎゅうにゅう きゅうきゅうしゃ しゅうり りゅう ぎゅうどん
+      まっちゃ こっち あっち どっち ぼっちゃん みっつ よっつ むっつ やっつ ここのつ いっさい
+      いっかい いったい いっぱい ざっと そっくり ぴったり ひっこし ちゅうしゃじょう じゅっぷん
+      ふじさん ふたつ ふゆ ふく しゃしん ちゃいろ じゃま じゅんび ちょきん しょっき ちゅうい
+      ひゃくえん みゃく びょうき ぴょんぴょん にゃあ りょうり ぎょうざ きょねん ひょうじゅん
+      コーヒー ラーメン テレビ パソコン コンピューター インターネット スマートフォン アメリカ
+      イギリス フランス ドイツ イタリア スペイン ロシア オーストラリア ニュージーランド カナダ
+      ブラジル メキシコ ヨーロッパ アジア アフリカ ホテル レストラン デパート スーパー コンビニ
+      タクシー バス トイレ シャワー ベッド テーブル ソファー カメラ ビデオ ゲーム アニメ マンガ
+      ケーキ チョコレート アイスクリーム ジュース ビール ワイン ウイスキー パン サラダ スープ
+      ステーキ ハンバーガー サンドイッチ ピザ スパゲッティ カレー チーズ バター ミルク ヨーグルト
+      フォーク ナイフ スプーン コップ カップ ボタン ポケット シャツ ズボン スカート ネクタイ
+      セーター コート ジャケット ハンカチ ヴァイオリン ウェブ フィルム ファイル ディスク
+      ティッシュ チェック シェア ジェット パーティー ミュージック デュエット ツアー クォーター
+      """;
+
   private final RomajiNormaliser normaliser = new RomajiNormaliser();
+  private final ChainedRomajiNormaliser chainedNormaliser = new ChainedRomajiNormaliser();
 
   @Test
   void normaliseShouldLowercaseInput() {
@@ -79,4 +123,91 @@ public class RomajiNormaliserTest {
   void normaliseShouldReturnNullForNullInput() {
     assertThat(normaliser.normalise(null)).isNull();
   }
+
+  @Test
+  void normaliseShouldMatchChainedRewritesForEveryShortInput() {
+    var mismatches = new ArrayList<String>();
+    var input = new char[4];
+    for (var length = 1; length <= input.length; length++) {
+      var combinations = (int) Math.pow(ALPHABET.length(), length);
+      for (var combination = 0; combination < combinations; combination++) {
+        var remaining = combination;
+        for (var i = 0; i < length; i++) {
+          input[i] = ALPHABET.charAt(remaining % ALPHABET.length());
+          remaining /= ALPHABET.length();
+        }
+        collectMismatch(new String(input, 0, length), mismatches);
+      }
+    }
+
+    assertThat(mismatches).isEmpty();
+  }
+
+  @Test
+  void normaliseShouldMatchChainedRewritesForRandomInput() {
+    var random = new Random(42);
+    var mismatches = new ArrayList<String>();
+    for (var n = 0; n < 100_000; n++) {
+      var input = new StringBuilder();
+      var length = 1 + random.nextInt(16);
+      for (var i = 0; i < length; i++) {
+        input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+      }
+      collectMismatch(input.toString(), mismatches);
+    }
+
+    assertThat(mismatches).isEmpty();
+  }
+
+  @Test
+  void normaliseShouldMatchChainedRewritesForRomanisedReadings() {
+    // every reading of up to three kana, as stored and as typed with long vowel marks
+    var kana = new ArrayList<String>();
+    for (var c = 'ぁ'; c <= 'ん'; c++) {
+      kana.add(String.valueOf(c));
+    }
+    kana.add("ー");
+    var readings = new ArrayList<>(kana);
+    for (var length = 2; length <= 3; length++) {
+      var shorter = List.copyOf(readings);
+      for (var reading : shorter) {
+        if (reading.length() == length - 1) {
+          for (var next : kana) {
+            readings.add(reading + next);
+          }
+        }
+      }
+    }
+    var romaniser = new KanaRomaniser();
+    var mismatches = new ArrayList<String>();
+    for (var reading : readings) {
+      var romaji = romaniser.romanise(reading);
+      collectMismatch(romaji, mismatches);
+      collectMismatch(romaji.replace("ou", "ō").replace("uu", "ū"), mismatches);
+    }
+
+    assertThat(mismatches).isEmpty();
+  }
+
+  @Test
+  void normaliseShouldMatchChainedRewritesForSampleDictionaryReadings() {
+    var romaniser = new KanaRomaniser();
+    var mismatches = new ArrayList<String>();
+    for (var reading : SAMPLE_READINGS.strip().split("\\s+")) {
+      var romaji = romaniser.romanise(reading);
+      collectMismatch(romaji, mismatches);
+      collectMismatch(romaji.replace("ou", "ō").replace("uu", "ū"), mismatches);
+      collectMismatch(romaji.replace("ou", "ô").replace("uu", "û").toUpperCase(), mismatches);
+    }
+
+    assertThat(mismatches).isEmpty();
+  }
+
+  private void collectMismatch(String input, List<String> mismatches) {
+    var expected = chainedNormaliser.normalise(input);
+    var actual = normaliser.normalise(input);
+    if (!expected.equals(actual)) {
+      mismatches.add("%s: expected %s but was %s".formatted(input, expected, actual));
+    }
+  }
 }
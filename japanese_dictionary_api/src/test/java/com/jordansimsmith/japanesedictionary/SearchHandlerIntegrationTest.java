@@ -6,6 +6,8 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jordansimsmith.dynamodb.DynamoDbContainer;
 import com.jordansimsmith.dynamodb.DynamoDbUtils;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.BeforeAll;
@@ -14,11 +16,13 @@ import org.junit.jupiter.api.Test;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
 
 @Testcontainers
 public class SearchHandlerIntegrationTest {
   private ObjectMapper objectMapper;
   private DynamoDbTable<TermItem> termTable;
+  private TermIndexStore termIndexStore;
 
   private SearchHandler searchHandler;
 
@@ -37,12 +41,14 @@ public class SearchHandlerIntegrationTest {
 
     objectMapper = factory.objectMapper();
     termTable = factory.termTable();
+    termIndexStore = factory.termIndexStore();
 
     DynamoDbUtils.reset(factory.dynamoDbClient());
 
-    searchHandler = new SearchHandler(factory);
-
+    // without a stored snapshot the handler searches the tiered GSIs
     seedFixtures();
+
+    searchHandler = new SearchHandler(factory);
   }
 
   private void seedFixtures() {
@@ -144,7 +150,7 @@ public class SearchHandlerIntegrationTest {
   }
 
   @Test
-  void handleRequestShouldFindKanjiPrefixOnGsi1() throws Exception {
+  void handleRequestShouldFindKanjiPrefixByExpression() throws Exception {
     var event = APIGatewayV2HTTPEvent.builder().withQueryStringParameters(Map.of("q", "新")).build();
 
     var response = searchHandler.handleRequest(event, null);
@@ -156,7 +162,7 @@ public class SearchHandlerIntegrationTest {
   }
 
   @Test
-  void handleRequestShouldFindKanaPrefixOnGsi2() throws Exception {
+  void handleRequestShouldFindKanaPrefixByReading() throws Exception {
     var event =
         APIGatewayV2HTTPEvent.builder().withQueryStringParameters(Map.of("q", "しん")).build();
 
@@ -169,7 +175,7 @@ public class SearchHandlerIntegrationTest {
   }
 
   @Test
-  void handleRequestShouldFindRomajiPrefixOnGsi3() throws Exception {
+  void handleRequestShouldFindRomajiPrefixByReadingRomaji() throws Exception {
     var event =
         APIGatewayV2HTTPEvent.builder().withQueryStringParameters(Map.of("q", "shin")).build();
 
@@ -182,7 +188,7 @@ public class SearchHandlerIntegrationTest {
   }
 
   @Test
-  void handleRequestShouldNormaliseKunreiRomajiBeforeMatchingGsi3() throws Exception {
+  void handleRequestShouldNormaliseKunreiRomajiBeforeMatchingReadingRomaji() throws Exception {
     var event =
         APIGatewayV2HTTPEvent.builder().withQueryStringParameters(Map.of("q", "sin")).build();
 
@@ -232,7 +238,7 @@ public class SearchHandlerIntegrationTest {
   }
 
   @Test
-  void handleRequestShouldDedupTermsReachableViaMultipleGsis() throws Exception {
+  void handleRequestShouldDedupTermsReachableViaMultipleKeys() throws Exception {
     var event =
         APIGatewayV2HTTPEvent.builder().withQueryStringParameters(Map.of("q", "しんぱ")).build();
 
@@ -276,6 +282,21 @@ public class SearchHandlerIntegrationTest {
     assertThat(result.glossaryRaw().get("path").asText()).isEqualTo("jitendex/graphics/heart.png");
   }
 
+  @Test
+  void handleRequestShouldWriteStoredGlossaryVerbatim() throws Exception {
+    var glossaryRaw = "{ \"tag\": \"div\",  \"content\": [\"cat\", {\"tag\": \"br\"}] }";
+    putItem(14L, "猫", "ねこ", "neko", 2500, 1, glossaryRaw);
+    var event = APIGatewayV2HTTPEvent.builder().withQueryStringParameters(Map.of("q", "猫")).build();
+
+    var response = searchHandler.handleRequest(event, null);
+    var body = objectMapper.readValue(response.getBody(), SearchHandler.SearchResponse.class);
+
+    assertThat(response.getBody()).contains("\"glossary_raw\":" + glossaryRaw);
+    assertThat(body.results()).hasSize(1);
+    assertThat(body.results().get(0).glossaryRaw().get("content").get(0).asText())
+        .isEqualTo("cat");
+  }
+
   @Test
   void handleRequestShouldReturnEmptyForUnmatchedPrefix() throws Exception {
     var event = APIGatewayV2HTTPEvent.builder().withQueryStringParameters(Map.of("q", "猫")).build();
@@ -285,4 +306,72 @@ public class SearchHandlerIntegrationTest {
 
     assertThat(body.results()).isEmpty();
   }
+
+  @Test
+  void handleRequestShouldSearchStoredSnapshotInsteadOfCorpus() throws Exception {
+    var snapshot =
+        TermIndex.build(
+            List.of(
+                new TermIndex.Term(2L, "新橋", "しんばし", "shinbashi", 18472),
+                new TermIndex.Term(7L, "新聞", "しんぶん", "shinbun", 1000)));
+    var snapshotFactory = JapaneseDictionaryTestFactory.create(dynamoDbContainer.getEndpoint());
+    snapshotFactory.termIndexStore().save(snapshot);
+    var snapshotHandler = new SearchHandler(snapshotFactory);
+    var event = APIGatewayV2HTTPEvent.builder().withQueryStringParameters(Map.of("q", "新")).build();
+
+    var response = snapshotHandler.handleRequest(event, null);
+    var body = objectMapper.readValue(response.getBody(), SearchHandler.SearchResponse.class);
+
+    assertThat(body.results())
+        .extracting(SearchHandler.SearchResult::sequence)
+        .containsExactly(7L, 2L);
+    assertThat(body.results().get(0).expression()).isEqualTo("新聞");
+  }
+
+  @Test
+  void handleRequestShouldSkipIndexedTermsMissingFromTheTable() throws Exception {
+    termIndexStore.save(termIndexStore.buildFromCorpus());
+    var snapshotHandler =
+        new SearchHandler(JapaneseDictionaryTestFactory.create(dynamoDbContainer.getEndpoint()));
+    termTable.deleteItem(
+        Key.builder()
+            .partitionValue(TermItem.formatPk(3L))
+            .sortValue(TermItem.formatSk(3L))
+            .build());
+    var event = APIGatewayV2HTTPEvent.builder().withQueryStringParameters(Map.of("q", "新")).build();
+
+    var response = snapshotHandler.handleRequest(event, null);
+    var body = objectMapper.readValue(response.getBody(), SearchHandler.SearchResponse.class);
+
+    assertThat(body.results())
+        .extracting(SearchHandler.SearchResult::sequence)
+        .containsExactly(1L, 7L, 11L, 6L, 2L);
+  }
+
+  @Test
+  void handleRequestShouldRankTheSameWithOrWithoutSnapshot() throws Exception {
+    var queries = List.of("新", "新し", "しん", "shin", "sin", "shinb", "しんぱ", "心", "猫");
+    var withoutSnapshot = new ArrayList<List<Long>>();
+    for (var q : queries) {
+      withoutSnapshot.add(search(searchHandler, q));
+    }
+
+    termIndexStore.save(termIndexStore.buildFromCorpus());
+    var snapshotHandler =
+        new SearchHandler(JapaneseDictionaryTestFactory.create(dynamoDbContainer.getEndpoint()));
+    var withSnapshot = new ArrayList<List<Long>>();
+    for (var q : queries) {
+      withSnapshot.add(search(snapshotHandler, q));
+    }
+
+    assertThat(withSnapshot).isEqualTo(withoutSnapshot);
+    assertThat(withoutSnapshot.get(2)).containsExactly(1L, 5L, 7L, 12L, 10L, 9L, 4L, 13L, 8L, 11L);
+  }
+
+  private List<Long> search(SearchHandler handler, String q) throws Exception {
+    var event = APIGatewayV2HTTPEvent.builder().withQueryStringParameters(Map.of("q", q)).build();
+    var response = handler.handleRequest(event, null);
+    var body = objectMapper.readValue(response.getBody(), SearchHandler.SearchResponse.class);
+    return body.results().stream().map(SearchHandler.SearchResult::sequence).toList();
+  }
 }
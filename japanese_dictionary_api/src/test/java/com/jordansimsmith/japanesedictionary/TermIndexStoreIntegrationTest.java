@@ -0,0 +1,134 @@
+package com.jordansimsmith.japanesedictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jordansimsmith.dynamodb.DynamoDbContainer;
+import com.jordansimsmith.dynamodb.DynamoDbUtils;
+import com.jordansimsmith.time.FakeClock;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+
+@Testcontainers
+public class TermIndexStoreIntegrationTest {
+  private FakeClock fakeClock;
+  private DynamoDbTable<TermItem> termTable;
+  private DynamoDbTable<TermIndexItem> termIndexTable;
+
+  private TermIndexStore termIndexStore;
+
+  @Container private static final DynamoDbContainer dynamoDbContainer = new DynamoDbContainer();
+
+  @BeforeAll
+  static void setUpBeforeClass() {
+    var factory = JapaneseDictionaryTestFactory.create(dynamoDbContainer.getEndpoint());
+    DynamoDbUtils.createTable(factory.dynamoDbClient(), factory.termTable());
+  }
+
+  @BeforeEach
+  void setUp() {
+    var factory = JapaneseDictionaryTestFactory.create(dynamoDbContainer.getEndpoint());
+
+    fakeClock = factory.fakeClock();
+    termTable = factory.termTable();
+    termIndexTable = factory.termIndexTable();
+
+    DynamoDbUtils.reset(factory.dynamoDbClient());
+
+    termIndexStore = factory.termIndexStore();
+  }
+
+  @Test
+  void loadShouldReturnNullWhenNoSnapshotExists() {
+    // act
+    var index = termIndexStore.load();
+
+    // assert
+    assertThat(index).isNull();
+  }
+
+  @Test
+  void saveShouldRoundTripThroughLoad() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochMilli(1_000L));
+    var index =
+        TermIndex.build(
+            List.of(
+                new TermIndex.Term(1L, "新", "しん", "shin", null),
+                new TermIndex.Term(7L, "新聞", "しんぶん", "shinbun", 1000)));
+
+    // act
+    var generation = termIndexStore.save(index);
+    var loaded = termIndexStore.load();
+
+    // assert
+    assertThat(generation).isEqualTo("1000");
+    assertThat(loaded).isNotNull();
+    assertThat(loaded.size()).isEqualTo(2);
+    assertThat(loaded.search("新", "新", 10)).containsExactly(1L, 7L);
+    var manifest =
+        termIndexTable.getItem(
+            Key.builder()
+                .partitionValue(TermIndexItem.formatManifestPk())
+                .sortValue(TermIndexItem.formatManifestSk())
+                .build());
+    assertThat(manifest.getGeneration()).isEqualTo("1000");
+    assertThat(manifest.getPreviousGeneration()).isNull();
+    assertThat(manifest.getChunkCount()).isEqualTo(1);
+    assertThat(manifest.getTermCount()).isEqualTo(2);
+  }
+
+  @Test
+  void saveShouldKeepThePreviousGenerationAndDeleteOlderOnes() {
+    // arrange
+    var index = TermIndex.build(List.of(new TermIndex.Term(1L, "新", "しん", "shin", null)));
+    fakeClock.setTime(Instant.ofEpochMilli(1_000L));
+    termIndexStore.save(index);
+    fakeClock.setTime(Instant.ofEpochMilli(2_000L));
+    termIndexStore.save(index);
+
+    // act
+    fakeClock.setTime(Instant.ofEpochMilli(3_000L));
+    termIndexStore.save(index);
+
+    // assert
+    assertThat(countChunks("1000")).isZero();
+    assertThat(countChunks("2000")).isEqualTo(1);
+    assertThat(countChunks("3000")).isEqualTo(1);
+    assertThat(termIndexStore.load()).isNotNull();
+  }
+
+  @Test
+  void buildFromCorpusShouldIndexTheSearchKeysOfEveryTerm() {
+    // arrange
+    termTable.putItem(TermItem.create(1L, "新", "しん", "shin", null, 0, "{}"));
+    termTable.putItem(TermItem.create(2L, "新橋", "しんばし", "shinbashi", 18472, 0, "{}"));
+    termTable.putItem(TermItem.create(7L, "新聞", "しんぶん", "shinbun", 1000, null, "{}"));
+
+    // act
+    var index = termIndexStore.buildFromCorpus();
+
+    // assert
+    assertThat(index.size()).isEqualTo(3);
+    assertThat(index.search("新", "新", 10)).containsExactly(1L, 7L, 2L);
+    assertThat(index.search("しんぶ", "しんぶ", 10)).containsExactly(7L);
+    assertThat(index.search("shinba", "shinba", 10)).containsExactly(2L);
+  }
+
+  private long countChunks(String generation) {
+    return termIndexTable
+        .query(
+            QueryConditional.keyEqualTo(
+                Key.builder().partitionValue(TermIndexItem.formatChunkPk(generation)).build()))
+        .items()
+        .stream()
+        .count();
+  }
+}
@@ -0,0 +1,93 @@
+package com.jordansimsmith.japanesedictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TermIndexTest {
+
+  private static final List<TermIndex.Term> TERMS =
+      List.of(
+          new TermIndex.Term(1L, "新", "しん", "shin", null),
+          new TermIndex.Term(2L, "新橋", "しんばし", "shinbashi", 18472),
+          new TermIndex.Term(3L, "新しい", "あたらしい", "atarashii", 200),
+          new TermIndex.Term(4L, "しんぱい", "しんぱい", "shinpai", 5000),
+          new TermIndex.Term(5L, "心", "しん", "shin", null),
+          new TermIndex.Term(7L, "新聞", "しんぶん", "shinbun", 1000));
+
+  @Test
+  void searchShouldMatchExpressionPrefixOrderedByFrequency() {
+    var index = TermIndex.build(TERMS);
+
+    assertThat(index.search("新し", "新し", 10)).containsExactly(3L);
+    assertThat(index.search("新", "新", 10)).containsExactly(1L, 3L, 7L, 2L);
+  }
+
+  @Test
+  void searchShouldMatchReadingAndRomajiPrefixes() {
+    var index = TermIndex.build(TERMS);
+
+    assertThat(index.search("しんぱ", "しんぱ", 10)).containsExactly(4L);
+    assertThat(index.search("shinb", "shinb", 10)).containsExactly(7L, 2L);
+  }
+
+  @Test
+  void searchShouldRankExactMatchesFirstWithUnrankedTermsOrderedBySequence() {
+    var index = TermIndex.build(TERMS);
+
+    assertThat(index.search("しん", "shin", 10)).containsExactly(1L, 5L, 7L, 4L, 2L);
+  }
+
+  @Test
+  void searchShouldCapResultsAtLimit() {
+    var index = TermIndex.build(TERMS);
+
+    assertThat(index.search("しん", "shin", 3)).containsExactly(1L, 5L, 7L);
+  }
+
+  @Test
+  void searchShouldReturnTopFrequencyAcrossManyKeys() {
+    var terms = new ArrayList<TermIndex.Term>();
+    for (var i = 0; i < 1000; i++) {
+      var romaji = "ka" + Integer.toString(i, 36);
+      terms.add(new TermIndex.Term(i, null, null, romaji, 1000 - i));
+    }
+    var index = TermIndex.build(terms);
+
+    assertThat(index.search("ka", "ka", 3)).containsExactly(999L, 998L, 997L);
+  }
+
+  @Test
+  void searchShouldReturnEmptyForUnmatchedPrefix() {
+    var index = TermIndex.build(TERMS);
+
+    assertThat(index.search("猫", "猫", 10)).isEmpty();
+    assertThat(TermIndex.build(List.of()).search("新", "shin", 10)).isEmpty();
+  }
+
+  @Test
+  void searchShouldDedupTermsWithTheSameSequence() {
+    var index =
+        TermIndex.build(
+            List.of(
+                new TermIndex.Term(1L, "新", "しん", "shin", 10),
+                new TermIndex.Term(1L, "新", "しん", "shin", 10)));
+
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.search("新", "shin", 10)).containsExactly(1L);
+  }
+
+  @Test
+  void serializeShouldRoundTripThroughDeserialize() {
+    var index = TermIndex.build(TERMS);
+
+    var snapshot = TermIndexStore.serialize(index);
+    var restored = TermIndexStore.deserialize(snapshot);
+
+    assertThat(restored.size()).isEqualTo(index.size());
+    assertThat(restored.search("しん", "shin", 10)).isEqualTo(index.search("しん", "shin", 10));
+    assertThat(restored.search("新", "新", 10)).isEqualTo(index.search("新", "新", 10));
+  }
+}
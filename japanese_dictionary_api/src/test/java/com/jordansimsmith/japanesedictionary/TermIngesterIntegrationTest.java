@@ -0,0 +1,187 @@
+package com.jordansimsmith.japanesedictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.jordansimsmith.dynamodb.DynamoDbContainer;
+import com.jordansimsmith.dynamodb.DynamoDbUtils;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+
+@Testcontainers
+public class TermIngesterIntegrationTest {
+  private static final String JITENDEX_TERM_BANK =
+      """
+      [
+        ["新聞", "しんぶん", "", "", 10, ["newspaper"], 7, ""],
+        ["新聞", "しんぶん", "", "", 5, ["newspaper (alt)"], 7, ""],
+        ["新", "しん", "", "", 0, ["new"], 1, ""],
+        ["ラーメン", "", "", "", 0, ["ramen"], 20, ""],
+        ["しんぶん", "", "", "", 0, ["redirect"], -1, ""]
+      ]
+      """;
+  private static final String JPDB_TERM_META_BANK =
+      """
+      [
+        ["新聞", "freq", {"reading": "しんぶん", "frequency": {"value": 1500}}],
+        ["新聞", "freq", {"reading": "しんぶん", "frequency": {"value": 1000}}],
+        ["ラーメン", "freq", {"value": 3000, "displayValue": "3000㋕"}]
+      ]
+      """;
+  private static final String KANJIUM_TERM_META_BANK =
+      """
+      [
+        ["新聞", "pitch", {"reading": "しんぶん", "pitches": [{"position": 9}, {"position": 0}]}],
+        ["新", "pitch", {"reading": "しん", "pitches": [{"position": 1}]}]
+      ]
+      """;
+
+  private DynamoDbTable<TermItem> termTable;
+  private DynamoDbTable<BookmarkItem> bookmarkTable;
+
+  private TermIngester termIngester;
+  private TermIngester.Sources sources;
+
+  @Container private static final DynamoDbContainer dynamoDbContainer = new DynamoDbContainer();
+
+  @TempDir private Path tempDir;
+
+  @BeforeAll
+  static void setUpBeforeClass() {
+    var factory = JapaneseDictionaryTestFactory.create(dynamoDbContainer.getEndpoint());
+    DynamoDbUtils.createTable(factory.dynamoDbClient(), factory.termTable());
+  }
+
+  @BeforeEach
+  void setUp() throws IOException {
+    var factory = JapaneseDictionaryTestFactory.create(dynamoDbContainer.getEndpoint());
+
+    termTable = factory.termTable();
+    bookmarkTable = factory.bookmarkTable();
+
+    DynamoDbUtils.reset(factory.dynamoDbClient());
+
+    termIngester = factory.termIngester();
+    sources =
+        new TermIngester.Sources(
+            zip("jitendex.zip", Map.of("term_bank_1.json", JITENDEX_TERM_BANK)),
+            zip("jpdb.zip", Map.of("term_meta_bank_1.json", JPDB_TERM_META_BANK)),
+            zip("kanjium.zip", Map.of("term_meta_bank_1.json", KANJIUM_TERM_META_BANK)));
+  }
+
+  @Test
+  void buildShouldJoinFrequencyAndPitchOntoTheBestEntryPerSequence() {
+    // act
+    var terms = termIngester.build(sources);
+
+    // assert
+    assertThat(terms.items())
+        .containsExactly(
+            TermItem.create(1L, "新", "しん", "shin", null, 1, "[\"new\"]"),
+            TermItem.create(7L, "新聞", "しんぶん", "shinbun", 1000, 0, "[\"newspaper\"]"),
+            TermItem.create(20L, "ラーメン", "ラーメン", "raamen", 3000, null, "[\"ramen\"]"));
+    assertThat(terms.withFrequency()).isEqualTo(2);
+    assertThat(terms.withPitch()).isEqualTo(2);
+  }
+
+  @Test
+  void applyShouldWriteEveryTermIntoAnEmptyTable() {
+    // arrange
+    var terms = termIngester.build(sources);
+
+    // act
+    var diff = termIngester.diff(terms.items());
+    termIngester.apply(diff);
+
+    // assert
+    assertThat(diff.added()).isEqualTo(3);
+    assertThat(diff.updated()).isZero();
+    assertThat(diff.unchanged()).isZero();
+    assertThat(diff.deletes()).isEmpty();
+    for (var item : terms.items()) {
+      assertThat(getTerm(item.getSequence())).isEqualTo(item);
+    }
+  }
+
+  @Test
+  void applyShouldOnlyRewriteChangedTermsAndDeleteDroppedOnes() {
+    // arrange
+    termTable.putItem(TermItem.create(1L, "新", "しん", "shin", null, 1, "[\"new\"]"));
+    termTable.putItem(TermItem.create(7L, "新聞", "しんぶん", "shinbun", 900, 0, "[\"newspaper\"]"));
+    termTable.putItem(TermItem.create(99L, "古", "ふる", "furu", null, null, "[\"old\"]"));
+    bookmarkTable.putItem(BookmarkItem.create("alice", 99L, Instant.ofEpochSecond(1_000)));
+    var terms = termIngester.build(sources);
+
+    // act
+    var diff = termIngester.diff(terms.items());
+    termIngester.apply(diff);
+
+    // assert
+    assertThat(diff.added()).isEqualTo(1);
+    assertThat(diff.updated()).isEqualTo(1);
+    assertThat(diff.unchanged()).isEqualTo(1);
+    assertThat(diff.puts())
+        .extracting(TermItem::getSequence)
+        .containsExactlyInAnyOrder(7L, 20L);
+    assertThat(diff.deletes()).hasSize(1);
+    assertThat(getTerm(7L).getFrequencyRank()).isEqualTo(1000);
+    assertThat(getTerm(20L)).isNotNull();
+    assertThat(getTerm(99L)).isNull();
+    var bookmark =
+        bookmarkTable.getItem(
+            Key.builder()
+                .partitionValue(BookmarkItem.formatPk("alice"))
+                .sortValue(BookmarkItem.formatSk(99L))
+                .build());
+    assertThat(bookmark).isNotNull();
+  }
+
+  @Test
+  void diffShouldReportNothingToWriteWhenTheTableIsCurrent() {
+    // arrange
+    var terms = termIngester.build(sources);
+    termIngester.apply(termIngester.diff(terms.items()));
+
+    // act
+    var diff = termIngester.diff(termIngester.build(sources).items());
+
+    // assert
+    assertThat(diff.puts()).isEmpty();
+    assertThat(diff.deletes()).isEmpty();
+    assertThat(diff.unchanged()).isEqualTo(3);
+  }
+
+  private TermItem getTerm(long sequence) {
+    return termTable.getItem(
+        Key.builder()
+            .partitionValue(TermItem.formatPk(sequence))
+            .sortValue(TermItem.formatSk(sequence))
+            .build());
+  }
+
+  private Path zip(String name, Map<String, String> banks) throws IOException {
+    var path = tempDir.resolve(name);
+    try (var out = new ZipOutputStream(Files.newOutputStream(path))) {
+      out.putNextEntry(new ZipEntry("index.json"));
+      out.write("{\"title\":\"test\"}".getBytes(StandardCharsets.UTF_8));
+      for (var bank : banks.entrySet()) {
+        out.putNextEntry(new ZipEntry(bank.getKey()));
+        out.write(bank.getValue().getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    return path;
+  }
+}
@@ -22,6 +22,29 @@ public class TermItemTest {
     assertThat(TermItem.formatGsi3sk("shinbashi")).isEqualTo("shinbashi");
   }
 
+  @Test
+  void formatTieredGsiKeysShouldPrefixIndexedValuesWithFrequencyTier() {
+    assertThat(TermItem.formatGsi4pk()).isEqualTo("EXPRESSION");
+    assertThat(TermItem.formatGsi4sk("新橋", 18472)).isEqualTo("04#新橋");
+    assertThat(TermItem.formatGsi5pk()).isEqualTo("READING");
+    assertThat(TermItem.formatGsi5sk("しんばし", 200)).isEqualTo("00#しんばし");
+    assertThat(TermItem.formatGsi6pk()).isEqualTo("ROMAJI");
+    assertThat(TermItem.formatGsi6sk("shin", null)).isEqualTo("10#shin");
+  }
+
+  @Test
+  void frequencyTierShouldDoubleInWidthAndPutUnrankedTermsLast() {
+    assertThat(TermItem.frequencyTier(0)).isZero();
+    assertThat(TermItem.frequencyTier(999)).isZero();
+    assertThat(TermItem.frequencyTier(1000)).isEqualTo(1);
+    assertThat(TermItem.frequencyTier(2999)).isEqualTo(1);
+    assertThat(TermItem.frequencyTier(3000)).isEqualTo(2);
+    assertThat(TermItem.frequencyTier(7999)).isEqualTo(3);
+    assertThat(TermItem.frequencyTier(8000)).isEqualTo(3);
+    assertThat(TermItem.frequencyTier(10_000_000)).isEqualTo(9);
+    assertThat(TermItem.frequencyTier(null)).isEqualTo(TermItem.UNRANKED_TIER);
+  }
+
   @Test
   void createShouldPopulateAllRequiredAttributes() {
     var item = TermItem.create(1316830L, "新橋", "しんばし", "shinbashi", 18472, 0, "{\"tag\":\"div\"}");
@@ -34,6 +57,12 @@ public class TermItemTest {
     assertThat(item.getGsi2sk()).isEqualTo("しんばし");
     assertThat(item.getGsi3pk()).isEqualTo("ROMAJI");
     assertThat(item.getGsi3sk()).isEqualTo("shinbashi");
+    assertThat(item.getGsi4pk()).isEqualTo("EXPRESSION");
+    assertThat(item.getGsi4sk()).isEqualTo("04#新橋");
+    assertThat(item.getGsi5pk()).isEqualTo("READING");
+    assertThat(item.getGsi5sk()).isEqualTo("04#しんばし");
+    assertThat(item.getGsi6pk()).isEqualTo("ROMAJI");
+    assertThat(item.getGsi6sk()).isEqualTo("04#shinbashi");
     assertThat(item.getSequence()).isEqualTo(1316830L);
     assertThat(item.getExpression()).isEqualTo("新橋");
     assertThat(item.getReading()).isEqualTo("しんばし");
@@ -33,6 +33,14 @@ dynamodb_client.create_table(
         {"AttributeName": "gsi2sk", "AttributeType": "S"},
         {"AttributeName": "gsi3pk", "AttributeType": "S"},
         {"AttributeName": "gsi3sk", "AttributeType": "S"},
+        {"AttributeName": "gsi4pk", "AttributeType": "S"},
+        {"AttributeName": "gsi4sk", "AttributeType": "S"},
+        {"AttributeName": "gsi5pk", "AttributeType": "S"},
+        {"AttributeName": "gsi5sk", "AttributeType": "S"},
+        {"AttributeName": "gsi6pk", "AttributeType": "S"},
+        {"AttributeName": "gsi6sk", "AttributeType": "S"},
+        {"AttributeName": "gsi7pk", "AttributeType": "S"},
+        {"AttributeName": "gsi7sk", "AttributeType": "S"},
     ],
     KeySchema=[
         {"AttributeName": "pk", "KeyType": "HASH"},
@@ -63,6 +71,41 @@ dynamodb_client.create_table(
             ],
             "Projection": gsi_projection,
         },
+        {
+            "IndexName": "gsi4",
+            "KeySchema": [
+                {"AttributeName": "gsi4pk", "KeyType": "HASH"},
+                {"AttributeName": "gsi4sk", "KeyType": "RANGE"},
+            ],
+            "Projection": gsi_projection,
+        },
+        {
+            "IndexName": "gsi5",
+            "KeySchema": [
+                {"AttributeName": "gsi5pk", "KeyType": "HASH"},
+                {"AttributeName": "gsi5sk", "KeyType": "RANGE"},
+            ],
+            "Projection": gsi_projection,
+        },
+        {
+            "IndexName": "gsi6",
+            "KeySchema": [
+                {"AttributeName": "gsi6pk", "KeyType": "HASH"},
+                {"AttributeName": "gsi6sk", "KeyType": "RANGE"},
+            ],
+            "Projection": gsi_projection,
+        },
+        {
+            "IndexName": "gsi7",
+            "KeySchema": [
+                {"AttributeName": "gsi7pk", "KeyType": "HASH"},
+                {"AttributeName": "gsi7sk", "KeyType": "RANGE"},
+            ],
+            "Projection": {
+                "ProjectionType": "INCLUDE",
+                "NonKeyAttributes": ["sequence", "created_at"],
+            },
+        },
     ],
     BillingMode="PAY_PER_REQUEST",
 )
@@ -78,6 +121,14 @@ while True:
     time.sleep(1)
 
 
+def frequency_tier(frequency_rank):
+    # mirrors TermItem.frequencyTier
+    if frequency_rank is None:
+        return 10
+    bucket = max(0, frequency_rank) // 1000 + 1
+    return min(bucket.bit_length() - 1, 9)
+
+
 def make_item(
     sequence,
     expression,
@@ -88,6 +139,7 @@ def make_item(
     glossary_raw,
 ):
     pk = f"TERM#{sequence}"
+    tier = frequency_tier(frequency_rank)
     item = {
         "pk": {"S": pk},
         "sk": {"S": pk},
@@ -97,6 +149,12 @@ def make_item(
         "gsi2sk": {"S": reading},
         "gsi3pk": {"S": "ROMAJI"},
         "gsi3sk": {"S": reading_romaji},
+        "gsi4pk": {"S": "EXPRESSION"},
+        "gsi4sk": {"S": f"{tier:02d}#{expression}"},
+        "gsi5pk": {"S": "READING"},
+        "gsi5sk": {"S": f"{tier:02d}#{reading}"},
+        "gsi6pk": {"S": "ROMAJI"},
+        "gsi6sk": {"S": f"{tier:02d}#{reading_romaji}"},
         "sequence": {"N": str(sequence)},
         "expression": {"S": expression},
         "reading": {"S": reading},
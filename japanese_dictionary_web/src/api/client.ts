@@ -44,6 +44,7 @@ export interface Bookmark {
 
 export interface BookmarksResponse {
   bookmarks: Bookmark[];
+  next_continuation: string | null;
 }
 
 export interface ApiClient {
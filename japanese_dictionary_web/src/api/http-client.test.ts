@@ -158,6 +158,47 @@ describe('http client', () => {
     expect(init.headers.Authorization).toBe(`Basic ${btoa('alice:pw')}`);
   });
 
+  it('follows next_continuation until the last bookmarks page', async () => {
+    setSession('alice', 'pw');
+    const bookmark = (sequence: number) => ({
+      sequence,
+      created_at: 1700000000,
+      expression: null,
+      reading: null,
+      reading_romaji: null,
+      frequency_rank: null,
+      pitch: null,
+      glossary_raw: null,
+    });
+    fetchSpy
+      .mockResolvedValueOnce({
+        ok: true,
+        json: async () => ({
+          bookmarks: [bookmark(1), bookmark(2)],
+          next_continuation: 'eyJwayI6e30',
+        }),
+      })
+      .mockResolvedValueOnce({
+        ok: true,
+        json: async () => ({
+          bookmarks: [bookmark(3)],
+          next_continuation: null,
+        }),
+      });
+
+    const client = createHttpClient();
+    const response = await client.findBookmarks();
+
+    expect(response).toEqual({ sequences: [1, 2, 3] });
+    expect(fetchSpy).toHaveBeenCalledTimes(2);
+    expect(fetchSpy.mock.calls[0][0]).toBe(
+      'https://api.japanese-dictionary.jordansimsmith.com/bookmarks',
+    );
+    expect(fetchSpy.mock.calls[1][0]).toBe(
+      'https://api.japanese-dictionary.jordansimsmith.com/bookmarks?continuation=eyJwayI6e30',
+    );
+  });
+
   it('issues PUT for createBookmark with the encoded sequence in the path', async () => {
     setSession('alice', 'pw');
     fetchSpy.mockResolvedValue({
@@ -43,9 +43,17 @@ export function createHttpClient(): ApiClient {
     },
 
     async findBookmarks(): Promise<{ sequences: number[] }> {
-      const response = await request('/bookmarks');
-      const data: BookmarksResponse = await response.json();
-      return { sequences: data.bookmarks.map((b) => b.sequence) };
+      const sequences: number[] = [];
+      let path = '/bookmarks';
+      for (;;) {
+        const response = await request(path);
+        const data: BookmarksResponse = await response.json();
+        sequences.push(...data.bookmarks.map((b) => b.sequence));
+        if (!data.next_continuation) {
+          return { sequences };
+        }
+        path = `/bookmarks?continuation=${encodeURIComponent(data.next_continuation)}`;
+      }
     },
 
     async createBookmark(sequence: number): Promise<void> {
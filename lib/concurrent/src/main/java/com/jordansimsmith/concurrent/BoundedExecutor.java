@@ -0,0 +1,60 @@
+package com.jordansimsmith.concurrent;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public class BoundedExecutor {
+
+  // a fixed set of virtual thread workers drains a shared queue, so at most maxConcurrency
+  // actions are in flight however many tasks are given. the first failing worker empties the
+  // queue so no worker takes a further task, and that failure is rethrown once the in-flight
+  // actions finish
+  public static <T> void forEach(
+      Collection<T> tasks, int maxConcurrency, Consumer<? super T> action) {
+    var pending = new ConcurrentLinkedQueue<T>(tasks);
+    var failure = new AtomicReference<Throwable>();
+    int workers = Math.min(maxConcurrency, pending.size());
+    if (workers <= 1) {
+      drain(pending, failure, action);
+      return;
+    }
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < workers; i++) {
+        executor.submit(() -> drain(pending, failure, action));
+      }
+    }
+
+    var cause = failure.get();
+    if (cause instanceof RuntimeException runtimeException) {
+      throw runtimeException;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    if (Thread.currentThread().isInterrupted()) {
+      throw new RuntimeException(new InterruptedException());
+    }
+  }
+
+  private static <T> void drain(
+      ConcurrentLinkedQueue<T> pending,
+      AtomicReference<Throwable> failure,
+      Consumer<? super T> action) {
+    T task;
+    while ((task = pending.poll()) != null) {
+      try {
+        action.accept(task);
+      } catch (RuntimeException | Error e) {
+        failure.compareAndSet(null, e);
+        pending.clear();
+        throw e;
+      }
+    }
+  }
+
+  private BoundedExecutor() {}
+}
@@ -0,0 +1,121 @@
+package com.jordansimsmith.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class BoundedExecutorTest {
+
+  @Test
+  void forEachShouldRunActionForEveryTask() {
+    // arrange
+    var tasks = IntStream.range(0, 50).boxed().toList();
+    var completed = new ConcurrentLinkedQueue<Integer>();
+
+    // act
+    BoundedExecutor.forEach(tasks, 4, completed::add);
+
+    // assert
+    assertThat(completed).containsExactlyInAnyOrderElementsOf(tasks);
+  }
+
+  @Test
+  void forEachShouldKeepAtMostMaxConcurrencyActionsInFlight() {
+    // arrange
+    var tasks = IntStream.range(0, 20).boxed().toList();
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+
+    // act
+    BoundedExecutor.forEach(
+        tasks,
+        3,
+        task -> {
+          maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+          try {
+            Thread.sleep(5);
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          } finally {
+            inFlight.decrementAndGet();
+          }
+        });
+
+    // assert
+    assertThat(maxInFlight.get()).isBetween(1, 3);
+  }
+
+  @Test
+  void forEachShouldRunTasksInOrderOnCallingThreadWhenMaxConcurrencyIsOne() {
+    // arrange
+    var tasks = List.of(1, 2, 3);
+    var completed = new ConcurrentLinkedQueue<Integer>();
+    var caller = Thread.currentThread();
+
+    // act
+    BoundedExecutor.forEach(
+        tasks,
+        1,
+        task -> {
+          assertThat(Thread.currentThread()).isSameAs(caller);
+          completed.add(task);
+        });
+
+    // assert
+    assertThat(completed).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  void forEachShouldRethrowFailureAndStopTakingTasks() {
+    // arrange
+    var tasks = IntStream.range(0, 100).boxed().toList();
+    var started = new AtomicInteger();
+
+    // act and assert
+    assertThatThrownBy(
+            () ->
+                BoundedExecutor.forEach(
+                    tasks,
+                    2,
+                    task -> {
+                      started.incrementAndGet();
+                      throw new IllegalStateException("task " + task + " failed");
+                    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("failed");
+    assertThat(started.get()).isLessThan(tasks.size());
+  }
+
+  @Test
+  void forEachShouldStopTakingTasksWhenALaterWorkerFails() {
+    // arrange
+    var tasks = IntStream.range(0, 200).boxed().toList();
+    var started = new AtomicInteger();
+
+    // act and assert
+    assertThatThrownBy(
+            () ->
+                BoundedExecutor.forEach(
+                    tasks,
+                    4,
+                    task -> {
+                      started.incrementAndGet();
+                      if (task == 1) {
+                        throw new IllegalStateException("task 1 failed");
+                      }
+                      try {
+                        Thread.sleep(task == 0 ? 200 : 5);
+                      } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                      }
+                    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("task 1 failed");
+    assertThat(started.get()).isLessThan(10);
+  }
+}
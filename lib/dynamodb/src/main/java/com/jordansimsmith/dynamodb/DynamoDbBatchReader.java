@@ -0,0 +1,147 @@
+package com.jordansimsmith.dynamodb;
+
+import com.jordansimsmith.concurrent.BoundedExecutor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+
+public class DynamoDbBatchReader {
+  public static final int MAX_BATCH_SIZE = 100;
+  static final int DEFAULT_MAX_CONCURRENT_BATCHES = 4;
+  static final int DEFAULT_MAX_ATTEMPTS = 8;
+  static final Duration DEFAULT_BASE_BACKOFF = Duration.ofMillis(50);
+  static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+
+  private final DynamoDbClient dynamoDbClient;
+  private final int maxConcurrentBatches;
+  private final int maxAttempts;
+  private final Duration baseBackoff;
+
+  public DynamoDbBatchReader(DynamoDbClient dynamoDbClient) {
+    this(
+        dynamoDbClient, DEFAULT_MAX_CONCURRENT_BATCHES, DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_BACKOFF);
+  }
+
+  DynamoDbBatchReader(
+      DynamoDbClient dynamoDbClient,
+      int maxConcurrentBatches,
+      int maxAttempts,
+      Duration baseBackoff) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.maxConcurrentBatches = maxConcurrentBatches;
+    this.maxAttempts = maxAttempts;
+    this.baseBackoff = baseBackoff;
+  }
+
+  // returns the items that exist for the given keys, in no particular order
+  public <T> List<T> getItems(DynamoDbTable<T> table, Collection<Key> keys) {
+    return getItems(table, keys, false);
+  }
+
+  public <T> List<T> getItems(
+      DynamoDbTable<T> table, Collection<Key> keys, boolean consistentRead) {
+    var schema = table.tableSchema();
+    var keyMaps = new ArrayList<Map<String, AttributeValue>>(keys.size());
+    for (var key : keys) {
+      keyMaps.add(key.keyMap(schema, TableMetadata.primaryIndexName()));
+    }
+
+    var items = new ArrayList<T>();
+    for (var item : read(table.tableName(), keyMaps, consistentRead)) {
+      items.add(schema.mapToItem(item));
+    }
+    return items;
+  }
+
+  public List<Map<String, AttributeValue>> read(
+      String tableName, List<Map<String, AttributeValue>> keys) {
+    return read(tableName, keys, false);
+  }
+
+  public List<Map<String, AttributeValue>> read(
+      String tableName, List<Map<String, AttributeValue>> keys, boolean consistentRead) {
+    // BatchGetItem rejects a request that names the same key twice
+    var distinctKeys = List.copyOf(new LinkedHashSet<>(keys));
+    if (distinctKeys.isEmpty()) {
+      return List.of();
+    }
+
+    var batches = new ArrayList<List<Map<String, AttributeValue>>>();
+    for (int i = 0; i < distinctKeys.size(); i += MAX_BATCH_SIZE) {
+      batches.add(distinctKeys.subList(i, Math.min(i + MAX_BATCH_SIZE, distinctKeys.size())));
+    }
+
+    var items = new ConcurrentLinkedQueue<Map<String, AttributeValue>>();
+    BoundedExecutor.forEach(
+        batches, maxConcurrentBatches, batch -> readBatch(tableName, consistentRead, batch, items));
+    return List.copyOf(items);
+  }
+
+  private void readBatch(
+      String tableName,
+      boolean consistentRead,
+      List<Map<String, AttributeValue>> batch,
+      ConcurrentLinkedQueue<Map<String, AttributeValue>> items) {
+    var pending = batch;
+    for (int attempt = 1; ; attempt++) {
+      var request =
+          BatchGetItemRequest.builder()
+              .requestItems(
+                  Map.of(
+                      tableName,
+                      KeysAndAttributes.builder()
+                          .keys(pending)
+                          .consistentRead(consistentRead)
+                          .build()))
+              .build();
+      var response = dynamoDbClient.batchGetItem(request);
+      if (response.hasResponses()) {
+        items.addAll(response.responses().getOrDefault(tableName, List.of()));
+      }
+      var unprocessed =
+          response.hasUnprocessedKeys() && response.unprocessedKeys().containsKey(tableName)
+              ? response.unprocessedKeys().get(tableName).keys()
+              : List.<Map<String, AttributeValue>>of();
+      if (unprocessed.isEmpty()) {
+        return;
+      }
+
+      if (attempt >= maxAttempts) {
+        throw new RuntimeException(
+            "failed to read "
+                + unprocessed.size()
+                + " unprocessed key(s) from "
+                + tableName
+                + " after "
+                + attempt
+                + " attempt(s)");
+      }
+
+      pending = unprocessed;
+      backoff(attempt);
+    }
+  }
+
+  // full jitter exponential backoff, as recommended for unprocessed keys
+  private void backoff(int attempt) {
+    var ceiling = Math.min(MAX_BACKOFF.toMillis(), baseBackoff.toMillis() << (attempt - 1));
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+}
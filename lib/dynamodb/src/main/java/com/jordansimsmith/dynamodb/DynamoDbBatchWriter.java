@@ -0,0 +1,113 @@
+package com.jordansimsmith.dynamodb;
+
+import com.jordansimsmith.concurrent.BoundedExecutor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+public class DynamoDbBatchWriter {
+  public static final int MAX_BATCH_SIZE = 25;
+  static final int DEFAULT_MAX_CONCURRENT_BATCHES = 4;
+  static final int DEFAULT_MAX_ATTEMPTS = 8;
+  static final Duration DEFAULT_BASE_BACKOFF = Duration.ofMillis(50);
+  static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+
+  private final DynamoDbClient dynamoDbClient;
+  private final int maxConcurrentBatches;
+  private final int maxAttempts;
+  private final Duration baseBackoff;
+
+  public DynamoDbBatchWriter(DynamoDbClient dynamoDbClient) {
+    this(
+        dynamoDbClient, DEFAULT_MAX_CONCURRENT_BATCHES, DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_BACKOFF);
+  }
+
+  public DynamoDbBatchWriter(DynamoDbClient dynamoDbClient, int maxConcurrentBatches) {
+    this(dynamoDbClient, maxConcurrentBatches, DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_BACKOFF);
+  }
+
+  DynamoDbBatchWriter(
+      DynamoDbClient dynamoDbClient,
+      int maxConcurrentBatches,
+      int maxAttempts,
+      Duration baseBackoff) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.maxConcurrentBatches = maxConcurrentBatches;
+    this.maxAttempts = maxAttempts;
+    this.baseBackoff = baseBackoff;
+  }
+
+  public <T> void putItems(DynamoDbTable<T> table, Collection<T> items) {
+    var schema = table.tableSchema();
+    var writeRequests = new ArrayList<WriteRequest>(items.size());
+    for (var item : items) {
+      writeRequests.add(
+          WriteRequest.builder()
+              .putRequest(PutRequest.builder().item(schema.itemToMap(item, true)).build())
+              .build());
+    }
+    write(table.tableName(), writeRequests);
+  }
+
+  public void write(String tableName, List<WriteRequest> writeRequests) {
+    if (writeRequests.isEmpty()) {
+      return;
+    }
+
+    var batches = new ArrayList<List<WriteRequest>>();
+    for (int i = 0; i < writeRequests.size(); i += MAX_BATCH_SIZE) {
+      batches.add(writeRequests.subList(i, Math.min(i + MAX_BATCH_SIZE, writeRequests.size())));
+    }
+
+    BoundedExecutor.forEach(batches, maxConcurrentBatches, batch -> writeBatch(tableName, batch));
+  }
+
+  private void writeBatch(String tableName, List<WriteRequest> batch) {
+    var pending = batch;
+    for (int attempt = 1; ; attempt++) {
+      var request =
+          BatchWriteItemRequest.builder().requestItems(Map.of(tableName, pending)).build();
+      var response = dynamoDbClient.batchWriteItem(request);
+      var unprocessed =
+          response.hasUnprocessedItems()
+              ? response.unprocessedItems().getOrDefault(tableName, List.of())
+              : List.<WriteRequest>of();
+      if (unprocessed.isEmpty()) {
+        return;
+      }
+
+      if (attempt >= maxAttempts) {
+        throw new RuntimeException(
+            "failed to write "
+                + unprocessed.size()
+                + " unprocessed item(s) to "
+                + tableName
+                + " after "
+                + attempt
+                + " attempt(s)");
+      }
+
+      pending = unprocessed;
+      backoff(attempt);
+    }
+  }
+
+  // full jitter exponential backoff, as recommended for unprocessed items
+  private void backoff(int attempt) {
+    var ceiling = Math.min(MAX_BACKOFF.toMillis(), baseBackoff.toMillis() << (attempt - 1));
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+}
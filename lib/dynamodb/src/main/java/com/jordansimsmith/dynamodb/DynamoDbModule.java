@@ -29,4 +29,16 @@ public class DynamoDbModule {
   DynamoDbEnhancedClient dynamoDbEnhancedClient(DynamoDbClient dynamoDbClient) {
     return DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build();
   }
+
+  @Provides
+  @Singleton
+  DynamoDbBatchWriter dynamoDbBatchWriter(DynamoDbClient dynamoDbClient) {
+    return new DynamoDbBatchWriter(dynamoDbClient);
+  }
+
+  @Provides
+  @Singleton
+  DynamoDbBatchReader dynamoDbBatchReader(DynamoDbClient dynamoDbClient) {
+    return new DynamoDbBatchReader(dynamoDbClient);
+  }
 }
@@ -0,0 +1,166 @@
+package com.jordansimsmith.dynamodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+
+public class DynamoDbBatchReaderTest {
+  private DynamoDbClient dynamoDbClient;
+  private List<BatchGetItemRequest> requests;
+
+  @BeforeEach
+  void setUp() {
+    dynamoDbClient = mock(DynamoDbClient.class);
+    requests = new ArrayList<>();
+  }
+
+  @Test
+  void readShouldPackDistinctKeysIntoBatchesOfOneHundred() {
+    // arrange
+    when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              BatchGetItemRequest request = invocation.getArgument(0);
+              synchronized (requests) {
+                requests.add(request);
+              }
+              return BatchGetItemResponse.builder()
+                  .responses(Map.of("table", request.requestItems().get("table").keys()))
+                  .build();
+            });
+    var reader = new DynamoDbBatchReader(dynamoDbClient, 4, 3, Duration.ofMillis(1));
+    var keys = new ArrayList<>(createKeys(250));
+    keys.addAll(createKeys(10));
+
+    // act
+    var items = reader.read("table", keys);
+
+    // assert
+    assertThat(requests).hasSize(3);
+    assertThat(requests)
+        .extracting(r -> r.requestItems().get("table").keys().size())
+        .containsExactlyInAnyOrder(100, 100, 50);
+    assertThat(items).containsExactlyInAnyOrderElementsOf(createKeys(250));
+  }
+
+  @Test
+  void readShouldRetryUnprocessedKeys() {
+    // arrange
+    var keys = createKeys(3);
+    var calls = new AtomicInteger();
+    when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              BatchGetItemRequest request = invocation.getArgument(0);
+              requests.add(request);
+              if (calls.getAndIncrement() == 0) {
+                return BatchGetItemResponse.builder()
+                    .responses(Map.of("table", keys.subList(0, 1)))
+                    .unprocessedKeys(
+                        Map.of(
+                            "table", KeysAndAttributes.builder().keys(keys.subList(1, 3)).build()))
+                    .build();
+              }
+              return BatchGetItemResponse.builder()
+                  .responses(Map.of("table", request.requestItems().get("table").keys()))
+                  .build();
+            });
+    var reader = new DynamoDbBatchReader(dynamoDbClient, 4, 3, Duration.ofMillis(1));
+
+    // act
+    var items = reader.read("table", keys);
+
+    // assert
+    assertThat(requests).hasSize(2);
+    assertThat(requests.get(1).requestItems().get("table").keys())
+        .containsExactlyElementsOf(keys.subList(1, 3));
+    assertThat(items).containsExactlyInAnyOrderElementsOf(keys);
+  }
+
+  @Test
+  void readShouldRequestConsistentReadsOnEveryAttempt() {
+    // arrange
+    var keys = createKeys(3);
+    var calls = new AtomicInteger();
+    when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              BatchGetItemRequest request = invocation.getArgument(0);
+              requests.add(request);
+              if (calls.getAndIncrement() == 0) {
+                return BatchGetItemResponse.builder()
+                    .unprocessedKeys(
+                        Map.of("table", KeysAndAttributes.builder().keys(keys).build()))
+                    .build();
+              }
+              return BatchGetItemResponse.builder()
+                  .responses(Map.of("table", request.requestItems().get("table").keys()))
+                  .build();
+            });
+    var reader = new DynamoDbBatchReader(dynamoDbClient, 4, 3, Duration.ofMillis(1));
+
+    // act
+    var items = reader.read("table", keys, true);
+
+    // assert
+    assertThat(requests).hasSize(2);
+    assertThat(requests).allMatch(request -> request.requestItems().get("table").consistentRead());
+    assertThat(items).containsExactlyInAnyOrderElementsOf(keys);
+  }
+
+  @Test
+  void readShouldThrowWhenKeysRemainUnprocessedAfterMaxAttempts() {
+    // arrange
+    var keys = createKeys(2);
+    when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenReturn(
+            BatchGetItemResponse.builder()
+                .unprocessedKeys(Map.of("table", KeysAndAttributes.builder().keys(keys).build()))
+                .build());
+    var reader = new DynamoDbBatchReader(dynamoDbClient, 4, 3, Duration.ofMillis(1));
+
+    // act & assert
+    assertThatThrownBy(() -> reader.read("table", keys))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("2 unprocessed key(s)")
+        .hasMessageContaining("after 3 attempt(s)");
+  }
+
+  @Test
+  void readShouldNotCallDynamoDbForNoKeys() {
+    // arrange
+    var reader = new DynamoDbBatchReader(dynamoDbClient);
+
+    // act
+    var items = reader.read("table", List.of());
+
+    // assert
+    assertThat(items).isEmpty();
+    verify(dynamoDbClient, never()).batchGetItem(any(BatchGetItemRequest.class));
+  }
+
+  private List<Map<String, AttributeValue>> createKeys(int count) {
+    var keys = new ArrayList<Map<String, AttributeValue>>();
+    for (int i = 0; i < count; i++) {
+      keys.add(Map.of("pk", AttributeValue.builder().s("ITEM#" + i).build()));
+    }
+    return keys;
+  }
+}
@@ -0,0 +1,125 @@
+package com.jordansimsmith.dynamodb;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+public class DynamoDbBatchWriterTest {
+  private DynamoDbClient dynamoDbClient;
+  private List<BatchWriteItemRequest> requests;
+
+  @BeforeEach
+  void setUp() {
+    dynamoDbClient = mock(DynamoDbClient.class);
+    requests = new ArrayList<>();
+  }
+
+  @Test
+  void writeShouldPackItemsIntoBatchesOfTwentyFive() {
+    // arrange
+    when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              synchronized (requests) {
+                requests.add(invocation.getArgument(0));
+              }
+              return BatchWriteItemResponse.builder().build();
+            });
+    var writer = new DynamoDbBatchWriter(dynamoDbClient, 4, 3, Duration.ofMillis(1));
+
+    // act
+    writer.write("table", createWriteRequests(60));
+
+    // assert
+    assertThat(requests).hasSize(3);
+    assertThat(requests)
+        .extracting(r -> r.requestItems().get("table").size())
+        .containsExactlyInAnyOrder(25, 25, 10);
+  }
+
+  @Test
+  void writeShouldRetryUnprocessedItems() {
+    // arrange
+    var writeRequests = createWriteRequests(3);
+    var calls = new AtomicInteger();
+    when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              BatchWriteItemRequest request = invocation.getArgument(0);
+              requests.add(request);
+              if (calls.getAndIncrement() == 0) {
+                return BatchWriteItemResponse.builder()
+                    .unprocessedItems(Map.of("table", writeRequests.subList(1, 3)))
+                    .build();
+              }
+              return BatchWriteItemResponse.builder().build();
+            });
+    var writer = new DynamoDbBatchWriter(dynamoDbClient, 4, 3, Duration.ofMillis(1));
+
+    // act
+    writer.write("table", writeRequests);
+
+    // assert
+    assertThat(requests).hasSize(2);
+    assertThat(requests.get(1).requestItems().get("table"))
+        .containsExactlyElementsOf(writeRequests.subList(1, 3));
+  }
+
+  @Test
+  void writeShouldThrowWhenItemsRemainUnprocessedAfterMaxAttempts() {
+    // arrange
+    var writeRequests = createWriteRequests(2);
+    when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+        .thenReturn(
+            BatchWriteItemResponse.builder()
+                .unprocessedItems(Map.of("table", writeRequests))
+                .build());
+    var writer = new DynamoDbBatchWriter(dynamoDbClient, 4, 3, Duration.ofMillis(1));
+
+    // act & assert
+    assertThatThrownBy(() -> writer.write("table", writeRequests))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("2 unprocessed item(s)")
+        .hasMessageContaining("after 3 attempt(s)");
+  }
+
+  @Test
+  void writeShouldNotCallDynamoDbForNoItems() {
+    // arrange
+    var writer = new DynamoDbBatchWriter(dynamoDbClient);
+
+    // act
+    writer.write("table", List.of());
+
+    // assert
+    verify(dynamoDbClient, never()).batchWriteItem(any(BatchWriteItemRequest.class));
+  }
+
+  private List<WriteRequest> createWriteRequests(int count) {
+    var writeRequests = new ArrayList<WriteRequest>();
+    for (int i = 0; i < count; i++) {
+      var item = Map.of("pk", AttributeValue.builder().s("ITEM#" + i).build());
+      writeRequests.add(
+          WriteRequest.builder().putRequest(PutRequest.builder().item(item).build()).build());
+    }
+    return writeRequests;
+  }
+}
@@ -21,4 +21,16 @@ public class DynamoDbTestModule {
   DynamoDbEnhancedClient dynamoDbEnhancedClient(DynamoDbClient dynamoDbClient) {
     return DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build();
   }
+
+  @Provides
+  @Singleton
+  DynamoDbBatchWriter dynamoDbBatchWriter(DynamoDbClient dynamoDbClient) {
+    return new DynamoDbBatchWriter(dynamoDbClient);
+  }
+
+  @Provides
+  @Singleton
+  DynamoDbBatchReader dynamoDbBatchReader(DynamoDbClient dynamoDbClient) {
+    return new DynamoDbBatchReader(dynamoDbClient);
+  }
 }
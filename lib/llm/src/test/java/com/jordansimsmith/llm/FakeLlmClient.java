@@ -11,26 +11,26 @@ public class FakeLlmClient implements LlmClient {
   private final List<LlmRequest> requests = new ArrayList<>();
 
   @Override
-  public LlmResponse complete(LlmRequest request) {
+  public synchronized LlmResponse complete(LlmRequest request) {
     requests.add(request);
     var response = responses.poll();
     Verify.verifyNotNull(response, "no queued llm response");
     return response;
   }
 
-  public void addResponse(LlmResponse response) {
+  public synchronized void addResponse(LlmResponse response) {
     responses.add(response);
   }
 
-  public void addResponse(String content) {
+  public synchronized void addResponse(String content) {
     responses.add(new LlmResponse(content, 0, 0));
   }
 
-  public List<LlmRequest> findRequests() {
+  public synchronized List<LlmRequest> findRequests() {
     return List.copyOf(requests);
   }
 
-  public void reset() {
+  public synchronized void reset() {
     responses.clear();
     requests.clear();
   }
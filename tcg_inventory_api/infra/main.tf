@@ -216,6 +216,16 @@ resource "aws_dynamodb_table" "tcg_inventory" {
     type = "S"
   }
 
+  attribute {
+    name = "gsi3pk"
+    type = "S"
+  }
+
+  attribute {
+    name = "gsi3sk"
+    type = "S"
+  }
+
   global_secondary_index {
     name            = "gsi1"
     hash_key        = "gsi1pk"
@@ -230,6 +240,19 @@ resource "aws_dynamodb_table" "tcg_inventory" {
     projection_type = "ALL"
   }
 
+  global_secondary_index {
+    name               = "gsi3"
+    hash_key           = "gsi3pk"
+    range_key          = "gsi3sk"
+    projection_type    = "INCLUDE"
+    non_key_attributes = ["sequence_number"]
+  }
+
+  ttl {
+    attribute_name = "ttl"
+    enabled        = true
+  }
+
   point_in_time_recovery {
     enabled = true
   }
@@ -0,0 +1,180 @@
+#!/usr/bin/env python3
+
+import os
+import sys
+import boto3
+from boto3.dynamodb.conditions import Attr, Key
+from botocore.exceptions import ClientError
+
+
+DYNAMODB_TABLE_NAME = "tcg_inventory"
+SKU_SK = "SKU"
+UNIT_PREFIX = "UNIT#"
+IN_STOCK_SUFFIX = "#IN_STOCK"
+COUNTED_STATUSES = ("in_stock", "reserved", "sold")
+
+
+def query_units(table, pk):
+    kwargs = {
+        "KeyConditionExpression": Key("pk").eq(pk)
+        & Key("sk").begins_with(UNIT_PREFIX),
+        "ConsistentRead": True,
+    }
+    response = table.query(**kwargs)
+    units = response["Items"]
+    while "LastEvaluatedKey" in response:
+        response = table.query(
+            ExclusiveStartKey=response["LastEvaluatedKey"], **kwargs
+        )
+        units.extend(response["Items"])
+    return units
+
+
+def sync_unit_index_keys(table, pk, units, dry_run):
+    # only in-stock units carry gsi3 keys, which makes the in-stock index sparse
+    changed = 0
+    for unit in units:
+        in_stock = unit.get("status") == "in_stock"
+        has_keys = "gsi3pk" in unit
+        if in_stock == has_keys:
+            continue
+        changed += 1
+        if dry_run:
+            continue
+        if in_stock:
+            table.update_item(
+                Key={"pk": pk, "sk": unit["sk"]},
+                UpdateExpression="SET gsi3pk = :gsi3pk, gsi3sk = :gsi3sk",
+                ConditionExpression="#status = :inStock",
+                ExpressionAttributeNames={"#status": "status"},
+                ExpressionAttributeValues={
+                    ":gsi3pk": pk + IN_STOCK_SUFFIX,
+                    ":gsi3sk": unit["sk"],
+                    ":inStock": "in_stock",
+                },
+            )
+        else:
+            table.update_item(
+                Key={"pk": pk, "sk": unit["sk"]},
+                UpdateExpression="REMOVE gsi3pk, gsi3sk",
+                ConditionExpression="#status <> :inStock",
+                ExpressionAttributeNames={"#status": "status"},
+                ExpressionAttributeValues={":inStock": "in_stock"},
+            )
+    return changed
+
+
+def main():
+    dry_run = "--execute" not in sys.argv
+    if dry_run:
+        print("DRY RUN mode - use --execute to write to DynamoDB\n")
+
+    aws_access_key_id = os.environ["AWS_ACCESS_KEY_ID"]
+    aws_secret_access_key = os.environ["AWS_SECRET_ACCESS_KEY"]
+
+    dynamodb = boto3.resource(
+        "dynamodb",
+        region_name="ap-southeast-2",
+        aws_access_key_id=aws_access_key_id,
+        aws_secret_access_key=aws_secret_access_key,
+    )
+    table = dynamodb.Table(DYNAMODB_TABLE_NAME)
+
+    print(f"Scanning {DYNAMODB_TABLE_NAME} for SKU items...")
+    response = table.scan(FilterExpression=Attr("sk").eq(SKU_SK))
+    sku_items = response["Items"]
+    while "LastEvaluatedKey" in response:
+        response = table.scan(
+            FilterExpression=Attr("sk").eq(SKU_SK),
+            ExclusiveStartKey=response["LastEvaluatedKey"],
+        )
+        sku_items.extend(response["Items"])
+    print(f"Found {len(sku_items)} SKU items\n")
+
+    stats = {
+        "updated": 0,
+        "already_correct": 0,
+        "index_keys": 0,
+        "conflicts": 0,
+        "errored": 0,
+    }
+
+    for sku in sku_items:
+        pk = sku["pk"]
+        descriptor = sku.get("sku_id") or pk
+
+        try:
+            # read the version before the units: a mutation committing after this
+            # read bumps the version and fails the conditional write below
+            current = table.get_item(
+                Key={"pk": pk, "sk": SKU_SK}, ConsistentRead=True
+            ).get("Item")
+            if current is None:
+                continue
+            version = current.get("version")
+
+            units = query_units(table, pk)
+            counts = {status: 0 for status in COUNTED_STATUSES}
+            for unit in units:
+                if unit.get("status") in counts:
+                    counts[unit["status"]] += 1
+
+            stats["index_keys"] += sync_unit_index_keys(table, pk, units, dry_run)
+
+            # the marker tells readers the counters and gsi3 keys can be trusted;
+            # counters on an unmarked SKU may have drifted from unseeded ADDs
+            if (
+                current.get("counters_initialized") is True
+                and current.get("in_stock_count") == counts["in_stock"]
+                and current.get("reserved_count") == counts["reserved"]
+                and current.get("sold_count") == counts["sold"]
+            ):
+                stats["already_correct"] += 1
+                continue
+
+            if dry_run:
+                print(f"[DRY RUN] Would set counts {counts} for {descriptor}")
+            else:
+                table.update_item(
+                    Key={"pk": pk, "sk": SKU_SK},
+                    UpdateExpression=(
+                        "SET in_stock_count = :inStock, "
+                        "reserved_count = :reserved, "
+                        "sold_count = :sold, "
+                        "counters_initialized = :initialized"
+                    ),
+                    ConditionExpression=(
+                        Attr("version").eq(version)
+                        if version is not None
+                        else Attr("version").not_exists()
+                    ),
+                    ExpressionAttributeValues={
+                        ":inStock": counts["in_stock"],
+                        ":reserved": counts["reserved"],
+                        ":sold": counts["sold"],
+                        ":initialized": True,
+                    },
+                )
+                print(f"[UPDATE] Set counts {counts} for {descriptor}")
+
+            stats["updated"] += 1
+        except ClientError as exc:
+            if exc.response["Error"]["Code"] == "ConditionalCheckFailedException":
+                stats["conflicts"] += 1
+                print(f"[CONFLICT] {descriptor} changed during backfill, rerun it")
+                continue
+            stats["errored"] += 1
+            print(f"[ERROR] Failed to backfill {descriptor}: {exc}")
+
+    action = "Would update" if dry_run else "Updated"
+    print(
+        f"\n{action} {stats['updated']} SKUs "
+        f"({stats['already_correct']} already correct, "
+        f"{stats['index_keys']} unit index keys synced, "
+        f"{stats['conflicts']} conflicts, "
+        f"{stats['errored']} errors)"
+    )
+
+
+if __name__ == "__main__":
+    main()
@@ -1,33 +1,55 @@
 package com.jordansimsmith.tcginventory;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jordansimsmith.dynamodb.DynamoDbBatchWriter;
 import com.jordansimsmith.time.Clock;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 
 class AppraiseJobProcessor {
   static final int BATCH_SIZE = 100;
+  static final Duration CARD_RESOLUTION_TTL = Duration.ofDays(3);
+  static final Duration CARD_LISTINGS_TTL = Duration.ofHours(1);
 
   private final DynamoDbTable<TcgInventoryItem> tcgInventoryTable;
+  private final DynamoDbBatchWriter dynamoDbBatchWriter;
   private final Clock clock;
   private final FetchTcgClient fetchTcgClient;
+  private final ObjectMapper objectMapper;
   private final PricingPolicy pricingPolicy;
 
   AppraiseJobProcessor(
       DynamoDbTable<TcgInventoryItem> tcgInventoryTable,
+      DynamoDbBatchWriter dynamoDbBatchWriter,
       Clock clock,
-      FetchTcgClient fetchTcgClient) {
+      FetchTcgClient fetchTcgClient,
+      ObjectMapper objectMapper) {
     this.tcgInventoryTable = tcgInventoryTable;
+    this.dynamoDbBatchWriter = dynamoDbBatchWriter;
     this.clock = clock;
     this.fetchTcgClient = fetchTcgClient;
+    this.objectMapper = objectMapper;
     this.pricingPolicy = new PricingPolicy();
   }
 
@@ -44,34 +66,50 @@ class AppraiseJobProcessor {
     var totalRows = importItem.getRowCount() != null ? importItem.getRowCount() : 0;
 
     int batchEnd = Math.min(continuation + BATCH_SIZE, totalRows);
-    int processed = continuation;
-
-    Map<String, ResolvedCard> batchCache = new HashMap<>();
-
-    for (int i = continuation + 1; i <= batchEnd; i++) {
-      var rowKey =
-          Key.builder()
-              .partitionValue(TcgInventoryItem.formatImportRowPk(user, importId))
-              .sortValue(TcgInventoryItem.formatImportRowSk(i))
-              .build();
-      var rowItem = tcgInventoryTable.getItem(rowKey);
-      if (rowItem == null || rowItem.getDecision() != null) {
-        processed = i;
-        continue;
+
+    var pendingRows =
+        queryRows(user, importId, continuation + 1, batchEnd).stream()
+            .filter(row -> row.getDecision() == null)
+            .toList();
+
+    // rows appraise concurrently; the FetchTCG client's rate limiter and
+    // in-flight cap bound upstream traffic, so each row gets its own thread
+    var batchCache = new BatchCache();
+    var decisions = new ArrayList<Future<RowDecision>>();
+    var decidedRows = new ArrayList<TcgInventoryItem>();
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var rowItem : pendingRows) {
+        decisions.add(executor.submit(() -> appraiseRow(user, rowItem, batchCache)));
       }
 
-      var decision = appraiseRow(rowItem, batchCache);
-      rowItem.setDecision(decision.decision());
-      rowItem.setDecisionReason(decision.reason());
-      rowItem.setMarketPrice(decision.marketPrice());
-      rowItem.setSuggestedPrice(decision.suggestedPrice());
-      rowItem.setFetchtcgCardId(decision.fetchtcgCardId());
-      rowItem.setFetchtcgSetId(decision.fetchtcgSetId());
-      tcgInventoryTable.putItem(rowItem);
+      for (int i = 0; i < pendingRows.size(); i++) {
+        var rowItem = pendingRows.get(i);
+        RowDecision decision;
+        try {
+          decision = awaitDecision(decisions.get(i));
+        } catch (RuntimeException e) {
+          executor.shutdownNow();
+          throw e;
+        }
+        rowItem.setDecision(decision.decision());
+        rowItem.setDecisionReason(decision.reason());
+        rowItem.setMarketPrice(decision.marketPrice());
+        rowItem.setSuggestedPrice(decision.suggestedPrice());
+        rowItem.setFetchtcgCardId(decision.fetchtcgCardId());
+        rowItem.setFetchtcgSetId(decision.fetchtcgSetId());
+        decidedRows.add(rowItem);
 
-      processed = i;
+        // flush full batches as decisions arrive so a failing row later in
+        // the slice does not discard the FetchTCG work already done
+        if (decidedRows.size() == DynamoDbBatchWriter.MAX_BATCH_SIZE) {
+          dynamoDbBatchWriter.putItems(tcgInventoryTable, decidedRows);
+          decidedRows.clear();
+        }
+      }
     }
+    dynamoDbBatchWriter.putItems(tcgInventoryTable, decidedRows);
 
+    int processed = Math.max(continuation, batchEnd);
     boolean complete = processed >= totalRows;
     if (complete) {
       importItem.setStatus("review");
@@ -82,7 +120,53 @@ class AppraiseJobProcessor {
     return new BatchResult(processed, complete);
   }
 
-  private RowDecision appraiseRow(TcgInventoryItem rowItem, Map<String, ResolvedCard> batchCache) {
+  private List<TcgInventoryItem> queryRows(
+      String user, String importId, int fromPosition, int toPosition) {
+    if (fromPosition > toPosition) {
+      return List.of();
+    }
+
+    var rowPk = TcgInventoryItem.formatImportRowPk(user, importId);
+    var queryConditional =
+        QueryConditional.sortBetween(
+            Key.builder()
+                .partitionValue(rowPk)
+                .sortValue(TcgInventoryItem.formatImportRowSk(fromPosition))
+                .build(),
+            Key.builder()
+                .partitionValue(rowPk)
+                .sortValue(TcgInventoryItem.formatImportRowSk(toPosition))
+                .build());
+
+    // rows were batch-written just before the job was enqueued, so read them
+    // strongly consistent rather than risk skipping a row on a stale read
+    var request =
+        QueryEnhancedRequest.builder()
+            .queryConditional(queryConditional)
+            .scanIndexForward(true)
+            .consistentRead(true)
+            .build();
+
+    return tcgInventoryTable.query(request).stream()
+        .flatMap(page -> page.items().stream())
+        .toList();
+  }
+
+  private RowDecision awaitDecision(Future<RowDecision> decision) {
+    try {
+      return decision.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private RowDecision appraiseRow(String user, TcgInventoryItem rowItem, BatchCache batchCache) {
     if (!"en".equals(rowItem.getLanguage())) {
       return RowDecision.review("non-english");
     }
@@ -93,16 +177,25 @@ class AppraiseJobProcessor {
     }
 
     var dedupeKey = rowItem.getScryfallId() + "#" + rowItem.getFinish();
-    var cached = batchCache.get(dedupeKey);
+    var cached =
+        computeOnce(
+            batchCache.resolutions(),
+            dedupeKey,
+            () ->
+                resolveCard(
+                    user,
+                    setCode,
+                    rowItem.getScryfallId(),
+                    rowItem.getName(),
+                    rowItem.getFinish()));
     if (cached == null) {
-      cached = resolveCard(setCode, rowItem.getName(), rowItem.getFinish());
-      if (cached == null) {
-        return RowDecision.review("unresolvable");
-      }
-      batchCache.put(dedupeKey, cached);
+      return RowDecision.review("unresolvable");
     }
 
-    var rivals = buildRivalTiers(cached.cardId(), rowItem.getCondition());
+    var listings =
+        computeOnce(
+            batchCache.listings(), cached.cardId(), () -> findListings(user, cached.cardId()));
+    var rivals = buildRivalTiers(listings, rowItem.getCondition());
     var result = pricingPolicy.appraise(cached.marketPrice(), rivals);
 
     if (result.decision() == PricingPolicy.Decision.DISCARD) {
@@ -116,7 +209,67 @@ class AppraiseJobProcessor {
         cached.setId());
   }
 
-  private ResolvedCard resolveCard(String setCode, String cardName, String finish) {
+  // concurrent rows for the same key share one in-flight lookup instead of
+  // racing duplicate FetchTCG calls
+  private static <T> T computeOnce(
+      Map<String, CompletableFuture<T>> memo, String key, Supplier<T> lookup) {
+    var future = new CompletableFuture<T>();
+    var existing = memo.putIfAbsent(key, future);
+    if (existing != null) {
+      try {
+        return existing.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw e;
+      }
+    }
+
+    try {
+      var value = lookup.get();
+      future.complete(value);
+      return value;
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private ResolvedCard resolveCard(
+      String user, String setCode, String scryfallId, String cardName, String finish) {
+    var now = clock.now();
+    var cacheKey =
+        Key.builder()
+            .partitionValue(TcgInventoryItem.formatCardResolutionPk(user, scryfallId, finish))
+            .sortValue(TcgInventoryItem.formatCardResolutionSk())
+            .build();
+    var cachedItem = tcgInventoryTable.getItem(cacheKey);
+    if (cachedItem != null && !isExpired(cachedItem, now)) {
+      if (cachedItem.getFetchtcgCardId() == null) {
+        return null;
+      }
+      return new ResolvedCard(
+          cachedItem.getFetchtcgCardId(),
+          cachedItem.getFetchtcgSetId(),
+          new BigDecimal(cachedItem.getMarketPrice()));
+    }
+
+    var resolved = searchCard(setCode, cardName, finish);
+    tcgInventoryTable.putItem(
+        TcgInventoryItem.createCardResolution(
+            user,
+            scryfallId,
+            finish,
+            resolved != null ? resolved.cardId() : null,
+            resolved != null ? resolved.setId() : null,
+            resolved != null ? resolved.marketPrice().toPlainString() : null,
+            now,
+            now.plus(CARD_RESOLUTION_TTL)));
+    return resolved;
+  }
+
+  private ResolvedCard searchCard(String setCode, String cardName, String finish) {
     var searchName = cardName.contains("//") ? cardName.split("//")[0].trim() : cardName;
     var setEntries = FetchTcgSetMapping.get(setCode);
     for (var entry : setEntries) {
@@ -137,12 +290,46 @@ class AppraiseJobProcessor {
     return null;
   }
 
-  private List<PricingPolicy.RivalTier> buildRivalTiers(String cardId, String condition) {
-    var listingsResponse = fetchTcgClient.getCardListings(cardId);
+  private List<FetchTcgClient.CardListing> findListings(String user, String cardId) {
+    var now = clock.now();
+    var cacheKey =
+        Key.builder()
+            .partitionValue(TcgInventoryItem.formatCardListingsPk(user, cardId))
+            .sortValue(TcgInventoryItem.formatCardListingsSk())
+            .build();
+    try {
+      var cachedItem = tcgInventoryTable.getItem(cacheKey);
+      if (cachedItem != null && !isExpired(cachedItem, now)) {
+        return objectMapper.readValue(
+            cachedItem.getListings(), new TypeReference<List<FetchTcgClient.CardListing>>() {});
+      }
+
+      var listings = fetchTcgClient.getCardListings(cardId).content();
+      tcgInventoryTable.putItem(
+          TcgInventoryItem.createCardListings(
+              user,
+              cardId,
+              objectMapper.writeValueAsString(listings),
+              now,
+              now.plus(CARD_LISTINGS_TTL)));
+      return listings;
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  // dynamodb ttl deletion lags expiry by up to days, so expired items can
+  // still be read and must be treated as misses
+  private static boolean isExpired(TcgInventoryItem cacheItem, Instant now) {
+    return cacheItem.getTtl() == null || cacheItem.getTtl() <= now.getEpochSecond();
+  }
+
+  private List<PricingPolicy.RivalTier> buildRivalTiers(
+      List<FetchTcgClient.CardListing> listings, String condition) {
     var skuCondition = Condition.valueOf(condition);
 
     TreeMap<BigDecimal, Set<String>> priceToSellers = new TreeMap<>();
-    for (var listing : listingsResponse.content()) {
+    for (var listing : listings) {
       var listingCondition = Condition.fromFetchtcg(listing.condition());
       if (listingCondition == null || !listingCondition.isSameOrBetterThan(skuCondition)) {
         continue;
@@ -159,6 +346,14 @@ class AppraiseJobProcessor {
     return tiers;
   }
 
+  private record BatchCache(
+      Map<String, CompletableFuture<ResolvedCard>> resolutions,
+      Map<String, CompletableFuture<List<FetchTcgClient.CardListing>>> listings) {
+    BatchCache() {
+      this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+  }
+
   private record ResolvedCard(String cardId, int setId, BigDecimal marketPrice) {}
 
   private record RowDecision(
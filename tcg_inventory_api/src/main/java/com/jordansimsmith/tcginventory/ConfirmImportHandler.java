@@ -10,14 +10,17 @@ import com.jordansimsmith.http.HttpResponseFactory;
 import com.jordansimsmith.http.RequestContextFactory;
 import com.jordansimsmith.time.Clock;
 import com.jordansimsmith.ulid.UlidGenerator;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
@@ -34,6 +37,8 @@ public class ConfirmImportHandler
     implements RequestHandler<APIGatewayV2HTTPEvent, APIGatewayV2HTTPResponse> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ConfirmImportHandler.class);
+  private static final int MAX_SKU_CHUNK_ATTEMPTS = 3;
+  private static final Duration SKU_CHUNK_RETRY_BACKOFF = Duration.ofMillis(50);
 
   record ConfirmResponse(
       @JsonProperty("import_id") String importId,
@@ -214,6 +219,52 @@ public class ConfirmImportHandler
 
   private void confirmSkuChunk(
       String user, String importId, String skuId, List<TcgInventoryItem> rows) {
+    var skuKey =
+        Key.builder()
+            .partitionValue(TcgInventoryItem.formatSkuPk(user, skuId))
+            .sortValue(TcgInventoryItem.formatSkuSk())
+            .build();
+    for (int attempt = 1; ; attempt++) {
+      // only a SKU created here has counters that are exact from its first unit; legacy SKUs stay
+      // unmarked until the backfill migration recounts them
+      var newSku =
+          tcgInventoryTable.getItem(
+                  GetItemEnhancedRequest.builder().key(skuKey).consistentRead(true).build())
+              == null;
+      try {
+        writeSkuChunk(user, importId, skuId, rows, newSku);
+        return;
+      } catch (TransactionCanceledException e) {
+        var reasons = e.cancellationReasons();
+        if (reasons.size() > rows.size()
+            && "ConditionalCheckFailed".equals(reasons.get(rows.size()).code())) {
+          if (attempt >= MAX_SKU_CHUNK_ATTEMPTS) {
+            throw new IllegalStateException(
+                "SKU " + skuId + " kept changing across " + attempt + " chunk attempts", e);
+          }
+          LOGGER.info("SKU {} was created concurrently, retrying chunk", skuId);
+          backoff(attempt);
+          continue;
+        }
+        LOGGER.info("transaction cancelled for SKU chunk {} (likely replay)", skuId);
+        return;
+      }
+    }
+  }
+
+  // full jitter keeps concurrent confirms of the same SKU from retrying in lockstep
+  private static void backoff(int attempt) {
+    var ceiling = SKU_CHUNK_RETRY_BACKOFF.toMillis() << attempt;
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void writeSkuChunk(
+      String user, String importId, String skuId, List<TcgInventoryItem> rows, boolean newSku) {
     var transactItems = new ArrayList<TransactWriteItem>();
 
     var skuPk = TcgInventoryItem.formatSkuPk(user, skuId);
@@ -232,6 +283,14 @@ public class ConfirmImportHandler
           AttributeValue.builder().n(String.valueOf(row.getSequenceNumber())).build());
       unitItem.put(TcgInventoryItem.STATUS, AttributeValue.builder().s("in_stock").build());
       unitItem.put(TcgInventoryItem.IMPORT_ID, AttributeValue.builder().s(importId).build());
+      unitItem.put(
+          TcgInventoryItem.GSI3PK,
+          AttributeValue.builder().s(TcgInventoryItem.formatGsi3pk(user, skuId)).build());
+      unitItem.put(
+          TcgInventoryItem.GSI3SK,
+          AttributeValue.builder()
+              .s(TcgInventoryItem.formatGsi3sk(row.getSequenceNumber()))
+              .build());
       unitItem.put(
           TcgInventoryItem.CREATED_AT,
           AttributeValue.builder().n(String.valueOf(clock.now().getEpochSecond())).build());
@@ -258,13 +317,16 @@ public class ConfirmImportHandler
                             TcgInventoryItem.PK, AttributeValue.builder().s(skuPk).build(),
                             TcgInventoryItem.SK,
                                 AttributeValue.builder().s(TcgInventoryItem.formatSkuSk()).build()))
-                    .updateExpression(buildSkuUpdateExpression(firstRow))
+                    .updateExpression(buildSkuUpdateExpression(firstRow, newSku))
+                    .conditionExpression(
+                        newSku ? "attribute_not_exists(pk)" : "attribute_exists(pk)")
                     .expressionAttributeNames(
                         Map.of(
                             "#finish", TcgInventoryItem.FINISH,
                             "#condition", TcgInventoryItem.CONDITION,
                             "#name", TcgInventoryItem.NAME))
-                    .expressionAttributeValues(buildSkuUpdateValues(user, skuId, firstRow))
+                    .expressionAttributeValues(
+                        buildSkuUpdateValues(user, skuId, firstRow, rows.size(), newSku))
                     .build())
             .build();
     transactItems.add(skuUpdate);
@@ -288,17 +350,16 @@ public class ConfirmImportHandler
             .put(Put.builder().tableName(TcgInventoryItem.TABLE_NAME).item(auditItem).build())
             .build());
 
-    try {
-      dynamoDbClient.transactWriteItems(
-          TransactWriteItemsRequest.builder().transactItems(transactItems).build());
-    } catch (TransactionCanceledException e) {
-      LOGGER.info("transaction cancelled for SKU chunk {} (likely replay)", skuId);
-    }
+    dynamoDbClient.transactWriteItems(
+        TransactWriteItemsRequest.builder().transactItems(transactItems).build());
   }
 
-  private String buildSkuUpdateExpression(TcgInventoryItem firstRow) {
+  private String buildSkuUpdateExpression(TcgInventoryItem firstRow, boolean newSku) {
     var sb = new StringBuilder();
-    sb.append("ADD ").append(TcgInventoryItem.VERSION).append(" :one");
+    sb.append("ADD ").append(TcgInventoryItem.VERSION).append(" :one, ");
+    sb.append(TcgInventoryItem.IN_STOCK_COUNT).append(" :unitCount, ");
+    sb.append(TcgInventoryItem.RESERVED_COUNT).append(" :zero, ");
+    sb.append(TcgInventoryItem.SOLD_COUNT).append(" :zero");
     sb.append(" SET ");
     sb.append(TcgInventoryItem.SKU_ID).append(" = :skuId, ");
     sb.append(TcgInventoryItem.SCRYFALL_ID).append(" = :scryfallId, ");
@@ -317,6 +378,9 @@ public class ConfirmImportHandler
     if (firstRow.getFetchtcgSetId() != null) {
       sb.append(TcgInventoryItem.FETCHTCG_SET_ID).append(" = :fetchtcgSetId, ");
     }
+    if (newSku) {
+      sb.append(TcgInventoryItem.COUNTERS_INITIALIZED).append(" = :countersInitialized, ");
+    }
     sb.append(TcgInventoryItem.DIRTY).append(" = :dirty, ");
     sb.append(TcgInventoryItem.GSI1PK).append(" = :gsi1pk, ");
     sb.append(TcgInventoryItem.GSI1SK).append(" = :gsi1sk, ");
@@ -326,9 +390,11 @@ public class ConfirmImportHandler
   }
 
   private Map<String, AttributeValue> buildSkuUpdateValues(
-      String user, String skuId, TcgInventoryItem firstRow) {
+      String user, String skuId, TcgInventoryItem firstRow, int unitCount, boolean newSku) {
     var values = new HashMap<String, AttributeValue>();
     values.put(":one", AttributeValue.builder().n("1").build());
+    values.put(":unitCount", AttributeValue.builder().n(String.valueOf(unitCount)).build());
+    values.put(":zero", AttributeValue.builder().n("0").build());
     values.put(":skuId", AttributeValue.builder().s(skuId).build());
     values.put(":scryfallId", AttributeValue.builder().s(firstRow.getScryfallId()).build());
     values.put(":finish", AttributeValue.builder().s(firstRow.getFinish()).build());
@@ -351,6 +417,9 @@ public class ConfirmImportHandler
           ":fetchtcgSetId",
           AttributeValue.builder().n(String.valueOf(firstRow.getFetchtcgSetId())).build());
     }
+    if (newSku) {
+      values.put(":countersInitialized", AttributeValue.builder().bool(true).build());
+    }
     values.put(":dirty", AttributeValue.builder().bool(true).build());
     values.put(":gsi1pk", AttributeValue.builder().s(TcgInventoryItem.formatGsi1pk(user)).build());
     values.put(":gsi1sk", AttributeValue.builder().s(TcgInventoryItem.formatGsi1sk(skuId)).build());
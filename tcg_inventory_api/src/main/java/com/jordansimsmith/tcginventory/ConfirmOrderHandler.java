@@ -13,7 +13,7 @@ import com.jordansimsmith.time.Clock;
 import com.jordansimsmith.ulid.UlidGenerator;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,16 +90,16 @@ public class ConfirmOrderHandler
 
     var orderLines = OrderLines.parse(orderItem.getLines(), objectMapper);
     var transactItems = new ArrayList<TransactWriteItem>();
-    var affectedSkuIds = new HashSet<String>();
+    var soldCountBySkuId = new LinkedHashMap<String, Integer>();
 
     for (var line : orderLines) {
       for (var seqNum : line.allocatedSequenceNumbers()) {
         transactItems.add(buildUnitSellUpdate(user, line.skuId(), seqNum));
       }
-      if (affectedSkuIds.add(line.skuId())) {
-        transactItems.add(buildSkuVersionBump(user, line.skuId()));
-      }
+      soldCountBySkuId.merge(line.skuId(), line.allocatedSequenceNumbers().size(), Integer::sum);
     }
+    soldCountBySkuId.forEach(
+        (skuId, soldCount) -> transactItems.add(buildSkuVersionBump(user, skuId, soldCount)));
 
     transactItems.add(buildOrderFulfilledUpdate(user, orderId));
 
@@ -180,7 +180,7 @@ public class ConfirmOrderHandler
         .build();
   }
 
-  private TransactWriteItem buildSkuVersionBump(String user, String skuId) {
+  private TransactWriteItem buildSkuVersionBump(String user, String skuId, int soldCount) {
     var skuPk = TcgInventoryItem.formatSkuPk(user, skuId);
 
     return TransactWriteItem.builder()
@@ -192,8 +192,19 @@ public class ConfirmOrderHandler
                         TcgInventoryItem.PK, AttributeValue.builder().s(skuPk).build(),
                         TcgInventoryItem.SK,
                             AttributeValue.builder().s(TcgInventoryItem.formatSkuSk()).build()))
-                .updateExpression("ADD " + TcgInventoryItem.VERSION + " :one")
-                .expressionAttributeValues(Map.of(":one", AttributeValue.builder().n("1").build()))
+                .updateExpression(
+                    "ADD "
+                        + TcgInventoryItem.VERSION
+                        + " :one, "
+                        + TcgInventoryItem.RESERVED_COUNT
+                        + " :released, "
+                        + TcgInventoryItem.SOLD_COUNT
+                        + " :sold")
+                .expressionAttributeValues(
+                    Map.of(
+                        ":one", AttributeValue.builder().n("1").build(),
+                        ":released", AttributeValue.builder().n(String.valueOf(-soldCount)).build(),
+                        ":sold", AttributeValue.builder().n(String.valueOf(soldCount)).build()))
                 .build())
         .build();
   }
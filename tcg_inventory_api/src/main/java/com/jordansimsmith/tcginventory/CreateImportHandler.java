@@ -6,6 +6,7 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPResponse;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.annotations.VisibleForTesting;
+import com.jordansimsmith.dynamodb.DynamoDbBatchWriter;
 import com.jordansimsmith.http.HttpResponseFactory;
 import com.jordansimsmith.http.RequestContextFactory;
 import com.jordansimsmith.queue.QueueClient;
@@ -38,6 +39,7 @@ public class CreateImportHandler
   private final RequestContextFactory requestContextFactory;
   private final HttpResponseFactory httpResponseFactory;
   private final DynamoDbTable<TcgInventoryItem> tcgInventoryTable;
+  private final DynamoDbBatchWriter dynamoDbBatchWriter;
   private final QueueClient<JobMessage> jobsQueue;
   private final UlidGenerator ulidGenerator;
 
@@ -51,6 +53,7 @@ public class CreateImportHandler
     this.requestContextFactory = factory.requestContextFactory();
     this.httpResponseFactory = factory.httpResponseFactory();
     this.tcgInventoryTable = factory.tcgInventoryTable();
+    this.dynamoDbBatchWriter = factory.dynamoDbBatchWriter();
     this.jobsQueue = factory.jobsQueue();
     this.ulidGenerator = factory.ulidGenerator();
   }
@@ -102,8 +105,8 @@ public class CreateImportHandler
 
     int totalRows = reversed.stream().mapToInt(ManaBoxCsvParser.ParsedRow::quantity).sum();
 
-    var importItem = TcgInventoryItem.createImport(user, importId, filename, totalRows, jobId, now);
-    tcgInventoryTable.putItem(importItem);
+    var items = new ArrayList<TcgInventoryItem>(totalRows + 2);
+    items.add(TcgInventoryItem.createImport(user, importId, filename, totalRows, jobId, now));
 
     int position = 0;
     for (var parsedRow : reversed) {
@@ -122,12 +125,12 @@ public class CreateImportHandler
                 parsedRow.condition(),
                 parsedRow.scryfallId(),
                 parsedRow.language());
-        tcgInventoryTable.putItem(rowItem);
+        items.add(rowItem);
       }
     }
 
-    var jobItem = TcgInventoryItem.createJob(user, jobId, "appraise", importId, now);
-    tcgInventoryTable.putItem(jobItem);
+    items.add(TcgInventoryItem.createJob(user, jobId, "appraise", importId, now));
+    dynamoDbBatchWriter.putItems(tcgInventoryTable, items);
 
     var jobMessage = new JobMessage(user, jobId, "appraise");
     jobsQueue.send(jobMessage, user, jobMessage.deduplicationId(0));
@@ -105,6 +105,8 @@ public class GetSkuHandler
                     item.getSk() != null && item.getSk().startsWith(TcgInventoryItem.UNIT_PREFIX))
             .toList();
 
+    // the counts come from the units read rather than the SKU counters, so they always agree with
+    // the units listed even when the query pages across a concurrent mutation
     int inStockCount = 0;
     int reservedCount = 0;
     int soldCount = 0;
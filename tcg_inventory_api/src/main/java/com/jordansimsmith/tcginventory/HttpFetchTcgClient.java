@@ -8,26 +8,56 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nullable;
 
 public class HttpFetchTcgClient implements FetchTcgClient {
   static final String USER_AGENT =
       "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36"
           + " (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
   static final int MAX_RETRIES = 3;
+  static final Duration DEFAULT_BASE_BACKOFF = Duration.ofSeconds(2);
+  static final Duration MAX_BACKOFF = Duration.ofSeconds(8);
+  static final Duration MAX_RETRY_AFTER = Duration.ofSeconds(30);
 
   private final URI baseUri;
   private final HttpClient httpClient;
   private final ObjectMapper objectMapper;
   private final Runnable pacer;
+  private final Semaphore inFlight;
+  private final Duration baseBackoff;
 
   public HttpFetchTcgClient(
       URI baseUri, HttpClient httpClient, ObjectMapper objectMapper, Runnable pacer) {
+    this(baseUri, httpClient, objectMapper, pacer, 1);
+  }
+
+  public HttpFetchTcgClient(
+      URI baseUri,
+      HttpClient httpClient,
+      ObjectMapper objectMapper,
+      Runnable pacer,
+      int maxConcurrentRequests) {
+    this(baseUri, httpClient, objectMapper, pacer, maxConcurrentRequests, DEFAULT_BASE_BACKOFF);
+  }
+
+  HttpFetchTcgClient(
+      URI baseUri,
+      HttpClient httpClient,
+      ObjectMapper objectMapper,
+      Runnable pacer,
+      int maxConcurrentRequests,
+      Duration baseBackoff) {
     this.baseUri = baseUri;
     this.httpClient = httpClient;
     this.objectMapper = objectMapper;
     this.pacer = pacer;
+    this.inFlight = new Semaphore(maxConcurrentRequests, true);
+    this.baseBackoff = baseBackoff;
   }
 
   @Override
@@ -232,9 +262,7 @@ public class HttpFetchTcgClient implements FetchTcgClient {
 
   private String doExecute(HttpRequest request) throws IOException, InterruptedException {
     for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
-      pacer.run();
-
-      var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+      var response = send(request);
       var statusCode = response.statusCode();
 
       if (statusCode >= 200 && statusCode < 300) {
@@ -246,7 +274,8 @@ public class HttpFetchTcgClient implements FetchTcgClient {
             statusCode, "FetchTCG authentication failed with status " + statusCode);
       }
 
-      if (statusCode >= 500 && attempt < MAX_RETRIES) {
+      if ((statusCode == 429 || statusCode >= 500) && attempt < MAX_RETRIES) {
+        backoff(attempt, statusCode == 429 ? parseRetryAfter(response) : null);
         continue;
       }
 
@@ -262,6 +291,45 @@ public class HttpFetchTcgClient implements FetchTcgClient {
     throw new IOException("FetchTCG request failed after " + (MAX_RETRIES + 1) + " attempts");
   }
 
+  // the rate-limit token is taken before the in-flight slot, so a request waiting on the limiter
+  // does not hold a slot that a request already paced could use
+  private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+    pacer.run();
+    inFlight.acquire();
+    try {
+      return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    } finally {
+      inFlight.release();
+    }
+  }
+
+  // exponential backoff with equal jitter, taken outside the in-flight cap. the rate limiter only
+  // spaces requests out, so without it a failing FetchTCG would be retried as fast as the
+  // limiter allows; the delay never drops below half its ceiling, and the jitter spreads out
+  // retries from concurrent requests. a 429's Retry-After is waited out in full, up to a cap
+  private void backoff(int attempt, @Nullable Duration retryAfter) throws InterruptedException {
+    var ceiling = Math.min(MAX_BACKOFF.toMillis(), baseBackoff.toMillis() << attempt);
+    var delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    if (retryAfter != null) {
+      delay = Math.max(delay, Math.min(retryAfter.toMillis(), MAX_RETRY_AFTER.toMillis()));
+    }
+    Thread.sleep(delay);
+  }
+
+  // only the delay-seconds form is read; an http-date falls back to the exponential backoff
+  @Nullable
+  private static Duration parseRetryAfter(HttpResponse<String> response) {
+    var retryAfter = response.headers().firstValue("Retry-After").orElse(null);
+    if (retryAfter == null) {
+      return null;
+    }
+    try {
+      return Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim())));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
   @JsonIgnoreProperties(ignoreUnknown = true)
   record SearchResultsWrapper(
       @JsonProperty("searchResults") PagedContent<SearchCard> searchResults) {}
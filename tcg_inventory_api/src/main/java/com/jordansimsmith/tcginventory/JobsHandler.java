@@ -36,13 +36,18 @@ public class JobsHandler implements RequestHandler<SQSEvent, Void> {
     this.jobsQueue = factory.jobsQueue();
     this.appraiseJobProcessor =
         new AppraiseJobProcessor(
-            factory.tcgInventoryTable(), factory.clock(), factory.fetchTcgClient());
+            factory.tcgInventoryTable(),
+            factory.dynamoDbBatchWriter(),
+            factory.clock(),
+            factory.fetchTcgClient(),
+            factory.objectMapper());
     this.publishJobProcessor =
         new PublishJobProcessor(
             factory.fetchTcgTokenMinter(),
             new OrderPhaseProcessor(
                 factory.tcgInventoryTable(),
                 factory.dynamoDbClient(),
+                factory.dynamoDbBatchReader(),
                 factory.clock(),
                 factory.ulidGenerator(),
                 factory.fetchTcgClient(),
@@ -50,6 +55,7 @@ public class JobsHandler implements RequestHandler<SQSEvent, Void> {
             new ListingPhaseProcessor(
                 factory.tcgInventoryTable(),
                 factory.dynamoDbClient(),
+                factory.dynamoDbBatchReader(),
                 factory.clock(),
                 factory.fetchTcgClient()));
     this.reportJobProcessor =
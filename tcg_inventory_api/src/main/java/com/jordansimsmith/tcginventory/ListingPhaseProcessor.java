@@ -1,60 +1,94 @@
 package com.jordansimsmith.tcginventory;
 
+import com.jordansimsmith.dynamodb.DynamoDbBatchReader;
 import com.jordansimsmith.time.Clock;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
-import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
 
 public class ListingPhaseProcessor {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ListingPhaseProcessor.class);
+
+  static final int BATCH_SIZE = 100;
+  private static final int CLEAR_BATCH_SIZE = 25;
+  private static final int MAX_CLEAR_ATTEMPTS = 3;
+
   private final DynamoDbTable<TcgInventoryItem> tcgInventoryTable;
   private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbBatchReader dynamoDbBatchReader;
   private final Clock clock;
   private final FetchTcgClient fetchTcgClient;
 
   public ListingPhaseProcessor(
       DynamoDbTable<TcgInventoryItem> tcgInventoryTable,
       DynamoDbClient dynamoDbClient,
+      DynamoDbBatchReader dynamoDbBatchReader,
       Clock clock,
       FetchTcgClient fetchTcgClient) {
     this.tcgInventoryTable = tcgInventoryTable;
     this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbBatchReader = dynamoDbBatchReader;
     this.clock = clock;
     this.fetchTcgClient = fetchTcgClient;
   }
 
-  public BatchResult process(String user, String bearerToken) {
-    var dirtySkus = loadDirtySkus(user);
-    int processed = 0;
+  public BatchResult process(String user, String bearerToken, int continuation) {
+    var candidates = loadDirtySkus(user);
+    var dirtySkus = confirmDirty(candidates);
 
-    for (var sku : dirtySkus) {
-      var skuId = sku.getSkuId();
-      var capturedVersion = sku.getVersion();
-      var inStockCount = countInStockUnits(user, skuId);
+    // SKUs publish concurrently; the FetchTCG client's rate limiter and
+    // in-flight cap bound upstream traffic, so each SKU gets its own thread
+    var clears = new ArrayList<Future<TransactWriteItem>>();
+    var pendingClears = new ArrayList<TransactWriteItem>();
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (var sku : dirtySkus) {
+        clears.add(executor.submit(() -> publishSku(user, bearerToken, sku)));
+      }
 
-      if (inStockCount > 0) {
-        publishSku(user, bearerToken, sku, inStockCount, capturedVersion);
-      } else if (sku.getFetchtcgListingId() != null) {
-        delistSku(user, bearerToken, sku, capturedVersion);
-      } else {
-        clearDirty(user, skuId, capturedVersion);
+      for (var clear : clears) {
+        try {
+          pendingClears.add(awaitClear(clear));
+        } catch (RuntimeException e) {
+          executor.shutdownNow();
+          throw e;
+        }
+
+        // flush full batches as SKUs finish so a failing SKU later in the
+        // slice does not leave the FetchTCG work already done uncleared
+        if (pendingClears.size() == CLEAR_BATCH_SIZE) {
+          clearDirty(pendingClears);
+          pendingClears.clear();
+        }
       }
-      processed++;
     }
+    clearDirty(pendingClears);
 
-    return new BatchResult(processed, true);
+    // cleared SKUs leave the dirty index, so the next slice starts from the
+    // front again; a full slice means more may remain, unless every entry in
+    // it was stale, in which case the index has yet to catch up and the
+    // remaining SKUs stay dirty for the next run
+    var complete = candidates.size() < BATCH_SIZE || dirtySkus.isEmpty();
+    return new BatchResult(continuation + dirtySkus.size(), complete);
   }
 
   private List<TcgInventoryItem> loadDirtySkus(String user) {
-    var results = new ArrayList<TcgInventoryItem>();
     var request =
         QueryEnhancedRequest.builder()
             .queryConditional(
@@ -63,14 +97,95 @@ public class ListingPhaseProcessor {
                         .partitionValue(TcgInventoryItem.formatGsi1pk(user))
                         .sortValue(TcgInventoryItem.SKU_PREFIX)
                         .build()))
+            .limit(BATCH_SIZE)
             .build();
 
-    tcgInventoryTable.index(TcgInventoryItem.GSI1_NAME).query(request).stream()
+    return tcgInventoryTable.index(TcgInventoryItem.GSI1_NAME).query(request).stream()
         .flatMap(page -> page.items().stream())
-        .forEach(results::add);
-    return results;
+        .limit(BATCH_SIZE)
+        .toList();
+  }
+
+  // the dirty index is eventually consistent and can still list SKUs the
+  // previous slice cleared; publishing those again would repeat the upsert or
+  // delete a listing that is already gone, so each candidate is re-read from
+  // the base table and only SKUs still dirty are kept
+  private List<TcgInventoryItem> confirmDirty(List<TcgInventoryItem> candidates) {
+    var keys = new ArrayList<Key>(candidates.size());
+    for (var candidate : candidates) {
+      keys.add(
+          Key.builder().partitionValue(candidate.getPk()).sortValue(candidate.getSk()).build());
+    }
+    var current = new HashMap<String, TcgInventoryItem>();
+    for (var sku : dynamoDbBatchReader.getItems(tcgInventoryTable, keys, true)) {
+      current.put(sku.getPk(), sku);
+    }
+
+    var dirtySkus = new ArrayList<TcgInventoryItem>(candidates.size());
+    for (var candidate : candidates) {
+      var sku = current.get(candidate.getPk());
+      if (sku != null && Boolean.TRUE.equals(sku.getDirty())) {
+        dirtySkus.add(sku);
+      }
+    }
+    if (dirtySkus.size() < candidates.size()) {
+      LOGGER.info(
+          "skipping {} SKUs already cleared since the dirty index was read",
+          candidates.size() - dirtySkus.size());
+    }
+    return dirtySkus;
+  }
+
+  private TransactWriteItem publishSku(String user, String bearerToken, TcgInventoryItem sku) {
+    var capturedVersion = sku.getVersion();
+    // the counter and version come from the same item image, so a mutation
+    // after this read fails the version-conditioned clear and the SKU is
+    // republished
+    var inStockCount =
+        Boolean.TRUE.equals(sku.getCountersInitialized())
+            ? sku.getInStockCount()
+            : countInStockUnits(user, sku.getSkuId());
+
+    if (inStockCount > 0) {
+      var condition = Condition.valueOf(sku.getCondition()).toFetchtcg();
+      var price = new BigDecimal(sku.getSuggestedPrice());
+      var upsertRequest =
+          new FetchTcgClient.UpsertListingRequest(
+              sku.getFetchtcgCardId(), condition, inStockCount, price);
+      var response = fetchTcgClient.upsertListing(bearerToken, upsertRequest);
+      return buildClearWithSnapshot(
+          user,
+          sku.getSkuId(),
+          capturedVersion,
+          response.listingId(),
+          inStockCount,
+          price.toPlainString());
+    }
+
+    if (sku.getFetchtcgListingId() != null) {
+      fetchTcgClient.deleteListing(bearerToken, sku.getFetchtcgListingId());
+      return buildClearRemoveSnapshot(user, sku.getSkuId(), capturedVersion);
+    }
+
+    return buildClear(user, sku.getSkuId(), capturedVersion);
   }
 
+  private static TransactWriteItem awaitClear(Future<TransactWriteItem> clear) {
+    try {
+      return clear.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  // SKUs written before the counters existed carry no trustworthy
+  // in_stock_count until the backfill migration has recounted them
   private int countInStockUnits(String user, String skuId) {
     int count = 0;
     var request =
@@ -81,6 +196,7 @@ public class ListingPhaseProcessor {
                         .partitionValue(TcgInventoryItem.formatSkuPk(user, skuId))
                         .sortValue(TcgInventoryItem.UNIT_PREFIX)
                         .build()))
+            .consistentRead(true)
             .build();
 
     for (var item : tcgInventoryTable.query(request).items()) {
@@ -91,172 +207,165 @@ public class ListingPhaseProcessor {
     return count;
   }
 
-  private void publishSku(
-      String user,
-      String bearerToken,
-      TcgInventoryItem sku,
-      int inStockCount,
-      int capturedVersion) {
-    var condition = Condition.valueOf(sku.getCondition()).toFetchtcg();
-    var price = new BigDecimal(sku.getSuggestedPrice());
-
-    var upsertRequest =
-        new FetchTcgClient.UpsertListingRequest(
-            sku.getFetchtcgCardId(), condition, inStockCount, price);
-
-    var response = fetchTcgClient.upsertListing(bearerToken, upsertRequest);
-
-    clearDirtyWithSnapshot(
-        user,
-        sku.getSkuId(),
-        capturedVersion,
-        response.listingId(),
-        inStockCount,
-        price.toPlainString());
-  }
+  // each clear keeps its own dirty and version condition inside the batch; a
+  // cancelled transaction reports which conditions failed, and those SKUs are
+  // dropped to stay dirty for the next run while the rest are retried
+  private void clearDirty(List<TransactWriteItem> clears) {
+    var pending = clears;
+    for (int attempt = 1; !pending.isEmpty(); attempt++) {
+      try {
+        dynamoDbClient.transactWriteItems(
+            TransactWriteItemsRequest.builder().transactItems(pending).build());
+        return;
+      } catch (TransactionCanceledException e) {
+        if (attempt >= MAX_CLEAR_ATTEMPTS) {
+          LOGGER.warn("leaving {} SKUs dirty after {} clear attempts", pending.size(), attempt);
+          return;
+        }
 
-  private void delistSku(
-      String user, String bearerToken, TcgInventoryItem sku, int capturedVersion) {
-    fetchTcgClient.deleteListing(bearerToken, sku.getFetchtcgListingId());
-    clearDirtyRemoveSnapshot(user, sku.getSkuId(), capturedVersion);
+        var retry = new ArrayList<TransactWriteItem>();
+        for (int i = 0; i < pending.size(); i++) {
+          var reason = e.hasCancellationReasons() ? e.cancellationReasons().get(i) : null;
+          if (reason == null || !"ConditionalCheckFailed".equals(reason.code())) {
+            retry.add(pending.get(i));
+          }
+        }
+        pending = retry;
+      }
+    }
   }
 
-  private void clearDirtyWithSnapshot(
+  private TransactWriteItem buildClearWithSnapshot(
       String user, String skuId, int capturedVersion, int listingId, int quantity, String price) {
     var skuPk = TcgInventoryItem.formatSkuPk(user, skuId);
     var cleanGsi1pk = TcgInventoryItem.USER_PREFIX + user + "#CLEAN";
 
-    try {
-      dynamoDbClient.updateItem(
-          UpdateItemRequest.builder()
-              .tableName(TcgInventoryItem.TABLE_NAME)
-              .key(
-                  Map.of(
-                      TcgInventoryItem.PK, AttributeValue.builder().s(skuPk).build(),
-                      TcgInventoryItem.SK,
-                          AttributeValue.builder().s(TcgInventoryItem.formatSkuSk()).build()))
-              .updateExpression(
-                  "SET "
-                      + TcgInventoryItem.DIRTY
-                      + " = :clean, "
-                      + TcgInventoryItem.GSI1PK
-                      + " = :gsi1pk, "
-                      + TcgInventoryItem.FETCHTCG_LISTING_ID
-                      + " = :listingId, "
-                      + TcgInventoryItem.LAST_PUBLISHED_QUANTITY
-                      + " = :qty, "
-                      + TcgInventoryItem.LAST_PUBLISHED_PRICE
-                      + " = :price, "
-                      + TcgInventoryItem.LAST_PUBLISHED_AT
-                      + " = :now")
-              .conditionExpression(
-                  TcgInventoryItem.DIRTY
-                      + " = :dirty AND "
-                      + TcgInventoryItem.VERSION
-                      + " = :version")
-              .expressionAttributeValues(
-                  Map.ofEntries(
-                      Map.entry(":clean", AttributeValue.builder().bool(false).build()),
-                      Map.entry(":gsi1pk", AttributeValue.builder().s(cleanGsi1pk).build()),
-                      Map.entry(
-                          ":listingId",
-                          AttributeValue.builder().n(String.valueOf(listingId)).build()),
-                      Map.entry(
-                          ":qty", AttributeValue.builder().n(String.valueOf(quantity)).build()),
-                      Map.entry(":price", AttributeValue.builder().s(price).build()),
-                      Map.entry(
-                          ":now",
-                          AttributeValue.builder()
-                              .n(String.valueOf(clock.now().getEpochSecond()))
-                              .build()),
-                      Map.entry(":dirty", AttributeValue.builder().bool(true).build()),
-                      Map.entry(
-                          ":version",
-                          AttributeValue.builder().n(String.valueOf(capturedVersion)).build())))
-              .build());
-    } catch (ConditionalCheckFailedException e) {
-      // version mismatch — SKU stays dirty for the next run
-    }
+    return TransactWriteItem.builder()
+        .update(
+            Update.builder()
+                .tableName(TcgInventoryItem.TABLE_NAME)
+                .key(
+                    Map.of(
+                        TcgInventoryItem.PK, AttributeValue.builder().s(skuPk).build(),
+                        TcgInventoryItem.SK,
+                            AttributeValue.builder().s(TcgInventoryItem.formatSkuSk()).build()))
+                .updateExpression(
+                    "SET "
+                        + TcgInventoryItem.DIRTY
+                        + " = :clean, "
+                        + TcgInventoryItem.GSI1PK
+                        + " = :gsi1pk, "
+                        + TcgInventoryItem.FETCHTCG_LISTING_ID
+                        + " = :listingId, "
+                        + TcgInventoryItem.LAST_PUBLISHED_QUANTITY
+                        + " = :qty, "
+                        + TcgInventoryItem.LAST_PUBLISHED_PRICE
+                        + " = :price, "
+                        + TcgInventoryItem.LAST_PUBLISHED_AT
+                        + " = :now")
+                .conditionExpression(
+                    TcgInventoryItem.DIRTY
+                        + " = :dirty AND "
+                        + TcgInventoryItem.VERSION
+                        + " = :version")
+                .expressionAttributeValues(
+                    Map.ofEntries(
+                        Map.entry(":clean", AttributeValue.builder().bool(false).build()),
+                        Map.entry(":gsi1pk", AttributeValue.builder().s(cleanGsi1pk).build()),
+                        Map.entry(
+                            ":listingId",
+                            AttributeValue.builder().n(String.valueOf(listingId)).build()),
+                        Map.entry(
+                            ":qty", AttributeValue.builder().n(String.valueOf(quantity)).build()),
+                        Map.entry(":price", AttributeValue.builder().s(price).build()),
+                        Map.entry(
+                            ":now",
+                            AttributeValue.builder()
+                                .n(String.valueOf(clock.now().getEpochSecond()))
+                                .build()),
+                        Map.entry(":dirty", AttributeValue.builder().bool(true).build()),
+                        Map.entry(
+                            ":version",
+                            AttributeValue.builder().n(String.valueOf(capturedVersion)).build())))
+                .build())
+        .build();
   }
 
-  private void clearDirtyRemoveSnapshot(String user, String skuId, int capturedVersion) {
+  private TransactWriteItem buildClearRemoveSnapshot(
+      String user, String skuId, int capturedVersion) {
     var skuPk = TcgInventoryItem.formatSkuPk(user, skuId);
     var cleanGsi1pk = TcgInventoryItem.USER_PREFIX + user + "#CLEAN";
 
-    try {
-      dynamoDbClient.updateItem(
-          UpdateItemRequest.builder()
-              .tableName(TcgInventoryItem.TABLE_NAME)
-              .key(
-                  Map.of(
-                      TcgInventoryItem.PK, AttributeValue.builder().s(skuPk).build(),
-                      TcgInventoryItem.SK,
-                          AttributeValue.builder().s(TcgInventoryItem.formatSkuSk()).build()))
-              .updateExpression(
-                  "SET "
-                      + TcgInventoryItem.DIRTY
-                      + " = :clean, "
-                      + TcgInventoryItem.GSI1PK
-                      + " = :gsi1pk REMOVE "
-                      + TcgInventoryItem.FETCHTCG_LISTING_ID
-                      + ", "
-                      + TcgInventoryItem.LAST_PUBLISHED_QUANTITY
-                      + ", "
-                      + TcgInventoryItem.LAST_PUBLISHED_PRICE
-                      + ", "
-                      + TcgInventoryItem.LAST_PUBLISHED_AT)
-              .conditionExpression(
-                  TcgInventoryItem.DIRTY
-                      + " = :dirty AND "
-                      + TcgInventoryItem.VERSION
-                      + " = :version")
-              .expressionAttributeValues(
-                  Map.of(
-                      ":clean", AttributeValue.builder().bool(false).build(),
-                      ":gsi1pk", AttributeValue.builder().s(cleanGsi1pk).build(),
-                      ":dirty", AttributeValue.builder().bool(true).build(),
-                      ":version",
-                          AttributeValue.builder().n(String.valueOf(capturedVersion)).build()))
-              .build());
-    } catch (ConditionalCheckFailedException e) {
-      // version mismatch — SKU stays dirty for the next run
-    }
+    return TransactWriteItem.builder()
+        .update(
+            Update.builder()
+                .tableName(TcgInventoryItem.TABLE_NAME)
+                .key(
+                    Map.of(
+                        TcgInventoryItem.PK, AttributeValue.builder().s(skuPk).build(),
+                        TcgInventoryItem.SK,
+                            AttributeValue.builder().s(TcgInventoryItem.formatSkuSk()).build()))
+                .updateExpression(
+                    "SET "
+                        + TcgInventoryItem.DIRTY
+                        + " = :clean, "
+                        + TcgInventoryItem.GSI1PK
+                        + " = :gsi1pk REMOVE "
+                        + TcgInventoryItem.FETCHTCG_LISTING_ID
+                        + ", "
+                        + TcgInventoryItem.LAST_PUBLISHED_QUANTITY
+                        + ", "
+                        + TcgInventoryItem.LAST_PUBLISHED_PRICE
+                        + ", "
+                        + TcgInventoryItem.LAST_PUBLISHED_AT)
+                .conditionExpression(
+                    TcgInventoryItem.DIRTY
+                        + " = :dirty AND "
+                        + TcgInventoryItem.VERSION
+                        + " = :version")
+                .expressionAttributeValues(
+                    Map.of(
+                        ":clean", AttributeValue.builder().bool(false).build(),
+                        ":gsi1pk", AttributeValue.builder().s(cleanGsi1pk).build(),
+                        ":dirty", AttributeValue.builder().bool(true).build(),
+                        ":version",
+                            AttributeValue.builder().n(String.valueOf(capturedVersion)).build()))
+                .build())
+        .build();
   }
 
-  private void clearDirty(String user, String skuId, int capturedVersion) {
+  private TransactWriteItem buildClear(String user, String skuId, int capturedVersion) {
     var skuPk = TcgInventoryItem.formatSkuPk(user, skuId);
     var cleanGsi1pk = TcgInventoryItem.USER_PREFIX + user + "#CLEAN";
 
-    try {
-      dynamoDbClient.updateItem(
-          UpdateItemRequest.builder()
-              .tableName(TcgInventoryItem.TABLE_NAME)
-              .key(
-                  Map.of(
-                      TcgInventoryItem.PK, AttributeValue.builder().s(skuPk).build(),
-                      TcgInventoryItem.SK,
-                          AttributeValue.builder().s(TcgInventoryItem.formatSkuSk()).build()))
-              .updateExpression(
-                  "SET "
-                      + TcgInventoryItem.DIRTY
-                      + " = :clean, "
-                      + TcgInventoryItem.GSI1PK
-                      + " = :gsi1pk")
-              .conditionExpression(
-                  TcgInventoryItem.DIRTY
-                      + " = :dirty AND "
-                      + TcgInventoryItem.VERSION
-                      + " = :version")
-              .expressionAttributeValues(
-                  Map.of(
-                      ":clean", AttributeValue.builder().bool(false).build(),
-                      ":gsi1pk", AttributeValue.builder().s(cleanGsi1pk).build(),
-                      ":dirty", AttributeValue.builder().bool(true).build(),
-                      ":version",
-                          AttributeValue.builder().n(String.valueOf(capturedVersion)).build()))
-              .build());
-    } catch (ConditionalCheckFailedException e) {
-      // version mismatch — SKU stays dirty for the next run
-    }
+    return TransactWriteItem.builder()
+        .update(
+            Update.builder()
+                .tableName(TcgInventoryItem.TABLE_NAME)
+                .key(
+                    Map.of(
+                        TcgInventoryItem.PK, AttributeValue.builder().s(skuPk).build(),
+                        TcgInventoryItem.SK,
+                            AttributeValue.builder().s(TcgInventoryItem.formatSkuSk()).build()))
+                .updateExpression(
+                    "SET "
+                        + TcgInventoryItem.DIRTY
+                        + " = :clean, "
+                        + TcgInventoryItem.GSI1PK
+                        + " = :gsi1pk")
+                .conditionExpression(
+                    TcgInventoryItem.DIRTY
+                        + " = :dirty AND "
+                        + TcgInventoryItem.VERSION
+                        + " = :version")
+                .expressionAttributeValues(
+                    Map.of(
+                        ":clean", AttributeValue.builder().bool(false).build(),
+                        ":gsi1pk", AttributeValue.builder().s(cleanGsi1pk).build(),
+                        ":dirty", AttributeValue.builder().bool(true).build(),
+                        ":version",
+                            AttributeValue.builder().n(String.valueOf(capturedVersion)).build()))
+                .build())
+        .build();
   }
 }
@@ -1,18 +1,24 @@
 package com.jordansimsmith.tcginventory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jordansimsmith.concurrent.BoundedExecutor;
+import com.jordansimsmith.dynamodb.DynamoDbBatchReader;
 import com.jordansimsmith.time.Clock;
 import com.jordansimsmith.ulid.UlidGenerator;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.temporal.ChronoField;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +31,7 @@ import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.Put;
 import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
 import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
 import software.amazon.awssdk.services.dynamodb.model.Update;
 
 public class OrderPhaseProcessor {
@@ -47,8 +54,12 @@ public class OrderPhaseProcessor {
           .appendOffset("+HHmm", "Z")
           .toFormatter();
 
+  private static final int IN_STOCK_QUERY_CONCURRENCY = 8;
+  private static final int TRANSACTION_CONCURRENCY = 4;
+
   private final DynamoDbTable<TcgInventoryItem> tcgInventoryTable;
   private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbBatchReader dynamoDbBatchReader;
   private final Clock clock;
   private final UlidGenerator ulidGenerator;
   private final FetchTcgClient fetchTcgClient;
@@ -57,12 +68,14 @@ public class OrderPhaseProcessor {
   public OrderPhaseProcessor(
       DynamoDbTable<TcgInventoryItem> tcgInventoryTable,
       DynamoDbClient dynamoDbClient,
+      DynamoDbBatchReader dynamoDbBatchReader,
       Clock clock,
       UlidGenerator ulidGenerator,
       FetchTcgClient fetchTcgClient,
       ObjectMapper objectMapper) {
     this.tcgInventoryTable = tcgInventoryTable;
     this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbBatchReader = dynamoDbBatchReader;
     this.clock = clock;
     this.ulidGenerator = ulidGenerator;
     this.fetchTcgClient = fetchTcgClient;
@@ -90,7 +103,8 @@ public class OrderPhaseProcessor {
     var existingOrders = loadExistingOrders(user);
     LOGGER.info("found {} existing orders in DynamoDB", existingOrders.size());
 
-    var listingToSkuId = buildListingToSkuMap(user);
+    var indexedSkuIds = new HashSet<String>();
+    var listingToSkuId = buildListingToSkuMap(user, indexedSkuIds);
     LOGGER.info("built listing-to-sku map with {} entries", listingToSkuId.size());
 
     int advancedCount = 0;
@@ -116,7 +130,7 @@ public class OrderPhaseProcessor {
     var existingOrderIds =
         existingOrders.stream().map(TcgInventoryItem::getOrderId).collect(Collectors.toSet());
 
-    int createdCount = 0;
+    var newOffers = new ArrayList<FetchTcgClient.SellerOffer>();
     int skippedCount = 0;
     int cutoffSkippedCount = 0;
     for (var offer : allOffers) {
@@ -131,13 +145,23 @@ public class OrderPhaseProcessor {
           cutoffSkippedCount++;
           continue;
         }
-        reserveForNewOffer(user, offer, listingToSkuId);
-        createdCount++;
+        newOffers.add(offer);
       }
     }
+
+    // units are allocated from a per-run index in offer order, so two offers
+    // can never be handed the same unit; only the writes run concurrently
+    var inStockIndex = loadInStockIndex(user, newOffers, listingToSkuId, indexedSkuIds);
+    LOGGER.info("loaded in-stock units for {} SKUs", inStockIndex.size());
+
+    var reservations = new ArrayList<Reservation>();
+    for (var offer : newOffers) {
+      reservations.add(prepareReservation(user, offer, listingToSkuId, inStockIndex));
+    }
+    submitReservations(reservations);
     LOGGER.info(
         "created {} new orders, skipped {} existing, skipped {} before cutoff",
-        createdCount,
+        reservations.size(),
         skippedCount,
         cutoffSkippedCount);
   }
@@ -199,7 +223,7 @@ public class OrderPhaseProcessor {
     return results;
   }
 
-  private Map<Integer, String> buildListingToSkuMap(String user) {
+  private Map<Integer, String> buildListingToSkuMap(String user, Set<String> indexedSkuIds) {
     var map = new HashMap<Integer, String>();
     var request =
         QueryEnhancedRequest.builder()
@@ -218,16 +242,56 @@ public class OrderPhaseProcessor {
               if (item.getFetchtcgListingId() != null) {
                 map.put(item.getFetchtcgListingId(), item.getSkuId());
               }
+              if (Boolean.TRUE.equals(item.getCountersInitialized())) {
+                indexedSkuIds.add(item.getSkuId());
+              }
             });
     return map;
   }
 
-  private void reserveForNewOffer(
-      String user, FetchTcgClient.SellerOffer offer, Map<Integer, String> listingToSkuId) {
+  private Map<String, Queue<Integer>> loadInStockIndex(
+      String user,
+      List<FetchTcgClient.SellerOffer> offers,
+      Map<Integer, String> listingToSkuId,
+      Set<String> indexedSkuIds) {
+    var demand = new HashMap<String, Integer>();
+    for (var offer : offers) {
+      if (offer.items() == null) {
+        continue;
+      }
+      for (var item : offer.items()) {
+        var skuId = listingToSkuId.get(item.listing().id());
+        if (skuId != null) {
+          demand.merge(skuId, item.quantity(), Integer::sum);
+        }
+      }
+    }
+
+    var index = new ConcurrentHashMap<String, Queue<Integer>>();
+    BoundedExecutor.forEach(
+        demand.entrySet(),
+        IN_STOCK_QUERY_CONCURRENCY,
+        entry -> {
+          var skuId = entry.getKey();
+          var quantity = entry.getValue();
+          index.put(
+              skuId,
+              indexedSkuIds.contains(skuId)
+                  ? findInStockSequenceNumbers(user, skuId, quantity)
+                  : scanInStockSequenceNumbers(user, skuId, quantity));
+        });
+    return index;
+  }
+
+  private Reservation prepareReservation(
+      String user,
+      FetchTcgClient.SellerOffer offer,
+      Map<Integer, String> listingToSkuId,
+      Map<String, Queue<Integer>> inStockIndex) {
     var offerId = String.valueOf(offer.id());
     var orderLines = new ArrayList<OrderLines.OrderLine>();
     var transactItems = new ArrayList<TransactWriteItem>();
-    var affectedSkuIds = new HashSet<String>();
+    var reservedCountBySkuId = new LinkedHashMap<String, Integer>();
     boolean insufficientStock = false;
 
     if (offer.items() != null) {
@@ -238,22 +302,19 @@ public class OrderPhaseProcessor {
           continue;
         }
 
-        var units = findInStockUnits(user, skuId, item.quantity());
-        if (units.size() < item.quantity()) {
-          insufficientStock = true;
-        }
-
+        var available = inStockIndex.get(skuId);
         var allocatedSequenceNumbers = new ArrayList<Integer>();
-        for (var unit : units) {
-          allocatedSequenceNumbers.add(unit.getSequenceNumber());
-          transactItems.add(buildUnitReserveUpdate(user, skuId, unit.getSequenceNumber(), offerId));
+        while (allocatedSequenceNumbers.size() < item.quantity() && !available.isEmpty()) {
+          var sequenceNumber = available.remove();
+          allocatedSequenceNumbers.add(sequenceNumber);
+          transactItems.add(buildUnitReserveUpdate(user, skuId, sequenceNumber, offerId));
         }
-
-        if (!affectedSkuIds.contains(skuId)) {
-          transactItems.add(buildSkuDirtyUpdate(user, skuId));
-          affectedSkuIds.add(skuId);
+        if (allocatedSequenceNumbers.size() < item.quantity()) {
+          insufficientStock = true;
         }
 
+        reservedCountBySkuId.merge(skuId, allocatedSequenceNumbers.size(), Integer::sum);
+
         orderLines.add(
             new OrderLines.OrderLine(
                 skuId,
@@ -264,6 +325,10 @@ public class OrderPhaseProcessor {
       }
     }
 
+    reservedCountBySkuId.forEach(
+        (skuId, reservedCount) ->
+            transactItems.add(buildSkuDirtyUpdate(user, skuId, reservedCount)));
+
     String linesJson;
     try {
       linesJson = objectMapper.writeValueAsString(orderLines);
@@ -362,10 +427,66 @@ public class OrderPhaseProcessor {
             .put(Put.builder().tableName(TcgInventoryItem.TABLE_NAME).item(auditItem).build())
             .build());
 
-    dynamoDbClient.transactWriteItems(
+    return new Reservation(
+        reservedCountBySkuId.keySet(),
         TransactWriteItemsRequest.builder().transactItems(transactItems).build());
   }
 
+  // reservations sharing a SKU all update its SKU item, which concurrent
+  // transactions would cancel as conflicts, so each connected group is
+  // written serially and only independent groups run in parallel
+  private void submitReservations(List<Reservation> reservations) {
+    var groupBySkuId = new HashMap<String, List<Reservation>>();
+    var groups = new ArrayList<List<Reservation>>();
+    for (var reservation : reservations) {
+      List<Reservation> group = null;
+      for (var skuId : reservation.skuIds()) {
+        var existing = groupBySkuId.get(skuId);
+        if (existing == null || existing == group) {
+          continue;
+        }
+        if (group == null) {
+          group = existing;
+          continue;
+        }
+        group.addAll(existing);
+        existing.clear();
+        for (var merged : group) {
+          for (var mergedSkuId : merged.skuIds()) {
+            groupBySkuId.put(mergedSkuId, group);
+          }
+        }
+      }
+      if (group == null) {
+        group = new ArrayList<>();
+        groups.add(group);
+      }
+      group.add(reservation);
+      for (var skuId : reservation.skuIds()) {
+        groupBySkuId.put(skuId, group);
+      }
+    }
+    groups.removeIf(List::isEmpty);
+
+    BoundedExecutor.forEach(
+        groups,
+        TRANSACTION_CONCURRENCY,
+        group -> {
+          for (var reservation : group) {
+            try {
+              dynamoDbClient.transactWriteItems(reservation.request());
+            } catch (TransactionCanceledException e) {
+              // a unit was taken between the consistent read and the write;
+              // no order is stored, so the offer is picked up again next run
+              LOGGER.warn(
+                  "reservation for SKUs {} cancelled: {}",
+                  reservation.skuIds(),
+                  e.cancellationReasons());
+            }
+          }
+        });
+  }
+
   private void advanceToPickReady(TcgInventoryItem order, FetchTcgClient.SellerOffer offer) {
     order.setStatus("to_pick");
     order.setFetchtcgStatus(offer.status());
@@ -374,8 +495,55 @@ public class OrderPhaseProcessor {
     tcgInventoryTable.putItem(order);
   }
 
-  private List<TcgInventoryItem> findInStockUnits(String user, String skuId, int quantity) {
-    var results = new ArrayList<TcgInventoryItem>();
+  // only in-stock units carry gsi3 keys, so the sparse index yields the
+  // forward-most available units without reading reserved or sold history.
+  // the index is eventually consistent, so each page of candidates is
+  // confirmed against the base table before it is handed out
+  private Queue<Integer> findInStockSequenceNumbers(String user, String skuId, int quantity) {
+    var results = new ArrayDeque<Integer>();
+    var skuPk = TcgInventoryItem.formatSkuPk(user, skuId);
+    var request =
+        QueryEnhancedRequest.builder()
+            .queryConditional(
+                QueryConditional.keyEqualTo(
+                    Key.builder()
+                        .partitionValue(TcgInventoryItem.formatGsi3pk(user, skuId))
+                        .build()))
+            .limit(quantity)
+            .build();
+
+    for (var page : tcgInventoryTable.index(TcgInventoryItem.GSI3_NAME).query(request)) {
+      var keys = new ArrayList<Key>(page.items().size());
+      for (var candidate : page.items()) {
+        keys.add(
+            Key.builder()
+                .partitionValue(skuPk)
+                .sortValue(TcgInventoryItem.formatUnitSk(candidate.getSequenceNumber()))
+                .build());
+      }
+      var confirmed =
+          dynamoDbBatchReader.getItems(tcgInventoryTable, keys, true).stream()
+              .filter(unit -> "in_stock".equals(unit.getStatus()))
+              .map(TcgInventoryItem::getSequenceNumber)
+              .sorted()
+              .toList();
+      for (var sequenceNumber : confirmed) {
+        results.add(sequenceNumber);
+        if (results.size() >= quantity) {
+          return results;
+        }
+      }
+    }
+
+    // the index can also lag a unit that was just imported or restocked, so a
+    // short count is settled by the partition itself before stock is flagged
+    return scanInStockSequenceNumbers(user, skuId, quantity);
+  }
+
+  // units of SKUs the backfill migration has not reached yet carry no gsi3
+  // keys, so their partition is read directly instead
+  private Queue<Integer> scanInStockSequenceNumbers(String user, String skuId, int quantity) {
+    var results = new ArrayDeque<Integer>();
     var request =
         QueryEnhancedRequest.builder()
             .queryConditional(
@@ -384,13 +552,17 @@ public class OrderPhaseProcessor {
                         .partitionValue(TcgInventoryItem.formatSkuPk(user, skuId))
                         .sortValue(TcgInventoryItem.UNIT_PREFIX)
                         .build()))
+            .consistentRead(true)
             .build();
 
-    for (var item : tcgInventoryTable.query(request).items()) {
-      if ("in_stock".equals(item.getStatus())) {
-        results.add(item);
+    for (var page : tcgInventoryTable.query(request)) {
+      for (var unit : page.items()) {
+        if (!"in_stock".equals(unit.getStatus())) {
+          continue;
+        }
+        results.add(unit.getSequenceNumber());
         if (results.size() >= quantity) {
-          break;
+          return results;
         }
       }
     }
@@ -415,7 +587,10 @@ public class OrderPhaseProcessor {
                         + TcgInventoryItem.ORDER_ID
                         + " = :orderId, "
                         + TcgInventoryItem.UPDATED_AT
-                        + " = :now")
+                        + " = :now REMOVE "
+                        + TcgInventoryItem.GSI3PK
+                        + ", "
+                        + TcgInventoryItem.GSI3SK)
                 .conditionExpression("#status = :inStock")
                 .expressionAttributeNames(Map.of("#status", TcgInventoryItem.STATUS))
                 .expressionAttributeValues(
@@ -431,7 +606,7 @@ public class OrderPhaseProcessor {
         .build();
   }
 
-  private TransactWriteItem buildSkuDirtyUpdate(String user, String skuId) {
+  private TransactWriteItem buildSkuDirtyUpdate(String user, String skuId, int reservedCount) {
     var skuPk = TcgInventoryItem.formatSkuPk(user, skuId);
 
     return TransactWriteItem.builder()
@@ -446,7 +621,11 @@ public class OrderPhaseProcessor {
                 .updateExpression(
                     "ADD "
                         + TcgInventoryItem.VERSION
-                        + " :one SET "
+                        + " :one, "
+                        + TcgInventoryItem.IN_STOCK_COUNT
+                        + " :taken, "
+                        + TcgInventoryItem.RESERVED_COUNT
+                        + " :reserved SET "
                         + TcgInventoryItem.DIRTY
                         + " = :dirty, "
                         + TcgInventoryItem.GSI1PK
@@ -454,6 +633,10 @@ public class OrderPhaseProcessor {
                 .expressionAttributeValues(
                     Map.of(
                         ":one", AttributeValue.builder().n("1").build(),
+                        ":taken",
+                            AttributeValue.builder().n(String.valueOf(-reservedCount)).build(),
+                        ":reserved",
+                            AttributeValue.builder().n(String.valueOf(reservedCount)).build(),
                         ":dirty", AttributeValue.builder().bool(true).build(),
                         ":gsi1pk",
                             AttributeValue.builder()
@@ -462,4 +645,6 @@ public class OrderPhaseProcessor {
                 .build())
         .build();
   }
+
+  private record Reservation(Set<String> skuIds, TransactWriteItemsRequest request) {}
 }
@@ -95,7 +95,12 @@ public class RemoveUnitHandler
                             TcgInventoryItem.PK, AttributeValue.builder().s(skuPk).build(),
                             TcgInventoryItem.SK, AttributeValue.builder().s(unitSk).build()))
                     .updateExpression(
-                        "SET #status = :removed, " + TcgInventoryItem.UPDATED_AT + " = :now")
+                        "SET #status = :removed, "
+                            + TcgInventoryItem.UPDATED_AT
+                            + " = :now REMOVE "
+                            + TcgInventoryItem.GSI3PK
+                            + ", "
+                            + TcgInventoryItem.GSI3SK)
                     .conditionExpression("#status = :inStock")
                     .expressionAttributeNames(Map.of("#status", TcgInventoryItem.STATUS))
                     .expressionAttributeValues(
@@ -122,7 +127,9 @@ public class RemoveUnitHandler
                     .updateExpression(
                         "ADD "
                             + TcgInventoryItem.VERSION
-                            + " :one"
+                            + " :one, "
+                            + TcgInventoryItem.IN_STOCK_COUNT
+                            + " :minusOne"
                             + " SET "
                             + TcgInventoryItem.DIRTY
                             + " = :dirty, "
@@ -131,6 +138,7 @@ public class RemoveUnitHandler
                     .expressionAttributeValues(
                         Map.of(
                             ":one", AttributeValue.builder().n("1").build(),
+                            ":minusOne", AttributeValue.builder().n("-1").build(),
                             ":dirty", AttributeValue.builder().bool(true).build(),
                             ":gsi1pk",
                                 AttributeValue.builder()
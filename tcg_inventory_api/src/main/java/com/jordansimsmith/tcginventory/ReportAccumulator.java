@@ -1,32 +1,34 @@
 package com.jordansimsmith.tcginventory;
 
 import java.math.BigDecimal;
-import java.time.DayOfWeek;
+import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
-import java.time.temporal.TemporalAdjusters;
+import java.time.zone.ZoneRules;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.PriorityQueue;
 
+// money is held as long cents and day, week, and month keys as epoch indexes, so
+// accumulating a unit allocates nothing; top sets and hits are bounded heaps
 public class ReportAccumulator {
   private static final int TOP_SETS_LIMIT = 10;
   private static final int TOP_HITS_LIMIT = 10;
 
-  private static final ZoneId AUCKLAND = ZoneId.of("Pacific/Auckland");
+  static final ZoneId AUCKLAND = ZoneId.of("Pacific/Auckland");
+  private static final ZoneRules AUCKLAND_RULES = AUCKLAND.getRules();
 
-  private static final BigDecimal BUCKET_0_50 = new BigDecimal("0.50");
-  private static final BigDecimal BUCKET_1 = new BigDecimal("1");
-  private static final BigDecimal BUCKET_2 = new BigDecimal("2");
-  private static final BigDecimal BUCKET_5 = new BigDecimal("5");
-  private static final BigDecimal BUCKET_10 = new BigDecimal("10");
+  private static final int SECONDS_PER_DAY = 86_400;
+  // 1970-01-05, the first monday on or after the epoch
+  private static final long FIRST_MONDAY_EPOCH_DAY = 4;
+
+  private static final long[] BUCKET_UPPER_BOUNDS_CENTS = {50, 100, 200, 500, 1000};
 
   private static final String[] BUCKET_LABELS = {
     "$0.25-$0.50", "$0.50-$1", "$1-$2", "$2-$5", "$5-$10", "$10+"
@@ -36,33 +38,44 @@ public class ReportAccumulator {
     "0-30 days", "31-90 days", "91-180 days", "180+ days"
   };
 
-  private final LocalDate generationDate;
+  private static final Comparator<HitCandidate> HIT_RANKING =
+      Comparator.comparingLong(HitCandidate::priceCents)
+          .reversed()
+          .thenComparing(HitCandidate::name)
+          .thenComparing(HitCandidate::skuId);
+
+  private static final Comparator<Map.Entry<String, SetAccumulator>> SET_RANKING =
+      Comparator.<Map.Entry<String, SetAccumulator>>comparingInt(e -> e.getValue().inStockUnits)
+          .reversed()
+          .thenComparing(e -> e.getValue().setName)
+          .thenComparing(e -> e.getKey());
+
+  private final long generationEpochDay;
 
-  private BigDecimal inventoryValue = BigDecimal.ZERO;
+  private long inventoryValueCents = 0;
   private int inStockUnits = 0;
   private int skuCount = 0;
   private int reservedUnits = 0;
   private int soldUnits = 0;
-  private BigDecimal revenueToDate = BigDecimal.ZERO;
+  private long revenueToDateCents = 0;
   private int unpricedUnits = 0;
 
-  private final int[] priceBucketCounts = new int[6];
-  private final int[] agingBandCounts = new int[4];
+  private final int[] priceBucketCounts = new int[BUCKET_LABELS.length];
+  private final int[] agingBandCounts = new int[AGING_LABELS.length];
   private final Map<String, SetAccumulator> setMap = new HashMap<>();
-  private final List<HitCandidate> hitCandidates = new ArrayList<>();
-  private final TreeMap<YearMonth, MonthAccumulator> monthMap = new TreeMap<>();
-  private final TreeMap<LocalDate, Integer> addedByWeek = new TreeMap<>();
-  private final TreeMap<LocalDate, Integer> soldByWeek = new TreeMap<>();
+  // min-heap on rank, so the head is the weakest hit and is evicted first
+  private final PriorityQueue<HitCandidate> topHits =
+      new PriorityQueue<>(TOP_HITS_LIMIT + 1, HIT_RANKING.reversed());
+  private final DenseCounts revenueCentsByMonth = new DenseCounts();
+  private final DenseCounts ordersByMonth = new DenseCounts();
+  private final DenseCounts addedByWeek = new DenseCounts();
+  private final DenseCounts soldByWeek = new DenseCounts();
 
   public ReportAccumulator(Instant generationTime) {
-    this.generationDate = generationTime.atZone(AUCKLAND).toLocalDate();
+    this.generationEpochDay = epochDayOf(generationTime);
   }
 
   public void addSku(TcgInventoryItem sku, List<TcgInventoryItem> units) {
-    skuCount++;
-
-    var price = resolvePrice(sku);
-
     int skuInStockCount = 0;
     for (var unit : units) {
       var status = unit.getStatus();
@@ -71,52 +84,103 @@ public class ReportAccumulator {
       }
 
       if (unit.getCreatedAt() != null) {
-        var weekStart = weekStartOf(unit.getCreatedAt());
-        addedByWeek.merge(weekStart, 1, Integer::sum);
+        addedByWeek.add(weekIndexOf(epochDayOf(unit.getCreatedAt())), 1);
       }
 
       switch (status) {
         case "in_stock" -> {
-          inStockUnits++;
           skuInStockCount++;
-          agingBandCounts[agingBandIndex(unit.getCreatedAt())]++;
-          if (price != null) {
-            inventoryValue = inventoryValue.add(price);
-            priceBucketCounts[bucketIndex(price)]++;
-          } else {
-            unpricedUnits++;
-          }
+          agingBandCounts[agingBandIndex(epochDayOf(unit.getCreatedAt()))]++;
         }
         case "reserved" -> reservedUnits++;
         case "sold" -> {
           soldUnits++;
           if (unit.getUpdatedAt() != null) {
-            var weekStart = weekStartOf(unit.getUpdatedAt());
-            soldByWeek.merge(weekStart, 1, Integer::sum);
+            soldByWeek.add(weekIndexOf(epochDayOf(unit.getUpdatedAt())), 1);
           }
         }
         default -> {}
       }
     }
 
-    if (skuInStockCount > 0) {
-      setMap
-          .computeIfAbsent(sku.getSetCode(), k -> new SetAccumulator(sku.getSetName()))
-          .addUnits(skuInStockCount);
-
-      if (price != null) {
-        hitCandidates.add(
-            new HitCandidate(
-                sku.getSkuId(),
-                sku.getName(),
-                sku.getSetCode(),
-                sku.getCollectorNumber(),
-                sku.getFinish(),
-                sku.getCondition(),
-                price,
-                skuInStockCount));
+    addInStockSku(sku, skuInStockCount);
+  }
+
+  public void addSku(TcgInventoryItem sku, ReportState.SkuUnits units) {
+    for (var entry : units.addedByWeek().entrySet()) {
+      addedByWeek.add(weekIndexOf(entry.getKey()), entry.getValue());
+    }
+    for (var entry : units.soldByWeek().entrySet()) {
+      soldByWeek.add(weekIndexOf(entry.getKey()), entry.getValue());
+    }
+    reservedUnits += units.reservedUnits();
+    soldUnits += units.soldUnits();
+
+    int skuInStockCount = 0;
+    for (var entry : units.inStockByDay().entrySet()) {
+      int count = entry.getValue();
+      skuInStockCount += count;
+      agingBandCounts[agingBandIndex(entry.getKey())] += count;
+    }
+
+    addInStockSku(sku, skuInStockCount);
+  }
+
+  private void addInStockSku(TcgInventoryItem sku, int skuInStockCount) {
+    skuCount++;
+    if (skuInStockCount == 0) {
+      return;
+    }
+    inStockUnits += skuInStockCount;
+
+    var priceCents = resolvePriceCents(sku);
+    if (priceCents < 0) {
+      unpricedUnits += skuInStockCount;
+    } else {
+      inventoryValueCents += priceCents * skuInStockCount;
+      priceBucketCounts[bucketIndex(priceCents)] += skuInStockCount;
+      offerHit(sku, priceCents, skuInStockCount);
+    }
+
+    setMap
+        .computeIfAbsent(sku.getSetCode(), k -> new SetAccumulator(sku.getSetName()))
+        .addUnits(skuInStockCount);
+  }
+
+  // checks the heap head before building a candidate, so SKUs that cannot
+  // make the top hits cost no allocation
+  private void offerHit(TcgInventoryItem sku, long priceCents, int skuInStockCount) {
+    if (topHits.size() >= TOP_HITS_LIMIT) {
+      var weakest = topHits.peek();
+      int cmp = Long.compare(weakest.priceCents(), priceCents);
+      if (cmp == 0) {
+        cmp = sku.getName().compareTo(weakest.name());
+      }
+      if (cmp == 0) {
+        cmp = sku.getSkuId().compareTo(weakest.skuId());
+      }
+      if (cmp >= 0) {
+        return;
       }
     }
+
+    offerHit(
+        new HitCandidate(
+            sku.getSkuId(),
+            sku.getName(),
+            sku.getSetCode(),
+            sku.getCollectorNumber(),
+            sku.getFinish(),
+            sku.getCondition(),
+            priceCents,
+            skuInStockCount));
+  }
+
+  private void offerHit(HitCandidate candidate) {
+    topHits.add(candidate);
+    if (topHits.size() > TOP_HITS_LIMIT) {
+      topHits.poll();
+    }
   }
 
   public void addOrder(TcgInventoryItem order) {
@@ -125,33 +189,72 @@ public class ReportAccumulator {
       return;
     }
     if (order.getTotalPrice() != null) {
-      var price = new BigDecimal(order.getTotalPrice());
-      revenueToDate = revenueToDate.add(price);
+      var priceCents = parseCents(order.getTotalPrice());
+      revenueToDateCents += priceCents;
+
+      var monthIndex = monthIndexOf(epochDayOf(order.getCreatedAt()));
+      revenueCentsByMonth.add(monthIndex, priceCents);
+      ordersByMonth.add(monthIndex, 1);
+    }
+  }
+
+  // folds a partial accumulated over a disjoint set of SKUs and orders into this one
+  public void merge(ReportAccumulator other) {
+    if (generationEpochDay != other.generationEpochDay) {
+      throw new IllegalArgumentException(
+          "cannot merge accumulators for different generation dates");
+    }
+
+    inventoryValueCents += other.inventoryValueCents;
+    inStockUnits += other.inStockUnits;
+    skuCount += other.skuCount;
+    reservedUnits += other.reservedUnits;
+    soldUnits += other.soldUnits;
+    revenueToDateCents += other.revenueToDateCents;
+    unpricedUnits += other.unpricedUnits;
 
-      var month = YearMonth.from(order.getCreatedAt().atZone(AUCKLAND));
-      monthMap.computeIfAbsent(month, k -> new MonthAccumulator()).add(price);
+    for (int i = 0; i < priceBucketCounts.length; i++) {
+      priceBucketCounts[i] += other.priceBucketCounts[i];
+    }
+    for (int i = 0; i < agingBandCounts.length; i++) {
+      agingBandCounts[i] += other.agingBandCounts[i];
     }
+    for (var entry : other.setMap.entrySet()) {
+      setMap
+          .computeIfAbsent(entry.getKey(), k -> new SetAccumulator(entry.getValue().setName))
+          .addUnits(entry.getValue().inStockUnits);
+    }
+    for (var candidate : other.topHits) {
+      offerHit(candidate);
+    }
+    revenueCentsByMonth.merge(other.revenueCentsByMonth);
+    ordersByMonth.merge(other.ordersByMonth);
+    addedByWeek.merge(other.addedByWeek);
+    soldByWeek.merge(other.soldByWeek);
   }
 
   public ReportPayload.Totals toTotals() {
     return new ReportPayload.Totals(
-        inventoryValue.toPlainString(),
+        formatCents(inventoryValueCents),
         inStockUnits,
         skuCount,
         reservedUnits,
         soldUnits,
-        revenueToDate.toPlainString(),
+        formatCents(revenueToDateCents),
         unpricedUnits);
   }
 
   public List<ReportPayload.TopSet> toTopSets() {
-    return setMap.entrySet().stream()
-        .sorted(
-            Comparator.<Map.Entry<String, SetAccumulator>>comparingInt(
-                    e -> e.getValue().inStockUnits)
-                .reversed()
-                .thenComparing(e -> e.getValue().setName))
-        .limit(TOP_SETS_LIMIT)
+    var heap = new PriorityQueue<>(TOP_SETS_LIMIT + 1, SET_RANKING.reversed());
+    for (var entry : setMap.entrySet()) {
+      heap.add(entry);
+      if (heap.size() > TOP_SETS_LIMIT) {
+        heap.poll();
+      }
+    }
+
+    return heap.stream()
+        .sorted(SET_RANKING)
         .map(
             e ->
                 new ReportPayload.TopSet(
@@ -176,12 +279,8 @@ public class ReportAccumulator {
   }
 
   public List<ReportPayload.TopHit> toTopHits() {
-    return hitCandidates.stream()
-        .sorted(
-            Comparator.<HitCandidate, BigDecimal>comparing(HitCandidate::price)
-                .reversed()
-                .thenComparing(HitCandidate::name))
-        .limit(TOP_HITS_LIMIT)
+    return topHits.stream()
+        .sorted(HIT_RANKING)
         .map(
             h ->
                 new ReportPayload.TopHit(
@@ -191,61 +290,74 @@ public class ReportAccumulator {
                     h.collectorNumber(),
                     h.finish(),
                     h.condition(),
-                    h.price().toPlainString(),
+                    formatCents(h.priceCents()),
                     h.inStockUnits()))
         .toList();
   }
 
   public List<ReportPayload.RevenueByMonth> toRevenueByMonth() {
-    return monthMap.entrySet().stream()
-        .map(
-            e ->
-                new ReportPayload.RevenueByMonth(
-                    e.getKey().toString(),
-                    e.getValue().revenue.toPlainString(),
-                    e.getValue().orderCount))
-        .toList();
+    var months = new ArrayList<ReportPayload.RevenueByMonth>();
+    for (int i = ordersByMonth.firstIndex(); i <= ordersByMonth.lastIndex(); i++) {
+      var orderCount = ordersByMonth.get(i);
+      if (orderCount == 0) {
+        continue;
+      }
+      var month = YearMonth.of(Math.floorDiv(i, 12), Math.floorMod(i, 12) + 1);
+      months.add(
+          new ReportPayload.RevenueByMonth(
+              month.toString(), formatCents(revenueCentsByMonth.get(i)), (int) orderCount));
+    }
+    return months;
   }
 
   public List<ReportPayload.IntakeVsSalesByWeek> toIntakeVsSalesByWeek() {
-    var allWeeks = new TreeSet<LocalDate>();
-    allWeeks.addAll(addedByWeek.keySet());
-    allWeeks.addAll(soldByWeek.keySet());
+    var weeks = new ArrayList<ReportPayload.IntakeVsSalesByWeek>();
+    int first = Math.min(addedByWeek.firstIndex(), soldByWeek.firstIndex());
+    int last = Math.max(addedByWeek.lastIndex(), soldByWeek.lastIndex());
+    for (int i = first; i <= last; i++) {
+      var added = addedByWeek.get(i);
+      var sold = soldByWeek.get(i);
+      if (added == 0 && sold == 0) {
+        continue;
+      }
+      var weekStart = LocalDate.ofEpochDay(FIRST_MONDAY_EPOCH_DAY + i * 7L);
+      weeks.add(
+          new ReportPayload.IntakeVsSalesByWeek(weekStart.toString(), (int) added, (int) sold));
+    }
+    return weeks;
+  }
 
-    return allWeeks.stream()
-        .map(
-            week ->
-                new ReportPayload.IntakeVsSalesByWeek(
-                    week.toString(),
-                    addedByWeek.getOrDefault(week, 0),
-                    soldByWeek.getOrDefault(week, 0)))
-        .toList();
+  // the zone offset lookup is a search over cached transitions, unlike
+  // atZone(), which allocates a ZonedDateTime per call
+  static long epochDayOf(Instant instant) {
+    var offsetSeconds = AUCKLAND_RULES.getOffset(instant).getTotalSeconds();
+    return Math.floorDiv(instant.getEpochSecond() + offsetSeconds, SECONDS_PER_DAY);
   }
 
-  private LocalDate weekStartOf(Instant instant) {
-    var date = instant.atZone(AUCKLAND).toLocalDate();
-    return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+  static long weekStartOf(long epochDay) {
+    return epochDay - Math.floorMod(epochDay - FIRST_MONDAY_EPOCH_DAY, 7);
   }
 
-  private static int bucketIndex(BigDecimal price) {
-    if (price.compareTo(BUCKET_0_50) < 0) {
-      return 0;
-    } else if (price.compareTo(BUCKET_1) < 0) {
-      return 1;
-    } else if (price.compareTo(BUCKET_2) < 0) {
-      return 2;
-    } else if (price.compareTo(BUCKET_5) < 0) {
-      return 3;
-    } else if (price.compareTo(BUCKET_10) < 0) {
-      return 4;
-    } else {
-      return 5;
+  private static int weekIndexOf(long epochDay) {
+    return (int) Math.floorDiv(epochDay - FIRST_MONDAY_EPOCH_DAY, 7);
+  }
+
+  private static int monthIndexOf(long epochDay) {
+    var date = LocalDate.ofEpochDay(epochDay);
+    return date.getYear() * 12 + date.getMonthValue() - 1;
+  }
+
+  private static int bucketIndex(long priceCents) {
+    for (int i = 0; i < BUCKET_UPPER_BOUNDS_CENTS.length; i++) {
+      if (priceCents < BUCKET_UPPER_BOUNDS_CENTS[i]) {
+        return i;
+      }
     }
+    return BUCKET_UPPER_BOUNDS_CENTS.length;
   }
 
-  private int agingBandIndex(Instant createdAt) {
-    var unitDate = createdAt.atZone(AUCKLAND).toLocalDate();
-    var days = ChronoUnit.DAYS.between(unitDate, generationDate);
+  private int agingBandIndex(long createdEpochDay) {
+    var days = generationEpochDay - createdEpochDay;
     if (days <= 30) {
       return 0;
     } else if (days <= 90) {
@@ -257,14 +369,62 @@ public class ReportAccumulator {
     }
   }
 
-  private static BigDecimal resolvePrice(TcgInventoryItem sku) {
+  // returns -1 when the SKU has neither a published nor a suggested price
+  private static long resolvePriceCents(TcgInventoryItem sku) {
     if (sku.getLastPublishedPrice() != null) {
-      return new BigDecimal(sku.getLastPublishedPrice());
+      return parseCents(sku.getLastPublishedPrice());
     }
     if (sku.getSuggestedPrice() != null) {
-      return new BigDecimal(sku.getSuggestedPrice());
+      return parseCents(sku.getSuggestedPrice());
     }
-    return null;
+    return -1;
+  }
+
+  // prices are stored as plain decimal strings with at most two fraction
+  // digits; anything else falls back to BigDecimal
+  static long parseCents(String amount) {
+    long cents = 0;
+    int digits = 0;
+    int fractionDigits = -1;
+    for (int i = 0; i < amount.length(); i++) {
+      char c = amount.charAt(i);
+      if (c == '.' && fractionDigits < 0) {
+        fractionDigits = 0;
+      } else if (c >= '0' && c <= '9' && fractionDigits < 2 && digits < 15) {
+        cents = cents * 10 + (c - '0');
+        digits++;
+        if (fractionDigits >= 0) {
+          fractionDigits++;
+        }
+      } else {
+        return parseCentsSlow(amount);
+      }
+    }
+    if (digits == 0) {
+      return parseCentsSlow(amount);
+    }
+    for (int i = Math.max(fractionDigits, 0); i < 2; i++) {
+      cents *= 10;
+    }
+    return cents;
+  }
+
+  private static long parseCentsSlow(String amount) {
+    return new BigDecimal(amount)
+        .movePointRight(2)
+        .setScale(0, RoundingMode.HALF_UP)
+        .longValueExact();
+  }
+
+  static String formatCents(long cents) {
+    if (cents == 0) {
+      return "0";
+    }
+    var remainder = Math.abs(cents % 100);
+    return (cents < 0 && cents > -100 ? "-" : "")
+        + cents / 100
+        + (remainder < 10 ? ".0" : ".")
+        + remainder;
   }
 
   private static class SetAccumulator {
@@ -287,16 +447,50 @@ public class ReportAccumulator {
       String collectorNumber,
       String finish,
       String condition,
-      BigDecimal price,
+      long priceCents,
       int inStockUnits) {}
 
-  private static class MonthAccumulator {
-    BigDecimal revenue = BigDecimal.ZERO;
-    int orderCount = 0;
+  // counts over a contiguous range of week or month indexes, grown on demand
+  private static class DenseCounts {
+    private int offset = 0;
+    private long[] values = new long[0];
+
+    void add(int index, long delta) {
+      if (values.length == 0) {
+        offset = index;
+        values = new long[8];
+      } else if (index < offset) {
+        var grown = new long[values.length + Math.max(offset - index, values.length)];
+        var shift = grown.length - values.length;
+        System.arraycopy(values, 0, grown, shift, values.length);
+        offset -= shift;
+        values = grown;
+      } else if (index - offset >= values.length) {
+        values = Arrays.copyOf(values, Math.max(index - offset + 1, values.length * 2));
+      }
+      values[index - offset] += delta;
+    }
+
+    long get(int index) {
+      var i = index - offset;
+      return i >= 0 && i < values.length ? values[i] : 0;
+    }
 
-    void add(BigDecimal price) {
-      revenue = revenue.add(price);
-      orderCount++;
+    // an empty range yields first > last, so iteration over it is a no-op
+    int firstIndex() {
+      return values.length == 0 ? Integer.MAX_VALUE : offset;
+    }
+
+    int lastIndex() {
+      return values.length == 0 ? Integer.MIN_VALUE : offset + values.length - 1;
+    }
+
+    void merge(DenseCounts other) {
+      for (int i = 0; i < other.values.length; i++) {
+        if (other.values[i] != 0) {
+          add(other.offset + i, other.values[i]);
+        }
+      }
     }
   }
 }
@@ -2,7 +2,22 @@ package com.jordansimsmith.tcginventory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jordansimsmith.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
@@ -14,6 +29,12 @@ import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 public class ReportJobProcessor {
   private static final Logger LOGGER = LoggerFactory.getLogger(ReportJobProcessor.class);
 
+  static final Duration FULL_REBUILD_INTERVAL = Duration.ofDays(7);
+  static final int MAX_REPORT_STATE_BYTES = 350_000;
+  static final int UNIT_QUERY_CONCURRENCY = 8;
+  private static final int UNIT_QUERY_QUEUE_CAPACITY = UNIT_QUERY_CONCURRENCY * 4;
+  private static final TcgInventoryItem END_OF_SKUS = new TcgInventoryItem();
+
   private final DynamoDbTable<TcgInventoryItem> tcgInventoryTable;
   private final DynamoDbIndex<TcgInventoryItem> gsi2Index;
   private final ObjectMapper objectMapper;
@@ -34,14 +55,68 @@ public class ReportJobProcessor {
     LOGGER.info("captured as-of audit ULID: {}", asOfAuditUlid);
 
     var now = clock.now();
+    var orders = pageOrders(user);
+
+    // reuse the previous run's unit summaries for every SKU untouched since its
+    // as-of audit ULID; anything that cannot be attributed forces a full rebuild.
+    // SKU records and orders are still read in full and the accumulator folded
+    // afresh: publish-time prices and order status moves are not audited
+    var previousState = loadReportState(user, now);
+    var changedSkuIds =
+        previousState != null
+            ? findChangedSkuIds(user, previousState.asOfAuditUlid(), orders)
+            : null;
+    var rebuiltAt = changedSkuIds != null ? previousState.rebuiltAt() : now;
+    if (changedSkuIds == null) {
+      LOGGER.info("rebuilding report from all SKU units");
+    } else {
+      LOGGER.info("refreshing {} SKUs changed since last report", changedSkuIds.size());
+    }
+
+    // SKU pages stream into a bounded queue drained by a fixed set of unit-query
+    // workers, each folding into its own partial accumulator; reused summaries
+    // are folded in on this thread, and the partials merge once the pages end
     var accumulator = new ReportAccumulator(now);
+    var skuUnits = new ConcurrentHashMap<String, ReportState.SkuUnits>();
+    var pendingSkus = new ArrayBlockingQueue<TcgInventoryItem>(UNIT_QUERY_QUEUE_CAPACITY);
+    var workers = new ArrayList<Future<ReportAccumulator>>();
+    int queriedSkus = 0;
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      try {
+        for (int i = 0; i < UNIT_QUERY_CONCURRENCY; i++) {
+          workers.add(executor.submit(() -> queryUnitsWorker(user, now, pendingSkus, skuUnits)));
+        }
 
-    for (var sku : pageGsi2Skus(user)) {
-      var units = queryUnits(user, sku.getSkuId());
-      accumulator.addSku(sku, units);
+        for (var page : gsi2Index.query(buildGsi2SkusRequest(user))) {
+          for (var sku : page.items()) {
+            var units =
+                changedSkuIds != null && !changedSkuIds.contains(sku.getSkuId())
+                    ? previousState.skuUnits().get(sku.getSkuId())
+                    : null;
+            if (units != null) {
+              skuUnits.put(sku.getSkuId(), units);
+              accumulator.addSku(sku, units);
+            } else {
+              enqueue(pendingSkus, sku, workers);
+              queriedSkus++;
+            }
+          }
+        }
+        for (int i = 0; i < workers.size(); i++) {
+          enqueue(pendingSkus, END_OF_SKUS, workers);
+        }
+
+        for (var worker : workers) {
+          accumulator.merge(awaitWorker(worker));
+        }
+      } catch (RuntimeException e) {
+        executor.shutdownNow();
+        throw e;
+      }
     }
+    LOGGER.info("queried units for {} of {} SKUs", queriedSkus, skuUnits.size());
 
-    for (var order : pageOrders(user)) {
+    for (var order : orders) {
       accumulator.addOrder(order);
     }
 
@@ -62,10 +137,161 @@ public class ReportJobProcessor {
       throw new RuntimeException(e);
     }
 
+    saveReportState(user, new ReportState(skuUnits), asOfAuditUlid, rebuiltAt, now);
+
     LOGGER.info("wrote report snapshot");
     return new BatchResult(0, true);
   }
 
+  private ReportAccumulator queryUnitsWorker(
+      String user,
+      Instant now,
+      BlockingQueue<TcgInventoryItem> pendingSkus,
+      Map<String, ReportState.SkuUnits> skuUnits)
+      throws InterruptedException {
+    var partial = new ReportAccumulator(now);
+    while (true) {
+      var sku = pendingSkus.take();
+      if (sku == END_OF_SKUS) {
+        return partial;
+      }
+      var units = ReportState.SkuUnits.of(queryUnits(user, sku.getSkuId()));
+      skuUnits.put(sku.getSkuId(), units);
+      partial.addSku(sku, units);
+    }
+  }
+
+  // a worker only finishes early by failing, so surface that instead of
+  // blocking forever on a queue nobody drains
+  private static void enqueue(
+      BlockingQueue<TcgInventoryItem> pendingSkus,
+      TcgInventoryItem sku,
+      List<Future<ReportAccumulator>> workers) {
+    try {
+      while (!pendingSkus.offer(sku, 100, TimeUnit.MILLISECONDS)) {
+        for (var worker : workers) {
+          if (worker.isDone()) {
+            awaitWorker(worker);
+            throw new IllegalStateException("report worker exited before all SKUs were queued");
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static ReportAccumulator awaitWorker(Future<ReportAccumulator> worker) {
+    try {
+      return worker.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  @Nullable
+  private PreviousState loadReportState(String user, Instant now) {
+    var stateItem =
+        tcgInventoryTable.getItem(
+            Key.builder()
+                .partitionValue(TcgInventoryItem.formatUserPk(user))
+                .sortValue(TcgInventoryItem.formatReportStateSk())
+                .build());
+    if (stateItem == null || stateItem.getReportState() == null) {
+      return null;
+    }
+
+    // periodic full rebuilds bound any drift from writes the audit log cannot
+    // attribute, such as publish-time price changes landing between runs
+    if (stateItem.getCreatedAt() == null
+        || !now.isBefore(stateItem.getCreatedAt().plus(FULL_REBUILD_INTERVAL))) {
+      return null;
+    }
+
+    ReportState state;
+    try {
+      state = ReportState.decode(stateItem.getReportState(), objectMapper);
+    } catch (RuntimeException e) {
+      LOGGER.warn("discarding unreadable report state", e);
+      return null;
+    }
+    if (state.version() != ReportState.CURRENT_VERSION) {
+      return null;
+    }
+
+    return new PreviousState(stateItem.getAsOfAuditUlid(), stateItem.getCreatedAt(), state.skus());
+  }
+
+  private void saveReportState(
+      String user,
+      ReportState state,
+      @Nullable String asOfAuditUlid,
+      Instant rebuiltAt,
+      Instant now) {
+    var encoded = state.encode(objectMapper);
+    if (encoded.length > MAX_REPORT_STATE_BYTES) {
+      // the previous state stays valid: replaying audits from its older as-of
+      // ULID re-queries a superset of the SKUs changed since this run
+      LOGGER.warn("report state of {} bytes exceeds item budget; not persisting", encoded.length);
+      return;
+    }
+
+    tcgInventoryTable.putItem(
+        TcgInventoryItem.createReportState(user, encoded, asOfAuditUlid, rebuiltAt, now));
+  }
+
+  // returns null when an audit entry cannot be attributed to specific SKUs
+  @Nullable
+  private Set<String> findChangedSkuIds(
+      String user, @Nullable String sinceAuditUlid, List<TcgInventoryItem> orders) {
+    var auditPk = Key.builder().partitionValue(TcgInventoryItem.formatAuditPk(user));
+    var queryConditional =
+        sinceAuditUlid != null
+            ? QueryConditional.sortGreaterThan(auditPk.sortValue(sinceAuditUlid).build())
+            : QueryConditional.keyEqualTo(auditPk.build());
+    var request =
+        QueryEnhancedRequest.builder()
+            .queryConditional(queryConditional)
+            .scanIndexForward(true)
+            .build();
+
+    var ordersById = new HashMap<String, TcgInventoryItem>();
+    for (var order : orders) {
+      ordersById.put(order.getOrderId(), order);
+    }
+
+    var changedSkuIds = new HashSet<String>();
+    for (var page : tcgInventoryTable.query(request)) {
+      for (var audit : page.items()) {
+        if (audit.getSkuId() != null) {
+          changedSkuIds.add(audit.getSkuId());
+          if (audit.getTargetSkuId() != null) {
+            changedSkuIds.add(audit.getTargetSkuId());
+          }
+          continue;
+        }
+
+        var order = audit.getOrderId() != null ? ordersById.get(audit.getOrderId()) : null;
+        if (order == null) {
+          LOGGER.info("audit entry {} has no SKU attribution", audit.getSk());
+          return null;
+        }
+        for (var line : OrderLines.parse(order.getLines(), objectMapper)) {
+          changedSkuIds.add(line.skuId());
+        }
+      }
+    }
+
+    return changedSkuIds;
+  }
+
   private String findLatestAuditUlid(String user) {
     var request =
         QueryEnhancedRequest.builder()
@@ -83,16 +309,13 @@ public class ReportJobProcessor {
         .orElse(null);
   }
 
-  private List<TcgInventoryItem> pageGsi2Skus(String user) {
+  private QueryEnhancedRequest buildGsi2SkusRequest(String user) {
     var gsi2pk = TcgInventoryItem.formatGsi2pk(user);
-    var request =
-        QueryEnhancedRequest.builder()
-            .queryConditional(
-                QueryConditional.keyEqualTo(Key.builder().partitionValue(gsi2pk).build()))
-            .scanIndexForward(true)
-            .build();
-
-    return gsi2Index.query(request).stream().flatMap(page -> page.items().stream()).toList();
+    return QueryEnhancedRequest.builder()
+        .queryConditional(
+            QueryConditional.keyEqualTo(Key.builder().partitionValue(gsi2pk).build()))
+        .scanIndexForward(true)
+        .build();
   }
 
   private List<TcgInventoryItem> queryUnits(String user, String skuId) {
@@ -129,4 +352,9 @@ public class ReportJobProcessor {
         .flatMap(page -> page.items().stream())
         .toList();
   }
+
+  private record PreviousState(
+      @Nullable String asOfAuditUlid,
+      Instant rebuiltAt,
+      Map<String, ReportState.SkuUnits> skuUnits) {}
 }
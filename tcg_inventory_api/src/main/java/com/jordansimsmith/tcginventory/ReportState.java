@@ -0,0 +1,91 @@
+package com.jordansimsmith.tcginventory;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// per-SKU unit summaries behind the last report snapshot; an incremental run
+// re-queries only the SKUs touched by later audit entries and reuses the rest
+public record ReportState(
+    @JsonProperty("version") int version, @JsonProperty("skus") Map<String, SkuUnits> skus) {
+  public static final int CURRENT_VERSION = 1;
+
+  public ReportState(Map<String, SkuUnits> skus) {
+    this(CURRENT_VERSION, skus);
+  }
+
+  public record SkuUnits(
+      @JsonProperty("in_stock_by_day") Map<Long, Integer> inStockByDay,
+      @JsonProperty("reserved_units") int reservedUnits,
+      @JsonProperty("sold_units") int soldUnits,
+      @JsonProperty("added_by_week") Map<Long, Integer> addedByWeek,
+      @JsonProperty("sold_by_week") Map<Long, Integer> soldByWeek) {
+
+    public static SkuUnits of(List<TcgInventoryItem> units) {
+      var inStockByDay = new TreeMap<Long, Integer>();
+      var addedByWeek = new TreeMap<Long, Integer>();
+      var soldByWeek = new TreeMap<Long, Integer>();
+      int reservedUnits = 0;
+      int soldUnits = 0;
+
+      for (var unit : units) {
+        var status = unit.getStatus();
+        if ("removed".equals(status)) {
+          continue;
+        }
+
+        if (unit.getCreatedAt() != null) {
+          addedByWeek.merge(weekStartOf(unit.getCreatedAt()), 1, Integer::sum);
+        }
+
+        switch (status) {
+          case "in_stock" -> inStockByDay.merge(epochDayOf(unit.getCreatedAt()), 1, Integer::sum);
+          case "reserved" -> reservedUnits++;
+          case "sold" -> {
+            soldUnits++;
+            if (unit.getUpdatedAt() != null) {
+              soldByWeek.merge(weekStartOf(unit.getUpdatedAt()), 1, Integer::sum);
+            }
+          }
+          default -> {}
+        }
+      }
+
+      return new SkuUnits(inStockByDay, reservedUnits, soldUnits, addedByWeek, soldByWeek);
+    }
+
+    private static long epochDayOf(Instant instant) {
+      return ReportAccumulator.epochDayOf(instant);
+    }
+
+    private static long weekStartOf(Instant instant) {
+      return ReportAccumulator.weekStartOf(ReportAccumulator.epochDayOf(instant));
+    }
+  }
+
+  // gzipped json keeps a target-scale inventory well inside the 400 KB item limit
+  public byte[] encode(ObjectMapper objectMapper) {
+    var bytes = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(bytes)) {
+      objectMapper.writeValue(gzip, this);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  public static ReportState decode(byte[] encoded, ObjectMapper objectMapper) {
+    try (var gzip = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+      return objectMapper.readValue(gzip, ReportState.class);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
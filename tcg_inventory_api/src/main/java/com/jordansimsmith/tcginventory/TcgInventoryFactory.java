@@ -1,6 +1,8 @@
 package com.jordansimsmith.tcginventory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jordansimsmith.dynamodb.DynamoDbBatchReader;
+import com.jordansimsmith.dynamodb.DynamoDbBatchWriter;
 import com.jordansimsmith.dynamodb.DynamoDbModule;
 import com.jordansimsmith.http.HttpResponseFactory;
 import com.jordansimsmith.http.RequestContextFactory;
@@ -44,6 +46,10 @@ public interface TcgInventoryFactory {
 
   DynamoDbClient dynamoDbClient();
 
+  DynamoDbBatchWriter dynamoDbBatchWriter();
+
+  DynamoDbBatchReader dynamoDbBatchReader();
+
   QueueClient<JobMessage> jobsQueue();
 
   UlidGenerator ulidGenerator();
@@ -2,6 +2,7 @@ package com.jordansimsmith.tcginventory;
 
 import com.jordansimsmith.dynamodb.EpochSecondConverter;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Objects;
 import javax.annotation.Nullable;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
@@ -25,12 +26,16 @@ public class TcgInventoryItem {
   public static final String COUNTER_PREFIX = "COUNTER" + DELIMITER;
   public static final String DIRTY_SUFFIX = "DIRTY";
   public static final String SKUS_SUFFIX = "SKUS";
+  public static final String IN_STOCK_SUFFIX = "IN_STOCK";
   public static final String NAME_PREFIX = "NAME" + DELIMITER;
+  public static final String CARD_PREFIX = "CARD" + DELIMITER;
+  public static final String LISTINGS_PREFIX = "LISTINGS" + DELIMITER;
   public static final String AUDIT_SUFFIX = "AUDIT";
 
   public static final String TABLE_NAME = "tcg_inventory";
   public static final String GSI1_NAME = "gsi1";
   public static final String GSI2_NAME = "gsi2";
+  public static final String GSI3_NAME = "gsi3";
 
   public static final String PK = "pk";
   public static final String SK = "sk";
@@ -38,7 +43,10 @@ public class TcgInventoryItem {
   public static final String GSI1SK = "gsi1sk";
   public static final String GSI2PK = "gsi2pk";
   public static final String GSI2SK = "gsi2sk";
+  public static final String GSI3PK = "gsi3pk";
+  public static final String GSI3SK = "gsi3sk";
   public static final String SKU_ID = "sku_id";
+  public static final String TARGET_SKU_ID = "target_sku_id";
   public static final String SCRYFALL_ID = "scryfall_id";
   public static final String FINISH = "finish";
   public static final String CONDITION = "condition";
@@ -50,6 +58,10 @@ public class TcgInventoryItem {
   public static final String FETCHTCG_SET_ID = "fetchtcg_set_id";
   public static final String VERSION = "version";
   public static final String DIRTY = "dirty";
+  public static final String IN_STOCK_COUNT = "in_stock_count";
+  public static final String RESERVED_COUNT = "reserved_count";
+  public static final String SOLD_COUNT = "sold_count";
+  public static final String COUNTERS_INITIALIZED = "counters_initialized";
   public static final String SEQUENCE_NUMBER = "sequence_number";
   public static final String STATUS = "status";
   public static final String IMPORT_ID = "import_id";
@@ -80,7 +92,10 @@ public class TcgInventoryItem {
   public static final String EVENT_TYPE = "event_type";
   public static final String TRACK_ORDERS_AFTER = "track_orders_after";
   public static final String REPORT = "report";
+  public static final String REPORT_STATE = "report_state";
   public static final String AS_OF_AUDIT_ULID = "as_of_audit_ulid";
+  public static final String LISTINGS = "listings";
+  public static final String TTL = "ttl";
   public static final String CREATED_AT = "created_at";
   public static final String UPDATED_AT = "updated_at";
 
@@ -90,7 +105,10 @@ public class TcgInventoryItem {
   private String gsi1sk;
   private String gsi2pk;
   private String gsi2sk;
+  private String gsi3pk;
+  private String gsi3sk;
   private String skuId;
+  private String targetSkuId;
   private String scryfallId;
   private String finish;
   private String condition;
@@ -102,6 +120,10 @@ public class TcgInventoryItem {
   private Integer fetchtcgSetId;
   private Integer version;
   private Boolean dirty;
+  private Integer inStockCount;
+  private Integer reservedCount;
+  private Integer soldCount;
+  private Boolean countersInitialized;
   private Integer sequenceNumber;
   private String status;
   private String importId;
@@ -132,7 +154,10 @@ public class TcgInventoryItem {
   private String eventType;
   private Instant trackOrdersAfter;
   private String report;
+  private byte[] reportState;
   private String asOfAuditUlid;
+  private String listings;
+  private Long ttl;
   private Instant createdAt;
   private Instant updatedAt;
 
@@ -200,6 +225,28 @@ public class TcgInventoryItem {
     this.gsi2sk = gsi2sk;
   }
 
+  @Nullable
+  @DynamoDbSecondaryPartitionKey(indexNames = GSI3_NAME)
+  @DynamoDbAttribute(GSI3PK)
+  public String getGsi3pk() {
+    return gsi3pk;
+  }
+
+  public void setGsi3pk(@Nullable String gsi3pk) {
+    this.gsi3pk = gsi3pk;
+  }
+
+  @Nullable
+  @DynamoDbSecondarySortKey(indexNames = GSI3_NAME)
+  @DynamoDbAttribute(GSI3SK)
+  public String getGsi3sk() {
+    return gsi3sk;
+  }
+
+  public void setGsi3sk(@Nullable String gsi3sk) {
+    this.gsi3sk = gsi3sk;
+  }
+
   @Nullable
   @DynamoDbAttribute(SKU_ID)
   public String getSkuId() {
@@ -210,6 +257,16 @@ public class TcgInventoryItem {
     this.skuId = skuId;
   }
 
+  @Nullable
+  @DynamoDbAttribute(TARGET_SKU_ID)
+  public String getTargetSkuId() {
+    return targetSkuId;
+  }
+
+  public void setTargetSkuId(@Nullable String targetSkuId) {
+    this.targetSkuId = targetSkuId;
+  }
+
   @Nullable
   @DynamoDbAttribute(SCRYFALL_ID)
   public String getScryfallId() {
@@ -320,6 +377,46 @@ public class TcgInventoryItem {
     this.dirty = dirty;
   }
 
+  @Nullable
+  @DynamoDbAttribute(IN_STOCK_COUNT)
+  public Integer getInStockCount() {
+    return inStockCount;
+  }
+
+  public void setInStockCount(@Nullable Integer inStockCount) {
+    this.inStockCount = inStockCount;
+  }
+
+  @Nullable
+  @DynamoDbAttribute(RESERVED_COUNT)
+  public Integer getReservedCount() {
+    return reservedCount;
+  }
+
+  public void setReservedCount(@Nullable Integer reservedCount) {
+    this.reservedCount = reservedCount;
+  }
+
+  @Nullable
+  @DynamoDbAttribute(SOLD_COUNT)
+  public Integer getSoldCount() {
+    return soldCount;
+  }
+
+  public void setSoldCount(@Nullable Integer soldCount) {
+    this.soldCount = soldCount;
+  }
+
+  @Nullable
+  @DynamoDbAttribute(COUNTERS_INITIALIZED)
+  public Boolean getCountersInitialized() {
+    return countersInitialized;
+  }
+
+  public void setCountersInitialized(@Nullable Boolean countersInitialized) {
+    this.countersInitialized = countersInitialized;
+  }
+
   @Nullable
   @DynamoDbAttribute(SEQUENCE_NUMBER)
   public Integer getSequenceNumber() {
@@ -622,6 +719,16 @@ public class TcgInventoryItem {
     this.report = report;
   }
 
+  @Nullable
+  @DynamoDbAttribute(REPORT_STATE)
+  public byte[] getReportState() {
+    return reportState;
+  }
+
+  public void setReportState(@Nullable byte[] reportState) {
+    this.reportState = reportState;
+  }
+
   @Nullable
   @DynamoDbAttribute(AS_OF_AUDIT_ULID)
   public String getAsOfAuditUlid() {
@@ -632,6 +739,26 @@ public class TcgInventoryItem {
     this.asOfAuditUlid = asOfAuditUlid;
   }
 
+  @Nullable
+  @DynamoDbAttribute(LISTINGS)
+  public String getListings() {
+    return listings;
+  }
+
+  public void setListings(@Nullable String listings) {
+    this.listings = listings;
+  }
+
+  @Nullable
+  @DynamoDbAttribute(TTL)
+  public Long getTtl() {
+    return ttl;
+  }
+
+  public void setTtl(@Nullable Long ttl) {
+    this.ttl = ttl;
+  }
+
   @Nullable
   @DynamoDbAttribute(CREATED_AT)
   @DynamoDbConvertedBy(EpochSecondConverter.class)
@@ -665,7 +792,10 @@ public class TcgInventoryItem {
         && Objects.equals(gsi1sk, that.gsi1sk)
         && Objects.equals(gsi2pk, that.gsi2pk)
         && Objects.equals(gsi2sk, that.gsi2sk)
+        && Objects.equals(gsi3pk, that.gsi3pk)
+        && Objects.equals(gsi3sk, that.gsi3sk)
         && Objects.equals(skuId, that.skuId)
+        && Objects.equals(targetSkuId, that.targetSkuId)
         && Objects.equals(scryfallId, that.scryfallId)
         && Objects.equals(finish, that.finish)
         && Objects.equals(condition, that.condition)
@@ -677,6 +807,10 @@ public class TcgInventoryItem {
         && Objects.equals(fetchtcgSetId, that.fetchtcgSetId)
         && Objects.equals(version, that.version)
         && Objects.equals(dirty, that.dirty)
+        && Objects.equals(inStockCount, that.inStockCount)
+        && Objects.equals(reservedCount, that.reservedCount)
+        && Objects.equals(soldCount, that.soldCount)
+        && Objects.equals(countersInitialized, that.countersInitialized)
         && Objects.equals(sequenceNumber, that.sequenceNumber)
         && Objects.equals(status, that.status)
         && Objects.equals(importId, that.importId)
@@ -707,7 +841,10 @@ public class TcgInventoryItem {
         && Objects.equals(eventType, that.eventType)
         && Objects.equals(trackOrdersAfter, that.trackOrdersAfter)
         && Objects.equals(report, that.report)
+        && Arrays.equals(reportState, that.reportState)
         && Objects.equals(asOfAuditUlid, that.asOfAuditUlid)
+        && Objects.equals(listings, that.listings)
+        && Objects.equals(ttl, that.ttl)
         && Objects.equals(createdAt, that.createdAt)
         && Objects.equals(updatedAt, that.updatedAt);
   }
@@ -721,7 +858,10 @@ public class TcgInventoryItem {
         gsi1sk,
         gsi2pk,
         gsi2sk,
+        gsi3pk,
+        gsi3sk,
         skuId,
+        targetSkuId,
         scryfallId,
         finish,
         condition,
@@ -733,6 +873,10 @@ public class TcgInventoryItem {
         fetchtcgSetId,
         version,
         dirty,
+        inStockCount,
+        reservedCount,
+        soldCount,
+        countersInitialized,
         sequenceNumber,
         status,
         importId,
@@ -763,7 +907,10 @@ public class TcgInventoryItem {
         eventType,
         trackOrdersAfter,
         report,
+        Arrays.hashCode(reportState),
         asOfAuditUlid,
+        listings,
+        ttl,
         createdAt,
         updatedAt);
   }
@@ -789,9 +936,18 @@ public class TcgInventoryItem {
         + ", gsi2sk='"
         + gsi2sk
         + '\''
+        + ", gsi3pk='"
+        + gsi3pk
+        + '\''
+        + ", gsi3sk='"
+        + gsi3sk
+        + '\''
         + ", skuId='"
         + skuId
         + '\''
+        + ", targetSkuId='"
+        + targetSkuId
+        + '\''
         + ", scryfallId='"
         + scryfallId
         + '\''
@@ -821,6 +977,14 @@ public class TcgInventoryItem {
         + version
         + ", dirty="
         + dirty
+        + ", inStockCount="
+        + inStockCount
+        + ", reservedCount="
+        + reservedCount
+        + ", soldCount="
+        + soldCount
+        + ", countersInitialized="
+        + countersInitialized
         + ", sequenceNumber="
         + sequenceNumber
         + ", status='"
@@ -901,9 +1065,16 @@ public class TcgInventoryItem {
         + ", report='"
         + report
         + '\''
+        + ", reportState="
+        + (reportState != null ? reportState.length + " bytes" : null)
         + ", asOfAuditUlid='"
         + asOfAuditUlid
         + '\''
+        + ", listings='"
+        + listings
+        + '\''
+        + ", ttl="
+        + ttl
         + ", createdAt="
         + createdAt
         + ", updatedAt="
@@ -959,6 +1130,26 @@ public class TcgInventoryItem {
     return "REPORT";
   }
 
+  public static String formatReportStateSk() {
+    return "REPORT_STATE";
+  }
+
+  public static String formatCardResolutionPk(String user, String scryfallId, String finish) {
+    return USER_PREFIX + user + DELIMITER + CARD_PREFIX + scryfallId + DELIMITER + finish;
+  }
+
+  public static String formatCardResolutionSk() {
+    return "RESOLUTION";
+  }
+
+  public static String formatCardListingsPk(String user, String fetchtcgCardId) {
+    return USER_PREFIX + user + DELIMITER + LISTINGS_PREFIX + fetchtcgCardId;
+  }
+
+  public static String formatCardListingsSk() {
+    return "LISTINGS";
+  }
+
   public static String formatAuditPk(String user) {
     return USER_PREFIX + user + DELIMITER + AUDIT_SUFFIX;
   }
@@ -979,6 +1170,14 @@ public class TcgInventoryItem {
     return NAME_PREFIX + normalizedName + DELIMITER + skuId;
   }
 
+  public static String formatGsi3pk(String user, String skuId) {
+    return formatSkuPk(user, skuId) + DELIMITER + IN_STOCK_SUFFIX;
+  }
+
+  public static String formatGsi3sk(int sequenceNumber) {
+    return formatUnitSk(sequenceNumber);
+  }
+
   public static TcgInventoryItem createSku(
       String user,
       String skuId,
@@ -1006,6 +1205,10 @@ public class TcgInventoryItem {
     item.setSuggestedPrice(suggestedPrice);
     item.setVersion(1);
     item.setDirty(true);
+    item.setInStockCount(0);
+    item.setReservedCount(0);
+    item.setSoldCount(0);
+    item.setCountersInitialized(true);
     item.setGsi1pk(formatGsi1pk(user));
     item.setGsi1sk(formatGsi1sk(skuId));
     item.setGsi2pk(formatGsi2pk(user));
@@ -1027,6 +1230,10 @@ public class TcgInventoryItem {
     item.setStatus(status);
     item.setImportId(importId);
     item.setCreatedAt(createdAt);
+    if ("in_stock".equals(status)) {
+      item.setGsi3pk(formatGsi3pk(user, skuId));
+      item.setGsi3sk(formatGsi3sk(sequenceNumber));
+    }
     return item;
   }
 
@@ -1132,4 +1339,54 @@ public class TcgInventoryItem {
     item.setUpdatedAt(updatedAt);
     return item;
   }
+
+  public static TcgInventoryItem createReportState(
+      String user,
+      byte[] reportState,
+      @Nullable String asOfAuditUlid,
+      Instant rebuiltAt,
+      Instant updatedAt) {
+    var item = new TcgInventoryItem();
+    item.setPk(formatUserPk(user));
+    item.setSk(formatReportStateSk());
+    item.setReportState(reportState);
+    item.setAsOfAuditUlid(asOfAuditUlid);
+    item.setCreatedAt(rebuiltAt);
+    item.setUpdatedAt(updatedAt);
+    return item;
+  }
+
+  public static TcgInventoryItem createCardResolution(
+      String user,
+      String scryfallId,
+      String finish,
+      @Nullable String fetchtcgCardId,
+      @Nullable Integer fetchtcgSetId,
+      @Nullable String marketPrice,
+      Instant updatedAt,
+      Instant expiresAt) {
+    var item = new TcgInventoryItem();
+    item.setPk(formatCardResolutionPk(user, scryfallId, finish));
+    item.setSk(formatCardResolutionSk());
+    item.setScryfallId(scryfallId);
+    item.setFinish(finish);
+    item.setFetchtcgCardId(fetchtcgCardId);
+    item.setFetchtcgSetId(fetchtcgSetId);
+    item.setMarketPrice(marketPrice);
+    item.setUpdatedAt(updatedAt);
+    item.setTtl(expiresAt.getEpochSecond());
+    return item;
+  }
+
+  public static TcgInventoryItem createCardListings(
+      String user, String fetchtcgCardId, String listings, Instant updatedAt, Instant expiresAt) {
+    var item = new TcgInventoryItem();
+    item.setPk(formatCardListingsPk(user, fetchtcgCardId));
+    item.setSk(formatCardListingsSk());
+    item.setFetchtcgCardId(fetchtcgCardId);
+    item.setListings(listings);
+    item.setUpdatedAt(updatedAt);
+    item.setTtl(expiresAt.getEpochSecond());
+    return item;
+  }
 }
@@ -9,7 +9,6 @@ import dagger.Module;
 import dagger.Provides;
 import java.net.URI;
 import java.net.http.HttpClient;
-import java.util.concurrent.ThreadLocalRandom;
 import javax.inject.Singleton;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
@@ -21,6 +20,8 @@ import software.amazon.awssdk.services.sqs.SqsClient;
 @Module
 public class TcgInventoryModule {
   static final String JOBS_QUEUE_NAME = "tcg_inventory_jobs.fifo";
+  static final double DEFAULT_FETCHTCG_REQUESTS_PER_SECOND = 2.0;
+  static final int DEFAULT_FETCHTCG_MAX_CONCURRENCY = 4;
 
   @Provides
   @Singleton
@@ -62,21 +63,32 @@ public class TcgInventoryModule {
 
   @Provides
   @Singleton
-  FetchTcgClient fetchTcgClient(ObjectMapper objectMapper) {
-    Runnable pacer =
-        () -> {
-          try {
-            Thread.sleep(ThreadLocalRandom.current().nextLong(1000, 2000));
-          } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(e);
-          }
-        };
+  TokenBucketRateLimiter fetchTcgRateLimiter() {
+    var requestsPerSecond = System.getenv("FETCHTCG_REQUESTS_PER_SECOND");
+    var permitsPerSecond =
+        requestsPerSecond == null || requestsPerSecond.isEmpty()
+            ? DEFAULT_FETCHTCG_REQUESTS_PER_SECOND
+            : Double.parseDouble(requestsPerSecond);
+    return new TokenBucketRateLimiter(permitsPerSecond, 1);
+  }
+
+  @Provides
+  @Singleton
+  FetchTcgClient fetchTcgClient(ObjectMapper objectMapper, TokenBucketRateLimiter rateLimiter) {
     var fetchTcgBaseUrl = System.getenv("FETCHTCG_BASE_URL");
     if (fetchTcgBaseUrl == null || fetchTcgBaseUrl.isEmpty()) {
       fetchTcgBaseUrl = "https://api.fetchtcg.com";
     }
+    var maxConcurrency = System.getenv("FETCHTCG_MAX_CONCURRENCY");
+    var maxConcurrentRequests =
+        maxConcurrency == null || maxConcurrency.isEmpty()
+            ? DEFAULT_FETCHTCG_MAX_CONCURRENCY
+            : Integer.parseInt(maxConcurrency);
     return new HttpFetchTcgClient(
-        URI.create(fetchTcgBaseUrl), HttpClient.newHttpClient(), objectMapper, pacer);
+        URI.create(fetchTcgBaseUrl),
+        HttpClient.newHttpClient(),
+        objectMapper,
+        rateLimiter::acquire,
+        maxConcurrentRequests);
   }
 }
@@ -0,0 +1,64 @@
+package com.jordansimsmith.tcginventory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+public class TokenBucketRateLimiter {
+  @FunctionalInterface
+  interface Sleeper {
+    void sleep(long nanos) throws InterruptedException;
+  }
+
+  private final double nanosPerPermit;
+  private final double maxPermits;
+  private final LongSupplier nanoTime;
+  private final Sleeper sleeper;
+
+  private double storedPermits;
+  private long lastRefillNanos;
+
+  public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+    this(permitsPerSecond, burst, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+  }
+
+  TokenBucketRateLimiter(
+      double permitsPerSecond, int burst, LongSupplier nanoTime, Sleeper sleeper) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+    }
+    if (burst < 1) {
+      throw new IllegalArgumentException("burst must be at least 1: " + burst);
+    }
+    this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+    this.maxPermits = burst;
+    this.nanoTime = nanoTime;
+    this.sleeper = sleeper;
+    this.storedPermits = burst;
+    this.lastRefillNanos = nanoTime.getAsLong();
+  }
+
+  public void acquire() {
+    long waitNanos = reserve();
+    if (waitNanos <= 0) {
+      return;
+    }
+    try {
+      sleeper.sleep(waitNanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  // the permit is taken immediately, possibly driving the bucket negative; the
+  // deficit is the caller's wait, so concurrent callers queue up in arrival
+  // order without holding the lock while they sleep
+  private synchronized long reserve() {
+    var now = nanoTime.getAsLong();
+    storedPermits = Math.min(maxPermits, storedPermits + (now - lastRefillNanos) / nanosPerPermit);
+    lastRefillNanos = now;
+
+    storedPermits -= 1;
+    return storedPermits >= 0 ? 0 : (long) Math.ceil(-storedPermits * nanosPerPermit);
+  }
+}
@@ -20,6 +20,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.Delete;
@@ -124,6 +125,19 @@ public class UpdateUnitHandler
 
     var targetSkuId = skuItem.getScryfallId() + "#" + skuItem.getFinish() + "#" + body.condition();
     var targetSkuPk = TcgInventoryItem.formatSkuPk(user, targetSkuId);
+    // a target SKU created by this move has exact counters from its first unit; the transaction
+    // is conditioned on that so a concurrent creation cancels it instead of being marked
+    var newTargetSku =
+        tcgInventoryTable.getItem(
+                GetItemEnhancedRequest.builder()
+                    .key(
+                        Key.builder()
+                            .partitionValue(targetSkuPk)
+                            .sortValue(TcgInventoryItem.formatSkuSk())
+                            .build())
+                    .consistentRead(true)
+                    .build())
+            == null;
 
     var deleteUnit =
         TransactWriteItem.builder()
@@ -150,6 +164,12 @@ public class UpdateUnitHandler
     newUnitItem.put(TcgInventoryItem.STATUS, AttributeValue.builder().s("in_stock").build());
     newUnitItem.put(
         TcgInventoryItem.IMPORT_ID, AttributeValue.builder().s(unitItem.getImportId()).build());
+    newUnitItem.put(
+        TcgInventoryItem.GSI3PK,
+        AttributeValue.builder().s(TcgInventoryItem.formatGsi3pk(user, targetSkuId)).build());
+    newUnitItem.put(
+        TcgInventoryItem.GSI3SK,
+        AttributeValue.builder().s(TcgInventoryItem.formatGsi3sk(sequenceNumber)).build());
     newUnitItem.put(
         TcgInventoryItem.CREATED_AT,
         AttributeValue.builder()
@@ -174,7 +194,9 @@ public class UpdateUnitHandler
                     .updateExpression(
                         "ADD "
                             + TcgInventoryItem.VERSION
-                            + " :one"
+                            + " :one, "
+                            + TcgInventoryItem.IN_STOCK_COUNT
+                            + " :minusOne"
                             + " SET "
                             + TcgInventoryItem.DIRTY
                             + " = :dirty, "
@@ -183,6 +205,7 @@ public class UpdateUnitHandler
                     .expressionAttributeValues(
                         Map.of(
                             ":one", AttributeValue.builder().n("1").build(),
+                            ":minusOne", AttributeValue.builder().n("-1").build(),
                             ":dirty", AttributeValue.builder().bool(true).build(),
                             ":gsi1pk",
                                 AttributeValue.builder()
@@ -195,7 +218,13 @@ public class UpdateUnitHandler
         new StringBuilder(
             "ADD "
                 + TcgInventoryItem.VERSION
-                + " :one"
+                + " :one, "
+                + TcgInventoryItem.IN_STOCK_COUNT
+                + " :one, "
+                + TcgInventoryItem.RESERVED_COUNT
+                + " :zero, "
+                + TcgInventoryItem.SOLD_COUNT
+                + " :zero"
                 + " SET "
                 + TcgInventoryItem.SKU_ID
                 + " = :skuId, "
@@ -223,6 +252,7 @@ public class UpdateUnitHandler
 
     var targetValues = new HashMap<String, AttributeValue>();
     targetValues.put(":one", AttributeValue.builder().n("1").build());
+    targetValues.put(":zero", AttributeValue.builder().n("0").build());
     targetValues.put(":skuId", AttributeValue.builder().s(targetSkuId).build());
     targetValues.put(":scryfallId", AttributeValue.builder().s(skuItem.getScryfallId()).build());
     targetValues.put(":finish", AttributeValue.builder().s(skuItem.getFinish()).build());
@@ -255,6 +285,11 @@ public class UpdateUnitHandler
       targetValues.put(
           ":suggestedPrice", AttributeValue.builder().s(skuItem.getSuggestedPrice()).build());
     }
+    if (newTargetSku) {
+      targetSetExpr.append(
+          ", " + TcgInventoryItem.COUNTERS_INITIALIZED + " = :countersInitialized");
+      targetValues.put(":countersInitialized", AttributeValue.builder().bool(true).build());
+    }
 
     var targetSkuUpdate =
         TransactWriteItem.builder()
@@ -267,6 +302,8 @@ public class UpdateUnitHandler
                             TcgInventoryItem.SK,
                                 AttributeValue.builder().s(TcgInventoryItem.formatSkuSk()).build()))
                     .updateExpression(targetSetExpr.toString())
+                    .conditionExpression(
+                        newTargetSku ? "attribute_not_exists(pk)" : "attribute_exists(pk)")
                     .expressionAttributeNames(
                         Map.of(
                             "#finish", TcgInventoryItem.FINISH,
@@ -284,6 +321,8 @@ public class UpdateUnitHandler
         TcgInventoryItem.SK, AttributeValue.builder().s(ulidGenerator.generate()).build());
     auditItem.put(TcgInventoryItem.EVENT_TYPE, AttributeValue.builder().s("adjustment").build());
     auditItem.put(TcgInventoryItem.SKU_ID, AttributeValue.builder().s(skuId).build());
+    auditItem.put(
+        TcgInventoryItem.TARGET_SKU_ID, AttributeValue.builder().s(targetSkuId).build());
     auditItem.put(
         TcgInventoryItem.SEQUENCE_NUMBER,
         AttributeValue.builder().n(String.valueOf(sequenceNumber)).build());
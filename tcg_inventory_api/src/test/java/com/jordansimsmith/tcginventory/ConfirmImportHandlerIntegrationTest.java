@@ -88,6 +88,9 @@ public class ConfirmImportHandlerIntegrationTest {
     assertThat(unit0).isNotNull();
     assertThat(unit0.getStatus()).isEqualTo("in_stock");
     assertThat(unit0.getImportId()).isEqualTo("import1");
+    assertThat(unit0.getGsi3pk())
+        .isEqualTo(TcgInventoryItem.formatGsi3pk("jordan", "scryfall-1#normal#NM"));
+    assertThat(unit0.getGsi3sk()).isEqualTo(TcgInventoryItem.formatGsi3sk(0));
 
     var unit1 =
         tcgInventoryTable.getItem(
@@ -101,8 +104,12 @@ public class ConfirmImportHandlerIntegrationTest {
         tcgInventoryTable.getItem(
             Key.builder().partitionValue(sku1Pk).sortValue(TcgInventoryItem.formatSkuSk()).build());
     assertThat(countUnits(sku1Pk)).isEqualTo(2);
+    assertThat(sku1.getInStockCount()).isEqualTo(2);
+    assertThat(sku1.getReservedCount()).isEqualTo(0);
+    assertThat(sku1.getSoldCount()).isEqualTo(0);
     assertThat(sku1.getVersion()).isEqualTo(1);
     assertThat(sku1.getDirty()).isTrue();
+    assertThat(sku1.getCountersInitialized()).isTrue();
     assertThat(sku1.getGsi1pk()).isEqualTo(TcgInventoryItem.formatGsi1pk("jordan"));
 
     var sku2Pk = TcgInventoryItem.formatSkuPk("jordan", "scryfall-2#foil#LP");
@@ -110,10 +117,54 @@ public class ConfirmImportHandlerIntegrationTest {
         tcgInventoryTable.getItem(
             Key.builder().partitionValue(sku2Pk).sortValue(TcgInventoryItem.formatSkuSk()).build());
     assertThat(countUnits(sku2Pk)).isEqualTo(1);
+    assertThat(sku2.getInStockCount()).isEqualTo(1);
     assertThat(sku2.getVersion()).isEqualTo(1);
     assertThat(sku2.getDirty()).isTrue();
   }
 
+  @Test
+  void confirmShouldLeaveCountersOfLegacySkuUninitialized() throws Exception {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    var legacySku =
+        TcgInventoryItem.createSku(
+            "jordan",
+            "scryfall-1#normal#NM",
+            "scryfall-1",
+            "normal",
+            "NM",
+            "Card A",
+            "dom",
+            "Dominaria",
+            "1",
+            null,
+            null);
+    legacySku.setCountersInitialized(null);
+    legacySku.setInStockCount(null);
+    legacySku.setReservedCount(null);
+    legacySku.setSoldCount(null);
+    tcgInventoryTable.putItem(legacySku);
+    createImportInReview("jordan", "import1", 1);
+    createKeepRow("jordan", "import1", 1, "scryfall-1", "normal", "NM", "Card A");
+
+    // act
+    var response =
+        confirmImportHandler.handleRequest(
+            buildEvent("jordan", Map.of("import_id", "import1")), null);
+
+    // assert
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    var sku =
+        tcgInventoryTable.getItem(
+            Key.builder()
+                .partitionValue(TcgInventoryItem.formatSkuPk("jordan", "scryfall-1#normal#NM"))
+                .sortValue(TcgInventoryItem.formatSkuSk())
+                .build());
+    assertThat(sku.getCountersInitialized()).isNull();
+    assertThat(sku.getInStockCount()).isEqualTo(1);
+    assertThat(sku.getVersion()).isEqualTo(2);
+  }
+
   @Test
   void confirmShouldReturn409WhenNotInReview() throws Exception {
     // arrange
@@ -299,6 +350,7 @@ public class ConfirmImportHandlerIntegrationTest {
             "168",
             null,
             null);
+    existingSku.setInStockCount(1);
     tcgInventoryTable.putItem(existingSku);
 
     // act
@@ -318,6 +370,7 @@ public class ConfirmImportHandlerIntegrationTest {
                 .sortValue(TcgInventoryItem.formatSkuSk())
                 .build());
     assertThat(sku.getVersion()).isEqualTo(1);
+    assertThat(sku.getInStockCount()).isEqualTo(1);
 
     var importResult =
         tcgInventoryTable.getItem(
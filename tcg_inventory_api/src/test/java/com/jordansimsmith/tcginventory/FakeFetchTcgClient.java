@@ -1,19 +1,20 @@
 package com.jordansimsmith.tcginventory;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class FakeFetchTcgClient implements FetchTcgClient {
-  private final Map<String, GetCardResponse> cards = new HashMap<>();
-  private final Map<String, SearchCardsResponse> searchResults = new HashMap<>();
-  private final Map<String, GetCardListingsResponse> listings = new HashMap<>();
-  private final Map<Integer, GetSellerOffersResponse> sellerOffers = new HashMap<>();
-  private final List<UpsertListingRequest> upsertCalls = new ArrayList<>();
-  private final List<Integer> deleteCalls = new ArrayList<>();
-  private int searchCallCount;
-  private int nextListingId = 900000;
+  private final Map<String, GetCardResponse> cards = new ConcurrentHashMap<>();
+  private final Map<String, SearchCardsResponse> searchResults = new ConcurrentHashMap<>();
+  private final Map<String, GetCardListingsResponse> listings = new ConcurrentHashMap<>();
+  private final Map<Integer, GetSellerOffersResponse> sellerOffers = new ConcurrentHashMap<>();
+  private final List<UpsertListingRequest> upsertCalls = new CopyOnWriteArrayList<>();
+  private final List<Integer> deleteCalls = new CopyOnWriteArrayList<>();
+  private final AtomicInteger searchCallCount = new AtomicInteger();
+  private final AtomicInteger nextListingId = new AtomicInteger(900000);
 
   @Override
   public GetCardResponse getCard(String cardId) {
@@ -26,7 +27,7 @@ public class FakeFetchTcgClient implements FetchTcgClient {
 
   @Override
   public SearchCardsResponse searchCards(int setId, String cardName, String finish) {
-    searchCallCount++;
+    searchCallCount.incrementAndGet();
     var key = setId + "#" + cardName + "#" + finish;
     var response = searchResults.get(key);
     if (response == null) {
@@ -56,7 +57,7 @@ public class FakeFetchTcgClient implements FetchTcgClient {
   @Override
   public UpsertListingResponse upsertListing(String bearerToken, UpsertListingRequest request) {
     upsertCalls.add(request);
-    return new UpsertListingResponse(nextListingId++, request.quantity());
+    return new UpsertListingResponse(nextListingId.getAndIncrement(), request.quantity());
   }
 
   @Override
@@ -94,7 +95,7 @@ public class FakeFetchTcgClient implements FetchTcgClient {
   }
 
   public int getSearchCallCount() {
-    return searchCallCount;
+    return searchCallCount.get();
   }
 
   public void reset() {
@@ -104,7 +105,7 @@ public class FakeFetchTcgClient implements FetchTcgClient {
     sellerOffers.clear();
     upsertCalls.clear();
     deleteCalls.clear();
-    searchCallCount = 0;
-    nextListingId = 900000;
+    searchCallCount.set(0);
+    nextListingId.set(900000);
   }
 }
@@ -15,8 +15,15 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -42,7 +49,9 @@ public class HttpFetchTcgClientTest {
             URI.create("https://api.fetchtcg.com"),
             httpClient,
             objectMapper,
-            pacerCallCount::incrementAndGet);
+            pacerCallCount::incrementAndGet,
+            1,
+            Duration.ofMillis(1));
   }
 
   @AfterEach
@@ -184,6 +193,138 @@ public class HttpFetchTcgClientTest {
         .send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString()));
   }
 
+  @Test
+  void shouldBackOffExponentiallyBetweenRetries() throws IOException, InterruptedException {
+    // arrange
+    var failResponse = createMockResponse(503, "Service Unavailable");
+    var successResponse =
+        createMockResponse(200, "{\"id\": \"mtg_1_c_dom_normal\", \"name\": \"x\"}");
+    when(httpClient.send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString())))
+        .thenReturn(failResponse)
+        .thenReturn(failResponse)
+        .thenReturn(failResponse)
+        .thenReturn(successResponse);
+    var backoffClient =
+        new HttpFetchTcgClient(
+            URI.create("https://api.fetchtcg.com"),
+            httpClient,
+            objectMapper,
+            () -> {},
+            1,
+            Duration.ofMillis(40));
+
+    // act
+    var start = System.nanoTime();
+    var result = backoffClient.getCard("mtg_1_c_dom_normal");
+    var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    // assert
+    assertThat(result.id()).isEqualTo("mtg_1_c_dom_normal");
+    // each delay is at least half of its 40, 80 and 160 ms ceiling
+    assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(140));
+  }
+
+  @Test
+  void shouldRetryOn429() throws IOException, InterruptedException {
+    // arrange
+    var throttledResponse = createMockResponse(429, "Too Many Requests");
+    var successResponse =
+        createMockResponse(200, "{\"id\": \"mtg_1_c_dom_normal\", \"name\": \"x\"}");
+    when(httpClient.send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString())))
+        .thenReturn(throttledResponse)
+        .thenReturn(successResponse);
+
+    // act
+    var result = client.getCard("mtg_1_c_dom_normal");
+
+    // assert
+    assertThat(result.id()).isEqualTo("mtg_1_c_dom_normal");
+    assertThat(pacerCallCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldWaitOutRetryAfterOn429() throws IOException, InterruptedException {
+    // arrange
+    var throttledResponse =
+        createMockResponse(429, "Too Many Requests", Map.of("Retry-After", List.of("1")));
+    var successResponse =
+        createMockResponse(200, "{\"id\": \"mtg_1_c_dom_normal\", \"name\": \"x\"}");
+    when(httpClient.send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString())))
+        .thenReturn(throttledResponse)
+        .thenReturn(successResponse);
+
+    // act
+    var start = System.nanoTime();
+    var result = client.getCard("mtg_1_c_dom_normal");
+    var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    // assert
+    assertThat(result.id()).isEqualTo("mtg_1_c_dom_normal");
+    assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+  }
+
+  @Test
+  void shouldTakeRateLimitTokenBeforeWaitingForInFlightSlot() throws Exception {
+    // arrange
+    var paced = new CountDownLatch(2);
+    var release = new CountDownLatch(1);
+    var response = createMockResponse(200, "{\"id\": \"mtg_1_c_dom_normal\", \"name\": \"x\"}");
+    when(httpClient.send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString())))
+        .thenAnswer(
+            invocation -> {
+              release.await();
+              return response;
+            });
+    var cappedClient =
+        new HttpFetchTcgClient(
+            URI.create("https://api.fetchtcg.com"), httpClient, objectMapper, paced::countDown, 1);
+
+    // act
+    boolean bothPaced;
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      executor.submit(() -> cappedClient.getCard("mtg_1_c_dom_normal"));
+      executor.submit(() -> cappedClient.getCard("mtg_1_c_dom_normal"));
+      bothPaced = paced.await(5, TimeUnit.SECONDS);
+      release.countDown();
+    }
+
+    // assert
+    assertThat(bothPaced).isTrue();
+    verify(httpClient, times(2))
+        .send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString()));
+  }
+
+  @Test
+  void shouldCapConcurrentRequests() throws Exception {
+    // arrange
+    var inFlight = new AtomicInteger(0);
+    var maxInFlight = new AtomicInteger(0);
+    var response = createMockResponse(200, "{\"id\": \"mtg_1_c_dom_normal\", \"name\": \"x\"}");
+    when(httpClient.send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString())))
+        .thenAnswer(
+            invocation -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              Thread.sleep(20);
+              inFlight.decrementAndGet();
+              return response;
+            });
+    var cappedClient =
+        new HttpFetchTcgClient(
+            URI.create("https://api.fetchtcg.com"), httpClient, objectMapper, () -> {}, 2);
+
+    // act
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 10; i++) {
+        executor.submit(() -> cappedClient.getCard("mtg_1_c_dom_normal"));
+      }
+    }
+
+    // assert
+    assertThat(maxInFlight.get()).isEqualTo(2);
+    verify(httpClient, times(10))
+        .send(any(HttpRequest.class), eq(HttpResponse.BodyHandlers.ofString()));
+  }
+
   @Test
   void shouldThrowAfterMaxRetriesExhausted() throws IOException, InterruptedException {
     // arrange
@@ -407,11 +548,17 @@ public class HttpFetchTcgClientTest {
     assertThat(requestCaptor.getValue().method()).isEqualTo("DELETE");
   }
 
-  @SuppressWarnings("unchecked")
   private HttpResponse<String> createMockResponse(int statusCode, String body) {
+    return createMockResponse(statusCode, body, Map.of());
+  }
+
+  @SuppressWarnings("unchecked")
+  private HttpResponse<String> createMockResponse(
+      int statusCode, String body, Map<String, List<String>> headers) {
     HttpResponse<String> mockResponse = mock(HttpResponse.class);
     when(mockResponse.statusCode()).thenReturn(statusCode);
     when(mockResponse.body()).thenReturn(body);
+    when(mockResponse.headers()).thenReturn(HttpHeaders.of(headers, (name, value) -> true));
     return mockResponse;
   }
 }
@@ -149,6 +149,59 @@ public class ImportsHandlerIntegrationTest {
     assertThat(send.messageDeduplicationId()).isEqualTo(importItem.getJobId() + "#0");
   }
 
+  @Test
+  void createImportShouldPersistRowsAcrossMultipleBatches() throws Exception {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    var csv =
+        CSV_HEADER
+            + "\n"
+            + "Llanowar"
+            + " Elves,DOM,Dominaria,168,Normal,Common,60,581b7327-3215-4a4f-b4ae-d9d4002ba882,false,false,near_mint,en";
+    var event = buildCreateEvent("jordan", csv, "manabox-export.csv");
+
+    // act
+    var response = createImportHandler.handleRequest(event, null);
+
+    // assert
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    var body = objectMapper.readTree(response.getBody());
+    assertThat(body.get("row_count").asInt()).isEqualTo(60);
+    var importId = body.get("import_id").asText();
+
+    var rowQuery =
+        QueryConditional.sortBeginsWith(
+            Key.builder()
+                .partitionValue(TcgInventoryItem.formatImportRowPk("jordan", importId))
+                .sortValue(TcgInventoryItem.ROW_PREFIX)
+                .build());
+    var rows =
+        tcgInventoryTable
+            .query(QueryEnhancedRequest.builder().queryConditional(rowQuery).build())
+            .stream()
+            .flatMap(page -> page.items().stream())
+            .toList();
+    assertThat(rows).hasSize(60);
+    assertThat(rows).extracting(TcgInventoryItem::getPosition).doesNotHaveDuplicates();
+    assertThat(rows.get(0).getPosition()).isEqualTo(1);
+    assertThat(rows.get(59).getPosition()).isEqualTo(60);
+
+    var importItem =
+        tcgInventoryTable.getItem(
+            Key.builder()
+                .partitionValue(TcgInventoryItem.formatUserPk("jordan"))
+                .sortValue(TcgInventoryItem.formatImportSk(importId))
+                .build());
+    var jobItem =
+        tcgInventoryTable.getItem(
+            Key.builder()
+                .partitionValue(TcgInventoryItem.formatUserPk("jordan"))
+                .sortValue(TcgInventoryItem.formatJobSk(importItem.getJobId()))
+                .build());
+    assertThat(jobItem).isNotNull();
+    assertThat(fakeJobsQueue.getSends()).hasSize(1);
+  }
+
   @Test
   void createImportShouldExpandQuantities() throws Exception {
     // arrange
@@ -178,6 +178,78 @@ public class InventoryHandlerIntegrationTest {
     assertThat(units.get(3).get("sequence_number").asInt()).isEqualTo(4250);
   }
 
+  @Test
+  void getSkuShouldCountUnitsWhenSkuCountersAreNotInitialized() throws Exception {
+    // arrange
+    createSku("jordan", "scryfall-1#normal#NM", "Elvish Mystic", "m14", "Magic 2014", "169");
+    createUnit("jordan", "scryfall-1#normal#NM", 4242, "in_stock", "import1");
+    createUnit("jordan", "scryfall-1#normal#NM", 4243, "in_stock", "import1");
+    createUnit("jordan", "scryfall-1#normal#NM", 1204, "reserved", "import1");
+    createUnit("jordan", "scryfall-1#normal#NM", 500, "sold", "import1");
+    var skuKey =
+        Key.builder()
+            .partitionValue(TcgInventoryItem.formatSkuPk("jordan", "scryfall-1#normal#NM"))
+            .sortValue(TcgInventoryItem.formatSkuSk())
+            .build();
+    var sku = tcgInventoryTable.getItem(skuKey);
+    sku.setCountersInitialized(null);
+    sku.setInStockCount(null);
+    sku.setReservedCount(null);
+    sku.setSoldCount(null);
+    tcgInventoryTable.putItem(sku);
+    removeUnitHandler.handleRequest(
+        buildEventWithQuery(
+            "jordan",
+            Map.of("sku_id", "scryfall-1#normal#NM", "sequence_number", "4243"),
+            Map.of("reason", "damaged")),
+        null);
+
+    // act
+    var response =
+        getSkuHandler.handleRequest(
+            buildEvent("jordan", Map.of("sku_id", "scryfall-1#normal#NM")), null);
+
+    // assert
+    assertThat(tcgInventoryTable.getItem(skuKey).getInStockCount()).isEqualTo(-1);
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    var body = objectMapper.readTree(response.getBody());
+    assertThat(body.get("in_stock_count").asInt()).isEqualTo(1);
+    assertThat(body.get("reserved_count").asInt()).isEqualTo(1);
+    assertThat(body.get("sold_count").asInt()).isEqualTo(1);
+  }
+
+  @Test
+  void getSkuShouldCountTheUnitsItLists() throws Exception {
+    // arrange
+    createSku("jordan", "scryfall-1#normal#NM", "Elvish Mystic", "m14", "Magic 2014", "169");
+    createUnit("jordan", "scryfall-1#normal#NM", 4242, "in_stock", "import1");
+    createUnit("jordan", "scryfall-1#normal#NM", 1204, "reserved", "import1");
+    createUnit("jordan", "scryfall-1#normal#NM", 500, "sold", "import1");
+    var skuKey =
+        Key.builder()
+            .partitionValue(TcgInventoryItem.formatSkuPk("jordan", "scryfall-1#normal#NM"))
+            .sortValue(TcgInventoryItem.formatSkuSk())
+            .build();
+    var sku = tcgInventoryTable.getItem(skuKey);
+    sku.setInStockCount(5);
+    sku.setReservedCount(0);
+    sku.setSoldCount(3);
+    tcgInventoryTable.putItem(sku);
+
+    // act
+    var response =
+        getSkuHandler.handleRequest(
+            buildEvent("jordan", Map.of("sku_id", "scryfall-1#normal#NM")), null);
+
+    // assert
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    var body = objectMapper.readTree(response.getBody());
+    assertThat(body.get("in_stock_count").asInt()).isEqualTo(1);
+    assertThat(body.get("reserved_count").asInt()).isEqualTo(1);
+    assertThat(body.get("sold_count").asInt()).isEqualTo(1);
+    assertThat(body.get("units")).hasSize(3);
+  }
+
   @Test
   void getSkuShouldDecodeUrlEncodedSkuId() throws Exception {
     // arrange
@@ -233,6 +305,7 @@ public class InventoryHandlerIntegrationTest {
     assertThat(sku.getDirty()).isTrue();
     assertThat(sku.getVersion()).isEqualTo(2);
     assertThat(sku.getGsi1pk()).isEqualTo(TcgInventoryItem.formatGsi1pk("jordan"));
+    assertThat(sku.getInStockCount()).isEqualTo(1);
 
     var unit =
         tcgInventoryTable.getItem(
@@ -241,6 +314,8 @@ public class InventoryHandlerIntegrationTest {
                 .sortValue(TcgInventoryItem.formatUnitSk(42))
                 .build());
     assertThat(unit.getStatus()).isEqualTo("removed");
+    assertThat(unit.getGsi3pk()).isNull();
+    assertThat(unit.getGsi3sk()).isNull();
 
     var auditItems = queryAuditEntries("jordan");
     assertThat(auditItems).hasSize(1);
@@ -321,6 +396,9 @@ public class InventoryHandlerIntegrationTest {
     assertThat(newUnit).isNotNull();
     assertThat(newUnit.getSequenceNumber()).isEqualTo(42);
     assertThat(newUnit.getStatus()).isEqualTo("in_stock");
+    assertThat(newUnit.getGsi3pk())
+        .isEqualTo(TcgInventoryItem.formatGsi3pk("jordan", "scryfall-1#normal#LP"));
+    assertThat(newUnit.getGsi3sk()).isEqualTo(TcgInventoryItem.formatGsi3sk(42));
 
     var sourceSku =
         tcgInventoryTable.getItem(
@@ -330,6 +408,7 @@ public class InventoryHandlerIntegrationTest {
                 .build());
     assertThat(sourceSku.getDirty()).isTrue();
     assertThat(sourceSku.getVersion()).isEqualTo(2);
+    assertThat(sourceSku.getInStockCount()).isEqualTo(0);
 
     var targetSku =
         tcgInventoryTable.getItem(
@@ -339,6 +418,7 @@ public class InventoryHandlerIntegrationTest {
                 .build());
     assertThat(targetSku.getDirty()).isTrue();
     assertThat(targetSku.getVersion()).isEqualTo(2);
+    assertThat(targetSku.getInStockCount()).isEqualTo(2);
 
     var auditItems = queryAuditEntries("jordan");
     assertThat(auditItems).hasSize(1);
@@ -381,6 +461,10 @@ public class InventoryHandlerIntegrationTest {
     assertThat(targetSku.getGsi2pk()).isEqualTo(TcgInventoryItem.formatGsi2pk("jordan"));
     assertThat(targetSku.getGsi2sk())
         .isEqualTo(TcgInventoryItem.formatGsi2sk("elvish mystic", "scryfall-1#normal#LP"));
+    assertThat(targetSku.getInStockCount()).isEqualTo(1);
+    assertThat(targetSku.getReservedCount()).isEqualTo(0);
+    assertThat(targetSku.getSoldCount()).isEqualTo(0);
+    assertThat(targetSku.getCountersInitialized()).isTrue();
   }
 
   @Test
@@ -485,6 +569,19 @@ public class InventoryHandlerIntegrationTest {
         TcgInventoryItem.createUnit(
             user, skuId, sequenceNumber, status, importId, Instant.ofEpochSecond(1700000000));
     tcgInventoryTable.putItem(item);
+
+    var sku =
+        tcgInventoryTable.getItem(
+            Key.builder()
+                .partitionValue(item.getPk())
+                .sortValue(TcgInventoryItem.formatSkuSk())
+                .build());
+    switch (status) {
+      case "in_stock" -> sku.setInStockCount(sku.getInStockCount() + 1);
+      case "reserved" -> sku.setReservedCount(sku.getReservedCount() + 1);
+      case "sold" -> sku.setSoldCount(sku.getSoldCount() + 1);
+    }
+    tcgInventoryTable.putItem(sku);
   }
 
   private List<TcgInventoryItem> queryAuditEntries(String user) {
@@ -216,6 +216,104 @@ public class JobsHandlerIntegrationTest {
     assertThat(row2.getDecision()).isEqualTo("keep");
   }
 
+  @Test
+  void appraiseShouldReuseCachedResolutionAcrossImports() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createImportWithRow("jordan", "import1", "dom", "168", "normal", "NM", "en");
+    createJob("jordan", "job1", "appraise", "queued", "import1");
+    seedDefaultCardForDom168();
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "appraise"), null);
+
+    createImportWithRow("jordan", "import2", "dom", "168", "normal", "NM", "en");
+    createJob("jordan", "job2", "appraise", "queued", "import2");
+    fakeFetchTcgClient.reset();
+
+    // act
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000 + 60));
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job2", "appraise"), null);
+
+    // assert
+    assertThat(fakeFetchTcgClient.getSearchCallCount()).isEqualTo(0);
+
+    var row = getRow("jordan", "import2", 1);
+    assertThat(row.getDecision()).isEqualTo("keep");
+    assertThat(row.getMarketPrice()).isEqualTo("1.50");
+    assertThat(row.getFetchtcgCardId()).isEqualTo("mtg_168_c_dom_normal");
+    assertThat(row.getFetchtcgSetId()).isEqualTo(2624);
+
+    var resolution =
+        tcgInventoryTable.getItem(
+            Key.builder()
+                .partitionValue(
+                    TcgInventoryItem.formatCardResolutionPk("jordan", "scryfall-1", "normal"))
+                .sortValue(TcgInventoryItem.formatCardResolutionSk())
+                .build());
+    assertThat(resolution.getTtl())
+        .isEqualTo(1700000000 + AppraiseJobProcessor.CARD_RESOLUTION_TTL.toSeconds());
+  }
+
+  @Test
+  void appraiseShouldResolveAgainWhenCachedResolutionExpired() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createImportWithRow("jordan", "import1", "dom", "168", "normal", "NM", "en");
+    createJob("jordan", "job1", "appraise", "queued", "import1");
+    seedDefaultCardForDom168();
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "appraise"), null);
+
+    createImportWithRow("jordan", "import2", "dom", "168", "normal", "NM", "en");
+    createJob("jordan", "job2", "appraise", "queued", "import2");
+    fakeFetchTcgClient.reset();
+    fakeFetchTcgClient.seedSearchResult(
+        2624,
+        "Card 1",
+        "normal",
+        new FetchTcgClient.SearchCardsResponse(
+            List.of(new FetchTcgClient.SearchCard("mtg_168_c_dom_normal"))));
+    fakeFetchTcgClient.seedCard(
+        "mtg_168_c_dom_normal",
+        new FetchTcgClient.GetCardResponse(
+            "mtg_168_c_dom_normal",
+            "Card 1",
+            Map.of("NZ", new FetchTcgClient.PricingData(new BigDecimal("2.00")))));
+
+    // act
+    fakeClock.setTime(
+        Instant.ofEpochSecond(1700000000).plus(AppraiseJobProcessor.CARD_RESOLUTION_TTL));
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job2", "appraise"), null);
+
+    // assert
+    assertThat(fakeFetchTcgClient.getSearchCallCount()).isEqualTo(1);
+
+    var row = getRow("jordan", "import2", 1);
+    assertThat(row.getDecision()).isEqualTo("keep");
+    assertThat(row.getMarketPrice()).isEqualTo("2.00");
+  }
+
+  @Test
+  void appraiseShouldCacheUnresolvableCards() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createImportWithRow("jordan", "import1", "dom", "999", "normal", "NM", "en");
+    createJob("jordan", "job1", "appraise", "queued", "import1");
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "appraise"), null);
+
+    createImportWithRow("jordan", "import2", "dom", "999", "normal", "NM", "en");
+    createJob("jordan", "job2", "appraise", "queued", "import2");
+    fakeFetchTcgClient.reset();
+
+    // act
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job2", "appraise"), null);
+
+    // assert
+    assertThat(fakeFetchTcgClient.getSearchCallCount()).isEqualTo(0);
+
+    var row = getRow("jordan", "import2", 1);
+    assertThat(row.getDecision()).isEqualTo("review");
+    assertThat(row.getDecisionReason()).isEqualTo("unresolvable");
+  }
+
   @Test
   void appraiseShouldCheckpointAndContinue() {
     // arrange
@@ -238,6 +336,11 @@ public class JobsHandlerIntegrationTest {
     assertThat(continuationSend.messageGroupId()).isEqualTo("jordan");
     assertThat(continuationSend.messageDeduplicationId())
         .isEqualTo("job1#" + AppraiseJobProcessor.BATCH_SIZE);
+    assertThat(getRow("jordan", "import1", 1).getDecision()).isNotNull();
+    assertThat(getRow("jordan", "import1", AppraiseJobProcessor.BATCH_SIZE).getDecision())
+        .isNotNull();
+    assertThat(getRow("jordan", "import1", AppraiseJobProcessor.BATCH_SIZE + 1).getDecision())
+        .isNull();
 
     // act - second batch
     fakeJobsQueue.reset();
@@ -251,6 +354,33 @@ public class JobsHandlerIntegrationTest {
 
     var importItem = getImport("jordan", "import1");
     assertThat(importItem.getStatus()).isEqualTo("review");
+    assertThat(getRow("jordan", "import1", totalRows).getDecision()).isNotNull();
+  }
+
+  @Test
+  void appraiseShouldNotOverwriteRowsAlreadyDecided() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createImportWithNRows("jordan", "import1", 3);
+    createJob("jordan", "job1", "appraise", "queued", "import1");
+    var decidedRow = getRow("jordan", "import1", 2);
+    decidedRow.setDecision("discard");
+    decidedRow.setDecisionReason("below threshold");
+    decidedRow.setMarketPrice("0.10");
+    tcgInventoryTable.putItem(decidedRow);
+
+    seedDefaultCardForDom168();
+
+    // act
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "appraise"), null);
+
+    // assert
+    assertThat(getRow("jordan", "import1", 1).getDecision()).isNotNull();
+    var row2 = getRow("jordan", "import1", 2);
+    assertThat(row2.getDecision()).isEqualTo("discard");
+    assertThat(row2.getMarketPrice()).isEqualTo("0.10");
+    assertThat(getRow("jordan", "import1", 3).getDecision()).isNotNull();
+    assertThat(getImport("jordan", "import1").getStatus()).isEqualTo("review");
   }
 
   @Test
@@ -317,11 +447,14 @@ public class JobsHandlerIntegrationTest {
     var sku = getSku("jordan", "scryfall-1#normal#NM");
     assertThat(sku.getDirty()).isFalse();
     assertThat(sku.getLastPublishedQuantity()).isEqualTo(1);
+    assertThat(sku.getInStockCount()).isEqualTo(1);
+    assertThat(sku.getReservedCount()).isEqualTo(2);
 
     var units = getUnits("jordan", "scryfall-1#normal#NM");
     var reserved = units.stream().filter(u -> "reserved".equals(u.getStatus())).toList();
     assertThat(reserved).hasSize(2);
     assertThat(reserved.get(0).getOrderId()).isEqualTo("83663");
+    assertThat(reserved).allMatch(u -> u.getGsi3pk() == null && u.getGsi3sk() == null);
 
     var audit = getAuditEntries("jordan");
     assertThat(audit.stream().anyMatch(a -> "reserve".equals(a.getEventType()))).isTrue();
@@ -411,6 +544,125 @@ public class JobsHandlerIntegrationTest {
     assertThat(order.getStatus()).isEqualTo("flagged");
   }
 
+  @Test
+  void publishOrderPhaseShouldAllocateDistinctUnitsAcrossOffersForSameSku() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createPublishJob("jordan", "job1");
+    createSkuWithUnits("jordan", "scryfall-1#normal#NM", 1001, 4);
+    createSkuWithUnits("jordan", "scryfall-2#normal#NM", 1002, 1);
+
+    fakeFetchTcgClient.seedSellerOffers(
+        List.of(
+            createAcceptedOffer(83663, 1001, 2),
+            createAcceptedOffer(83664, 1001, 1),
+            createAcceptedOffer(83665, 1002, 1),
+            createAcceptedOffer(83666, 1001, 2)));
+
+    // act
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "publish"), null);
+
+    // assert
+    var updatedJob = getJob("jordan", "job1");
+    assertThat(updatedJob.getStatus()).isEqualTo("succeeded");
+
+    var first = OrderLines.parse(getOrder("jordan", "83663").getLines(), objectMapper);
+    var second = OrderLines.parse(getOrder("jordan", "83664").getLines(), objectMapper);
+    var other = OrderLines.parse(getOrder("jordan", "83665").getLines(), objectMapper);
+    var last = getOrder("jordan", "83666");
+    assertThat(first.get(0).allocatedSequenceNumbers()).containsExactly(1, 2);
+    assertThat(second.get(0).allocatedSequenceNumbers()).containsExactly(3);
+    assertThat(other.get(0).allocatedSequenceNumbers()).containsExactly(1);
+    assertThat(getOrder("jordan", "83663").getStatus()).isEqualTo("awaiting_payment");
+    assertThat(last.getStatus()).isEqualTo("flagged");
+    assertThat(OrderLines.parse(last.getLines(), objectMapper).get(0).allocatedSequenceNumbers())
+        .containsExactly(4);
+
+    var units = getUnits("jordan", "scryfall-1#normal#NM");
+    assertThat(units)
+        .extracting(TcgInventoryItem::getOrderId)
+        .containsExactly("83663", "83663", "83664", "83666");
+    assertThat(units).allMatch(u -> "reserved".equals(u.getStatus()));
+    assertThat(getSku("jordan", "scryfall-1#normal#NM").getInStockCount()).isEqualTo(0);
+    assertThat(getSku("jordan", "scryfall-1#normal#NM").getReservedCount()).isEqualTo(4);
+  }
+
+  @Test
+  void publishOrderPhaseShouldSkipUnitsTheInStockIndexStillListsAfterTheyLeftStock() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createPublishJob("jordan", "job1");
+    createSkuWithUnits("jordan", "scryfall-1#normal#NM", 1001, 3);
+    var staleUnit = getUnits("jordan", "scryfall-1#normal#NM").get(0);
+    staleUnit.setStatus("removed");
+    tcgInventoryTable.putItem(staleUnit);
+
+    fakeFetchTcgClient.seedSellerOffers(List.of(createAcceptedOffer(83663, 1001, 2)));
+
+    // act
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "publish"), null);
+
+    // assert
+    var updatedJob = getJob("jordan", "job1");
+    assertThat(updatedJob.getStatus()).isEqualTo("succeeded");
+
+    var order = getOrder("jordan", "83663");
+    assertThat(order.getStatus()).isEqualTo("awaiting_payment");
+    assertThat(OrderLines.parse(order.getLines(), objectMapper).get(0).allocatedSequenceNumbers())
+        .containsExactly(2, 3);
+  }
+
+  @Test
+  void publishOrderPhaseShouldFindInStockUnitsTheIndexHasNotCaughtUpWith() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createPublishJob("jordan", "job1");
+    createSkuWithUnits("jordan", "scryfall-1#normal#NM", 1001, 2);
+    var laggingUnit = getUnits("jordan", "scryfall-1#normal#NM").get(1);
+    laggingUnit.setGsi3pk(null);
+    laggingUnit.setGsi3sk(null);
+    tcgInventoryTable.putItem(laggingUnit);
+
+    fakeFetchTcgClient.seedSellerOffers(List.of(createAcceptedOffer(83663, 1001, 2)));
+
+    // act
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "publish"), null);
+
+    // assert
+    var order = getOrder("jordan", "83663");
+    assertThat(order.getStatus()).isEqualTo("awaiting_payment");
+    assertThat(OrderLines.parse(order.getLines(), objectMapper).get(0).allocatedSequenceNumbers())
+        .containsExactly(1, 2);
+  }
+
+  @Test
+  void publishOrderPhaseShouldReserveUnitsOfSkuWithoutInitializedCounters() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createPublishJob("jordan", "job1");
+    createSkuWithUnits("jordan", "scryfall-1#normal#NM", 1001, 3);
+    makeLegacySku("jordan", "scryfall-1#normal#NM");
+
+    fakeFetchTcgClient.seedSellerOffers(List.of(createAcceptedOffer(83663, 1001, 2)));
+
+    // act
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "publish"), null);
+
+    // assert
+    var updatedJob = getJob("jordan", "job1");
+    assertThat(updatedJob.getStatus()).isEqualTo("succeeded");
+
+    var order = getOrder("jordan", "83663");
+    assertThat(order.getStatus()).isEqualTo("awaiting_payment");
+    assertThat(OrderLines.parse(order.getLines(), objectMapper).get(0).allocatedSequenceNumbers())
+        .containsExactly(1, 2);
+
+    var sku = getSku("jordan", "scryfall-1#normal#NM");
+    assertThat(sku.getCountersInitialized()).isNull();
+    assertThat(sku.getLastPublishedQuantity()).isEqualTo(1);
+    assertThat(fakeFetchTcgClient.getDeleteCalls()).isEmpty();
+  }
+
   @Test
   void publishOrderPhaseShouldSkipOffersBeforeCutoff() {
     // arrange
@@ -565,6 +817,29 @@ public class JobsHandlerIntegrationTest {
     assertThat(upsert.price()).isEqualByComparingTo("1.50");
   }
 
+  @Test
+  void publishPhaseShouldSkipSkuWhoseDirtyFlagWasAlreadyCleared() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createPublishJob("jordan", "job1");
+    createDirtySkuWithUnits("jordan", "scryfall-1#normal#NM", 0, "1.50");
+    var sku = getSku("jordan", "scryfall-1#normal#NM");
+    // the dirty index still lists the SKU, but the base item was already cleared
+    sku.setDirty(false);
+    sku.setFetchtcgListingId(975737);
+    tcgInventoryTable.putItem(sku);
+
+    // act
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "publish"), null);
+
+    // assert
+    var updatedJob = getJob("jordan", "job1");
+    assertThat(updatedJob.getStatus()).isEqualTo("succeeded");
+    assertThat(fakeFetchTcgClient.getDeleteCalls()).isEmpty();
+    assertThat(fakeFetchTcgClient.getUpsertCalls()).isEmpty();
+    assertThat(getSku("jordan", "scryfall-1#normal#NM").getFetchtcgListingId()).isEqualTo(975737);
+  }
+
   @Test
   void publishPhaseShouldUpdateListingForExistingSku() {
     // arrange
@@ -618,6 +893,30 @@ public class JobsHandlerIntegrationTest {
     assertThat(fakeFetchTcgClient.getUpsertCalls()).isEmpty();
   }
 
+  @Test
+  void publishPhaseShouldCountUnitsWhenSkuCountersAreNotInitialized() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createPublishJob("jordan", "job1");
+    createDirtySkuWithUnits("jordan", "scryfall-1#normal#NM", 2, "1.50");
+    makeLegacySku("jordan", "scryfall-1#normal#NM");
+    var sku = getSku("jordan", "scryfall-1#normal#NM");
+    sku.setFetchtcgListingId(975737);
+    sku.setInStockCount(-1);
+    tcgInventoryTable.putItem(sku);
+
+    // act
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "publish"), null);
+
+    // assert
+    var updated = getSku("jordan", "scryfall-1#normal#NM");
+    assertThat(updated.getDirty()).isFalse();
+    assertThat(updated.getLastPublishedQuantity()).isEqualTo(2);
+    assertThat(fakeFetchTcgClient.getDeleteCalls()).isEmpty();
+    assertThat(fakeFetchTcgClient.getUpsertCalls()).hasSize(1);
+    assertThat(fakeFetchTcgClient.getUpsertCalls().get(0).quantity()).isEqualTo(2);
+  }
+
   @Test
   void publishPhaseShouldNotClearDirtyWhenConditionFails() {
     // arrange
@@ -643,6 +942,65 @@ public class JobsHandlerIntegrationTest {
     assertThat(updated.getLastPublishedQuantity()).isNull();
   }
 
+  @Test
+  void publishPhaseShouldClearOtherSkusWhenOneConditionFails() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createPublishJob("jordan", "job1");
+    createDirtySkuWithUnits("jordan", "scryfall-1#normal#NM", 1, "1.50");
+    createDirtySkuWithUnits("jordan", "scryfall-2#normal#NM", 2, "2.00");
+    createDirtySkuWithUnits("jordan", "scryfall-3#normal#NM", 3, "3.00");
+
+    var racing = getSku("jordan", "scryfall-2#normal#NM");
+    racing.setDirty(false);
+    tcgInventoryTable.putItem(racing);
+
+    // act
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "publish"), null);
+
+    // assert
+    assertThat(fakeFetchTcgClient.getUpsertCalls()).hasSize(3);
+    assertThat(getSku("jordan", "scryfall-1#normal#NM").getLastPublishedQuantity()).isEqualTo(1);
+    assertThat(getSku("jordan", "scryfall-2#normal#NM").getLastPublishedQuantity()).isNull();
+    assertThat(getSku("jordan", "scryfall-3#normal#NM").getLastPublishedQuantity()).isEqualTo(3);
+    assertThat(getSku("jordan", "scryfall-3#normal#NM").getDirty()).isFalse();
+  }
+
+  @Test
+  void publishPhaseShouldCheckpointAndContinue() {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createPublishJob("jordan", "job1");
+    int totalSkus = ListingPhaseProcessor.BATCH_SIZE + 2;
+    for (int i = 1; i <= totalSkus; i++) {
+      createDirtySkuWithUnits("jordan", "scryfall-" + i + "#normal#NM", 1, "1.50");
+    }
+
+    // act
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "publish"), null);
+
+    // assert
+    var jobItem = getJob("jordan", "job1");
+    assertThat(jobItem.getStatus()).isEqualTo("running");
+    assertThat(jobItem.getContinuation()).isEqualTo(ListingPhaseProcessor.BATCH_SIZE);
+    assertThat(fakeJobsQueue.getSends()).hasSize(1);
+    assertThat(fakeFetchTcgClient.getUpsertCalls()).hasSize(ListingPhaseProcessor.BATCH_SIZE);
+
+    // act - second batch
+    fakeJobsQueue.reset();
+    jobsHandler.handleRequest(buildSqsEvent("jordan", "job1", "publish"), null);
+
+    // assert
+    var completedJob = getJob("jordan", "job1");
+    assertThat(completedJob.getStatus()).isEqualTo("succeeded");
+    assertThat(completedJob.getProcessedCount()).isEqualTo(totalSkus);
+    assertThat(fakeJobsQueue.getMessages()).isEmpty();
+    assertThat(fakeFetchTcgClient.getUpsertCalls()).hasSize(totalSkus);
+    for (int i = 1; i <= totalSkus; i++) {
+      assertThat(getSku("jordan", "scryfall-" + i + "#normal#NM").getDirty()).isFalse();
+    }
+  }
+
   private void createDirtySkuWithUnits(
       String user, String skuId, int unitCount, String suggestedPrice) {
     var parts = skuId.split("#");
@@ -659,6 +1017,7 @@ public class JobsHandlerIntegrationTest {
             "168",
             "mtg_168_c_dom_normal",
             suggestedPrice);
+    skuItem.setInStockCount(unitCount);
     tcgInventoryTable.putItem(skuItem);
 
     for (int i = 1; i <= unitCount; i++) {
@@ -669,6 +1028,22 @@ public class JobsHandlerIntegrationTest {
     }
   }
 
+  // strips what the backfill migration sets: the counters marker and the units' gsi3 keys
+  private void makeLegacySku(String user, String skuId) {
+    var sku = getSku(user, skuId);
+    sku.setCountersInitialized(null);
+    sku.setInStockCount(null);
+    sku.setReservedCount(null);
+    sku.setSoldCount(null);
+    tcgInventoryTable.putItem(sku);
+
+    for (var unit : getUnits(user, skuId)) {
+      unit.setGsi3pk(null);
+      unit.setGsi3sk(null);
+      tcgInventoryTable.putItem(unit);
+    }
+  }
+
   private void createPublishJob(String user, String jobId) {
     var jobItem =
         TcgInventoryItem.createJob(user, jobId, "publish", null, Instant.ofEpochSecond(1700000000));
@@ -693,6 +1068,7 @@ public class JobsHandlerIntegrationTest {
     skuItem.setDirty(false);
     skuItem.setGsi1pk(TcgInventoryItem.USER_PREFIX + user + "#CLEAN");
     skuItem.setFetchtcgListingId(fetchtcgListingId);
+    skuItem.setInStockCount(unitCount);
     tcgInventoryTable.putItem(skuItem);
 
     for (int i = 1; i <= unitCount; i++) {
@@ -703,6 +1079,22 @@ public class JobsHandlerIntegrationTest {
     }
   }
 
+  private FetchTcgClient.SellerOffer createAcceptedOffer(
+      int offerId, int fetchtcgListingId, int quantity) {
+    return new FetchTcgClient.SellerOffer(
+        offerId,
+        "ACCEPTED",
+        null,
+        "2026-08-11T04:42:12.476+0000",
+        "PICKUP",
+        new BigDecimal("1.50").multiply(BigDecimal.valueOf(quantity)),
+        List.of(
+            new FetchTcgClient.OfferItem(
+                new FetchTcgClient.OfferListing(fetchtcgListingId, "raw-nm"),
+                quantity,
+                new BigDecimal("1.50"))));
+  }
+
   private void createTrackOrdersAfter(String user, Instant trackOrdersAfter) {
     var settingsItem = new TcgInventoryItem();
     settingsItem.setPk(TcgInventoryItem.formatUserPk(user));
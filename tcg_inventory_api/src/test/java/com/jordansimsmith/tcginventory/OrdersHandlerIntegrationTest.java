@@ -222,6 +222,9 @@ public class OrdersHandlerIntegrationTest {
 
     var sku = getSkuItem("jordan", skuId);
     assertThat(sku.getVersion()).isEqualTo(2);
+    assertThat(sku.getInStockCount()).isEqualTo(1);
+    assertThat(sku.getReservedCount()).isEqualTo(0);
+    assertThat(sku.getSoldCount()).isEqualTo(2);
 
     var audit = getAuditEntries("jordan");
     assertThat(audit.stream().anyMatch(a -> "sell".equals(a.getEventType()))).isTrue();
@@ -327,6 +330,7 @@ public class OrdersHandlerIntegrationTest {
             collectorNumber,
             null,
             null);
+    skuItem.setInStockCount(unitCount);
     tcgInventoryTable.putItem(skuItem);
 
     for (int i = 1; i <= unitCount; i++) {
@@ -348,8 +352,15 @@ public class OrdersHandlerIntegrationTest {
                   .build());
       unit.setStatus("reserved");
       unit.setOrderId(orderId);
+      unit.setGsi3pk(null);
+      unit.setGsi3sk(null);
       tcgInventoryTable.putItem(unit);
     }
+
+    var sku = getSkuItem(user, skuId);
+    sku.setInStockCount(sku.getInStockCount() - sequenceNumbers.size());
+    sku.setReservedCount(sku.getReservedCount() + sequenceNumbers.size());
+    tcgInventoryTable.putItem(sku);
   }
 
   private void createOrderWithLines(
@@ -0,0 +1,163 @@
+package com.jordansimsmith.tcginventory;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+// folds a synthetic target-scale inventory through the cent-based and the BigDecimal report
+// accumulators, checks they agree and reports time and bytes allocated per run; run with
+// bazel run //tcg_inventory_api:report-accumulator-benchmark -- [units] [iterations]
+public final class ReportAccumulatorBenchmark {
+  private static final Instant GENERATION_TIME = Instant.ofEpochSecond(1700000000);
+  private static final String[] STATUSES = {"in_stock", "in_stock", "reserved", "sold", "removed"};
+  private static final int UNITS_PER_SKU = 10;
+  private static final int SETS = 200;
+  private static final int ORDERS = 5_000;
+  private static final int WARMUP_ITERATIONS = 10;
+
+  private record Sku(TcgInventoryItem sku, List<TcgInventoryItem> units) {}
+
+  private record Report(
+      ReportPayload.Totals totals,
+      List<ReportPayload.TopSet> topSets,
+      List<ReportPayload.PriceBucket> priceBuckets,
+      List<ReportPayload.AgingBand> agingBands,
+      List<ReportPayload.TopHit> topHits,
+      List<ReportPayload.RevenueByMonth> revenueByMonth,
+      List<ReportPayload.IntakeVsSalesByWeek> intakeVsSalesByWeek) {}
+
+  public static void main(String[] args) {
+    var units = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+    var iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+    var random = new Random(42);
+    var skus = createSkus(units, random);
+    var orders = createOrders(random);
+
+    if (!accumulate(skus, orders).equals(accumulateBigDecimal(skus, orders))) {
+      throw new IllegalStateException(
+          "ReportAccumulator and BigDecimalReportAccumulator reports differ");
+    }
+
+    System.out.printf("%d units, %d skus, %d orders%n", units, skus.size(), orders.size());
+    measure("cents", iterations, () -> accumulate(skus, orders));
+    measure("big-decimal", iterations, () -> accumulateBigDecimal(skus, orders));
+  }
+
+  private static void measure(String name, int iterations, Supplier<Report> accumulate) {
+    long checksum = 0;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      checksum += accumulate.get().hashCode();
+    }
+
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    var threadId = Thread.currentThread().threadId();
+    long totalNanos = 0;
+    long totalBytes = 0;
+    long bestNanos = Long.MAX_VALUE;
+    for (int i = 0; i < iterations; i++) {
+      var bytesBefore = threadBean.getThreadAllocatedBytes(threadId);
+      var start = System.nanoTime();
+      checksum += accumulate.get().hashCode();
+      var elapsed = System.nanoTime() - start;
+      totalBytes += threadBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+      totalNanos += elapsed;
+      bestNanos = Math.min(bestNanos, elapsed);
+    }
+
+    System.out.printf(
+        "%s: mean %.2f ms, best %.2f ms, %d bytes allocated per run (checksum %d)%n",
+        name,
+        totalNanos / (double) iterations / 1e6,
+        bestNanos / 1e6,
+        totalBytes / iterations,
+        checksum);
+  }
+
+  private static Report accumulate(List<Sku> skus, List<TcgInventoryItem> orders) {
+    var accumulator = new ReportAccumulator(GENERATION_TIME);
+    for (var sku : skus) {
+      accumulator.addSku(sku.sku(), sku.units());
+    }
+    for (var order : orders) {
+      accumulator.addOrder(order);
+    }
+    return new Report(
+        accumulator.toTotals(),
+        accumulator.toTopSets(),
+        accumulator.toPriceBuckets(),
+        accumulator.toAgingBands(),
+        accumulator.toTopHits(),
+        accumulator.toRevenueByMonth(),
+        accumulator.toIntakeVsSalesByWeek());
+  }
+
+  private static Report accumulateBigDecimal(List<Sku> skus, List<TcgInventoryItem> orders) {
+    var accumulator = new BigDecimalReportAccumulator(GENERATION_TIME);
+    for (var sku : skus) {
+      accumulator.addSku(sku.sku(), sku.units());
+    }
+    for (var order : orders) {
+      accumulator.addOrder(order);
+    }
+    return new Report(
+        accumulator.toTotals(),
+        accumulator.toTopSets(),
+        accumulator.toPriceBuckets(),
+        accumulator.toAgingBands(),
+        accumulator.toTopHits(),
+        accumulator.toRevenueByMonth(),
+        accumulator.toIntakeVsSalesByWeek());
+  }
+
+  private static List<Sku> createSkus(int units, Random random) {
+    var skus = new ArrayList<Sku>();
+    for (int s = 0; s * UNITS_PER_SKU < units; s++) {
+      var sku = new TcgInventoryItem();
+      sku.setSkuId("sku" + s);
+      sku.setName("Card " + s);
+      sku.setSetCode("set" + (s % SETS));
+      sku.setSetName("Set " + (s % SETS));
+      sku.setCollectorNumber(String.valueOf(s));
+      sku.setFinish("normal");
+      sku.setCondition("NM");
+      if (s % 20 != 0) {
+        sku.setLastPublishedPrice(formatPrice(25 + random.nextInt(3_000)));
+      }
+
+      var skuUnits = new ArrayList<TcgInventoryItem>(UNITS_PER_SKU);
+      for (int u = 0; u < UNITS_PER_SKU && s * UNITS_PER_SKU + u < units; u++) {
+        var createdAt = GENERATION_TIME.minus(Duration.ofHours(random.nextInt(365 * 24)));
+        var unit = new TcgInventoryItem();
+        unit.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+        unit.setCreatedAt(createdAt);
+        unit.setUpdatedAt(createdAt.plus(Duration.ofHours(random.nextInt(30 * 24))));
+        skuUnits.add(unit);
+      }
+      skus.add(new Sku(sku, skuUnits));
+    }
+    return skus;
+  }
+
+  private static List<TcgInventoryItem> createOrders(Random random) {
+    var orders = new ArrayList<TcgInventoryItem>(ORDERS);
+    for (int i = 0; i < ORDERS; i++) {
+      var order = new TcgInventoryItem();
+      order.setStatus(i % 10 == 0 ? "voided" : "fulfilled");
+      order.setTotalPrice(formatPrice(50 + random.nextInt(10_000)));
+      order.setCreatedAt(GENERATION_TIME.minus(Duration.ofHours(random.nextInt(365 * 24))));
+      orders.add(order);
+    }
+    return orders;
+  }
+
+  private static String formatPrice(int cents) {
+    return String.format("%d.%02d", cents / 100, cents % 100);
+  }
+
+  private ReportAccumulatorBenchmark() {}
+}
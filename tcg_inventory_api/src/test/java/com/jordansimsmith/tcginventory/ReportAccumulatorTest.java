@@ -1,10 +1,14 @@
 package com.jordansimsmith.tcginventory;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 public class ReportAccumulatorTest {
@@ -737,6 +741,48 @@ public class ReportAccumulatorTest {
     assertThat(bands.get(0).inStockUnits()).isEqualTo(1);
   }
 
+  @Test
+  void parseCentsShouldHandleStoredPriceFormats() {
+    // act & assert
+    assertThat(ReportAccumulator.parseCents("1.50")).isEqualTo(150);
+    assertThat(ReportAccumulator.parseCents("1.5")).isEqualTo(150);
+    assertThat(ReportAccumulator.parseCents("12")).isEqualTo(1200);
+    assertThat(ReportAccumulator.parseCents("0.05")).isEqualTo(5);
+    assertThat(ReportAccumulator.parseCents(".25")).isEqualTo(25);
+    assertThat(ReportAccumulator.parseCents("-3.10")).isEqualTo(-310);
+    assertThat(ReportAccumulator.parseCents("2.345")).isEqualTo(235);
+    assertThat(ReportAccumulator.parseCents("1E+1")).isEqualTo(1000);
+  }
+
+  @Test
+  void formatCentsShouldRenderTwoFractionDigits() {
+    // act & assert
+    assertThat(ReportAccumulator.formatCents(0)).isEqualTo("0");
+    assertThat(ReportAccumulator.formatCents(5)).isEqualTo("0.05");
+    assertThat(ReportAccumulator.formatCents(150)).isEqualTo("1.50");
+    assertThat(ReportAccumulator.formatCents(123456)).isEqualTo("1234.56");
+    assertThat(ReportAccumulator.formatCents(-50)).isEqualTo("-0.50");
+    assertThat(ReportAccumulator.formatCents(-310)).isEqualTo("-3.10");
+  }
+
+  @Test
+  void toIntakeVsSalesByWeekShouldOrderWeeksAddedOutOfOrder() {
+    // arrange
+    var accumulator = new ReportAccumulator(GENERATION_TIME);
+    var later = GENERATION_TIME.minus(Duration.ofDays(7));
+    var earlier = GENERATION_TIME.minus(Duration.ofDays(70));
+    accumulator.addSku(createSku("sku1", "1.00", null), List.of(createUnit("in_stock", later)));
+    accumulator.addSku(createSku("sku2", "1.00", null), List.of(createUnit("in_stock", earlier)));
+
+    // act
+    var weeks = accumulator.toIntakeVsSalesByWeek();
+
+    // assert
+    assertThat(weeks).hasSize(2);
+    assertThat(weeks.get(0).weekStart()).isLessThan(weeks.get(1).weekStart());
+    assertThat(weeks).allSatisfy(w -> assertThat(w.addedUnits()).isEqualTo(1));
+  }
+
   private static TcgInventoryItem createOrder(String status, String totalPrice) {
     var item = new TcgInventoryItem();
     item.setStatus(status);
@@ -989,4 +1035,126 @@ public class ReportAccumulatorTest {
     // assert
     assertThat(result).isEmpty();
   }
+
+  @Test
+  void mergeShouldMatchSingleAccumulatorOverAllSkusAndOrders() {
+    // arrange
+    var created = Instant.ofEpochSecond(1699000000);
+    var sold = Instant.ofEpochSecond(1699500000);
+    var sku1 = createSku("sku1", "1.50", null, "dom", "Dominaria", "Opt");
+    var units1 = List.of(createUnit("in_stock", created), createUnit("sold", created, sold));
+    var sku2 = createSku("sku2", "12.00", null, "cmr", "Commander Legends", "Sol Ring");
+    var units2 = List.of(createUnit("in_stock", created), createUnit("reserved", created));
+    var sku3 = createSku("sku3", null, null, "dom", "Dominaria", "Shock");
+    var units3 = List.of(createUnit("in_stock", created));
+    var order1 = createOrder("fulfilled", "10.50", sold);
+    var order2 = createOrder("to_pick", "5.25", sold);
+
+    var expected = new ReportAccumulator(GENERATION_TIME);
+    expected.addSku(sku1, units1);
+    expected.addSku(sku2, units2);
+    expected.addSku(sku3, units3);
+    expected.addOrder(order1);
+    expected.addOrder(order2);
+
+    var partial1 = new ReportAccumulator(GENERATION_TIME);
+    partial1.addSku(sku1, units1);
+    partial1.addOrder(order1);
+    var partial2 = new ReportAccumulator(GENERATION_TIME);
+    partial2.addSku(sku2, units2);
+    partial2.addSku(sku3, units3);
+    partial2.addOrder(order2);
+
+    // act
+    var merged = new ReportAccumulator(GENERATION_TIME);
+    merged.merge(partial2);
+    merged.merge(partial1);
+
+    // assert
+    assertThat(merged.toTotals()).isEqualTo(expected.toTotals());
+    assertThat(merged.toTopSets()).isEqualTo(expected.toTopSets());
+    assertThat(merged.toPriceBuckets()).isEqualTo(expected.toPriceBuckets());
+    assertThat(merged.toTopHits()).isEqualTo(expected.toTopHits());
+    assertThat(merged.toAgingBands()).isEqualTo(expected.toAgingBands());
+    assertThat(merged.toRevenueByMonth()).isEqualTo(expected.toRevenueByMonth());
+    assertThat(merged.toIntakeVsSalesByWeek()).isEqualTo(expected.toIntakeVsSalesByWeek());
+  }
+
+  @Test
+  void reportShouldMatchBigDecimalReportAccumulator() {
+    // arrange
+    var random = new Random(42);
+    var statuses = List.of("in_stock", "in_stock", "reserved", "sold", "removed");
+    var expected = new BigDecimalReportAccumulator(GENERATION_TIME);
+    var accumulator = new ReportAccumulator(GENERATION_TIME);
+
+    // act
+    for (int s = 0; s < 500; s++) {
+      var price = String.format("%d.%02d", random.nextInt(30), random.nextInt(100));
+      var sku =
+          switch (random.nextInt(4)) {
+            case 0 -> createSku("sku" + s, null, price, "set" + s % 15, "Set " + s % 15);
+            case 1 -> createSku("sku" + s, null, null, "set" + s % 15, "Set " + s % 15);
+            default -> createSku("sku" + s, price, null, "set" + s % 15, "Set " + s % 15);
+          };
+      var units = new ArrayList<TcgInventoryItem>();
+      for (int u = random.nextInt(8); u > 0; u--) {
+        var createdAt = GENERATION_TIME.minus(Duration.ofHours(random.nextInt(365 * 24)));
+        units.add(
+            createUnit(
+                statuses.get(random.nextInt(statuses.size())),
+                createdAt,
+                createdAt.plus(Duration.ofHours(random.nextInt(60 * 24)))));
+      }
+      expected.addSku(sku, units);
+      accumulator.addSku(sku, units);
+    }
+    for (int o = 0; o < 200; o++) {
+      var order =
+          createOrder(
+              List.of("fulfilled", "to_pick", "voided").get(random.nextInt(3)),
+              String.format("%d.%02d", 1 + random.nextInt(200), random.nextInt(100)),
+              GENERATION_TIME.minus(Duration.ofHours(random.nextInt(365 * 24))));
+      expected.addOrder(order);
+      accumulator.addOrder(order);
+    }
+
+    // assert
+    assertThat(accumulator.toTotals()).isEqualTo(expected.toTotals());
+    assertThat(accumulator.toTopSets()).isEqualTo(expected.toTopSets());
+    assertThat(accumulator.toPriceBuckets()).isEqualTo(expected.toPriceBuckets());
+    assertThat(accumulator.toTopHits()).isEqualTo(expected.toTopHits());
+    assertThat(accumulator.toAgingBands()).isEqualTo(expected.toAgingBands());
+    assertThat(accumulator.toRevenueByMonth()).isEqualTo(expected.toRevenueByMonth());
+    assertThat(accumulator.toIntakeVsSalesByWeek()).isEqualTo(expected.toIntakeVsSalesByWeek());
+  }
+
+  @Test
+  void mergeShouldRejectAccumulatorForDifferentGenerationDate() {
+    // arrange
+    var accumulator = new ReportAccumulator(GENERATION_TIME);
+    var other = new ReportAccumulator(GENERATION_TIME.plus(Duration.ofDays(2)));
+
+    // act & assert
+    assertThatThrownBy(() -> accumulator.merge(other))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void toTopHitsShouldTieBreakBySkuIdWhenPriceAndNameMatch() {
+    // arrange
+    var accumulator = new ReportAccumulator(GENERATION_TIME);
+    accumulator.addSku(
+        createSku("sku2", "2.00", null, "dom", "Dominaria", "Opt"),
+        List.of(createUnit("in_stock")));
+    accumulator.addSku(
+        createSku("sku1", "2.00", null, "dom", "Dominaria", "Opt"),
+        List.of(createUnit("in_stock")));
+
+    // act
+    var result = accumulator.toTopHits();
+
+    // assert
+    assertThat(result).extracting(ReportPayload.TopHit::skuId).containsExactly("sku1", "sku2");
+  }
 }
@@ -0,0 +1,122 @@
+package com.jordansimsmith.tcginventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ReportStateTest {
+  private static final ZoneId AUCKLAND = ZoneId.of("Pacific/Auckland");
+  private static final Instant GENERATION_TIME = Instant.ofEpochSecond(1700000000);
+
+  private ObjectMapper objectMapper;
+
+  @BeforeEach
+  void setUp() {
+    objectMapper = new ObjectMapper();
+  }
+
+  @Test
+  void skuUnitsShouldSummarizeUnitsByStatusAndDay() {
+    // arrange
+    var created = LocalDate.of(2023, 11, 8).atStartOfDay(AUCKLAND).toInstant();
+    var sold = LocalDate.of(2023, 11, 15).atStartOfDay(AUCKLAND).toInstant();
+    var units =
+        List.of(
+            createUnit("in_stock", created, null),
+            createUnit("in_stock", created, null),
+            createUnit("reserved", created, null),
+            createUnit("sold", created, sold),
+            createUnit("removed", created, null));
+
+    // act
+    var summary = ReportState.SkuUnits.of(units);
+
+    // assert
+    var createdDay = LocalDate.of(2023, 11, 8).toEpochDay();
+    var createdWeek = LocalDate.of(2023, 11, 6).toEpochDay();
+    var soldWeek = LocalDate.of(2023, 11, 13).toEpochDay();
+    assertThat(summary.inStockByDay()).isEqualTo(Map.of(createdDay, 2));
+    assertThat(summary.reservedUnits()).isEqualTo(1);
+    assertThat(summary.soldUnits()).isEqualTo(1);
+    assertThat(summary.addedByWeek()).isEqualTo(Map.of(createdWeek, 4));
+    assertThat(summary.soldByWeek()).isEqualTo(Map.of(soldWeek, 1));
+  }
+
+  @Test
+  void decodeShouldRoundTripEncodedState() {
+    // arrange
+    var created = Instant.ofEpochSecond(1699000000);
+    var state =
+        new ReportState(
+            Map.of(
+                "sku1",
+                ReportState.SkuUnits.of(
+                    List.of(
+                        createUnit("in_stock", created, null),
+                        createUnit("sold", created, GENERATION_TIME))),
+                "sku2",
+                ReportState.SkuUnits.of(List.of())));
+
+    // act
+    var decoded = ReportState.decode(state.encode(objectMapper), objectMapper);
+
+    // assert
+    assertThat(decoded.version()).isEqualTo(ReportState.CURRENT_VERSION);
+    assertThat(decoded).isEqualTo(state);
+  }
+
+  @Test
+  void accumulatorShouldProduceSameReportFromDecodedState() {
+    // arrange
+    var created = Instant.ofEpochSecond(1699000000);
+    var sku = createSku("sku1", "1.50");
+    var units =
+        List.of(
+            createUnit("in_stock", created, null),
+            createUnit("in_stock", created, null),
+            createUnit("sold", created, GENERATION_TIME));
+    var state = new ReportState(Map.of("sku1", ReportState.SkuUnits.of(units)));
+    var decoded = ReportState.decode(state.encode(objectMapper), objectMapper);
+
+    var fromUnits = new ReportAccumulator(GENERATION_TIME);
+    fromUnits.addSku(sku, units);
+
+    // act
+    var fromState = new ReportAccumulator(GENERATION_TIME);
+    fromState.addSku(sku, decoded.skus().get("sku1"));
+
+    // assert
+    assertThat(fromState.toTotals()).isEqualTo(fromUnits.toTotals());
+    assertThat(fromState.toAgingBands()).isEqualTo(fromUnits.toAgingBands());
+    assertThat(fromState.toIntakeVsSalesByWeek()).isEqualTo(fromUnits.toIntakeVsSalesByWeek());
+    assertThat(fromState.toTopHits()).isEqualTo(fromUnits.toTopHits());
+  }
+
+  private TcgInventoryItem createSku(String skuId, String lastPublishedPrice) {
+    var sku = new TcgInventoryItem();
+    sku.setSkuId(skuId);
+    sku.setName("Card " + skuId);
+    sku.setSetCode("dom");
+    sku.setSetName("Dominaria");
+    sku.setCollectorNumber("1");
+    sku.setFinish("normal");
+    sku.setCondition("NM");
+    sku.setLastPublishedPrice(lastPublishedPrice);
+    return sku;
+  }
+
+  private TcgInventoryItem createUnit(String status, Instant createdAt, Instant updatedAt) {
+    var unit = new TcgInventoryItem();
+    unit.setStatus(status);
+    unit.setCreatedAt(createdAt);
+    unit.setUpdatedAt(updatedAt);
+    return unit;
+  }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.amazonaws.services.lambda.runtime.events.APIGatewayV2HTTPEvent;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jordansimsmith.dynamodb.DynamoDbContainer;
 import com.jordansimsmith.dynamodb.DynamoDbUtils;
@@ -415,6 +416,138 @@ public class ReportsHandlerIntegrationTest {
     assertThat(intakeVsSales.get(1).get("sold_units").asInt()).isEqualTo(1);
   }
 
+  @Test
+  void jobShouldOnlyRefreshSkusNamedByLaterAuditEntries() throws Exception {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createSkuWithInStockUnits("scryfall1#normal#NM", "Lightning Bolt", 1, 2);
+    createSkuWithInStockUnits("scryfall2#normal#NM", "Sol Ring", 10, 1);
+    createAuditEntry("01JEXAMPLEULID0000000000", "scryfall1#normal#NM");
+    runReportJob("report-job-1");
+
+    // an unaudited write is invisible to an incremental run, which proves the
+    // untouched SKU's summary was reused rather than re-queried
+    var unauditedUnit = getUnit("scryfall1#normal#NM", 1);
+    unauditedUnit.setStatus("sold");
+    tcgInventoryTable.putItem(unauditedUnit);
+    tcgInventoryTable.putItem(
+        TcgInventoryItem.createUnit(
+            "jordan",
+            "scryfall2#normal#NM",
+            11,
+            "in_stock",
+            "import2",
+            Instant.ofEpochSecond(1700000000)));
+    createAuditEntry("01JLATERULID00000000000", "scryfall2#normal#NM");
+    fakeClock.setTime(Instant.ofEpochSecond(1700003600));
+
+    // act
+    runReportJob("report-job-2");
+
+    // assert
+    var totals = getReportJson().get("totals");
+    assertThat(totals.get("in_stock_units").asInt()).isEqualTo(4);
+    assertThat(totals.get("sold_units").asInt()).isEqualTo(0);
+
+    var stateItem = getReportState();
+    assertThat(stateItem.getAsOfAuditUlid()).isEqualTo("01JLATERULID00000000000");
+    assertThat(stateItem.getCreatedAt()).isEqualTo(Instant.ofEpochSecond(1700000000));
+    assertThat(stateItem.getUpdatedAt()).isEqualTo(Instant.ofEpochSecond(1700003600));
+  }
+
+  @Test
+  void jobShouldRebuildFullyWhenReportStateIsOlderThanRebuildInterval() throws Exception {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createSkuWithInStockUnits("scryfall1#normal#NM", "Lightning Bolt", 1, 2);
+    createAuditEntry("01JEXAMPLEULID0000000000", "scryfall1#normal#NM");
+    runReportJob("report-job-1");
+
+    var unauditedUnit = getUnit("scryfall1#normal#NM", 1);
+    unauditedUnit.setStatus("sold");
+    tcgInventoryTable.putItem(unauditedUnit);
+    var rebuildTime =
+        Instant.ofEpochSecond(1700000000).plus(ReportJobProcessor.FULL_REBUILD_INTERVAL);
+    fakeClock.setTime(rebuildTime);
+
+    // act
+    runReportJob("report-job-2");
+
+    // assert
+    var totals = getReportJson().get("totals");
+    assertThat(totals.get("in_stock_units").asInt()).isEqualTo(1);
+    assertThat(totals.get("sold_units").asInt()).isEqualTo(1);
+    assertThat(getReportState().getCreatedAt()).isEqualTo(rebuildTime);
+  }
+
+  @Test
+  void jobShouldRebuildFullyWhenAuditEntryCannotBeAttributed() throws Exception {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createSkuWithInStockUnits("scryfall1#normal#NM", "Lightning Bolt", 1, 2);
+    createAuditEntry("01JEXAMPLEULID0000000000", "scryfall1#normal#NM");
+    runReportJob("report-job-1");
+
+    var unauditedUnit = getUnit("scryfall1#normal#NM", 1);
+    unauditedUnit.setStatus("sold");
+    tcgInventoryTable.putItem(unauditedUnit);
+    createAuditEntry("01JLATERULID00000000000", null);
+    fakeClock.setTime(Instant.ofEpochSecond(1700003600));
+
+    // act
+    runReportJob("report-job-2");
+
+    // assert
+    var totals = getReportJson().get("totals");
+    assertThat(totals.get("in_stock_units").asInt()).isEqualTo(1);
+    assertThat(totals.get("sold_units").asInt()).isEqualTo(1);
+    assertThat(getReportState().getCreatedAt()).isEqualTo(Instant.ofEpochSecond(1700003600));
+  }
+
+  @Test
+  void jobShouldRefreshSkusOnOrderLinesForOrderAuditEntries() throws Exception {
+    // arrange
+    fakeClock.setTime(Instant.ofEpochSecond(1700000000));
+    createSkuWithInStockUnits("scryfall1#normal#NM", "Lightning Bolt", 1, 2);
+    createAuditEntry("01JEXAMPLEULID0000000000", "scryfall1#normal#NM");
+    runReportJob("report-job-1");
+
+    var reservedUnit = getUnit("scryfall1#normal#NM", 2);
+    reservedUnit.setStatus("reserved");
+    reservedUnit.setOrderId("offer1");
+    tcgInventoryTable.putItem(reservedUnit);
+    var lines =
+        objectMapper.writeValueAsString(
+            List.of(new OrderLines.OrderLine("scryfall1#normal#NM", 501, 1, "1.50", List.of(2))));
+    tcgInventoryTable.putItem(
+        TcgInventoryItem.createOrder(
+            "jordan",
+            "offer1",
+            "awaiting_payment",
+            null,
+            null,
+            "SHIPPING",
+            "1.50",
+            lines,
+            Instant.ofEpochSecond(1700001000)));
+    var auditEntry = new TcgInventoryItem();
+    auditEntry.setPk(TcgInventoryItem.formatAuditPk("jordan"));
+    auditEntry.setSk("01JLATERULID00000000000");
+    auditEntry.setEventType("reserve");
+    auditEntry.setOrderId("offer1");
+    tcgInventoryTable.putItem(auditEntry);
+    fakeClock.setTime(Instant.ofEpochSecond(1700003600));
+
+    // act
+    runReportJob("report-job-2");
+
+    // assert
+    var totals = getReportJson().get("totals");
+    assertThat(totals.get("in_stock_units").asInt()).isEqualTo(1);
+    assertThat(totals.get("reserved_units").asInt()).isEqualTo(1);
+    assertThat(getReportState().getCreatedAt()).isEqualTo(Instant.ofEpochSecond(1700000000));
+  }
+
   @Test
   void getReportsShouldReturnFreshWhenNoChanges() throws Exception {
     // arrange
@@ -530,6 +663,75 @@ public class ReportsHandlerIntegrationTest {
     assertThat(generation.get("finished_at").asLong()).isEqualTo(1699999950);
   }
 
+  private void createSkuWithInStockUnits(
+      String skuId, String name, int firstSequenceNumber, int unitCount) {
+    var scryfallId = skuId.substring(0, skuId.indexOf('#'));
+    tcgInventoryTable.putItem(
+        TcgInventoryItem.createSku(
+            "jordan",
+            skuId,
+            scryfallId,
+            "normal",
+            "NM",
+            name,
+            "dom",
+            "Dominaria",
+            "1",
+            null,
+            "1.50"));
+    for (int i = 0; i < unitCount; i++) {
+      tcgInventoryTable.putItem(
+          TcgInventoryItem.createUnit(
+              "jordan",
+              skuId,
+              firstSequenceNumber + i,
+              "in_stock",
+              "import1",
+              Instant.ofEpochSecond(1699000000)));
+    }
+  }
+
+  private void createAuditEntry(String ulid, String skuId) {
+    var auditEntry = new TcgInventoryItem();
+    auditEntry.setPk(TcgInventoryItem.formatAuditPk("jordan"));
+    auditEntry.setSk(ulid);
+    auditEntry.setEventType("adjustment");
+    auditEntry.setSkuId(skuId);
+    tcgInventoryTable.putItem(auditEntry);
+  }
+
+  private TcgInventoryItem getUnit(String skuId, int sequenceNumber) {
+    return tcgInventoryTable.getItem(
+        Key.builder()
+            .partitionValue(TcgInventoryItem.formatSkuPk("jordan", skuId))
+            .sortValue(TcgInventoryItem.formatUnitSk(sequenceNumber))
+            .build());
+  }
+
+  private void runReportJob(String jobId) {
+    tcgInventoryTable.putItem(
+        TcgInventoryItem.createJob("jordan", jobId, "report", null, fakeClock.now()));
+    jobsHandler.handleRequest(buildSqsEvent("jordan", jobId, "report"), null);
+  }
+
+  private JsonNode getReportJson() throws Exception {
+    var reportItem =
+        tcgInventoryTable.getItem(
+            Key.builder()
+                .partitionValue(TcgInventoryItem.formatUserPk("jordan"))
+                .sortValue(TcgInventoryItem.formatReportSk())
+                .build());
+    return objectMapper.readTree(reportItem.getReport());
+  }
+
+  private TcgInventoryItem getReportState() {
+    return tcgInventoryTable.getItem(
+        Key.builder()
+            .partitionValue(TcgInventoryItem.formatUserPk("jordan"))
+            .sortValue(TcgInventoryItem.formatReportStateSk())
+            .build());
+  }
+
   private APIGatewayV2HTTPEvent buildHttpEvent(String user) {
     var authHeader =
         "Basic "
@@ -106,6 +106,8 @@ public class TcgInventoryItemIntegrationTest {
     assertThat(retrieved.getSequenceNumber()).isEqualTo(4242);
     assertThat(retrieved.getStatus()).isEqualTo("in_stock");
     assertThat(retrieved.getImportId()).isEqualTo("01JEXAMPLEULID0000000000");
+    assertThat(retrieved.getGsi3pk()).isEqualTo(TcgInventoryItem.formatGsi3pk(user, skuId));
+    assertThat(retrieved.getGsi3sk()).isEqualTo("UNIT#0000004242");
   }
 
   @Test
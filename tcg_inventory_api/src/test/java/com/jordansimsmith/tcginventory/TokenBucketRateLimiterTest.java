@@ -0,0 +1,105 @@
+package com.jordansimsmith.tcginventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketRateLimiterTest {
+  private AtomicLong nanoTime;
+  private List<Long> sleeps;
+
+  @BeforeEach
+  void setUp() {
+    nanoTime = new AtomicLong(0);
+    sleeps = new ArrayList<>();
+  }
+
+  @Test
+  void acquireShouldNotWaitWithinBurst() {
+    // arrange
+    var limiter = createLimiter(2.0, 3);
+
+    // act
+    limiter.acquire();
+    limiter.acquire();
+    limiter.acquire();
+
+    // assert
+    assertThat(sleeps).isEmpty();
+  }
+
+  @Test
+  void acquireShouldWaitOnePermitIntervalOnceBurstIsSpent() {
+    // arrange
+    var limiter = createLimiter(2.0, 1);
+
+    // act
+    limiter.acquire();
+    limiter.acquire();
+
+    // assert
+    assertThat(sleeps).containsExactly(TimeUnit.MILLISECONDS.toNanos(500));
+  }
+
+  @Test
+  void acquireShouldQueueConcurrentCallersBehindEarlierReservations() {
+    // arrange
+    var limiter = createLimiter(2.0, 1);
+
+    // act
+    limiter.acquire();
+    limiter.acquire();
+    limiter.acquire();
+
+    // assert
+    assertThat(sleeps)
+        .containsExactly(TimeUnit.MILLISECONDS.toNanos(500), TimeUnit.MILLISECONDS.toNanos(1000));
+  }
+
+  @Test
+  void acquireShouldRefillPermitsOverTime() {
+    // arrange
+    var limiter = createLimiter(2.0, 1);
+    limiter.acquire();
+
+    // act
+    nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+    limiter.acquire();
+
+    // assert
+    assertThat(sleeps).isEmpty();
+  }
+
+  @Test
+  void acquireShouldNotAccumulateBeyondBurst() {
+    // arrange
+    var limiter = createLimiter(2.0, 2);
+
+    // act
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(60));
+    limiter.acquire();
+    limiter.acquire();
+    limiter.acquire();
+
+    // assert
+    assertThat(sleeps).containsExactly(TimeUnit.MILLISECONDS.toNanos(500));
+  }
+
+  @Test
+  void constructorShouldRejectNonPositiveRate() {
+    // act & assert
+    assertThatThrownBy(() -> createLimiter(0, 1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("permitsPerSecond");
+  }
+
+  private TokenBucketRateLimiter createLimiter(double permitsPerSecond, int burst) {
+    return new TokenBucketRateLimiter(permitsPerSecond, burst, nanoTime::get, sleeps::add);
+  }
+}
@@ -31,6 +31,8 @@ dynamodb_client.create_table(
         {"AttributeName": "gsi1sk", "AttributeType": "S"},
         {"AttributeName": "gsi2pk", "AttributeType": "S"},
         {"AttributeName": "gsi2sk", "AttributeType": "S"},
+        {"AttributeName": "gsi3pk", "AttributeType": "S"},
+        {"AttributeName": "gsi3sk", "AttributeType": "S"},
     ],
     KeySchema=[
         {"AttributeName": "pk", "KeyType": "HASH"},
@@ -53,6 +55,17 @@ dynamodb_client.create_table(
             ],
             "Projection": {"ProjectionType": "ALL"},
         },
+        {
+            "IndexName": "gsi3",
+            "KeySchema": [
+                {"AttributeName": "gsi3pk", "KeyType": "HASH"},
+                {"AttributeName": "gsi3sk", "KeyType": "RANGE"},
+            ],
+            "Projection": {
+                "ProjectionType": "INCLUDE",
+                "NonKeyAttributes": ["sequence_number"],
+            },
+        },
     ],
     BillingMode="PAY_PER_REQUEST",
 )